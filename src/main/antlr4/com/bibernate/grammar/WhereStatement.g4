@@ -14,12 +14,64 @@ IN          : 'IN';
 EQUALS      : '=';
 NOT_EQUALS  : '!=';
 COLON       : ':';
+ORDER       : 'ORDER';
+BY          : 'BY';
+ASC         : 'ASC';
+DESC        : 'DESC';
+JOIN        : 'JOIN';
+FETCH       : 'FETCH';
+SET         : 'SET';
+SELECT      : 'SELECT';
+GROUP       : 'GROUP';
+COUNT       : 'COUNT';
+SUM         : 'SUM';
+MIN         : 'MIN';
+MAX         : 'MAX';
+AVG         : 'AVG';
+ASTERISK    : '*';
 IDENTIFIER  : [a-zA-Z]+;
 PARAMETER   : COLON (IDENTIFIER);
 COMMA       : ',';
 
 // Define the entry point for parsing
-start       : WHERE expression EOF        #WhereExpression
+start       : joinFetch* (WHERE expression)? orderBy? EOF        #WhereExpression
+            ;
+
+// Define the entry point of projections
+projection  : SELECT selectItem (COMMA selectItem)* (WHERE expression)? groupBy? orderBy? EOF   #ProjectionStatement
+            ;
+
+// Define a value selected by a projection, a field or an aggregate of the selected rows
+selectItem  : IDENTIFIER                                                          #FieldSelection
+            | COUNT LPAREN ASTERISK RPAREN                                        #CountAllSelection
+            | function=(COUNT | SUM | MIN | MAX | AVG) LPAREN IDENTIFIER RPAREN   #AggregateSelection
+            ;
+
+// Define the fields grouping the rows of an aggregate projection
+groupBy     : GROUP BY IDENTIFIER (COMMA IDENTIFIER)*
+            ;
+
+// Define the entry point of bulk updates
+update      : SET assignment (COMMA assignment)* (WHERE expression)? EOF   #UpdateStatement
+            ;
+
+// Define the entry point of bulk deletes
+delete      : (WHERE expression)? EOF                                      #DeleteStatement
+            ;
+
+// Define the new value of a field set by a bulk update
+assignment  : IDENTIFIER EQUALS PARAMETER
+            ;
+
+// Define the associations loaded together with the results
+joinFetch   : JOIN FETCH IDENTIFIER
+            ;
+
+// Define the ordering of the results
+orderBy     : ORDER BY orderItem (COMMA orderItem)*
+            ;
+
+orderItem   : IDENTIFIER (ASC|DESC)?
             ;
 
 // Define the expression grammar
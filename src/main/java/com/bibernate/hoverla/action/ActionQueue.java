@@ -1,9 +1,18 @@
 package com.bibernate.hoverla.action;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import com.bibernate.hoverla.session.EntityDaoService;
+import com.bibernate.hoverla.session.EntityWriteOperation;
+import com.bibernate.hoverla.utils.DirtyTrackingUtils;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -12,6 +21,10 @@ import lombok.extern.slf4j.Slf4j;
  *   <li><em>Priority-Based Execution:</em> Actions are scheduled for execution based on their assigned priorities {@link EntityAction#priority()}. Lower-priority actions are given precedence over higher-priority ones.</li>
  *   <li><em>Order Preservation:</em> Actions sharing the same priority are executed in the order they were added to the queue. This ensures that actions maintain a consistent first-in-first-out (FIFO) order within their priority group.</li>
  * </ul>
+ * When created with a batch size greater than one, consecutive actions producing the same SQL statement (the same kind of
+ * action against the same entity type, and the same set of dirty columns for updates) are executed as a single JDBC batch.
+ * Consecutive deferred {@link IdentityInsertAction}s of the same entity type are executed as a single multi-row insert.
+ * <p>
  * The purpose:
  * <ul>
  *   <li><em>Write-Behind Cache Optimization:</em> ActionQueue excels in supporting the implementation of a write-behind cache. A write-behind cache is a caching mechanism that optimizes write operations by deferring them until necessary. </li>
@@ -26,9 +39,24 @@ public class ActionQueue {
   private final PriorityQueue<ActionWithPreservedOrder> priorityQueue;
 
   /**
-   * Initializes the ActionQueue with a priority queue sorted by order and insertion order.
+   * The maximum number of actions executed in a single JDBC batch.
+   */
+  private final int batchSize;
+
+  /**
+   * Initializes the ActionQueue that executes every action separately.
    */
   public ActionQueue() {
+    this(1);
+  }
+
+  /**
+   * Initializes the ActionQueue with a priority queue sorted by order and insertion order.
+   *
+   * @param batchSize The maximum number of actions executed in a single JDBC batch. Values of 1 or less disable batching.
+   */
+  public ActionQueue(int batchSize) {
+    this.batchSize = batchSize;
     this.priorityQueue = new PriorityQueue<>(Comparator.comparingInt((ActionWithPreservedOrder a) -> a.action().priority())
                                                .thenComparingInt(ActionWithPreservedOrder::order));
   }
@@ -38,6 +66,11 @@ public class ActionQueue {
    */
   private final AtomicInteger orderCounter = new AtomicInteger(0);
 
+  /**
+   * The entities of the queued deferred identity inserts.
+   */
+  private final Set<Object> deferredIdentityInsertEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+
   /**
    * Adds an action to the queue.
    *
@@ -51,6 +84,34 @@ public class ActionQueue {
 
     int order = orderCounter.getAndIncrement();
     priorityQueue.add(new ActionWithPreservedOrder(order, action));
+    if (action instanceof IdentityInsertAction) {
+      deferredIdentityInsertEntities.add(action.entity);
+    }
+  }
+
+  /**
+   * Checks whether the insert of the given entity is deferred until the actions are executed.
+   *
+   * @param entity The entity.
+   *
+   * @return true if a deferred identity insert of the entity is queued.
+   */
+  public boolean isIdentityInsertDeferred(Object entity) {
+    return deferredIdentityInsertEntities.contains(entity);
+  }
+
+  /**
+   * Removes the deferred identity insert of the given entity from the queue.
+   *
+   * @param entity The entity.
+   *
+   * @return true if a deferred identity insert of the entity was queued.
+   */
+  public boolean cancelDeferredIdentityInsert(Object entity) {
+    if (!deferredIdentityInsertEntities.remove(entity)) {
+      return false;
+    }
+    return priorityQueue.removeIf(queued -> queued.action() instanceof IdentityInsertAction && queued.action().entity == entity);
   }
 
   /**
@@ -64,12 +125,21 @@ public class ActionQueue {
     int numberOfActions = priorityQueue.size();
     log.info("Execution {} scheduled action(s)", numberOfActions);
 
+    if (batchSize > 1) {
+      executeActionsInBatches();
+      log.info("Completed execution {} scheduled action(s)", numberOfActions);
+      return;
+    }
+
     while (!priorityQueue.isEmpty()) {
       ActionWithPreservedOrder actionWithPreservedOrder = priorityQueue.poll();
       EntityAction entityAction = actionWithPreservedOrder.action();
 
       log.debug("Executing scheduled action with priority: {} and order {}", entityAction.priority(), actionWithPreservedOrder.order);
 
+      if (entityAction instanceof IdentityInsertAction) {
+        deferredIdentityInsertEntities.remove(entityAction.entity);
+      }
       entityAction.execute();
 
       log.debug("Completed execution of scheduled action: {} and order {}", entityAction.priority(), actionWithPreservedOrder.order);
@@ -77,6 +147,65 @@ public class ActionQueue {
     log.info("Completed execution {} scheduled action(s)", numberOfActions);
   }
 
+  private void executeActionsInBatches() {
+    List<EntityWriteOperation> batch = new ArrayList<>(batchSize);
+    EntityDaoService entityDaoService = null;
+
+    while (!priorityQueue.isEmpty()) {
+      EntityAction entityAction = priorityQueue.poll().action();
+      if (entityAction instanceof IdentityInsertAction identityInsertAction) {
+        // the generated keys may be referenced by the statements of the following actions, which are prepared only after the insert
+        if (!batch.isEmpty()) {
+          executeBatch(entityDaoService, batch);
+          batch = new ArrayList<>(batchSize);
+        }
+        executeIdentityInserts(identityInsertAction);
+        continue;
+      }
+
+      EntityWriteOperation operation = entityAction.prepare();
+      if (operation == null) {
+        continue;
+      }
+
+      if (!batch.isEmpty() && (batch.size() == batchSize || !batch.get(0).sqlTemplate().equals(operation.sqlTemplate()))) {
+        executeBatch(entityDaoService, batch);
+        batch = new ArrayList<>(batchSize);
+      }
+
+      batch.add(operation);
+      entityDaoService = entityAction.entityDaoService;
+    }
+
+    if (!batch.isEmpty()) {
+      executeBatch(entityDaoService, batch);
+    }
+  }
+
+  /**
+   * Executes the given deferred identity insert together with the following deferred identity inserts of the same entity type,
+   * up to the batch size.
+   */
+  private void executeIdentityInserts(IdentityInsertAction first) {
+    Class<?> entityType = DirtyTrackingUtils.getEntityClass(first.entity);
+    List<Object> entities = new ArrayList<>(batchSize);
+    entities.add(first.entity);
+    while (entities.size() < batchSize && !priorityQueue.isEmpty()
+           && priorityQueue.peek().action() instanceof IdentityInsertAction next
+           && DirtyTrackingUtils.getEntityClass(next.entity) == entityType) {
+      entities.add(priorityQueue.poll().action().entity);
+    }
+    entities.forEach(deferredIdentityInsertEntities::remove);
+
+    log.debug("Executing multi-row insert of {} {} entities", entities.size(), entityType.getSimpleName());
+    first.entityDaoService.insertReturningGeneratedKeys(entities);
+  }
+
+  private void executeBatch(EntityDaoService entityDaoService, List<EntityWriteOperation> batch) {
+    log.debug("Executing batch of {} action(s): {}", batch.size(), batch.get(0).sqlTemplate());
+    entityDaoService.executeBatch(batch);
+  }
+
   /**
    * Record class to represent an action with preserved order.
    */
@@ -1,6 +1,7 @@
 package com.bibernate.hoverla.action;
 
 import com.bibernate.hoverla.session.EntityDaoService;
+import com.bibernate.hoverla.session.EntityWriteOperation;
 
 /**
  * Represents an action for deleting an entity.
@@ -27,6 +28,14 @@ public class DeleteAction extends EntityAction {
     entityDaoService.delete(entity);
   }
 
+  /**
+   * Prepares the delete statement by invoking the prepare method on the associated entity dao service.
+   */
+  @Override
+  EntityWriteOperation prepare() {
+    return entityDaoService.prepareDelete(entity);
+  }
+
   /**
    * Gets the priority of the delete action.
    *
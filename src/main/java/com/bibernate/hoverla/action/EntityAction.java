@@ -1,6 +1,7 @@
 package com.bibernate.hoverla.action;
 
 import com.bibernate.hoverla.session.EntityDaoService;
+import com.bibernate.hoverla.session.EntityWriteOperation;
 
 /**
  * Base class for actions relating to entities, such as insert, update, or delete operations.
@@ -34,6 +35,13 @@ public abstract class EntityAction {
    */
   abstract void execute();
 
+  /**
+   * Prepares the statement of the action without executing it, so it can be grouped into a JDBC batch.
+   *
+   * @return The prepared write operation, or null if there is nothing to execute.
+   */
+  abstract EntityWriteOperation prepare();
+
   /**
    * Gets the priority of the entity action.
    *
@@ -1,17 +1,22 @@
 package com.bibernate.hoverla.action;
 
+import java.util.List;
+
 import com.bibernate.hoverla.session.EntityDaoService;
 
 /**
  * Represents an action for inserting an entity with identity (auto-generated) key values.
  * <p>
  * This class extends the {@code InsertAction} and is specifically used for inserting entities with
- * auto-generated identity key values.
+ * auto-generated identity key values. The action is executed immediately, unless it is deferred until flush, where consecutive
+ * deferred inserts of the same entity type are executed together by {@link EntityDaoService#insertReturningGeneratedKeys(List)}.
  *
  * @see InsertAction
  */
 public class IdentityInsertAction extends InsertAction {
 
+  private final boolean deferred;
+
   /**
    * Constructs a new identity insert action for the specified entity and entity dao service.
    *
@@ -19,12 +24,36 @@ public class IdentityInsertAction extends InsertAction {
    * @param entityDaoService The entity dao service responsible for handling the entity.
    */
   public IdentityInsertAction(Object entity, EntityDaoService entityDaoService) {
+    this(entity, entityDaoService, false);
+  }
+
+  /**
+   * Constructs a new identity insert action for the specified entity and entity dao service.
+   *
+   * @param entity           The entity instance to insert.
+   * @param entityDaoService The entity dao service responsible for handling the entity.
+   * @param deferred         Whether the insert is deferred until flush.
+   */
+  public IdentityInsertAction(Object entity, EntityDaoService entityDaoService, boolean deferred) {
     super(entity, entityDaoService);
+    this.deferred = deferred;
+  }
+
+  /**
+   * Executes the insert action. A deferred insert also puts the inserted entity into the persistence context.
+   */
+  @Override
+  public void execute() {
+    if (deferred) {
+      entityDaoService.insertReturningGeneratedKeys(List.of(entity));
+    } else {
+      super.execute();
+    }
   }
 
   @Override
   boolean executeImmediately() {
-    return true;
+    return !deferred;
   }
 
 }
@@ -1,6 +1,7 @@
 package com.bibernate.hoverla.action;
 
 import com.bibernate.hoverla.session.EntityDaoService;
+import com.bibernate.hoverla.session.EntityWriteOperation;
 
 /**
  * Represents an action for inserting an entity.
@@ -27,6 +28,14 @@ public class InsertAction extends EntityAction {
     entityDaoService.insert(entity);
   }
 
+  /**
+   * Prepares the insert statement by invoking the prepare method on the associated entity dao service.
+   */
+  @Override
+  EntityWriteOperation prepare() {
+    return entityDaoService.prepareInsert(entity);
+  }
+
   /**
    * Gets the priority of the insert action.
    *
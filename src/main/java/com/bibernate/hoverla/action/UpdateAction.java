@@ -1,6 +1,7 @@
 package com.bibernate.hoverla.action;
 
 import com.bibernate.hoverla.session.EntityDaoService;
+import com.bibernate.hoverla.session.EntityWriteOperation;
 
 /**
  * Represents an action for updating an entity.
@@ -27,6 +28,14 @@ public class UpdateAction extends EntityAction {
     entityDaoService.update(entity);
   }
 
+  /**
+   * Prepares the update statement by invoking the prepare method on the associated entity dao service.
+   */
+  @Override
+  EntityWriteOperation prepare() {
+    return entityDaoService.prepareUpdate(entity);
+  }
+
   /**
    * Gets the priority of the update action.
    *
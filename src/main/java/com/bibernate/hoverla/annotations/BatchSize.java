@@ -0,0 +1,39 @@
+package com.bibernate.hoverla.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Specifies how many lazy references of an entity, or lazy collections of a {@link OneToMany} field, are loaded together.
+ * <p/>
+ * When an uninitialized proxy of the annotated entity is accessed, up to the given number of uninitialized proxies of the same entity
+ * managed by the session are loaded with a single query and initialized at once. This avoids the N+1 selects problem when iterating
+ * over entities that reference the annotated entity with a {@link ManyToOne} field.
+ * <p/>
+ * Likewise, when an uninitialized collection of the annotated {@link OneToMany} field is accessed, the same collection of up to the given
+ * number of entities managed by the session is loaded with a single query.
+ * <p/>
+ * If not specified, the {@code bibernate.default_batch_fetch_size} setting is used, which defaults to 1 (no batching).
+ * <p/>
+ * Example:
+ * <pre>
+ * &#64;Entity
+ * &#64;BatchSize(50)
+ * public class StoreItem {
+ *
+ *   &#64;BatchSize(50)
+ *   &#64;OneToMany(mappedBy = "storeItem")
+ *   private List&lt;Comment&gt; comments;
+ *   ...
+ * }
+ * </pre>
+ */
+@Target({ ElementType.TYPE, ElementType.FIELD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BatchSize {
+
+  int value();
+
+}
@@ -0,0 +1,20 @@
+package com.bibernate.hoverla.annotations;
+
+/**
+ * The strategy of keeping the second-level cache of a {@link Cacheable} entity consistent with the database.
+ */
+public enum CacheConcurrencyStrategy {
+
+  /**
+   * For reference data that is never updated. Loaded entities are cached until they are evicted or deleted,
+   * and an attempt to update such an entity fails.
+   */
+  READ_ONLY,
+
+  /**
+   * For data that is updated occasionally. A cached entity is evicted when its update or delete is flushed, and once more
+   * when the transaction is committed or rolled back, so other sessions never read uncommitted or outdated state from the cache.
+   */
+  READ_WRITE
+
+}
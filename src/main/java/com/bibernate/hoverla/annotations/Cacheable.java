@@ -0,0 +1,32 @@
+package com.bibernate.hoverla.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity as cached in the second-level cache shared by all sessions of a session factory.
+ * <p/>
+ * The cache holds the column values of the entity, in the same shape as the rows read from the database, rather than entity instances,
+ * so every session still gets its own instance. Entities found by id without a lock are served from the cache when possible.
+ * Column values are not copied, so cached entities should only hold immutable values.
+ * <p/>
+ * Example:
+ * <pre>
+ * &#64;Entity
+ * &#64;Cacheable(CacheConcurrencyStrategy.READ_ONLY)
+ * public class Genre {
+ *   ...
+ * }
+ * </pre>
+ *
+ * @see CacheConcurrencyStrategy
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cacheable {
+
+  CacheConcurrencyStrategy value() default CacheConcurrencyStrategy.READ_WRITE;
+
+}
@@ -37,4 +37,9 @@ public @interface SequenceGeneratedValue {
    */
   int allocationSize() default 1;
 
+  /**
+   * The mapping of sequence values to ranges of identifiers, see {@link SequenceOptimizer}
+   */
+  SequenceOptimizer optimizer() default SequenceOptimizer.POOLED_LO;
+
 }
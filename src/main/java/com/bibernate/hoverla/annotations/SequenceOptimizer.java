@@ -0,0 +1,26 @@
+package com.bibernate.hoverla.annotations;
+
+/**
+ * The way a {@link SequenceGeneratedValue} generator maps a value read from the database sequence to the range of identifiers handed
+ * out without calling the sequence again. Every range holds {@link SequenceGeneratedValue#allocationSize()} identifiers.
+ */
+public enum SequenceOptimizer {
+
+  /**
+   * The sequence value is the lowest identifier of the range. The sequence must be incremented by the allocation size.
+   */
+  POOLED_LO,
+
+  /**
+   * The sequence value is the highest identifier of the range. The sequence must be incremented by the allocation size. On first use
+   * of a sequence whose value is still below the allocation size, the range starts at that value.
+   */
+  POOLED,
+
+  /**
+   * The sequence value is the number of the range, the range {@code n} holding the identifiers from {@code (n - 1) * allocationSize + 1}
+   * to {@code n * allocationSize}. The sequence must be incremented by 1.
+   */
+  HILO
+
+}
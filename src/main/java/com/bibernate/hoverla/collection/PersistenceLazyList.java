@@ -41,6 +41,26 @@ public class PersistenceLazyList<T> implements List<T> {
     this.session = null;
   }
 
+  /**
+   * Checks whether the elements of the list have been loaded.
+   *
+   * @return True if the list is initialized, false otherwise.
+   */
+  public boolean isInitialized() {
+    return nestedList != null;
+  }
+
+  /**
+   * Initializes the list with elements loaded together with another collection, unless it is already initialized.
+   *
+   * @param elements The loaded elements.
+   */
+  public void initialize(List<T> elements) {
+    if (nestedList == null) {
+      nestedList = elements;
+    }
+  }
+
   public List<T> getOrLoad() {
     if (nestedList == null) {
       log.trace("Lazy loading list with key: {}", collectionKey);
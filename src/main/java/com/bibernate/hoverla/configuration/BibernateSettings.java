@@ -0,0 +1,163 @@
+package com.bibernate.hoverla.configuration;
+
+import com.bibernate.hoverla.configuration.config.CommonConfig;
+import com.bibernate.hoverla.exceptions.ConfigurationException;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Runtime settings of a session factory resolved from the {@code bibernate.*} configuration properties.
+ * Every setting is optional and falls back to its default value when the property is not specified.
+ */
+@Getter
+@Builder
+public class BibernateSettings {
+
+  /**
+   * Maximum number of statements grouped into a single JDBC batch on flush. Values of 1 or less disable batching.
+   */
+  public static final String JDBC_BATCH_SIZE = "bibernate.jdbc.batch_size";
+
+  /**
+   * Whether inserts of entities with identity-generated primary keys are deferred until flush, where consecutive inserts of the same
+   * entity are executed as multi-row {@code INSERT ... RETURNING} statements of up to {@link #JDBC_BATCH_SIZE} rows.
+   */
+  public static final String JDBC_BATCH_IDENTITY_INSERTS = "bibernate.jdbc.batch_identity_inserts";
+
+  /**
+   * Number of rows fetched from the database per round trip when query results are streamed. 0 uses the driver default.
+   */
+  public static final String JDBC_FETCH_SIZE = "bibernate.jdbc.fetch_size";
+
+  /**
+   * Maximum number of prepared statements reused by each session. 0 disables the statement cache.
+   */
+  public static final String JDBC_STATEMENT_CACHE_SIZE = "bibernate.jdbc.statement_cache_size";
+
+  /**
+   * Maximum number of query plans cached by the session factory. 0 disables the cache.
+   */
+  public static final String QUERY_PLAN_CACHE_MAX_SIZE = "bibernate.query.plan_cache_max_size";
+
+  /**
+   * Maximum number of entity rows held by the second-level cache. 0 disables the cache.
+   */
+  public static final String SECOND_LEVEL_CACHE_MAX_SIZE = "bibernate.cache.second_level.max_size";
+
+  /**
+   * Number of seconds after which a row cached in the second-level cache expires. 0 keeps rows until they are evicted.
+   */
+  public static final String SECOND_LEVEL_CACHE_TTL_SECONDS = "bibernate.cache.second_level.ttl_seconds";
+
+  /**
+   * Maximum number of results of cacheable queries held by the query result cache. 0 disables the cache.
+   */
+  public static final String QUERY_RESULT_CACHE_MAX_SIZE = "bibernate.cache.query_results.max_size";
+
+  /**
+   * Number of uninitialized proxies of an entity loaded together, unless the entity declares its own batch size.
+   * Values of 1 or less disable batch fetching.
+   */
+  public static final String DEFAULT_BATCH_FETCH_SIZE = "bibernate.default_batch_fetch_size";
+
+  /**
+   * Whether entities loaded by a session record the fields written through their setters, so that flush finds dirty entities and
+   * their changed columns without comparing every managed entity against its snapshot.
+   */
+  public static final String DIRTY_TRACKING_ENABLED = "bibernate.dirty_tracking.enabled";
+
+  /**
+   * Percentage of the values allocated by a sequence generator consumed before the next values are read from the sequence in the
+   * background, on a dedicated connection. 0 disables prefetch.
+   */
+  public static final String SEQUENCE_PREFETCH_THRESHOLD_PERCENT = "bibernate.sequence.prefetch_threshold_percent";
+
+  @Builder.Default
+  private final int jdbcBatchSize = 1;
+  @Builder.Default
+  private final boolean jdbcBatchIdentityInserts = false;
+  @Builder.Default
+  private final int jdbcFetchSize = 100;
+  @Builder.Default
+  private final int jdbcStatementCacheSize = 64;
+  @Builder.Default
+  private final int queryPlanCacheMaxSize = 2048;
+  @Builder.Default
+  private final int secondLevelCacheMaxSize = 10_000;
+  @Builder.Default
+  private final int secondLevelCacheTtlSeconds = 0;
+  @Builder.Default
+  private final int queryResultCacheMaxSize = 1000;
+  @Builder.Default
+  private final int defaultBatchFetchSize = 1;
+  @Builder.Default
+  private final boolean dirtyTrackingEnabled = false;
+  @Builder.Default
+  private final int sequencePrefetchThresholdPercent = 0;
+
+  /**
+   * Creates settings with all default values.
+   *
+   * @return The default settings.
+   */
+  public static BibernateSettings defaults() {
+    return builder().build();
+  }
+
+  /**
+   * Resolves settings from the given configuration properties.
+   *
+   * @param properties The configuration properties.
+   *
+   * @return The resolved settings.
+   *
+   * @throws ConfigurationException If a property has an invalid value.
+   */
+  public static BibernateSettings from(CommonConfig properties) {
+    BibernateSettings defaults = defaults();
+    if (properties == null) {
+      return defaults;
+    }
+
+    return builder()
+      .jdbcBatchSize(getIntProperty(properties, JDBC_BATCH_SIZE, defaults.jdbcBatchSize))
+      .jdbcBatchIdentityInserts(getBooleanProperty(properties, JDBC_BATCH_IDENTITY_INSERTS, defaults.jdbcBatchIdentityInserts))
+      .jdbcFetchSize(getIntProperty(properties, JDBC_FETCH_SIZE, defaults.jdbcFetchSize))
+      .jdbcStatementCacheSize(getIntProperty(properties, JDBC_STATEMENT_CACHE_SIZE, defaults.jdbcStatementCacheSize))
+      .queryPlanCacheMaxSize(getIntProperty(properties, QUERY_PLAN_CACHE_MAX_SIZE, defaults.queryPlanCacheMaxSize))
+      .secondLevelCacheMaxSize(getIntProperty(properties, SECOND_LEVEL_CACHE_MAX_SIZE, defaults.secondLevelCacheMaxSize))
+      .secondLevelCacheTtlSeconds(getIntProperty(properties, SECOND_LEVEL_CACHE_TTL_SECONDS, defaults.secondLevelCacheTtlSeconds))
+      .queryResultCacheMaxSize(getIntProperty(properties, QUERY_RESULT_CACHE_MAX_SIZE, defaults.queryResultCacheMaxSize))
+      .defaultBatchFetchSize(getIntProperty(properties, DEFAULT_BATCH_FETCH_SIZE, defaults.defaultBatchFetchSize))
+      .dirtyTrackingEnabled(getBooleanProperty(properties, DIRTY_TRACKING_ENABLED, defaults.dirtyTrackingEnabled))
+      .sequencePrefetchThresholdPercent(getIntProperty(properties, SEQUENCE_PREFETCH_THRESHOLD_PERCENT,
+                                                       defaults.sequencePrefetchThresholdPercent))
+      .build();
+  }
+
+  private static int getIntProperty(CommonConfig properties, String key, int defaultValue) {
+    String value = properties.getProperty(key);
+    if (value == null || value.isBlank()) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException exception) {
+      throw new ConfigurationException("Invalid integer value '%s' of property %s".formatted(value, key), exception);
+    }
+  }
+
+  private static boolean getBooleanProperty(CommonConfig properties, String key, boolean defaultValue) {
+    String value = properties.getProperty(key);
+    if (value == null || value.isBlank()) {
+      return defaultValue;
+    }
+    return switch (value.trim().toLowerCase()) {
+      case "true" -> true;
+      case "false" -> false;
+      default -> throw new ConfigurationException("Invalid boolean value '%s' of property %s".formatted(value, key));
+    };
+  }
+
+}
@@ -62,7 +62,7 @@ public class Configuration {
       var dataSource = ConnectionPool.getDataSource(this);
       log.debug("DataSource created successfully: " + dataSource);
 
-      return new SessionFactoryImpl(dataSource, metamodel);
+      return new SessionFactoryImpl(dataSource, metamodel, BibernateSettings.from(properties));
     } catch (Exception e) {
       log.error("Failed to create session factory: " + e.getMessage());
       throw new ConfigurationException("Failed to create session factory: ", e);
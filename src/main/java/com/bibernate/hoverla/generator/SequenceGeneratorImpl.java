@@ -4,41 +4,93 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
+import javax.sql.DataSource;
+
+import com.bibernate.hoverla.annotations.SequenceOptimizer;
 import com.bibernate.hoverla.exceptions.BibernateSqlException;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * An implementation of a thread-safe sequence generator for PostgreSQL.
  * This generator ensures thread safety while generating unique values from a PostgreSQL sequence.
  * <p/>
- * It is crucial to align the <em>allocation size</em> with the <em>database sequence's increment
- * value</em> to guarantee correct behavior.
+ * Every value read from the sequence is mapped by the {@link SequenceOptimizer} to a range of <em>allocation size</em> identifiers,
+ * which must be aligned with the <em>database sequence's increment value</em> to guarantee correct behavior.
+ * <p/>
+ * Generating a value is lock-free while the current range is not exhausted: the range is an immutable record holding an atomic cursor,
+ * and each value is claimed by an atomic increment of the cursor. Once the range is exhausted, a single thread reads the next value
+ * from the sequence and publishes the new range, while other threads reaching the end of the same range wait for it instead of
+ * making redundant database calls, which would skip values.
  * <p/>
- * This class uses locks for two important reasons:
- * <ol>
- * <li> To ensure that the initial value is allocated only once, preventing multiple threads
- * from attempting simultaneous allocation.</li>
- * <li> To prevent multiple threads from making redundant database calls within a race condition,
- * ensuring correct behavior and maintaining thread safety.</li>
- * </ol>
+ * With {@link #enablePrefetch(DataSource, int, Executor) prefetch} enabled, the next range is read in the background on a dedicated
+ * connection once the given percentage of the current range is consumed, so the thread exhausting the range usually finds the next one
+ * ready. The executor running the background reads is owned by the caller, the session factory, which shuts it down when closed;
+ * from then on ranges are read on demand again.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class SequenceGeneratorImpl implements Generator {
 
   private static final String SEQUENCE_SQL_REQUEST = "SELECT nextval(?);";
 
   private final String sequenceName;
   private final int allocationSize;
+  private final SequenceOptimizer optimizer;
+
+  /**
+   * The range values are currently generated from, null until the first value is generated.
+   */
+  private final AtomicReference<Range> currentRange = new AtomicReference<>();
+  /**
+   * Held by the thread reading the next range from the sequence.
+   */
+  private final ReentrantLock refillLock = new ReentrantLock();
+  /**
+   * The range read in the background, null if no range is being prefetched.
+   */
+  private final AtomicReference<CompletableFuture<Range>> prefetchedRange = new AtomicReference<>();
 
-  private final AtomicLong currentVal = new AtomicLong();
-  private volatile Long firstAllocatedValue;
-  private volatile boolean isInitialized;
+  private volatile DataSource prefetchDataSource;
+  private volatile Executor prefetchExecutor;
+  private volatile int prefetchThresholdPercent;
+
+  public SequenceGeneratorImpl(String sequenceName, int allocationSize) {
+    this(sequenceName, allocationSize, SequenceOptimizer.POOLED_LO);
+  }
+
+  public SequenceGeneratorImpl(String sequenceName, int allocationSize, SequenceOptimizer optimizer) {
+    this.sequenceName = sequenceName;
+    this.allocationSize = allocationSize;
+    this.optimizer = optimizer;
+  }
+
+  /**
+   * Enables reading the next range in the background once the given percentage of the current range is consumed.
+   *
+   * @param dataSource       The data source providing the dedicated connections used to read ranges in the background.
+   * @param thresholdPercent The consumed percentage of the current range triggering the prefetch, from 1 to 100.
+   * @param executor         The executor reading ranges in the background.
+   */
+  public void enablePrefetch(DataSource dataSource, int thresholdPercent, Executor executor) {
+    this.prefetchThresholdPercent = Math.max(1, Math.min(thresholdPercent, 100));
+    this.prefetchExecutor = executor;
+    this.prefetchDataSource = dataSource;
+  }
+
+  /**
+   * Disables reading ranges in the background. A range already being read is still used once ready.
+   */
+  public void disablePrefetch() {
+    this.prefetchDataSource = null;
+  }
 
   /**
    * Generates the next unique value from the PostgreSQL sequence.
@@ -49,46 +101,114 @@ public class SequenceGeneratorImpl implements Generator {
    */
   @Override
   public Object generateNext(Connection connection) {
-    log.debug("Generating next value from sequence: {}, allocation size: {}...", sequenceName, allocationSize);
-
-    if (!isInitialized) {
-      synchronized (this) {
-        if (!isInitialized) {
-          log.debug("Allocating initial value for sequence: {}...", sequenceName);
-          firstAllocatedValue = generateNextFromSequence(connection);
-          log.debug("Allocated initial value :{} for sequence: {} ", firstAllocatedValue, sequenceName);
-          currentVal.set(firstAllocatedValue);
-          isInitialized = true;
-          return currentVal.getAndIncrement();
+    while (true) {
+      Range range = currentRange.get();
+      if (range != null) {
+        long value = range.cursor().getAndIncrement();
+        if (value <= range.hi()) {
+          if (value == getPrefetchValue(range)) {
+            prefetch(range);
+          }
+          return value;
         }
       }
+      refill(connection, range);
     }
-    getNextFromSequenceIfAllocationExhausted(connection);
-    return currentVal.getAndIncrement();
   }
 
   /**
-   * Checks if the allocation of values has been exhausted and fetches the next value from the
-   * database if needed.
+   * Replaces the exhausted range with the next range read from the sequence, unless another thread already replaced it.
    *
-   * @param connection The database connection to use for fetching the next value.
+   * @param connection     The database connection to use for fetching the next value.
+   * @param exhaustedRange The range found exhausted, or null if no value was generated yet.
    */
-  private void getNextFromSequenceIfAllocationExhausted(Connection connection) {
-    if (Objects.equals((currentVal.get()) % allocationSize, firstAllocatedValue % allocationSize)) {
-      synchronized (this) {
-        if (Objects.equals((currentVal.get()) % allocationSize, firstAllocatedValue % allocationSize)) {
-          log.debug("Allocating more values from the sequence: {}", sequenceName);
+  private void refill(Connection connection, Range exhaustedRange) {
+    refillLock.lock();
+    try {
+      if (currentRange.get() != exhaustedRange) {
+        return;
+      }
+      log.debug("Allocating more values from the sequence: {}", sequenceName);
 
-          long next = generateNextFromSequence(connection);
+      Range range = takePrefetchedRange();
+      if (range == null) {
+        range = nextRange(connection, exhaustedRange == null);
+      }
+      log.debug("Allocated values from {} to {} from sequence: {}", range.cursor().get(), range.hi(), sequenceName);
 
-          log.info("Generated next value from sequence: {}, next value {}", sequenceName, next);
+      currentRange.set(range);
+    } finally {
+      refillLock.unlock();
+    }
+  }
 
-          currentVal.set(next);
+  /**
+   * Returns the value of the range whose generation triggers the prefetch of the next range, or -1 if prefetch is disabled.
+   */
+  private long getPrefetchValue(Range range) {
+    if (prefetchDataSource == null) {
+      return -1;
+    }
+    long size = range.hi() - range.lo() + 1;
+    return range.lo() + Math.max((size * prefetchThresholdPercent + 99) / 100 - 1, 0);
+  }
+
+  /**
+   * Starts reading the range following the given one on a dedicated connection, unless a range is already being prefetched.
+   */
+  private void prefetch(Range range) {
+    CompletableFuture<Range> future = new CompletableFuture<>();
+    if (currentRange.get() != range || !prefetchedRange.compareAndSet(null, future)) {
+      return;
+    }
+    log.debug("Prefetching values from the sequence: {}", sequenceName);
+
+    DataSource dataSource = prefetchDataSource;
+    if (dataSource == null) {
+      future.completeExceptionally(new IllegalStateException("Prefetch is disabled"));
+      return;
+    }
+    try {
+      prefetchExecutor.execute(() -> {
+        try (Connection connection = dataSource.getConnection()) {
+          future.complete(nextRange(connection, false));
+        } catch (SQLException | RuntimeException exception) {
+          future.completeExceptionally(exception);
         }
-      }
+      });
+    } catch (RejectedExecutionException exception) {
+      disablePrefetch();
+      future.completeExceptionally(exception);
+    }
+  }
+
+  /**
+   * Returns the prefetched range, waiting for it if it is still being read, or null if no range was prefetched or prefetch failed.
+   */
+  private Range takePrefetchedRange() {
+    CompletableFuture<Range> future = prefetchedRange.getAndSet(null);
+    if (future == null) {
+      return null;
+    }
+    try {
+      return future.join();
+    } catch (CompletionException exception) {
+      log.warn("Failed to prefetch values from the sequence: {}, reading them on demand", sequenceName, exception.getCause());
+      return null;
     }
   }
 
+  private Range nextRange(Connection connection, boolean initial) {
+    long value = generateNextFromSequence(connection);
+    return switch (optimizer) {
+      case POOLED_LO -> new Range(value, value + allocationSize - 1);
+      case POOLED -> initial && value < allocationSize
+        ? new Range(value, generateNextFromSequence(connection))
+        : new Range(value - allocationSize + 1, value);
+      case HILO -> new Range((value - 1) * allocationSize + 1, value * allocationSize);
+    };
+  }
+
   /**
    * Fetches the next value from the PostgreSQL sequence.
    *
@@ -113,4 +233,15 @@ public class SequenceGeneratorImpl implements Generator {
     }
   }
 
+  /**
+   * A range of identifiers from {@code lo} to {@code hi} inclusive, the cursor holding the next value to generate.
+   */
+  private record Range(AtomicLong cursor, long lo, long hi) {
+
+    Range(long lo, long hi) {
+      this(new AtomicLong(lo), lo, hi);
+    }
+
+  }
+
 }
@@ -1,6 +1,7 @@
 package com.bibernate.hoverla.jdbc;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import com.bibernate.hoverla.exceptions.BibernateSqlException;
 
@@ -26,6 +27,27 @@ public interface JdbcExecutor {
                                     JdbcParameterBinding<?>[] bindValues,
                                     JdbcResultExtractor<?>[] resultExtractors);
 
+  /**
+   * Executes a select query and returns its rows as a lazily populated stream backed by a forward-only cursor,
+   * so that rows are fetched from the database in chunks of the given fetch size instead of being loaded all at once.
+   * <p>
+   * PostgreSQL only uses a cursor inside a transaction, so if the connection is in auto-commit mode, auto-commit is switched off
+   * while streaming and switched back on when the stream is closed. The returned stream must be closed to release the cursor.
+   *
+   * @param sqlTemplate      The SQL query template to be executed.
+   * @param bindValues       An array of parameter bindings for the SQL query.
+   * @param resultExtractors An array of result extractors for processing the query result.
+   * @param fetchSize        The number of rows fetched from the database per round trip, 0 to use the driver default.
+   *
+   * @return A stream of Object arrays representing the query results.
+   *
+   * @throws BibernateSqlException If an SQL exception occurs during query execution.
+   */
+  Stream<Object[]> streamSelectQuery(String sqlTemplate,
+                                     JdbcParameterBinding<?>[] bindValues,
+                                     JdbcResultExtractor<?>[] resultExtractors,
+                                     int fetchSize);
+
   /**
    * Executes an update, insert, or delete query with the given SQL template and parameter bindings
    * and returns generated keys if available.
@@ -55,4 +77,25 @@ public interface JdbcExecutor {
    */
   int executeUpdate(String sqlTemplate, JdbcParameterBinding<?>[] bindValues);
 
+  /**
+   * Executes the same update, insert, or delete query once per set of parameter bindings as a single JDBC batch.
+   *
+   * @param sqlTemplate     The SQL update, insert, or delete query template to be executed.
+   * @param batchBindValues The parameter bindings of each statement in the batch.
+   *
+   * @return The number of rows affected by each statement, in the order of the bindings.
+   * An element may be {@link java.sql.Statement#SUCCESS_NO_INFO} if the driver does not report it.
+   *
+   * @throws BibernateSqlException If an SQL exception occurs during batch execution.
+   */
+  int[] executeBatch(String sqlTemplate, List<JdbcParameterBinding<?>[]> batchBindValues);
+
+  /**
+   * Releases the resources held by the executor, such as cached prepared statements. Called when the session is closed,
+   * before its connection is closed.
+   *
+   * @throws BibernateSqlException If the resources cannot be released.
+   */
+  void close();
+
 }
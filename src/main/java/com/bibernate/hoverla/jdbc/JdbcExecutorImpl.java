@@ -1,15 +1,18 @@
 package com.bibernate.hoverla.jdbc;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.bibernate.hoverla.exceptions.BibernateSqlException;
 import com.bibernate.hoverla.session.SessionImplementor;
 
-import lombok.RequiredArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -19,17 +22,34 @@ import lombok.extern.slf4j.Slf4j;
  * generated keys, using a provided JDBC Connection.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class JdbcExecutorImpl implements JdbcExecutor {
 
   private final SessionImplementor sessionImplementor;
+  @Getter
+  private final PreparedStatementCache statementCache;
+
+  public JdbcExecutorImpl(SessionImplementor sessionImplementor) {
+    this(sessionImplementor, 0);
+  }
+
+  /**
+   * Creates an executor which reuses up to the given number of prepared statements of the session connection.
+   *
+   * @param sessionImplementor The session providing the connection.
+   * @param statementCacheSize The maximum number of cached statements, 0 disables the statement cache.
+   */
+  public JdbcExecutorImpl(SessionImplementor sessionImplementor, int statementCacheSize) {
+    this.sessionImplementor = sessionImplementor;
+    this.statementCache = new PreparedStatementCache(statementCacheSize);
+  }
 
   @Override
   public List<Object[]> executeSelectQuery(String sqlTemplate, JdbcParameterBinding<?>[] bindValues, JdbcResultExtractor<?>[] resultExtractors) {
     List<Object[]> results = new ArrayList<>();
     log.debug("Executing query: {}", sqlTemplate);
 
-    try (PreparedStatement preparedStatement = sessionImplementor.getConnection().prepareStatement(sqlTemplate)) {
+    try (var statementLease = statementCache.prepare(sessionImplementor.getConnection(), sqlTemplate, false)) {
+      PreparedStatement preparedStatement = statementLease.statement();
       bindParameters(preparedStatement, bindValues);
 
       try (ResultSet resultSet = preparedStatement.executeQuery()) {
@@ -45,17 +65,62 @@ public class JdbcExecutorImpl implements JdbcExecutor {
     }
   }
 
+  @Override
+  public Stream<Object[]> streamSelectQuery(String sqlTemplate,
+                                            JdbcParameterBinding<?>[] bindValues,
+                                            JdbcResultExtractor<?>[] resultExtractors,
+                                            int fetchSize) {
+    log.debug("Streaming query: {}, fetch size: {}", sqlTemplate, fetchSize);
+
+    Connection connection = sessionImplementor.getConnection();
+    boolean restoreAutoCommit = false;
+    PreparedStatement preparedStatement = null;
+    try {
+      if (connection.getAutoCommit()) {
+        connection.setAutoCommit(false);
+        restoreAutoCommit = true;
+      }
+
+      preparedStatement = connection.prepareStatement(sqlTemplate, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      preparedStatement.setFetchSize(fetchSize);
+      bindParameters(preparedStatement, bindValues);
+
+      ResultSetSpliterator spliterator = new ResultSetSpliterator(connection, restoreAutoCommit, preparedStatement,
+                                                                  preparedStatement.executeQuery(), resultExtractors);
+
+      return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    } catch (SQLException sqlException) {
+      closeQuietly(connection, restoreAutoCommit, preparedStatement, sqlException);
+      throw new BibernateSqlException(sqlException.getMessage(), sqlException);
+    }
+  }
+
+  private void closeQuietly(Connection connection, boolean restoreAutoCommit, PreparedStatement preparedStatement, SQLException cause) {
+    try {
+      if (preparedStatement != null) {
+        preparedStatement.close();
+      }
+      if (restoreAutoCommit) {
+        connection.setAutoCommit(true);
+      }
+    } catch (SQLException exception) {
+      cause.addSuppressed(exception);
+    }
+  }
+
   @Override
   public Object executeUpdateAndReturnGeneratedKeys(String sqlTemplate, JdbcParameterBinding<?>[] bindValues, JdbcResultExtractor<?> jdbcResultExtractor) {
     log.debug("Executing update query and returning generated keys: {}", sqlTemplate);
 
-    try (PreparedStatement preparedStatement = sessionImplementor.getConnection().prepareStatement(sqlTemplate, PreparedStatement.RETURN_GENERATED_KEYS)) {
+    try (var statementLease = statementCache.prepare(sessionImplementor.getConnection(), sqlTemplate, true)) {
+      PreparedStatement preparedStatement = statementLease.statement();
       bindParameters(preparedStatement, bindValues);
       preparedStatement.executeUpdate();
-      ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
       Object generatedKey = null;
-      if (generatedKeys.next()) {
-        generatedKey = jdbcResultExtractor.extractData(generatedKeys, 1);
+      try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+        if (generatedKeys.next()) {
+          generatedKey = jdbcResultExtractor.extractData(generatedKeys, 1);
+        }
       }
       if (generatedKey == null) {
         throw new BibernateSqlException("Can not obtain generated keys");
@@ -69,7 +134,8 @@ public class JdbcExecutorImpl implements JdbcExecutor {
   @Override
   public int executeUpdate(String sqlTemplate, JdbcParameterBinding<?>[] bindValues) {
     log.debug("Executing update query: {}", sqlTemplate);
-    try (PreparedStatement preparedStatement = sessionImplementor.getConnection().prepareStatement(sqlTemplate)) {
+    try (var statementLease = statementCache.prepare(sessionImplementor.getConnection(), sqlTemplate, false)) {
+      PreparedStatement preparedStatement = statementLease.statement();
       bindParameters(preparedStatement, bindValues);
       return preparedStatement.executeUpdate();
     } catch (SQLException sqlException) {
@@ -77,6 +143,32 @@ public class JdbcExecutorImpl implements JdbcExecutor {
     }
   }
 
+  @Override
+  public int[] executeBatch(String sqlTemplate, List<JdbcParameterBinding<?>[]> batchBindValues) {
+    log.debug("Executing batch of {} update queries: {}", batchBindValues.size(), sqlTemplate);
+    try (var statementLease = statementCache.prepare(sessionImplementor.getConnection(), sqlTemplate, false)) {
+      PreparedStatement preparedStatement = statementLease.statement();
+      try {
+        for (JdbcParameterBinding<?>[] bindValues : batchBindValues) {
+          bindParameters(preparedStatement, bindValues);
+          preparedStatement.addBatch();
+        }
+        return preparedStatement.executeBatch();
+      } catch (SQLException batchException) {
+        preparedStatement.clearBatch();
+        throw batchException;
+      }
+    } catch (SQLException sqlException) {
+      throw new BibernateSqlException(sqlException.getMessage(), sqlException);
+    }
+  }
+
+  @Override
+  public void close() {
+    log.debug("Closing {} cached statements", statementCache.size());
+    statementCache.close();
+  }
+
   private <T> void bindParameters(PreparedStatement preparedStatement, JdbcParameterBinding<?>[] bindValues) throws SQLException {
     if (bindValues != null && bindValues.length > 0) {
       for (int i = 0; i < bindValues.length; i++) {
@@ -86,7 +178,7 @@ public class JdbcExecutorImpl implements JdbcExecutor {
   }
 
   private Object[] extractResultRow(ResultSet resultSet, JdbcResultExtractor<?>[] resultExtractors) throws SQLException {
-    Object[] resultRow = new Object[resultSet.getMetaData().getColumnCount()];
+    Object[] resultRow = new Object[resultExtractors.length];
     for (int i = 0; i < resultRow.length; i++) {
       resultRow[i] = resultExtractors[i].extractData(resultSet, i + 1);
     }
@@ -4,6 +4,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.ToString;
 
 /**
@@ -18,6 +19,7 @@ import lombok.ToString;
 @ToString
 public class JdbcParameterBinding<T> {
 
+  @Getter
   private T bindValue;
   private JdbcParameterBinder<T> binder;
 
@@ -0,0 +1,157 @@
+package com.bibernate.hoverla.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.bibernate.hoverla.exceptions.BibernateSqlException;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A bounded cache of prepared statements of a single connection. When the cache is full, the least recently used statement
+ * is evicted and closed.
+ * <p>
+ * Reusing the same {@link PreparedStatement} object skips preparing the statement on the client, and lets the driver switch to
+ * a named server-side statement: the PostgreSQL driver does so once the statement has been executed {@code prepareThreshold} times
+ * (5 by default), after which the database no longer parses and plans the query on every execution.
+ * <p>
+ * The cache is not thread-safe, as it belongs to a session which is used by a single thread.
+ */
+@Slf4j
+@Getter
+public class PreparedStatementCache {
+
+  private final int maxSize;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  private Connection connection;
+  private final LinkedHashMap<StatementKey, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Creates a cache holding at most the given number of statements.
+   *
+   * @param maxSize The maximum number of cached statements, 0 disables caching.
+   */
+  public PreparedStatementCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Returns a prepared statement of the given SQL, reusing a cached one if possible. The statement must be released by closing
+   * the returned lease, which closes the statement only if it is not cached.
+   *
+   * @param connection          The connection the statement is prepared on.
+   * @param sqlTemplate         The SQL statement.
+   * @param returnGeneratedKeys Whether the statement returns the generated keys.
+   *
+   * @return The lease of the prepared statement.
+   *
+   * @throws SQLException If the statement cannot be prepared.
+   */
+  public StatementLease prepare(Connection connection, String sqlTemplate, boolean returnGeneratedKeys) throws SQLException {
+    if (maxSize <= 0) {
+      missCount++;
+      return new StatementLease(prepareStatement(connection, sqlTemplate, returnGeneratedKeys), false);
+    }
+
+    if (this.connection != connection) {
+      close();
+      this.connection = connection;
+    }
+
+    StatementKey key = new StatementKey(sqlTemplate, returnGeneratedKeys);
+    PreparedStatement statement = statements.get(key);
+    if (statement != null && !statement.isClosed()) {
+      hitCount++;
+      return new StatementLease(statement, true);
+    }
+
+    missCount++;
+    statement = prepareStatement(connection, sqlTemplate, returnGeneratedKeys);
+    statements.put(key, statement);
+    evictEldestIfFull();
+    return new StatementLease(statement, true);
+  }
+
+  /**
+   * Returns the number of cached statements.
+   */
+  public int size() {
+    return statements.size();
+  }
+
+  /**
+   * Closes and removes all cached statements. The counters are not reset.
+   *
+   * @throws BibernateSqlException If a statement cannot be closed.
+   */
+  public void close() {
+    SQLException closeException = null;
+    for (PreparedStatement statement : statements.values()) {
+      try {
+        statement.close();
+      } catch (SQLException exception) {
+        if (closeException == null) {
+          closeException = exception;
+        } else {
+          closeException.addSuppressed(exception);
+        }
+      }
+    }
+    statements.clear();
+    connection = null;
+
+    if (closeException != null) {
+      throw new BibernateSqlException("Failed to close cached statements", closeException);
+    }
+  }
+
+  private void evictEldestIfFull() throws SQLException {
+    if (statements.size() <= maxSize) {
+      return;
+    }
+
+    Iterator<Map.Entry<StatementKey, PreparedStatement>> eldest = statements.entrySet().iterator();
+    Map.Entry<StatementKey, PreparedStatement> evicted = eldest.next();
+    eldest.remove();
+    evictionCount++;
+    log.trace("Evicting cached statement: {}", evicted.getKey().sqlTemplate());
+    evicted.getValue().close();
+  }
+
+  private static PreparedStatement prepareStatement(Connection connection, String sqlTemplate, boolean returnGeneratedKeys)
+    throws SQLException {
+    return returnGeneratedKeys
+      ? connection.prepareStatement(sqlTemplate, PreparedStatement.RETURN_GENERATED_KEYS)
+      : connection.prepareStatement(sqlTemplate);
+  }
+
+  private record StatementKey(String sqlTemplate, boolean returnGeneratedKeys) {
+
+  }
+
+  /**
+   * A prepared statement borrowed from the cache for a single execution.
+   *
+   * @param statement The prepared statement.
+   * @param cached    Whether the statement is owned by the cache and stays open after the lease is closed.
+   */
+  public record StatementLease(PreparedStatement statement, boolean cached) implements AutoCloseable {
+
+    @Override
+    public void close() throws SQLException {
+      if (!cached) {
+        statement.close();
+      }
+    }
+
+  }
+
+}
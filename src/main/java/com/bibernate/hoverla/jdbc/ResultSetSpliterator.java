@@ -0,0 +1,87 @@
+package com.bibernate.hoverla.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import com.bibernate.hoverla.exceptions.BibernateSqlException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A spliterator reading rows lazily from an open forward-only {@link ResultSet}. It owns the statement and the result set
+ * and releases them on {@link #close()}, restoring the auto-commit mode of the connection if it was switched off for the cursor.
+ */
+@Slf4j
+class ResultSetSpliterator extends Spliterators.AbstractSpliterator<Object[]> implements AutoCloseable {
+
+  private final Connection connection;
+  private final boolean restoreAutoCommit;
+  private final PreparedStatement preparedStatement;
+  private final ResultSet resultSet;
+  private final JdbcResultExtractor<?>[] resultExtractors;
+
+  private boolean closed;
+
+  ResultSetSpliterator(Connection connection,
+                       boolean restoreAutoCommit,
+                       PreparedStatement preparedStatement,
+                       ResultSet resultSet,
+                       JdbcResultExtractor<?>[] resultExtractors) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+    this.connection = connection;
+    this.restoreAutoCommit = restoreAutoCommit;
+    this.preparedStatement = preparedStatement;
+    this.resultSet = resultSet;
+    this.resultExtractors = resultExtractors;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super Object[]> action) {
+    if (closed) {
+      return false;
+    }
+
+    try {
+      if (!resultSet.next()) {
+        return false;
+      }
+
+      Object[] resultRow = new Object[resultExtractors.length];
+      for (int i = 0; i < resultRow.length; i++) {
+        resultRow[i] = resultExtractors[i].extractData(resultSet, i + 1);
+      }
+      action.accept(resultRow);
+      return true;
+    } catch (SQLException sqlException) {
+      throw new BibernateSqlException(sqlException.getMessage(), sqlException);
+    }
+  }
+
+  /**
+   * Closes the result set and the statement, and switches auto-commit back on if it was enabled before streaming.
+   *
+   * @throws BibernateSqlException If the resources cannot be released.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    log.debug("Closing streamed result set");
+
+    try (preparedStatement; resultSet) {
+      if (restoreAutoCommit) {
+        connection.setAutoCommit(true);
+      }
+    } catch (SQLException sqlException) {
+      throw new BibernateSqlException(sqlException.getMessage(), sqlException);
+    }
+  }
+
+}
@@ -0,0 +1,55 @@
+package com.bibernate.hoverla.jdbc.types;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * A base class of the {@link BibernateJdbcType} implementations of a single Java type, which bind values with the typed setter of a
+ * {@link PreparedStatement} instead of {@link PreparedStatement#setObject(int, Object)}.
+ * <p/>
+ * Query parameters are bound through the JDBC type of the compared field, so a value of another type, such as an {@code Integer}
+ * compared with a {@code long} field, is still bound with {@code setObject}. Null values are bound with the SQL type of the column.
+ * <p/>
+ * Extracted values of primitive columns are boxed, as every column is collected into the {@code Object[]} row of the query.
+ *
+ * @param <T> The Java type bound and extracted by this JDBC type.
+ */
+public abstract class BasicJdbcType<T> implements BibernateJdbcType<T> {
+
+  private final Class<T> javaType;
+  private final int sqlType;
+
+  /**
+   * Creates a JDBC type of the given Java type.
+   *
+   * @param javaType The wrapper or reference type of the values.
+   * @param sqlType  The SQL type from {@link java.sql.Types}, used to bind null values.
+   */
+  protected BasicJdbcType(Class<T> javaType, int sqlType) {
+    this.javaType = javaType;
+    this.sqlType = sqlType;
+  }
+
+  @Override
+  public void bindParameter(PreparedStatement preparedStatement, int index, T value) throws SQLException {
+    if (value == null) {
+      preparedStatement.setNull(index, sqlType);
+    } else if (javaType.isInstance(value)) {
+      bindValue(preparedStatement, index, javaType.cast(value));
+    } else {
+      preparedStatement.setObject(index, value);
+    }
+  }
+
+  /**
+   * Binds a non-null value of the Java type of this JDBC type.
+   *
+   * @param preparedStatement The prepared statement to bind the value to.
+   * @param index             The index of the parameter in the prepared statement.
+   * @param value             The value to bind.
+   *
+   * @throws SQLException If an SQL exception occurs while binding the parameter.
+   */
+  protected abstract void bindValue(PreparedStatement preparedStatement, int index, T value) throws SQLException;
+
+}
@@ -0,0 +1,28 @@
+package com.bibernate.hoverla.jdbc.types;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * The JDBC type of {@code BigDecimal} fields, read with {@link ResultSet#getBigDecimal(int)}.
+ */
+public class BigDecimalJdbcType extends BasicJdbcType<BigDecimal> {
+
+  public BigDecimalJdbcType() {
+    super(BigDecimal.class, Types.NUMERIC);
+  }
+
+  @Override
+  protected void bindValue(PreparedStatement preparedStatement, int index, BigDecimal value) throws SQLException {
+    preparedStatement.setBigDecimal(index, value);
+  }
+
+  @Override
+  public BigDecimal extractData(ResultSet resultSet, int index) throws SQLException {
+    return resultSet.getBigDecimal(index);
+  }
+
+}
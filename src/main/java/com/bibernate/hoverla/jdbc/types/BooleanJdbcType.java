@@ -0,0 +1,28 @@
+package com.bibernate.hoverla.jdbc.types;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * The JDBC type of {@code boolean} and {@code Boolean} fields, read with {@link ResultSet#getBoolean(int)}.
+ */
+public class BooleanJdbcType extends BasicJdbcType<Boolean> {
+
+  public BooleanJdbcType() {
+    super(Boolean.class, Types.BOOLEAN);
+  }
+
+  @Override
+  protected void bindValue(PreparedStatement preparedStatement, int index, Boolean value) throws SQLException {
+    preparedStatement.setBoolean(index, value);
+  }
+
+  @Override
+  public Boolean extractData(ResultSet resultSet, int index) throws SQLException {
+    boolean value = resultSet.getBoolean(index);
+    return resultSet.wasNull() ? null : value;
+  }
+
+}
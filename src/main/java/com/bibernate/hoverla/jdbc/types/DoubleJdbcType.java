@@ -0,0 +1,28 @@
+package com.bibernate.hoverla.jdbc.types;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * The JDBC type of {@code double} and {@code Double} fields, read with {@link ResultSet#getDouble(int)}.
+ */
+public class DoubleJdbcType extends BasicJdbcType<Double> {
+
+  public DoubleJdbcType() {
+    super(Double.class, Types.DOUBLE);
+  }
+
+  @Override
+  protected void bindValue(PreparedStatement preparedStatement, int index, Double value) throws SQLException {
+    preparedStatement.setDouble(index, value);
+  }
+
+  @Override
+  public Double extractData(ResultSet resultSet, int index) throws SQLException {
+    double value = resultSet.getDouble(index);
+    return resultSet.wasNull() ? null : value;
+  }
+
+}
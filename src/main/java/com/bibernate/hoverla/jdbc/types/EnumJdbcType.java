@@ -0,0 +1,39 @@
+package com.bibernate.hoverla.jdbc.types;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * The JDBC type of enum fields without a {@link com.bibernate.hoverla.annotations.JdbcType} annotation, stored as the name of the
+ * enum constant in a character column. PostgreSQL {@code ENUM} columns are mapped with {@link PostgreSqlJdbcEnumType} instead.
+ *
+ * @param <T> The enum type to work with in the JDBC context.
+ */
+public class EnumJdbcType<T extends Enum<T>> extends BasicJdbcType<T> {
+
+  private final Class<T> enumClass;
+
+  /**
+   * Constructs a new instance of EnumJdbcType for the specified enumClass.
+   *
+   * @param enumClass The enum class of the field.
+   */
+  public EnumJdbcType(Class<T> enumClass) {
+    super(enumClass, Types.VARCHAR);
+    this.enumClass = enumClass;
+  }
+
+  @Override
+  protected void bindValue(PreparedStatement preparedStatement, int index, T value) throws SQLException {
+    preparedStatement.setString(index, value.name());
+  }
+
+  @Override
+  public T extractData(ResultSet resultSet, int index) throws SQLException {
+    String name = resultSet.getString(index);
+    return name != null ? Enum.valueOf(enumClass, name) : null;
+  }
+
+}
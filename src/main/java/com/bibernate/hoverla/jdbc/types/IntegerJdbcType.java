@@ -0,0 +1,28 @@
+package com.bibernate.hoverla.jdbc.types;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * The JDBC type of {@code int} and {@code Integer} fields, read with {@link ResultSet#getInt(int)}.
+ */
+public class IntegerJdbcType extends BasicJdbcType<Integer> {
+
+  public IntegerJdbcType() {
+    super(Integer.class, Types.INTEGER);
+  }
+
+  @Override
+  protected void bindValue(PreparedStatement preparedStatement, int index, Integer value) throws SQLException {
+    preparedStatement.setInt(index, value);
+  }
+
+  @Override
+  public Integer extractData(ResultSet resultSet, int index) throws SQLException {
+    int value = resultSet.getInt(index);
+    return resultSet.wasNull() ? null : value;
+  }
+
+}
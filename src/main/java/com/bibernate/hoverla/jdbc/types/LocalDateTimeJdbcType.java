@@ -0,0 +1,28 @@
+package com.bibernate.hoverla.jdbc.types;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+/**
+ * The JDBC type of {@code LocalDateTime} fields, mapped to {@code TIMESTAMP} columns without a time zone.
+ */
+public class LocalDateTimeJdbcType extends BasicJdbcType<LocalDateTime> {
+
+  public LocalDateTimeJdbcType() {
+    super(LocalDateTime.class, Types.TIMESTAMP);
+  }
+
+  @Override
+  protected void bindValue(PreparedStatement preparedStatement, int index, LocalDateTime value) throws SQLException {
+    preparedStatement.setObject(index, value, Types.TIMESTAMP);
+  }
+
+  @Override
+  public LocalDateTime extractData(ResultSet resultSet, int index) throws SQLException {
+    return resultSet.getObject(index, LocalDateTime.class);
+  }
+
+}
@@ -0,0 +1,28 @@
+package com.bibernate.hoverla.jdbc.types;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * The JDBC type of {@code long} and {@code Long} fields, read with {@link ResultSet#getLong(int)}.
+ */
+public class LongJdbcType extends BasicJdbcType<Long> {
+
+  public LongJdbcType() {
+    super(Long.class, Types.BIGINT);
+  }
+
+  @Override
+  protected void bindValue(PreparedStatement preparedStatement, int index, Long value) throws SQLException {
+    preparedStatement.setLong(index, value);
+  }
+
+  @Override
+  public Long extractData(ResultSet resultSet, int index) throws SQLException {
+    long value = resultSet.getLong(index);
+    return resultSet.wasNull() ? null : value;
+  }
+
+}
@@ -0,0 +1,27 @@
+package com.bibernate.hoverla.jdbc.types;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * The JDBC type of {@code String} fields, read with {@link ResultSet#getString(int)}.
+ */
+public class StringJdbcType extends BasicJdbcType<String> {
+
+  public StringJdbcType() {
+    super(String.class, Types.VARCHAR);
+  }
+
+  @Override
+  protected void bindValue(PreparedStatement preparedStatement, int index, String value) throws SQLException {
+    preparedStatement.setString(index, value);
+  }
+
+  @Override
+  public String extractData(ResultSet resultSet, int index) throws SQLException {
+    return resultSet.getString(index);
+  }
+
+}
@@ -0,0 +1,28 @@
+package com.bibernate.hoverla.jdbc.types;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.UUID;
+
+/**
+ * The JDBC type of {@code UUID} fields, mapped to {@code UUID} columns.
+ */
+public class UuidJdbcType extends BasicJdbcType<UUID> {
+
+  public UuidJdbcType() {
+    super(UUID.class, Types.OTHER);
+  }
+
+  @Override
+  protected void bindValue(PreparedStatement preparedStatement, int index, UUID value) throws SQLException {
+    preparedStatement.setObject(index, value, Types.OTHER);
+  }
+
+  @Override
+  public UUID extractData(ResultSet resultSet, int index) throws SQLException {
+    return resultSet.getObject(index, UUID.class);
+  }
+
+}
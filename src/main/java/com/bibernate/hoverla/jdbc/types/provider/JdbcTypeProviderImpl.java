@@ -2,25 +2,58 @@ package com.bibernate.hoverla.jdbc.types.provider;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
 
 import javax.annotation.Nullable;
 
 import com.bibernate.hoverla.exceptions.BibernateException;
+import com.bibernate.hoverla.jdbc.types.BigDecimalJdbcType;
 import com.bibernate.hoverla.jdbc.types.BibernateJdbcType;
+import com.bibernate.hoverla.jdbc.types.BooleanJdbcType;
 import com.bibernate.hoverla.jdbc.types.DefaultBibernateJdbcTypeImpl;
+import com.bibernate.hoverla.jdbc.types.DoubleJdbcType;
+import com.bibernate.hoverla.jdbc.types.EnumJdbcType;
+import com.bibernate.hoverla.jdbc.types.IntegerJdbcType;
+import com.bibernate.hoverla.jdbc.types.LocalDateTimeJdbcType;
+import com.bibernate.hoverla.jdbc.types.LongJdbcType;
+import com.bibernate.hoverla.jdbc.types.StringJdbcType;
+import com.bibernate.hoverla.jdbc.types.UuidJdbcType;
 
 /**
  * An implementation of the {@link JdbcTypeProvider} interface that provides instances of {@link BibernateJdbcType}.
  */
 public class JdbcTypeProviderImpl implements JdbcTypeProvider {
 
+  /**
+   * The stateless JDBC types shared by all fields of the given primitive, wrapper or reference type.
+   */
+  private static final Map<Class<?>, BibernateJdbcType<?>> BASIC_TYPES = Map.ofEntries(
+    Map.entry(long.class, new LongJdbcType()),
+    Map.entry(Long.class, new LongJdbcType()),
+    Map.entry(int.class, new IntegerJdbcType()),
+    Map.entry(Integer.class, new IntegerJdbcType()),
+    Map.entry(double.class, new DoubleJdbcType()),
+    Map.entry(Double.class, new DoubleJdbcType()),
+    Map.entry(boolean.class, new BooleanJdbcType()),
+    Map.entry(Boolean.class, new BooleanJdbcType()),
+    Map.entry(String.class, new StringJdbcType()),
+    Map.entry(BigDecimal.class, new BigDecimalJdbcType()),
+    Map.entry(LocalDateTime.class, new LocalDateTimeJdbcType()),
+    Map.entry(UUID.class, new UuidJdbcType()));
+
   /**
    * Returns an instance of a {@link BibernateJdbcType} for the given class and field type.
    * If the provided class is not null, it attempts to instantiate the class using its declared constructor.
    * If the constructor requires a single parameter, it is invoked with the field type.
    * If the constructor does not require any parameters, it is invoked without any arguments.
    * If the instantiation fails, a {@link BibernateException} is thrown.
-   * If the provided class is null, a default {@link DefaultBibernateJdbcTypeImpl} is returned.
+   * If the provided class is null, the JDBC type is resolved from the field type: {@code long}, {@code int}, {@code double},
+   * {@code boolean} and their wrappers, {@code String}, {@code BigDecimal}, {@code LocalDateTime} and {@code UUID} fields are bound and
+   * read with the typed methods of the statement and result set, enum fields are stored as the constant names. For any other field
+   * type, including the entity type of a {@code @ManyToOne} field, a default {@link DefaultBibernateJdbcTypeImpl} is returned.
    *
    * @param jdbcTypeClass The class of the {@link BibernateJdbcType} to instantiate.
    * @param fieldType The class of the field type for which to get the {@link BibernateJdbcType}.
@@ -43,7 +76,15 @@ public class JdbcTypeProviderImpl implements JdbcTypeProvider {
         throw new BibernateException(e);
       }
     }
-    return (BibernateJdbcType<T>) new DefaultBibernateJdbcTypeImpl();
+    if (fieldType.isEnum()) {
+      return newEnumJdbcType(fieldType);
+    }
+    return (BibernateJdbcType<T>) BASIC_TYPES.getOrDefault(fieldType, new DefaultBibernateJdbcTypeImpl());
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static <T> BibernateJdbcType<T> newEnumJdbcType(Class<?> enumClass) {
+    return new EnumJdbcType(enumClass);
   }
 
 }
@@ -7,10 +7,15 @@ import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import com.bibernate.hoverla.annotations.BatchSize;
+import com.bibernate.hoverla.annotations.CacheConcurrencyStrategy;
+import com.bibernate.hoverla.annotations.Cacheable;
 import com.bibernate.hoverla.exceptions.InvalidEntityDeclarationException;
 import com.bibernate.hoverla.jdbc.types.BibernateJdbcType;
 
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 
 /**
  * Represents a single entity in the metamodel. It has information about the entity's related table name, column names, primary key, etc.
@@ -41,6 +46,24 @@ public class EntityMapping {
    */
   private final Map<String, FieldMapping<?>> fieldNameMappingMap = new LinkedHashMap<>();
 
+  /**
+   * The concurrency strategy of the second-level cache, null if the entity is not {@link Cacheable}.
+   */
+  @Setter
+  private CacheConcurrencyStrategy cacheConcurrencyStrategy;
+
+  /**
+   * The number of lazy references of the entity loaded together, 0 if not specified by {@link BatchSize}.
+   */
+  @Setter
+  private int batchSize;
+
+  /**
+   * SQL statements compiled from the field mappings, see {@link #compileSqlStatements()}.
+   */
+  @Getter(AccessLevel.NONE)
+  private volatile EntitySqlStatements sqlStatements;
+
   public EntityMapping(Class<?> entityClass) {
     this(entityClass, entityClass.getSimpleName());
   }
@@ -67,6 +90,37 @@ public class EntityMapping {
 
   public void addFieldMapping(String fieldName, FieldMapping<?> fieldMapping) {
     fieldNameMappingMap.put(fieldName, fieldMapping);
+    sqlStatements = null;
+  }
+
+  /**
+   * Compiles the SQL statements of this entity. Called once the metamodel is complete, when the session factory is built.
+   *
+   * @return The compiled statements.
+   */
+  public EntitySqlStatements compileSqlStatements() {
+    EntitySqlStatements compiled = new EntitySqlStatements(this);
+    sqlStatements = compiled;
+    return compiled;
+  }
+
+  /**
+   * Retrieves the precompiled SQL statements of this entity, compiling them on first access if needed.
+   *
+   * @return The compiled statements.
+   */
+  public EntitySqlStatements getSqlStatements() {
+    EntitySqlStatements compiled = sqlStatements;
+    return compiled != null ? compiled : compileSqlStatements();
+  }
+
+  /**
+   * Checks whether loaded entities are kept in the second-level cache.
+   *
+   * @return True if the entity is {@link Cacheable}.
+   */
+  public boolean isCacheable() {
+    return cacheConcurrencyStrategy != null;
   }
 
   public FieldMapping<?> getFieldMapping(String fieldName) {
@@ -88,10 +142,7 @@ public class EntityMapping {
   }
 
   public String getColumnNames() {
-    return getFieldMappings(mapping -> !mapping.isOneToMany())
-      .stream()
-      .map(FieldMapping::getColumnName)
-      .collect(Collectors.joining(", "));
+    return getSqlStatements().getColumnNames();
   }
 
   public List<? extends BibernateJdbcType<?>> getJdbcTypes() {
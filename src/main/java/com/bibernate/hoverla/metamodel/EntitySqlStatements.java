@@ -0,0 +1,268 @@
+package com.bibernate.hoverla.metamodel;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.bibernate.hoverla.exceptions.BibernateException;
+import com.bibernate.hoverla.jdbc.JdbcResultExtractor;
+import com.bibernate.hoverla.session.LockMode;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Precompiled SQL statements and column metadata of a single {@link EntityMapping}.
+ *
+ * <p>
+ * Statements are built once, when the session factory is created, so that CRUD operations on the hot path only bind
+ * parameters instead of formatting SQL and streaming over field mappings on every call.
+ * </p>
+ *
+ * @see EntityMapping#getSqlStatements()
+ */
+@Getter
+public class EntitySqlStatements {
+
+  private static final String SELECT_FROM_TABLE_BY_COLUMN = "SELECT %s FROM %s WHERE %s = ?%s;";
+  private static final String SELECT_FROM_TABLE_BY_COLUMN_IN = "SELECT %s FROM %s WHERE %s IN (%s);";
+  private static final String INSERT_INTO_TABLE = "INSERT INTO %s (%s) VALUES (%s);";
+  private static final String INSERT_INTO_TABLE_RETURNING = "INSERT INTO %s (%s) VALUES %s RETURNING %s;";
+  private static final String DELETE_FROM_TABLE_BY_ID = "DELETE FROM %s WHERE %s = ?;";
+  private static final String UPDATE_TABLE = "UPDATE %s SET ";
+  private static final String BY_ID_CONDITION = " WHERE %s = ?;";
+  private static final String OPTIMISTIC_LOCK_CONDITION = ", %s = ? WHERE %s = ? AND %s = ?;";
+
+  private final FieldMapping<?> primaryKeyMapping;
+  private final FieldMapping<?> optimisticLockMapping;
+
+  /**
+   * Field mappings backed by a table column, in the order of {@link #columnNames}.
+   */
+  private final List<FieldMapping<?>> columnFieldMappings;
+  private final List<FieldMapping<?>> insertableFieldMappings;
+  private final List<FieldMapping<?>> updatableFieldMappings;
+  private final List<FieldMapping<?>> oneToManyFieldMappings;
+
+  private final String columnNames;
+  @Getter(AccessLevel.NONE)
+  private final JdbcResultExtractor<?>[] resultExtractors;
+
+  private final String insertStatement;
+  /**
+   * Multi-row insert statements returning the generated primary keys, keyed by the number of rows, filled in on first use of each number.
+   */
+  @Getter(AccessLevel.NONE)
+  private final Map<Integer, String> insertReturningStatements = new ConcurrentHashMap<>();
+  private final String deleteByIdStatement;
+  @Getter(AccessLevel.NONE)
+  private final Map<LockMode, String> selectByIdStatements;
+  @Getter(AccessLevel.NONE)
+  private final Map<String, String> selectByColumnStatements;
+  /**
+   * Statements selecting rows by several ids, keyed by the number of ids, filled in on first use of each number.
+   */
+  @Getter(AccessLevel.NONE)
+  private final Map<Integer, String> selectByIdsStatements = new ConcurrentHashMap<>();
+  /**
+   * Statements selecting rows by several values of a join column, keyed by the join field name and then by the number of values.
+   */
+  @Getter(AccessLevel.NONE)
+  private final Map<String, Map<Integer, String>> selectByColumnInStatements;
+  @Getter(AccessLevel.NONE)
+  private final String tableName;
+
+  @Getter(AccessLevel.NONE)
+  private final String updatePrefix;
+  @Getter(AccessLevel.NONE)
+  private final String updateSuffix;
+  @Getter(AccessLevel.NONE)
+  private final Map<FieldMapping<?>, Integer> updatableFieldIndexes = new IdentityHashMap<>();
+  /**
+   * Update statements keyed by the bit mask of updated columns, filled in on first use of each column combination.
+   */
+  @Getter(AccessLevel.NONE)
+  private final Map<Long, String> updateStatements = new ConcurrentHashMap<>();
+
+  EntitySqlStatements(EntityMapping entityMapping) {
+    this.tableName = entityMapping.getTableName();
+
+    this.primaryKeyMapping = entityMapping.getPrimaryKeyMapping();
+    this.optimisticLockMapping = entityMapping.getFieldMappingWithOptimisticLock().orElse(null);
+
+    this.columnFieldMappings = entityMapping.getFieldMappings(mapping -> !mapping.isOneToMany());
+    this.insertableFieldMappings = entityMapping.getFieldMappings(FieldMapping::isInsertable);
+    this.updatableFieldMappings = entityMapping.getFieldMappings(FieldMapping::isUpdatable);
+    for (int i = 0; i < updatableFieldMappings.size(); i++) {
+      updatableFieldIndexes.put(updatableFieldMappings.get(i), i);
+    }
+    this.oneToManyFieldMappings = entityMapping.getFieldMappings(FieldMapping::isOneToMany);
+
+    this.columnNames = joinColumnNames(columnFieldMappings);
+    this.resultExtractors = columnFieldMappings.stream()
+      .map(FieldMapping::getJdbcType)
+      .toArray(JdbcResultExtractor<?>[]::new);
+
+    this.insertStatement = INSERT_INTO_TABLE.formatted(tableName,
+                                                       joinColumnNames(insertableFieldMappings),
+                                                       String.join(", ", Collections.nCopies(insertableFieldMappings.size(), "?")));
+    this.deleteByIdStatement = DELETE_FROM_TABLE_BY_ID.formatted(tableName, primaryKeyMapping.getColumnName());
+
+    Map<LockMode, String> selectById = new EnumMap<>(LockMode.class);
+    for (LockMode lockMode : LockMode.values()) {
+      selectById.put(lockMode, SELECT_FROM_TABLE_BY_COLUMN.formatted(columnNames, tableName, primaryKeyMapping.getColumnName(),
+                                                                     lockMode == LockMode.NONE ? "" : " " + lockMode.getSqlAppend()));
+    }
+    this.selectByIdStatements = selectById;
+
+    Map<String, String> selectByColumn = new HashMap<>();
+    Map<String, Map<Integer, String>> selectByColumnIn = new HashMap<>();
+    for (FieldMapping<?> joinColumn : entityMapping.getFieldMappings(FieldMapping::isManyToOne)) {
+      selectByColumn.put(joinColumn.getFieldName(),
+                         SELECT_FROM_TABLE_BY_COLUMN.formatted(columnNames, tableName, joinColumn.getColumnName(), ""));
+      selectByColumnIn.put(joinColumn.getFieldName(), new ConcurrentHashMap<>());
+    }
+    this.selectByColumnStatements = selectByColumn;
+    this.selectByColumnInStatements = selectByColumnIn;
+
+    this.updatePrefix = UPDATE_TABLE.formatted(tableName);
+    this.updateSuffix = optimisticLockMapping == null
+      ? BY_ID_CONDITION.formatted(primaryKeyMapping.getColumnName())
+      : OPTIMISTIC_LOCK_CONDITION.formatted(optimisticLockMapping.getColumnName(),
+                                            primaryKeyMapping.getColumnName(),
+                                            optimisticLockMapping.getColumnName());
+  }
+
+  /**
+   * Returns the extractors of the selected columns, in the order of {@link #getColumnNames()}.
+   * The returned array is shared and must not be modified.
+   */
+  public JdbcResultExtractor<?>[] getResultExtractors() {
+    return resultExtractors;
+  }
+
+  public String getSelectByIdStatement(LockMode lockMode) {
+    return selectByIdStatements.get(lockMode);
+  }
+
+  /**
+   * Returns the statement selecting the rows with any of the given number of ids, bound in the order of the placeholders.
+   *
+   * @param idCount the number of ids, at least 1.
+   *
+   * @return the select statement.
+   */
+  public String getSelectByIdsStatement(int idCount) {
+    return selectByIdsStatements.computeIfAbsent(idCount, count -> buildSelectByColumnInStatement(primaryKeyMapping, count));
+  }
+
+  /**
+   * Returns the statement selecting all rows whose join column, mapped by the given {@code @ManyToOne} field, equals any of
+   * the given number of bound values.
+   *
+   * @param joinFieldName the name of the {@code @ManyToOne} field.
+   * @param valueCount    the number of values, at least 1.
+   *
+   * @return the select statement.
+   *
+   * @throws BibernateException if the field is not a {@code @ManyToOne} field of this entity.
+   */
+  public String getSelectByColumnInStatement(String joinFieldName, int valueCount) {
+    Map<Integer, String> statements = selectByColumnInStatements.get(joinFieldName);
+    if (statements == null) {
+      throw new BibernateException("No join column mapped by field %s".formatted(joinFieldName));
+    }
+    return statements.computeIfAbsent(valueCount, count -> buildSelectByColumnInStatement(
+      columnFieldMappings.stream().filter(mapping -> mapping.getFieldName().equals(joinFieldName)).findFirst().orElseThrow(), count));
+  }
+
+  private String buildSelectByColumnInStatement(FieldMapping<?> column, int valueCount) {
+    return SELECT_FROM_TABLE_BY_COLUMN_IN.formatted(columnNames, tableName, column.getColumnName(),
+                                                    String.join(", ", Collections.nCopies(valueCount, "?")));
+  }
+
+  /**
+   * Returns the statement inserting the given number of rows and returning their generated primary keys, in the order of the rows.
+   * The insertable columns of every row are bound one row after another.
+   *
+   * @param rowCount the number of rows, at least 1.
+   *
+   * @return the insert statement.
+   */
+  public String getInsertReturningStatement(int rowCount) {
+    return insertReturningStatements.computeIfAbsent(rowCount, this::buildInsertReturningStatement);
+  }
+
+  private String buildInsertReturningStatement(int rowCount) {
+    String rowPlaceholders = "(" + String.join(", ", Collections.nCopies(insertableFieldMappings.size(), "?")) + ")";
+    return INSERT_INTO_TABLE_RETURNING.formatted(tableName, joinColumnNames(insertableFieldMappings),
+                                                 String.join(", ", Collections.nCopies(rowCount, rowPlaceholders)),
+                                                 primaryKeyMapping.getColumnName());
+  }
+
+  /**
+   * Returns the statement selecting all rows whose join column, mapped by the given {@code @ManyToOne} field, equals the bound value.
+   *
+   * @param joinFieldName the name of the {@code @ManyToOne} field.
+   *
+   * @return the select statement.
+   *
+   * @throws BibernateException if the field is not a {@code @ManyToOne} field of this entity.
+   */
+  public String getSelectByColumnStatement(String joinFieldName) {
+    String statement = selectByColumnStatements.get(joinFieldName);
+    if (statement == null) {
+      throw new BibernateException("No join column mapped by field %s".formatted(joinFieldName));
+    }
+    return statement;
+  }
+
+  /**
+   * Returns an update statement of the given columns. When the entity declares an optimistic lock, the statement also sets
+   * the next version and checks the previous one; the binding order then is: columns, next version, id, previous version.
+   * Statements are cached per combination of columns, so the columns must be passed in their declaration order.
+   *
+   * @param columnsToUpdate the field mappings of the updated columns.
+   *
+   * @return the update statement.
+   */
+  public String getUpdateStatement(List<? extends FieldMapping<?>> columnsToUpdate) {
+    if (updatableFieldMappings.size() > Long.SIZE) {
+      return buildUpdateStatement(columnsToUpdate);
+    }
+
+    long columnsMask = 0;
+    for (FieldMapping<?> column : columnsToUpdate) {
+      Integer index = updatableFieldIndexes.get(column);
+      if (index == null) {
+        return buildUpdateStatement(columnsToUpdate);
+      }
+      columnsMask |= 1L << index;
+    }
+    return updateStatements.computeIfAbsent(columnsMask, mask -> buildUpdateStatement(columnsToUpdate));
+  }
+
+  private String buildUpdateStatement(List<? extends FieldMapping<?>> columnsToUpdate) {
+    StringBuilder statement = new StringBuilder(updatePrefix);
+    for (int i = 0; i < columnsToUpdate.size(); i++) {
+      if (i > 0) {
+        statement.append(',');
+      }
+      statement.append(columnsToUpdate.get(i).getColumnName()).append("=?");
+    }
+    return statement.append(updateSuffix).toString();
+  }
+
+  private static String joinColumnNames(List<FieldMapping<?>> fieldMappings) {
+    return fieldMappings.stream()
+      .map(FieldMapping::getColumnName)
+      .collect(joining(", "));
+  }
+
+}
@@ -30,5 +30,27 @@ public class FieldMapping<T> {
 
   private IdGeneratorStrategy idGeneratorStrategy;
   private OneToManyMapping oneToManyMapping;
+  private PropertyAccessor propertyAccessor;
+
+  /**
+   * Reads the value of this field from the given entity.
+   *
+   * @param entity the entity instance, must not be an uninitialized proxy.
+   *
+   * @return the field value.
+   */
+  public Object getValue(Object entity) {
+    return propertyAccessor.get(entity);
+  }
+
+  /**
+   * Writes the value of this field to the given entity.
+   *
+   * @param entity the entity instance, must not be an uninitialized proxy.
+   * @param value  the new field value.
+   */
+  public void setValue(Object entity, Object value) {
+    propertyAccessor.set(entity, value);
+  }
 
 }
@@ -1,5 +1,7 @@
 package com.bibernate.hoverla.metamodel;
 
+import com.bibernate.hoverla.annotations.BatchSize;
+
 import lombok.Builder;
 import lombok.Getter;
 
@@ -9,5 +11,9 @@ public class OneToManyMapping {
 
   private String mappedBy;
   private Class<?> collectionType;
+  /**
+   * The number of lazy collections of this field loaded together, 0 if not specified by {@link BatchSize}.
+   */
+  private int batchSize;
 
 }
@@ -0,0 +1,90 @@
+package com.bibernate.hoverla.metamodel;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+
+import com.bibernate.hoverla.exceptions.IllegalFieldAccessException;
+
+/**
+ * Reads and writes a single entity field through a {@link VarHandle} resolved once, when the metamodel is scanned.
+ *
+ * <p>
+ * Unlike {@link Field#get(Object)} and {@link Field#set(Object, Object)} looked up by name on every call, the access mode method
+ * handles of the var handle are adapted to an erased {@code (Object)Object} signature and invoked exactly, which lets the JIT
+ * compile the access down to a plain field read or write.
+ * </p>
+ *
+ * @see FieldMapping#getValue(Object)
+ * @see FieldMapping#setValue(Object, Object)
+ */
+public final class PropertyAccessor {
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  private final String fieldName;
+  private final Class<?> declaringClass;
+  private final MethodHandle getter;
+  private final MethodHandle setter;
+
+  private PropertyAccessor(Field field, VarHandle varHandle) {
+    this.fieldName = field.getName();
+    this.declaringClass = field.getDeclaringClass();
+    this.getter = varHandle.toMethodHandle(VarHandle.AccessMode.GET).asType(GETTER_TYPE);
+    this.setter = varHandle.toMethodHandle(VarHandle.AccessMode.SET).asType(SETTER_TYPE);
+  }
+
+  /**
+   * Creates an accessor of the given field.
+   *
+   * @param field The entity field.
+   *
+   * @return The accessor of the field.
+   *
+   * @throws IllegalFieldAccessException If the field is not accessible.
+   */
+  public static PropertyAccessor of(Field field) {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+      return new PropertyAccessor(field, lookup.unreflectVarHandle(field));
+    } catch (IllegalAccessException exception) {
+      throw new IllegalFieldAccessException("Failed to access field: %s of class: %s".formatted(field.getName(), field.getDeclaringClass()),
+                                            exception);
+    }
+  }
+
+  /**
+   * Reads the value of the field.
+   *
+   * @param entity The entity instance.
+   *
+   * @return The field value, primitive values are boxed.
+   */
+  public Object get(Object entity) {
+    try {
+      return (Object) getter.invokeExact(entity);
+    } catch (Throwable exception) {
+      throw new IllegalFieldAccessException("Error getting value from field %s of entity %s".formatted(fieldName, declaringClass.getName()),
+                                            exception);
+    }
+  }
+
+  /**
+   * Writes the value of the field.
+   *
+   * @param entity The entity instance.
+   * @param value  The new field value, primitive fields accept the corresponding wrapper values.
+   */
+  public void set(Object entity, Object value) {
+    try {
+      setter.invokeExact(entity, value);
+    } catch (Throwable exception) {
+      throw new IllegalFieldAccessException("Error setting value to field %s of entity %s".formatted(fieldName, declaringClass.getName()),
+                                            exception);
+    }
+  }
+
+}
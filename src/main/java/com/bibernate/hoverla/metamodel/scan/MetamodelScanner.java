@@ -1,5 +1,6 @@
 package com.bibernate.hoverla.metamodel.scan;
 
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.util.Arrays;
@@ -12,6 +13,9 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.reflections.Reflections;
 
+import com.bibernate.hoverla.annotations.BatchSize;
+import com.bibernate.hoverla.annotations.CacheConcurrencyStrategy;
+import com.bibernate.hoverla.annotations.Cacheable;
 import com.bibernate.hoverla.annotations.Column;
 import com.bibernate.hoverla.annotations.Entity;
 import com.bibernate.hoverla.annotations.Id;
@@ -31,6 +35,7 @@ import com.bibernate.hoverla.metamodel.FieldMapping;
 import com.bibernate.hoverla.metamodel.IdGeneratorStrategy;
 import com.bibernate.hoverla.metamodel.Metamodel;
 import com.bibernate.hoverla.metamodel.OneToManyMapping;
+import com.bibernate.hoverla.metamodel.PropertyAccessor;
 import com.bibernate.hoverla.metamodel.UnsavedValueStrategy;
 
 import lombok.RequiredArgsConstructor;
@@ -96,6 +101,8 @@ public class MetamodelScanner {
 
   private EntityMapping scanEntity(Class<?> entityClass) {
     var entityMapping = new EntityMapping(entityClass, resolveTableName(entityClass));
+    entityMapping.setCacheConcurrencyStrategy(resolveCacheConcurrencyStrategy(entityClass));
+    entityMapping.setBatchSize(resolveBatchSize(entityClass, entityClass.getName()));
 
     Field[] declaredFields = entityClass.getDeclaredFields();
     for (var field : declaredFields) {
@@ -171,6 +178,24 @@ public class MetamodelScanner {
       .orElseGet(() -> toSnakeCase(entityClass.getSimpleName()));
   }
 
+  private CacheConcurrencyStrategy resolveCacheConcurrencyStrategy(Class<?> entityClass) {
+    return Optional.ofNullable(entityClass.getAnnotation(Cacheable.class))
+      .map(Cacheable::value)
+      .orElse(null);
+  }
+
+  private int resolveBatchSize(AnnotatedElement element, String name) {
+    BatchSize batchSize = element.getAnnotation(BatchSize.class);
+    if (batchSize == null) {
+      return 0;
+    }
+    if (batchSize.value() < 1) {
+      throw new InvalidEntityDeclarationException("'%s' has invalid batch size %d. Batch size must be positive"
+                                                    .formatted(name, batchSize.value()));
+    }
+    return batchSize.value();
+  }
+
   private <T> FieldMapping<T> scanField(Field field) {
     FieldMapping<T> fieldMapping = FieldMapping.<T>builder()
       .columnName(resolveColumnName(field))
@@ -187,6 +212,7 @@ public class MetamodelScanner {
       .oneToManyMapping(resolveOneToManyMapping(field))
       .isOneToMany(field.isAnnotationPresent(OneToMany.class))
       .isOptimisticLock(field.isAnnotationPresent(OptimisticLock.class))
+      .propertyAccessor(PropertyAccessor.of(field))
       .build();
     return fieldMapping;
   }
@@ -203,6 +229,7 @@ public class MetamodelScanner {
     return OneToManyMapping.builder()
       .mappedBy(annotation.mappedBy())
       .collectionType(relatedEntityType)
+      .batchSize(resolveBatchSize(field, field.getDeclaringClass().getName() + "." + field.getName()))
       .build();
   }
 
@@ -225,9 +252,13 @@ public class MetamodelScanner {
 
   private IdGeneratorStrategy getSequenceGeneratedStrategy(Field field) {
     SequenceGeneratedValue sequence = field.getAnnotation(SequenceGeneratedValue.class);
+    if (sequence.allocationSize() < 1) {
+      throw new InvalidEntityDeclarationException("'%s' has invalid allocation size %d. Allocation size must be positive"
+                                                    .formatted(field.getName(), sequence.allocationSize()));
+    }
     return IdGeneratorStrategy.builder()
       .isIdentityGenerated(false)
-      .generator(new SequenceGeneratorImpl(sequence.sequenceName(), sequence.allocationSize()))
+      .generator(new SequenceGeneratorImpl(sequence.sequenceName(), sequence.allocationSize(), sequence.optimizer()))
       .unsavedValueStrategy(UnsavedValueStrategy.NULL)
       .build();
   }
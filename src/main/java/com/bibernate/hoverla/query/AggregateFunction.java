@@ -0,0 +1,95 @@
+package com.bibernate.hoverla.query;
+
+import java.math.BigDecimal;
+
+import org.apache.commons.lang3.ClassUtils;
+
+import com.bibernate.hoverla.exceptions.BibernateBqlException;
+import com.bibernate.hoverla.jdbc.JdbcResultExtractor;
+import com.bibernate.hoverla.metamodel.FieldMapping;
+
+/**
+ * The aggregate functions of projections, computed by the database over the selected rows or the rows of every group.
+ * <p/>
+ * The Java type of a result does not depend on the database: {@code COUNT} returns a {@link Long}, {@code MIN} and {@code MAX}
+ * the type of the field, {@code SUM} a {@link Long} for integral fields and a {@link Double} for floating point fields, and
+ * {@code AVG} a {@link Double}. Both return a {@link BigDecimal} for any other numeric field. All functions but {@code COUNT}
+ * return null when there are no rows.
+ */
+enum AggregateFunction {
+
+  COUNT,
+  SUM,
+  MIN,
+  MAX,
+  AVG;
+
+  private static final JdbcResultExtractor<Long> COUNT_EXTRACTOR = (resultSet, index) -> resultSet.getLong(index);
+  private static final JdbcResultExtractor<Long> LONG_EXTRACTOR = (resultSet, index) ->
+    resultSet.getObject(index) instanceof Number value ? value.longValue() : null;
+  private static final JdbcResultExtractor<Double> DOUBLE_EXTRACTOR = (resultSet, index) ->
+    resultSet.getObject(index) instanceof Number value ? value.doubleValue() : null;
+  private static final JdbcResultExtractor<BigDecimal> BIG_DECIMAL_EXTRACTOR = (resultSet, index) -> resultSet.getBigDecimal(index);
+
+  /**
+   * Returns the column counting all selected rows, {@code COUNT(*)}.
+   */
+  static ProjectedColumn countAll() {
+    return new ProjectedColumn("COUNT(*)", Long.class, COUNT_EXTRACTOR);
+  }
+
+  /**
+   * Returns the column applying this function to the given field.
+   *
+   * @param fieldMapping The aggregated field.
+   * @param column       The column of the field in the SQL statement.
+   *
+   * @return The aggregate column.
+   *
+   * @throws BibernateBqlException If the function cannot be applied to the field: only {@code COUNT} applies to a {@code @ManyToOne}
+   *                               association, none to a collection, and {@code SUM} and {@code AVG} require a numeric field.
+   */
+  ProjectedColumn apply(FieldMapping<?> fieldMapping, String column) {
+    if (fieldMapping.isOneToMany() || fieldMapping.isManyToOne() && this != COUNT) {
+      throw new BibernateBqlException("Function %s cannot be applied to association %s".formatted(name(), fieldMapping.getFieldName()));
+    }
+
+    String expression = name() + "(" + column + ")";
+    return switch (this) {
+      case COUNT -> new ProjectedColumn(expression, Long.class, COUNT_EXTRACTOR);
+      case MIN, MAX -> new ProjectedColumn(expression, fieldMapping.getFieldType(), fieldMapping.getJdbcType());
+      case SUM -> {
+        Class<?> numericType = getNumericType(fieldMapping);
+        if (isIntegral(numericType)) {
+          yield new ProjectedColumn(expression, Long.class, LONG_EXTRACTOR);
+        }
+        yield isFloatingPoint(numericType)
+          ? new ProjectedColumn(expression, Double.class, DOUBLE_EXTRACTOR)
+          : new ProjectedColumn(expression, BigDecimal.class, BIG_DECIMAL_EXTRACTOR);
+      }
+      case AVG -> {
+        Class<?> numericType = getNumericType(fieldMapping);
+        yield isIntegral(numericType) || isFloatingPoint(numericType)
+          ? new ProjectedColumn(expression, Double.class, DOUBLE_EXTRACTOR)
+          : new ProjectedColumn(expression, BigDecimal.class, BIG_DECIMAL_EXTRACTOR);
+      }
+    };
+  }
+
+  private Class<?> getNumericType(FieldMapping<?> fieldMapping) {
+    Class<?> type = ClassUtils.primitiveToWrapper(fieldMapping.getFieldType());
+    if (!Number.class.isAssignableFrom(type)) {
+      throw new BibernateBqlException("Function %s requires a numeric field, but %s is not one".formatted(name(), fieldMapping.getFieldName()));
+    }
+    return type;
+  }
+
+  private static boolean isIntegral(Class<?> numericType) {
+    return numericType == Byte.class || numericType == Short.class || numericType == Integer.class || numericType == Long.class;
+  }
+
+  private static boolean isFloatingPoint(Class<?> numericType) {
+    return numericType == Float.class || numericType == Double.class;
+  }
+
+}
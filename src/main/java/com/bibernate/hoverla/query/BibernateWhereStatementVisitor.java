@@ -1,11 +1,15 @@
 package com.bibernate.hoverla.query;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.antlr.v4.runtime.tree.ParseTree;
 
 import com.bibernate.grammar.WhereStatementBaseVisitor;
 import com.bibernate.grammar.WhereStatementParser;
@@ -13,13 +17,12 @@ import com.bibernate.hoverla.exceptions.BibernateBqlException;
 import com.bibernate.hoverla.exceptions.BibernateBqlInvalidParameterException;
 import com.bibernate.hoverla.exceptions.BibernateBqlMissingParameterException;
 import com.bibernate.hoverla.jdbc.JdbcParameterBinding;
+import com.bibernate.hoverla.jdbc.JdbcResultExtractor;
 import com.bibernate.hoverla.metamodel.FieldMapping;
 import com.bibernate.hoverla.metamodel.Metamodel;
 
 import lombok.extern.slf4j.Slf4j;
 
-import static com.bibernate.hoverla.jdbc.JdbcParameterBinding.bindParameter;
-
 /**
  * A visitor class for parsing and generating SQL expressions from a WhereStatement grammar parse tree.
  * <p/>
@@ -33,20 +36,57 @@ import static com.bibernate.hoverla.jdbc.JdbcParameterBinding.bindParameter;
 @Slf4j
 public class BibernateWhereStatementVisitor extends WhereStatementBaseVisitor<String> {
 
+  /**
+   * The alias of the queried table in statements joining fetched associations.
+   */
+  static final String ROOT_ALIAS = "t0";
+
   private final Metamodel metamodel;
   private final Class<?> entityClass;
   private final Map<String, Object> parameters;
 
-  private final List<JdbcParameterBinding<?>> orderedJdbcParameters;
+  private final KeysetPosition keysetPosition;
+
+  private final List<ParameterSlot> parameterSlots;
+  private final List<FieldMapping<?>> keysetFields;
+  private final List<FieldMapping<?>> fetchedAssociations;
+  private final List<FieldMapping<?>> assignedFields;
+  private final List<ProjectedColumn> projectedColumns;
+
+  /**
+   * The prefix of the column names, the alias of the queried table when associations are joined.
+   */
+  private String columnPrefix = "";
 
   public BibernateWhereStatementVisitor(Metamodel metamodel,
                                         Class<?> entityClass,
                                         Map<String, Object> parameters) {
+    this(metamodel, entityClass, parameters, null);
+  }
+
+  /**
+   * Creates a visitor which additionally restricts the results to the rows following the given keyset position
+   * in the order defined by the {@code ORDER BY} clause.
+   *
+   * @param metamodel      The metamodel of the entities.
+   * @param entityClass    The queried entity class.
+   * @param parameters     The named query parameters.
+   * @param keysetPosition The position after which the results start, or null to return all matching rows.
+   */
+  public BibernateWhereStatementVisitor(Metamodel metamodel,
+                                        Class<?> entityClass,
+                                        Map<String, Object> parameters,
+                                        KeysetPosition keysetPosition) {
     super();
     this.metamodel = metamodel;
     this.entityClass = entityClass;
     this.parameters = parameters;
-    this.orderedJdbcParameters = new ArrayList<>();
+    this.keysetPosition = keysetPosition;
+    this.parameterSlots = new ArrayList<>();
+    this.keysetFields = new ArrayList<>();
+    this.fetchedAssociations = new ArrayList<>();
+    this.assignedFields = new ArrayList<>();
+    this.projectedColumns = new ArrayList<>();
   }
 
   @Override
@@ -78,7 +118,8 @@ public class BibernateWhereStatementVisitor extends WhereStatementBaseVisitor<St
    * @param ctx The IN predicate context to visit.
    *
    * @return The generated SQL for the IN predicate. If the collection is empty or NULL, "TRUE" is returned,
-   * indicating the IN condition is ignored due to no values to match.
+   * indicating the IN condition is ignored due to no values to match. Otherwise, the number of placeholders is rounded up
+   * to the {@link ParameterSlot#bucketSize(int) bucket size} of the collection, so that collections of similar sizes share a plan.
    *
    * @throws BibernateBqlException If the parameter is not defined or is not a collection.
    */
@@ -104,10 +145,9 @@ public class BibernateWhereStatementVisitor extends WhereStatementBaseVisitor<St
       return "TRUE";
     }
 
-    for (Object parameterValue : collection) {
-      orderedJdbcParameters.add(bindParameter(parameterValue, fieldMapping.getJdbcType()));
-    }
-    return fieldMapping.getColumnName() + " IN (" + generatePlaceholders(collection) + ")";
+    int placeholders = ParameterSlot.bucketSize(collection.size());
+    parameterSlots.add(ParameterSlot.collectionParameter(parameterName, fieldMapping, placeholders));
+    return column(fieldMapping) + " IN (" + generatePlaceholders(placeholders) + ")";
 
   }
 
@@ -120,9 +160,9 @@ public class BibernateWhereStatementVisitor extends WhereStatementBaseVisitor<St
 
     FieldMapping<?> fieldMapping = getFieldMapping(fieldName);
 
-    orderedJdbcParameters.add(bindParameter(parameters.get(parameterName), fieldMapping.getJdbcType()));
+    parameterSlots.add(ParameterSlot.namedParameter(parameterName, fieldMapping));
 
-    return fieldMapping.getColumnName() + " " + ctx.getChild(1).getText() + " ?";
+    return column(fieldMapping) + " " + ctx.getChild(1).getText() + " ?";
   }
 
   @Override
@@ -134,27 +174,339 @@ public class BibernateWhereStatementVisitor extends WhereStatementBaseVisitor<St
 
     FieldMapping<?> fieldMapping = getFieldMapping(fieldName);
 
-    orderedJdbcParameters.add(bindParameter(parameters.get(parameterName), fieldMapping.getJdbcType()));
+    parameterSlots.add(ParameterSlot.namedParameter(parameterName, fieldMapping));
 
-    return fieldMapping.getColumnName() + " " + ctx.getChild(1).getText() + " ?";
+    return column(fieldMapping) + " " + ctx.getChild(1).getText() + " ?";
   }
 
+  /**
+   * Visits the whole statement and generates the WHERE and ORDER BY clauses of the SQL query.
+   * When a keyset position is given, the seek predicate is appended to the WHERE clause after the user-defined condition,
+   * so its parameters are bound after the named parameters.
+   * When the statement fetches associations, the columns are qualified with the {@link #ROOT_ALIAS alias} of the queried table,
+   * and the fetched fields are available from {@link #getFetchedAssociations()}.
+   *
+   * @param ctx The statement context to visit.
+   *
+   * @return The generated SQL clauses, an empty string if the statement has neither a condition nor an ordering.
+   *
+   * @throws BibernateBqlException If a keyset position is given but the statement has no ORDER BY clause,
+   *                               or if a fetched field is not an association or is fetched twice.
+   */
   @Override
   public String visitWhereExpression(WhereStatementParser.WhereExpressionContext ctx) {
-    return "WHERE " + visit(ctx.expression());
+    for (WhereStatementParser.JoinFetchContext joinFetch : ctx.joinFetch()) {
+      FieldMapping<?> association = getFieldMapping(joinFetch.IDENTIFIER().getText());
+      if (!association.isManyToOne() && !association.isOneToMany()) {
+        throw new BibernateBqlException("JOIN FETCH requires an association field, but %s is not one".formatted(association.getFieldName()));
+      }
+      if (fetchedAssociations.contains(association)) {
+        throw new BibernateBqlException("Association %s is fetched more than once".formatted(association.getFieldName()));
+      }
+      fetchedAssociations.add(association);
+    }
+    if (!fetchedAssociations.isEmpty()) {
+      columnPrefix = ROOT_ALIAS + ".";
+    }
+
+    return generateClauses(ctx.expression(), null, ctx.orderBy());
+  }
+
+  /**
+   * Visits a projection statement and generates the WHERE, GROUP BY and ORDER BY clauses of the SQL query, the projected columns
+   * are available from {@link #getProjectedColumns()}. When the statement aggregates or groups rows, every selected or ordering
+   * field must be grouped.
+   *
+   * @param ctx The projection statement context to visit.
+   *
+   * @return The generated SQL clauses, an empty string if the statement has neither a condition, a grouping nor an ordering.
+   *
+   * @throws BibernateBqlException If a projected field is an association, or a selected or ordering field is neither grouped
+   *                               nor aggregated.
+   */
+  @Override
+  public String visitProjectionStatement(WhereStatementParser.ProjectionStatementContext ctx) {
+    boolean aggregated = false;
+    for (WhereStatementParser.SelectItemContext selectItem : ctx.selectItem()) {
+      visit(selectItem);
+      aggregated |= !(selectItem instanceof WhereStatementParser.FieldSelectionContext);
+    }
+
+    if (aggregated || ctx.groupBy() != null) {
+      List<String> groupedFields = ctx.groupBy() == null
+        ? List.of()
+        : ctx.groupBy().IDENTIFIER().stream().map(ParseTree::getText).toList();
+      List<String> ungroupedFields = new ArrayList<>();
+      ctx.selectItem().stream()
+        .filter(WhereStatementParser.FieldSelectionContext.class::isInstance)
+        .map(selectItem -> ((WhereStatementParser.FieldSelectionContext) selectItem).IDENTIFIER().getText())
+        .forEach(ungroupedFields::add);
+      if (ctx.orderBy() != null) {
+        ctx.orderBy().orderItem().forEach(orderItem -> ungroupedFields.add(orderItem.IDENTIFIER().getText()));
+      }
+      ungroupedFields.removeAll(groupedFields);
+      if (!ungroupedFields.isEmpty()) {
+        throw new BibernateBqlException("Field %s must be grouped or aggregated".formatted(ungroupedFields.get(0)));
+      }
+    }
+
+    return generateClauses(ctx.expression(), ctx.groupBy(), ctx.orderBy());
+  }
+
+  @Override
+  public String visitFieldSelection(WhereStatementParser.FieldSelectionContext ctx) {
+    FieldMapping<?> fieldMapping = getFieldMapping(ctx.IDENTIFIER().getText());
+    if (fieldMapping.isManyToOne() || fieldMapping.isOneToMany()) {
+      throw new BibernateBqlException("Association %s cannot be projected".formatted(fieldMapping.getFieldName()));
+    }
+    return addProjectedColumn(new ProjectedColumn(column(fieldMapping), fieldMapping.getFieldType(), fieldMapping.getJdbcType()));
+  }
+
+  @Override
+  public String visitCountAllSelection(WhereStatementParser.CountAllSelectionContext ctx) {
+    return addProjectedColumn(AggregateFunction.countAll());
+  }
+
+  @Override
+  public String visitAggregateSelection(WhereStatementParser.AggregateSelectionContext ctx) {
+    FieldMapping<?> fieldMapping = getFieldMapping(ctx.IDENTIFIER().getText());
+    AggregateFunction function = AggregateFunction.valueOf(ctx.function.getText());
+    return addProjectedColumn(function.apply(fieldMapping, column(fieldMapping)));
+  }
+
+  @Override
+  public String visitGroupBy(WhereStatementParser.GroupByContext ctx) {
+    return ctx.IDENTIFIER().stream()
+      .map(identifier -> {
+        FieldMapping<?> fieldMapping = getFieldMapping(identifier.getText());
+        if (fieldMapping.isOneToMany()) {
+          throw new BibernateBqlException("Results cannot be grouped by collection field %s".formatted(fieldMapping.getFieldName()));
+        }
+        return column(fieldMapping);
+      })
+      .collect(Collectors.joining(", ", "GROUP BY ", ""));
+  }
+
+  /**
+   * Visits a bulk update statement and generates the SET and WHERE clauses of the SQL update. When the entity declares an optimistic
+   * lock, its version is incremented by the update, so that concurrent modifications of the updated rows fail.
+   *
+   * @param ctx The update statement context to visit.
+   *
+   * @return The generated SQL clauses.
+   */
+  @Override
+  public String visitUpdateStatement(WhereStatementParser.UpdateStatementContext ctx) {
+    List<String> assignments = new ArrayList<>(ctx.assignment().size() + 1);
+    for (WhereStatementParser.AssignmentContext assignment : ctx.assignment()) {
+      assignments.add(visit(assignment));
+    }
+    metamodel.getEntityMappingMap().get(entityClass).getFieldMappingWithOptimisticLock()
+      .ifPresent(optimisticLock -> assignments.add(column(optimisticLock) + " = " + column(optimisticLock) + " + 1"));
+
+    String clauses = "SET " + String.join(", ", assignments);
+    return ctx.expression() == null ? clauses : clauses + " WHERE " + visit(ctx.expression());
+  }
+
+  /**
+   * Visits an assignment of a bulk update statement and generates the SQL assignment of the column.
+   *
+   * @param ctx The assignment context to visit.
+   *
+   * @return The generated SQL assignment.
+   *
+   * @throws BibernateBqlException If the field is the primary key, the optimistic lock, an association or is not updatable,
+   *                               or if it is assigned more than once.
+   */
+  @Override
+  public String visitAssignment(WhereStatementParser.AssignmentContext ctx) {
+    String parameterName = ctx.PARAMETER().getText().substring(1);
+    validateParameterExistence(parameterName);
+
+    FieldMapping<?> fieldMapping = getFieldMapping(ctx.IDENTIFIER().getText());
+    if (fieldMapping.isPrimaryKey() || fieldMapping.isOptimisticLock() || fieldMapping.isManyToOne() || fieldMapping.isOneToMany()
+        || !fieldMapping.isUpdatable()) {
+      throw new BibernateBqlException("Field %s cannot be set by a bulk update".formatted(fieldMapping.getFieldName()));
+    }
+    if (assignedFields.contains(fieldMapping)) {
+      throw new BibernateBqlException("Field %s is set more than once".formatted(fieldMapping.getFieldName()));
+    }
+    assignedFields.add(fieldMapping);
+
+    parameterSlots.add(ParameterSlot.namedParameter(parameterName, fieldMapping));
+    return column(fieldMapping) + " = ?";
   }
 
   /**
-   * Returns the JDBC parameter bindings generated by this visitor.
+   * Visits a bulk delete statement and generates the WHERE clause of the SQL delete.
+   *
+   * @param ctx The delete statement context to visit.
+   *
+   * @return The generated SQL clause, an empty string if the statement has no condition.
+   */
+  @Override
+  public String visitDeleteStatement(WhereStatementParser.DeleteStatementContext ctx) {
+    return ctx.expression() == null ? "" : "WHERE " + visit(ctx.expression());
+  }
+
+  @Override
+  public String visitOrderBy(WhereStatementParser.OrderByContext ctx) {
+    return ctx.orderItem().stream()
+      .map(this::visit)
+      .collect(Collectors.joining(", ", "ORDER BY ", ""));
+  }
+
+  @Override
+  public String visitOrderItem(WhereStatementParser.OrderItemContext ctx) {
+    FieldMapping<?> fieldMapping = getOrderingFieldMapping(ctx.IDENTIFIER().getText());
+    return column(fieldMapping) + (isDescending(ctx) ? " DESC" : " ASC");
+  }
+
+  /**
+   * Returns the columns selected by the visited projection statement, in the order of the selection.
+   *
+   * @return The projected columns, empty if the statement is not a projection.
+   */
+  List<ProjectedColumn> getProjectedColumns() {
+    return projectedColumns;
+  }
+
+  /**
+   * Returns the association fields of the {@code JOIN FETCH} clauses of the visited statement, in the order of the clauses.
+   *
+   * @return The fetched association fields, empty if the statement fetches none.
+   */
+  List<FieldMapping<?>> getFetchedAssociations() {
+    return fetchedAssociations;
+  }
+
+  /**
+   * Returns the JDBC parameter bindings generated by this visitor, bound to the parameters it was created with.
    *
    * @return An array of JdbcParameterBinding objects.
    */
   public JdbcParameterBinding<?>[] getJdbcParameterBindings() {
-    return orderedJdbcParameters.toArray(new JdbcParameterBinding<?>[0]);
+    return createQueryPlan("", null).bindParameters(parameters, keysetPosition, null, 0);
+  }
+
+  /**
+   * Creates a plan of the visited statement. The parameter slots of the plan follow the placeholders generated by the visitor,
+   * with the given trailing slots appended.
+   *
+   * @param sqlTemplate      The complete SQL template.
+   * @param resultExtractors The extractors of the selected columns.
+   * @param trailingSlots    The slots of the placeholders appended after the visited clauses.
+   *
+   * @return The query plan.
+   */
+  QueryPlan createQueryPlan(String sqlTemplate, JdbcResultExtractor<?>[] resultExtractors, ParameterSlot... trailingSlots) {
+    List<ParameterSlot> slots = new ArrayList<>(parameterSlots.size() + trailingSlots.length);
+    slots.addAll(parameterSlots);
+    slots.addAll(Arrays.asList(trailingSlots));
+    return new QueryPlan(sqlTemplate, List.copyOf(slots), List.copyOf(keysetFields), resultExtractors, List.copyOf(fetchedAssociations),
+                         projectedColumns.stream().<Class<?>>map(ProjectedColumn::type).toList());
   }
 
-  private String generatePlaceholders(Collection<?> collection) {
-    return String.join(", ", Collections.nCopies(collection.size(), "?"));
+  /**
+   * Generates the WHERE clause of the given condition, the GROUP BY clause of the given grouping and the ORDER BY clause of the given
+   * ordering. When a keyset position is given, the seek predicate is appended to the condition.
+   */
+  private String generateClauses(WhereStatementParser.ExpressionContext expression,
+                                 WhereStatementParser.GroupByContext groupBy,
+                                 WhereStatementParser.OrderByContext orderBy) {
+    String condition = expression == null ? null : visit(expression);
+
+    if (keysetPosition != null) {
+      if (orderBy == null) {
+        throw new BibernateBqlException("Keyset pagination requires an ORDER BY clause");
+      }
+      String keysetPredicate = generateKeysetPredicate(orderBy.orderItem());
+      condition = condition == null ? keysetPredicate : "(" + condition + ") AND " + keysetPredicate;
+    }
+
+    StringBuilder clauses = new StringBuilder();
+    if (condition != null) {
+      clauses.append("WHERE ").append(condition);
+    }
+    if (groupBy != null) {
+      clauses.append(clauses.isEmpty() ? "" : " ").append(visit(groupBy));
+    }
+    if (orderBy != null) {
+      clauses.append(clauses.isEmpty() ? "" : " ").append(visit(orderBy));
+    }
+    return clauses.toString();
+  }
+
+  private String addProjectedColumn(ProjectedColumn projectedColumn) {
+    projectedColumns.add(projectedColumn);
+    return projectedColumn.expression();
+  }
+
+  private String column(FieldMapping<?> fieldMapping) {
+    return columnPrefix + fieldMapping.getColumnName();
+  }
+
+  private String generatePlaceholders(int count) {
+    return String.join(", ", Collections.nCopies(count, "?"));
+  }
+
+  /**
+   * Generates the predicate selecting the rows that follow the keyset position. If all ordering fields have the same direction,
+   * a row value comparison {@code (a, b) > (?, ?)} is generated, which the database can resolve with a single index range scan.
+   * Mixed directions are expanded to {@code a > ? OR (a = ? AND b < ?)}.
+   */
+  private String generateKeysetPredicate(List<WhereStatementParser.OrderItemContext> orderItems) {
+    boolean[] descending = new boolean[orderItems.size()];
+    for (int i = 0; i < orderItems.size(); i++) {
+      FieldMapping<?> keysetField = getOrderingFieldMapping(orderItems.get(i).IDENTIFIER().getText());
+      if (keysetField.isManyToOne()) {
+        throw new BibernateBqlException("Keyset pagination by association field %s is not supported".formatted(keysetField.getFieldName()));
+      }
+      keysetFields.add(keysetField);
+      descending[i] = isDescending(orderItems.get(i));
+    }
+
+    boolean sameDirection = true;
+    for (boolean direction : descending) {
+      sameDirection &= direction == descending[0];
+    }
+
+    if (sameDirection) {
+      for (int i = 0; i < keysetFields.size(); i++) {
+        parameterSlots.add(ParameterSlot.keysetValue(i, keysetFields.get(i)));
+      }
+      String operator = descending[0] ? " < " : " > ";
+      if (keysetFields.size() == 1) {
+        return column(keysetFields.get(0)) + operator + "?";
+      }
+      return keysetFields.stream().map(this::column).collect(Collectors.joining(", ", "(", ")"))
+             + operator + "(" + generatePlaceholders(keysetFields.size()) + ")";
+    }
+
+    List<String> alternatives = new ArrayList<>(keysetFields.size());
+    for (int i = 0; i < keysetFields.size(); i++) {
+      StringBuilder alternative = new StringBuilder("(");
+      for (int j = 0; j < i; j++) {
+        alternative.append(column(keysetFields.get(j))).append(" = ? AND ");
+        parameterSlots.add(ParameterSlot.keysetValue(j, keysetFields.get(j)));
+      }
+      alternative.append(column(keysetFields.get(i))).append(descending[i] ? " < ?)" : " > ?)");
+      parameterSlots.add(ParameterSlot.keysetValue(i, keysetFields.get(i)));
+      alternatives.add(alternative.toString());
+    }
+    return "(" + String.join(" OR ", alternatives) + ")";
+  }
+
+  private boolean isDescending(WhereStatementParser.OrderItemContext ctx) {
+    return ctx.DESC() != null;
+  }
+
+  private FieldMapping<?> getOrderingFieldMapping(String fieldName) {
+    FieldMapping<?> fieldMapping = getFieldMapping(fieldName);
+    if (fieldMapping.isOneToMany()) {
+      throw new BibernateBqlException("Results cannot be ordered by collection field %s".formatted(fieldName));
+    }
+    return fieldMapping;
   }
 
   /**
@@ -0,0 +1,183 @@
+package com.bibernate.hoverla.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.bibernate.hoverla.collection.PersistenceLazyList;
+import com.bibernate.hoverla.metamodel.EntitySqlStatements;
+import com.bibernate.hoverla.metamodel.FieldMapping;
+import com.bibernate.hoverla.session.SessionImplementor;
+import com.bibernate.hoverla.session.cache.EntityEntry;
+import com.bibernate.hoverla.session.cache.EntityKey;
+import com.bibernate.hoverla.utils.EntityProxyUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maps the rows of a query joining fetched associations to entities.
+ * <p/>
+ * Every row holds the columns of the queried entity followed by the columns of every fetched association. Rows repeating an entity,
+ * as produced by joined collections, are mapped to a single instance. Fetched {@code @ManyToOne} targets initialize the proxies
+ * referenced by the results, and fetched {@code @OneToMany} children initialize the lazy collections of the results once all
+ * rows are added. Unless the results are detached, all entities are registered in the persistence context, read-only if the results
+ * are read-only.
+ *
+ * @param <T> The type of the queried entity.
+ */
+@Slf4j
+class JoinFetchRowMapper<T> {
+
+  private final SessionImplementor session;
+  private final Class<T> resultType;
+  private final boolean detached;
+  private final boolean readOnly;
+
+  private final List<FieldMapping<?>> fetchedAssociations;
+  private final int[] sliceOffsets;
+  /**
+   * The index of the primary key column within the columns of the queried entity, followed by those of the fetched associations.
+   */
+  private final int[] primaryKeyIndexes;
+  private final Map<Object, T> resultsById = new LinkedHashMap<>();
+  /**
+   * The children of every result and fetched collection, keyed by the result id and the index of the association.
+   */
+  private final Map<Object, List<Map<Object, Object>>> childrenByResultId = new HashMap<>();
+  /**
+   * The entities created by this mapper in detached mode, where the persistence context is not used to de-duplicate them.
+   */
+  private final Map<EntityKey<?>, Object> detachedEntities = new HashMap<>();
+
+  JoinFetchRowMapper(SessionImplementor session, Class<T> resultType, List<FieldMapping<?>> fetchedAssociations, boolean detached,
+                     boolean readOnly) {
+    this.session = session;
+    this.resultType = resultType;
+    this.detached = detached;
+    this.readOnly = readOnly;
+    this.fetchedAssociations = fetchedAssociations;
+
+    this.sliceOffsets = new int[fetchedAssociations.size() + 2];
+    this.primaryKeyIndexes = new int[fetchedAssociations.size() + 1];
+    for (int i = 0; i <= fetchedAssociations.size(); i++) {
+      Class<?> entityType = i == 0 ? resultType : getAssociatedType(fetchedAssociations.get(i - 1));
+      EntitySqlStatements sqlStatements = session.getEntityMapping(entityType).getSqlStatements();
+      sliceOffsets[i + 1] = sliceOffsets[i] + sqlStatements.getColumnFieldMappings().size();
+      primaryKeyIndexes[i] = sqlStatements.getColumnFieldMappings().indexOf(sqlStatements.getPrimaryKeyMapping());
+    }
+  }
+
+  /**
+   * Returns the entity type loaded by a fetched association: the target of a {@code @ManyToOne} field,
+   * or the element type of a {@code @OneToMany} field.
+   *
+   * @param association The association field.
+   *
+   * @return The associated entity type.
+   */
+  static Class<?> getAssociatedType(FieldMapping<?> association) {
+    return association.isOneToMany() ? association.getOneToManyMapping().getCollectionType() : association.getFieldType();
+  }
+
+  /**
+   * Maps a row to the queried entity and the fetched associations.
+   *
+   * @param row The row of query results.
+   *
+   * @return The queried entity of the row, the same instance for all rows of the same entity.
+   */
+  T mapRow(Object[] row) {
+    Object id = row[primaryKeyIndexes[0]];
+    T result = resultsById.get(id);
+    if (result == null) {
+      result = resultType.cast(hydrate(resultType, Arrays.copyOfRange(row, 0, sliceOffsets[1]), primaryKeyIndexes[0]));
+      resultsById.put(id, result);
+    }
+
+    for (int i = 0; i < fetchedAssociations.size(); i++) {
+      FieldMapping<?> association = fetchedAssociations.get(i);
+      Class<?> associatedType = getAssociatedType(association);
+      Object[] slice = Arrays.copyOfRange(row, sliceOffsets[i + 1], sliceOffsets[i + 2]);
+      Object associatedId = slice[primaryKeyIndexes[i + 1]];
+      if (associatedId == null) {
+        continue;
+      }
+
+      if (association.isOneToMany()) {
+        Map<Object, Object> children = childrenByResultId
+          .computeIfAbsent(id, resultId -> newChildrenMaps())
+          .get(i);
+        if (!children.containsKey(associatedId)) {
+          children.put(associatedId, hydrate(associatedType, slice, primaryKeyIndexes[i + 1]));
+        }
+      } else {
+        Object target = hydrate(associatedType, slice, primaryKeyIndexes[i + 1]);
+        if (detached) {
+          association.setValue(EntityProxyUtils.unProxy(result), target);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Initializes the fetched collections of the mapped entities and returns them.
+   *
+   * @return The distinct queried entities, in the order of their first rows.
+   */
+  List<T> getResults() {
+    for (Map.Entry<Object, T> result : resultsById.entrySet()) {
+      List<Map<Object, Object>> children = childrenByResultId.get(result.getKey());
+      Object entity = EntityProxyUtils.unProxy(result.getValue());
+
+      for (int i = 0; i < fetchedAssociations.size(); i++) {
+        FieldMapping<?> association = fetchedAssociations.get(i);
+        if (association.isOneToMany() && association.getValue(entity) instanceof PersistenceLazyList<?> collection) {
+          initializeCollection(collection, children == null ? List.of() : children.get(i).values());
+        }
+      }
+    }
+
+    log.debug("Mapped {} distinct entities with fetched associations {}", resultsById.size(), fetchedAssociations);
+    return new ArrayList<>(resultsById.values());
+  }
+
+  @SuppressWarnings("unchecked")
+  private <E> void initializeCollection(PersistenceLazyList<E> collection, Collection<Object> elements) {
+    collection.initialize(new ArrayList<>((Collection<E>) elements));
+  }
+
+  private List<Map<Object, Object>> newChildrenMaps() {
+    List<Map<Object, Object>> childrenMaps = new ArrayList<>(fetchedAssociations.size());
+    for (FieldMapping<?> association : fetchedAssociations) {
+      childrenMaps.add(association.isOneToMany() ? new LinkedHashMap<>() : null);
+    }
+    return childrenMaps;
+  }
+
+  /**
+   * Returns the entity of the given row slice. An entity already managed by the persistence context is reused, an uninitialized
+   * proxy of the entity is initialized with the row.
+   */
+  private <E> Object hydrate(Class<E> entityType, Object[] slice, int primaryKeyIndex) {
+    EntityKey<E> entityKey = new EntityKey<>(entityType, slice[primaryKeyIndex]);
+
+    if (detached) {
+      return detachedEntities.computeIfAbsent(entityKey,
+                                              key -> session.getEntityRowMapper().createEntityFromRow(slice, entityType, true));
+    }
+
+    EntityEntry entityEntry = session.getPersistenceContext().getEntityEntry(entityKey);
+    if (entityEntry != null && !EntityProxyUtils.isUnitializedProxy(entityEntry.getEntity())) {
+      return entityEntry.getEntity();
+    }
+
+    E entity = session.getEntityRowMapper().createEntityFromRow(slice, entityType);
+    return session.getPersistenceContext().manageEntity(entityKey, () -> entity, entry -> {}, readOnly).getEntity();
+  }
+
+}
@@ -0,0 +1,51 @@
+package com.bibernate.hoverla.query;
+
+import java.util.List;
+
+import com.bibernate.hoverla.exceptions.BibernateBqlException;
+import com.bibernate.hoverla.metamodel.FieldMapping;
+
+/**
+ * The position after which keyset ("seek") pagination continues. It is defined either by the values of the {@code ORDER BY} fields
+ * of the last read row, in the order of the {@code ORDER BY} clause, or by the last read entity these values are taken from.
+ *
+ * @param lastResult The last read entity, or null if the key values are given explicitly.
+ * @param keyValues  The values of the ordering fields of the last read row, or null if they are taken from the last result.
+ *
+ * @see Query#seekAfter(Object...)
+ * @see Query#seekAfterResult(Object)
+ */
+public record KeysetPosition(Object lastResult, Object[] keyValues) {
+
+  public static KeysetPosition ofKeyValues(Object... keyValues) {
+    return new KeysetPosition(null, keyValues.clone());
+  }
+
+  public static KeysetPosition ofLastResult(Object lastResult) {
+    return new KeysetPosition(lastResult, null);
+  }
+
+  /**
+   * Resolves the key values of the given ordering fields.
+   *
+   * @param keyFields The field mappings of the {@code ORDER BY} fields.
+   *
+   * @return The key values in the order of the given fields.
+   *
+   * @throws BibernateBqlException If the number of explicit key values does not match the number of ordering fields.
+   */
+  Object[] resolveKeyValues(List<FieldMapping<?>> keyFields) {
+    if (keyValues == null) {
+      return keyFields.stream()
+        .map(keyField -> keyField.getValue(lastResult))
+        .toArray();
+    }
+
+    if (keyValues.length != keyFields.size()) {
+      throw new BibernateBqlException("Expected %d keyset values matching the ORDER BY clause, but got %d"
+                                        .formatted(keyFields.size(), keyValues.length));
+    }
+    return keyValues;
+  }
+
+}
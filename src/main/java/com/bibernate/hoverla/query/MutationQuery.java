@@ -0,0 +1,34 @@
+package com.bibernate.hoverla.query;
+
+import com.bibernate.hoverla.session.Session;
+
+/**
+ * The MutationQuery interface represents a bulk update or delete of all rows of an entity table matching a condition,
+ * executed as a single SQL statement without loading the entities.
+ * See: {@link Session#createUpdate(String, Class)}, {@link Session#createDelete(String, Class)}
+ *
+ * @param <T> The type of the updated or deleted entities.
+ */
+public interface MutationQuery<T> {
+
+  /**
+   * Sets a parameter for the statement.
+   *
+   * @param parameter The name of the parameter.
+   * @param object    The value of the parameter.
+   *
+   * @return A reference to the same MutationQuery instance for method chaining.
+   */
+  MutationQuery<T> setParameter(String parameter, Object object);
+
+  /**
+   * Executes the statement. Pending changes of the session are flushed first, and managed entities of the updated or deleted type
+   * are then detached from the session, together with their lazy collections, and evicted from the second-level cache, as their
+   * state may no longer match the database. The eviction is repeated when the transaction ends. The cached query results of
+   * the table are invalidated.
+   *
+   * @return The number of updated or deleted rows.
+   */
+  int executeUpdate();
+
+}
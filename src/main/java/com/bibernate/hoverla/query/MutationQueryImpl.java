@@ -0,0 +1,142 @@
+package com.bibernate.hoverla.query;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+
+import com.bibernate.hoverla.jdbc.JdbcParameterBinding;
+import com.bibernate.hoverla.session.Session;
+import com.bibernate.hoverla.session.SessionImplementor;
+import com.bibernate.hoverla.utils.EntityUtils;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An implementation of the MutationQuery interface translating bulk updates and deletes written in the object-oriented query
+ * language into set-based SQL statements.
+ *
+ * <p>An update sets fields to named parameters, {@code SET field = :param, ...}, optionally followed by a condition,
+ * {@code WHERE ...}, written as in {@link QueryImpl queries}. A delete consists of the optional condition only.
+ * The version of an entity declaring an optimistic lock is incremented by updates.</p>
+ *
+ * <p>An example:</p>
+ *
+ * <pre>{@code
+ * int updated = session.createUpdate("SET price = :price WHERE genre = :genre", StoreItem.class)
+ *      .setParameter("price", 10)
+ *      .setParameter("genre", "Fantasy")
+ *      .executeUpdate();
+ * }</pre>
+ *
+ * see: {@link Session#createUpdate(String, Class)}, {@link Session#createDelete(String, Class)}
+ *
+ * @param <T> The type of the updated or deleted entities.
+ */
+@Slf4j
+public class MutationQueryImpl<T> implements MutationQuery<T> {
+
+  private final static String UPDATE_TEMPLATE = "UPDATE %s %s;";
+  private final static String DELETE_TEMPLATE = "DELETE FROM %s %s;";
+
+  private final Kind kind;
+  private final String statement;
+  private final Map<String, Object> parameters;
+  private final Class<T> entityClass;
+  private final SessionImplementor session;
+
+  private MutationQueryImpl(SessionImplementor session, Kind kind, String statement, Class<T> entityClass) {
+    this.kind = kind;
+    this.statement = statement;
+    this.parameters = new HashMap<>();
+    this.entityClass = entityClass;
+    this.session = session;
+  }
+
+  /**
+   * Creates a bulk update of the given entity.
+   *
+   * @param session     The session executing the update.
+   * @param statement   The update statement, {@code SET field = :param, ... [WHERE condition]}.
+   * @param entityClass The updated entity class.
+   *
+   * @return The update query.
+   */
+  public static <T> MutationQueryImpl<T> update(SessionImplementor session, String statement, Class<T> entityClass) {
+    return new MutationQueryImpl<>(session, Kind.UPDATE, statement, entityClass);
+  }
+
+  /**
+   * Creates a bulk delete of the given entity.
+   *
+   * @param session     The session executing the delete.
+   * @param statement   The delete statement, {@code [WHERE condition]}.
+   * @param entityClass The deleted entity class.
+   *
+   * @return The delete query.
+   */
+  public static <T> MutationQueryImpl<T> delete(SessionImplementor session, String statement, Class<T> entityClass) {
+    return new MutationQueryImpl<>(session, Kind.DELETE, statement, entityClass);
+  }
+
+  @Override
+  public MutationQueryImpl<T> setParameter(String paramName, Object paramValue) {
+    parameters.put(paramName, paramValue);
+    return this;
+  }
+
+  @Override
+  public int executeUpdate() {
+    log.debug("Executing bulk {} with statement: {}", kind, statement);
+    SqlJdbcStatement sqlStatement = generateSqlJdbcStatement();
+
+    session.flush();
+    int updatedRows = session.getJdbcExecutor().executeUpdate(sqlStatement.getSqlTemplate(), sqlStatement.getGetOrderedParameters());
+    session.getEntityDaoService().invalidateQueryResults(session.getEntityMapping(entityClass).getTableName());
+
+    int detached = session.getPersistenceContext().removeEntities(entityClass);
+    session.getEntityDaoService().evictBulkWrittenEntities(entityClass);
+    log.debug("Bulk {} affected {} rows, {} managed entities detached", kind, updatedRows, detached);
+    return updatedRows;
+  }
+
+  /**
+   * Generates the SQL statement. The statement template is taken from the session factory wide {@link QueryPlanCache}.
+   *
+   * @return The SQL statement with bound parameters.
+   */
+  public SqlJdbcStatement generateSqlJdbcStatement() {
+    var planKey = new QueryPlanCache.QueryPlanKey(entityClass, statement, kind + ParameterSlot.parameterShapes(parameters));
+    QueryPlan queryPlan = session.getSessionFactory().getQueryPlanCache().getOrCreate(planKey, key -> createQueryPlan());
+
+    JdbcParameterBinding<?>[] parameterBindings = queryPlan.bindParameters(parameters, null, null, 0);
+    return new SqlJdbcStatement(queryPlan.getSqlTemplate(), parameterBindings, queryPlan.getResultExtractors());
+  }
+
+  private QueryPlan createQueryPlan() {
+    log.debug("Generating SQL statement for bulk {}: {}, entityClass: {}", kind, statement, entityClass);
+    var abstractSyntaxTree = kind.parser.apply(statement);
+    var visitor = new BibernateWhereStatementVisitor(session.getSessionFactory().getMetamodel(), entityClass, parameters);
+    var sqlClauses = visitor.visit(abstractSyntaxTree);
+
+    var sqlTemplate = kind.template.formatted(session.getEntityMapping(entityClass).getTableName(), sqlClauses);
+    log.debug("SQL statement generated: {}", sqlTemplate);
+
+    return visitor.createQueryPlan(sqlTemplate, null);
+  }
+
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  private enum Kind {
+
+    UPDATE(UPDATE_TEMPLATE, EntityUtils::parseUpdateStatement),
+    DELETE(DELETE_TEMPLATE, EntityUtils::parseDeleteStatement);
+
+    private final String template;
+    private final Function<String, ParseTree> parser;
+
+  }
+
+}
@@ -0,0 +1,114 @@
+package com.bibernate.hoverla.query;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.bibernate.hoverla.exceptions.BibernateBqlException;
+import com.bibernate.hoverla.jdbc.JdbcParameterBinding;
+import com.bibernate.hoverla.metamodel.FieldMapping;
+
+import static com.bibernate.hoverla.jdbc.JdbcParameterBinding.bindParameter;
+
+/**
+ * A placeholder, or a group of placeholders, of a {@link QueryPlan} together with the rule of taking its values from the query arguments.
+ * Slots are created once, when the plan is built, and bound on every execution.
+ */
+@FunctionalInterface
+interface ParameterSlot {
+
+  /**
+   * Appends the bindings of this slot to the given list.
+   *
+   * @param arguments The arguments of the current execution.
+   * @param bindings  The ordered bindings of the query.
+   */
+  void bind(QueryArguments arguments, List<JdbcParameterBinding<?>> bindings);
+
+  /**
+   * A single placeholder bound to the named parameter.
+   */
+  static ParameterSlot namedParameter(String parameterName, FieldMapping<?> fieldMapping) {
+    return (arguments, bindings) -> bindings.add(bindParameter(arguments.getParameter(parameterName), fieldMapping.getJdbcType()));
+  }
+
+  /**
+   * A fixed number of placeholders bound to the elements of the named collection parameter. If the collection is smaller
+   * than the number of placeholders, the last element is repeated, which does not change the result of an {@code IN} predicate.
+   */
+  static ParameterSlot collectionParameter(String parameterName, FieldMapping<?> fieldMapping, int placeholders) {
+    return (arguments, bindings) -> {
+      if (!(arguments.getParameter(parameterName) instanceof Collection<?> collection) || collection.isEmpty()) {
+        throw new BibernateBqlException("Parameter with name: %s is not a non-empty collection".formatted(parameterName));
+      }
+
+      Object[] values = collection.toArray();
+      for (int i = 0; i < placeholders; i++) {
+        bindings.add(bindParameter(values[Math.min(i, values.length - 1)], fieldMapping.getJdbcType()));
+      }
+    };
+  }
+
+  /**
+   * A single placeholder bound to the keyset value of the ordering field at the given position.
+   */
+  static ParameterSlot keysetValue(int keyIndex, FieldMapping<?> fieldMapping) {
+    return (arguments, bindings) -> bindings.add(bindParameter(arguments.keyValues()[keyIndex], fieldMapping.getJdbcType()));
+  }
+
+  /**
+   * The placeholder of the {@code LIMIT} clause.
+   */
+  static ParameterSlot maxResults() {
+    return (arguments, bindings) -> bindings.add(new JdbcParameterBinding<>(arguments.maxResults(), PreparedStatement::setInt));
+  }
+
+  /**
+   * The placeholder of the {@code OFFSET} clause.
+   */
+  static ParameterSlot firstResult() {
+    return (arguments, bindings) -> bindings.add(new JdbcParameterBinding<>(arguments.firstResult(), PreparedStatement::setInt));
+  }
+
+  /**
+   * Returns the number of placeholders generated for a collection of the given size: the nearest power of two that is not smaller
+   * than the size. Bucketing keeps the number of distinct plans, and of prepared statements, logarithmic in the collection size.
+   *
+   * @param size The size of a non-empty collection.
+   *
+   * @return The number of placeholders.
+   */
+  static int bucketSize(int size) {
+    return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+  }
+
+  /**
+   * Encodes the shape of every parameter as part of the key of a query plan: {@code N} for a null value, the placeholder bucket of
+   * a collection, 0 if it is empty, and {@code S} for any other value. The generated SQL depends on these shapes, for example a null
+   * or empty {@code IN} parameter is replaced by {@code TRUE}, and a plan must never be reused for a value of another shape, which
+   * would skip the validation of the parameter.
+   *
+   * @param parameters The named query parameters.
+   *
+   * @return The encoded shapes, ordered by the parameter name.
+   */
+  static String parameterShapes(Map<String, Object> parameters) {
+    StringBuilder shapes = new StringBuilder();
+    parameters.entrySet().stream()
+      .sorted(Map.Entry.comparingByKey())
+      .forEach(parameter -> shapes.append(',').append(parameter.getKey()).append('=').append(shapeOf(parameter.getValue())));
+    return shapes.toString();
+  }
+
+  private static String shapeOf(Object value) {
+    if (value == null) {
+      return "N";
+    }
+    if (value instanceof Collection<?> collection) {
+      return collection.isEmpty() ? "0" : String.valueOf(bucketSize(collection.size()));
+    }
+    return "S";
+  }
+
+}
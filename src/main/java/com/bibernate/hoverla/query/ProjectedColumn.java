@@ -0,0 +1,13 @@
+package com.bibernate.hoverla.query;
+
+import com.bibernate.hoverla.jdbc.JdbcResultExtractor;
+
+/**
+ * A column selected by a projection.
+ *
+ * @param expression The SQL expression of the column, a column name or an aggregate function call.
+ * @param type       The Java type of the column values.
+ * @param extractor  The extractor of the column values.
+ */
+record ProjectedColumn(String expression, Class<?> type, JdbcResultExtractor<?> extractor) {
+}
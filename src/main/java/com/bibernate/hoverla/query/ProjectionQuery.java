@@ -0,0 +1,95 @@
+package com.bibernate.hoverla.query;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.bibernate.hoverla.exceptions.BibernateException;
+import com.bibernate.hoverla.session.Session;
+
+/**
+ * The ProjectionQuery interface represents a query selecting individual fields of an entity, or aggregates computed by the database,
+ * instead of whole entities. Rows are mapped to the result type without hydrating entities, so results are neither managed by the session nor proxied.
+ * See: {@link Session#createProjection(String, Class, Class)}
+ *
+ * @param <R> The type of the results of the query.
+ */
+public interface ProjectionQuery<R> {
+
+  /**
+   * Sets a parameter for the query.
+   *
+   * @param parameter The name of the parameter.
+   * @param object    The value of the parameter.
+   *
+   * @return A reference to the same ProjectionQuery instance for method chaining.
+   */
+  ProjectionQuery<R> setParameter(String parameter, Object object);
+
+  /**
+   * Limits the number of returned results. The limit is applied by the database with a {@code LIMIT} clause.
+   *
+   * @param maxResults The maximum number of results.
+   *
+   * @return A reference to the same ProjectionQuery instance for method chaining.
+   */
+  ProjectionQuery<R> setMaxResults(int maxResults);
+
+  /**
+   * Skips the given number of results. The offset is applied by the database with an {@code OFFSET} clause.
+   *
+   * @param firstResult The position of the first returned result, starting from 0.
+   *
+   * @return A reference to the same ProjectionQuery instance for method chaining.
+   */
+  ProjectionQuery<R> setFirstResult(int firstResult);
+
+  /**
+   * Sets the number of rows fetched from the database per round trip when results are streamed.
+   * Defaults to the {@code bibernate.jdbc.fetch_size} setting.
+   *
+   * @param fetchSize The fetch size, 0 to use the driver default.
+   *
+   * @return A reference to the same ProjectionQuery instance for method chaining.
+   */
+  ProjectionQuery<R> setFetchSize(int fetchSize);
+
+  /**
+   * Executes the query and returns the result as a list.
+   *
+   * @return A list of results based on the query.
+   */
+  List<R> getResult();
+
+  /**
+   * Executes the query and returns its only result, typically the values of aggregate functions over all matching rows,
+   * such as {@code SELECT COUNT(*), MAX(price) WHERE ...}.
+   *
+   * @return The only result, or null if the query returns no rows.
+   *
+   * @throws BibernateException If the query returns more than one result.
+   */
+  R getSingleResult();
+
+  /**
+   * Executes the query and returns the result as a stream, reading rows lazily through a forward-only cursor.
+   * <p>
+   * The stream holds an open cursor and must be closed, preferably with a try-with-resources statement.
+   *
+   * @return A stream of results based on the query.
+   */
+  Stream<R> stream();
+
+  /**
+   * Executes the query and performs the given action for each result, reading rows lazily as {@link #stream()} does.
+   * The cursor is closed when all results have been processed or the action throws an exception.
+   *
+   * @param action The action to be performed for each result.
+   */
+  default void forEach(Consumer<? super R> action) {
+    try (Stream<R> results = stream()) {
+      results.forEach(action);
+    }
+  }
+
+}
@@ -0,0 +1,214 @@
+package com.bibernate.hoverla.query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.bibernate.hoverla.exceptions.BibernateException;
+import com.bibernate.hoverla.jdbc.JdbcResultExtractor;
+import com.bibernate.hoverla.session.Session;
+import com.bibernate.hoverla.session.SessionImplementor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static com.bibernate.hoverla.utils.EntityUtils.parseProjectionStatement;
+
+/**
+ * An implementation of the ProjectionQuery interface selecting individual fields of an entity with the object-oriented query language.
+ *
+ * <p>A projection lists the selected fields, {@code SELECT field, ...}, optionally followed by a condition and an ordering written
+ * as in {@link QueryImpl queries}. Only the columns of the selected fields are read, and every row is mapped straight to the result
+ * type: an {@code Object[]} of the selected values, the value itself when a single field is selected, or a record or DTO created by
+ * the constructor accepting the selected values in order. No entities are created, registered in the persistence context or proxied,
+ * which makes projections the cheapest way to read data that is not modified.</p>
+ *
+ * <p>Instead of a field, an aggregate function over the selected rows can be selected: {@code COUNT(*)}, {@code COUNT(field)},
+ * {@code SUM(field)}, {@code MIN(field)}, {@code MAX(field)} or {@code AVG(field)}. Rows are grouped by the fields of a
+ * {@code GROUP BY field, ...} clause following the condition, and the selected and ordering fields of an aggregate projection
+ * must all be grouped. The types of the aggregate values are described by {@link AggregateFunction}.</p>
+ *
+ * <p>An example:</p>
+ *
+ * <pre>{@code
+ * record ItemPrice(String name, Integer price) {}
+ *
+ * List<ItemPrice> prices = session.createProjection("SELECT name, price WHERE genre = :genre ORDER BY price",
+ *                                                   StoreItem.class, ItemPrice.class)
+ *      .setParameter("genre", "Fantasy")
+ *      .getResult();
+ *
+ * List<Object[]> genres = session.createProjection("SELECT genre, COUNT(*), AVG(price) GROUP BY genre ORDER BY genre",
+ *                                                  StoreItem.class, Object[].class)
+ *      .getResult();
+ * }</pre>
+ *
+ * see: {@link Session#createProjection(String, Class, Class)}
+ *
+ * @param <R> The type of the results.
+ */
+@Slf4j
+public class ProjectionQueryImpl<R> implements ProjectionQuery<R> {
+
+  private final static String SELECT_TEMPLATE = "SELECT %s FROM %s %s%s;";
+
+  private final String statement;
+  private final Map<String, Object> parameters;
+  private final Class<?> entityClass;
+  private final Class<R> resultType;
+  private final SessionImplementor session;
+  private int fetchSize;
+  private Integer maxResults;
+  private int firstResult;
+
+  public ProjectionQueryImpl(SessionImplementor session, String statement, Class<?> entityClass, Class<R> resultType) {
+    this.statement = statement;
+    this.parameters = new HashMap<>();
+    this.entityClass = entityClass;
+    this.resultType = resultType;
+    this.session = session;
+    this.fetchSize = session.getSessionFactory().getSettings().getJdbcFetchSize();
+  }
+
+  @Override
+  public ProjectionQueryImpl<R> setParameter(String paramName, Object paramValue) {
+    parameters.put(paramName, paramValue);
+    return this;
+  }
+
+  @Override
+  public ProjectionQueryImpl<R> setMaxResults(int maxResults) {
+    if (maxResults < 0) {
+      throw new IllegalArgumentException("Max results must not be negative: " + maxResults);
+    }
+    this.maxResults = maxResults;
+    return this;
+  }
+
+  @Override
+  public ProjectionQueryImpl<R> setFirstResult(int firstResult) {
+    if (firstResult < 0) {
+      throw new IllegalArgumentException("First result must not be negative: " + firstResult);
+    }
+    this.firstResult = firstResult;
+    return this;
+  }
+
+  @Override
+  public ProjectionQueryImpl<R> setFetchSize(int fetchSize) {
+    if (fetchSize < 0) {
+      throw new IllegalArgumentException("Fetch size must not be negative: " + fetchSize);
+    }
+    this.fetchSize = fetchSize;
+    return this;
+  }
+
+  @Override
+  public List<R> getResult() {
+    log.debug("Executing projection with statement: {}", statement);
+    QueryPlan queryPlan = getQueryPlan();
+    SqlJdbcStatement sqlStatement = createSqlJdbcStatement(queryPlan);
+
+    List<Object[]> rows = session.getJdbcExecutor()
+      .executeSelectQuery(sqlStatement.getSqlTemplate(),
+                          sqlStatement.getGetOrderedParameters(),
+                          sqlStatement.getJdbcResultExtractors());
+
+    ProjectionRowMapper<R> rowMapper = ProjectionRowMapper.of(resultType, queryPlan.getProjectedTypes());
+    List<R> results = new ArrayList<>(rows.size());
+    for (Object[] row : rows) {
+      results.add(rowMapper.mapRow(row));
+    }
+    log.debug("Projection executed successfully. Returning {} results.", results.size());
+    return results;
+  }
+
+  @Override
+  public R getSingleResult() {
+    List<R> results = getResult();
+    if (results.size() > 1) {
+      throw new BibernateException("Projection %s returned %d results instead of one".formatted(statement, results.size()));
+    }
+    return results.isEmpty() ? null : results.get(0);
+  }
+
+  @Override
+  public Stream<R> stream() {
+    log.debug("Streaming projection with statement: {}", statement);
+    QueryPlan queryPlan = getQueryPlan();
+    SqlJdbcStatement sqlStatement = createSqlJdbcStatement(queryPlan);
+    ProjectionRowMapper<R> rowMapper = ProjectionRowMapper.of(resultType, queryPlan.getProjectedTypes());
+
+    return session.getJdbcExecutor()
+      .streamSelectQuery(sqlStatement.getSqlTemplate(),
+                         sqlStatement.getGetOrderedParameters(),
+                         sqlStatement.getJdbcResultExtractors(),
+                         fetchSize)
+      .map(rowMapper::mapRow);
+  }
+
+  /**
+   * Generates the SQL statement of the projection. The statement template is taken from the session factory wide
+   * {@link QueryPlanCache}.
+   *
+   * @return The SQL statement with bound parameters.
+   */
+  public SqlJdbcStatement generateSqlJdbcStatement() {
+    return createSqlJdbcStatement(getQueryPlan());
+  }
+
+  private QueryPlan getQueryPlan() {
+    var planKey = new QueryPlanCache.QueryPlanKey(entityClass, statement, getArgumentsShape());
+    return session.getSessionFactory().getQueryPlanCache().getOrCreate(planKey, key -> createQueryPlan());
+  }
+
+  private SqlJdbcStatement createSqlJdbcStatement(QueryPlan queryPlan) {
+    return new SqlJdbcStatement(queryPlan.getSqlTemplate(),
+                                queryPlan.bindParameters(parameters, null, maxResults, firstResult),
+                                queryPlan.getResultExtractors());
+  }
+
+  private QueryPlan createQueryPlan() {
+    log.debug("Generating SQL statement for projection: {}, entityClass: {}", statement, entityClass);
+    var abstractSyntaxTree = parseProjectionStatement(statement);
+    var visitor = new BibernateWhereStatementVisitor(session.getSessionFactory().getMetamodel(), entityClass, parameters);
+    var sqlClauses = visitor.visit(abstractSyntaxTree);
+
+    List<ParameterSlot> paginationSlots = new ArrayList<>(2);
+    StringBuilder sqlPagination = new StringBuilder();
+    if (maxResults != null) {
+      sqlPagination.append(" LIMIT ?");
+      paginationSlots.add(ParameterSlot.maxResults());
+    }
+    if (firstResult > 0) {
+      sqlPagination.append(" OFFSET ?");
+      paginationSlots.add(ParameterSlot.firstResult());
+    }
+
+    List<ProjectedColumn> projectedColumns = visitor.getProjectedColumns();
+    String columns = projectedColumns.stream().map(ProjectedColumn::expression).collect(Collectors.joining(", "));
+    JdbcResultExtractor<?>[] resultExtractors = projectedColumns.stream()
+      .map(ProjectedColumn::extractor)
+      .toArray(JdbcResultExtractor<?>[]::new);
+
+    var sqlTemplate = SELECT_TEMPLATE.formatted(columns, session.getEntityMapping(entityClass).getTableName(), sqlClauses, sqlPagination);
+    log.debug("SQL statement generated: {}", sqlTemplate);
+
+    return visitor.createQueryPlan(sqlTemplate, resultExtractors, paginationSlots.toArray(new ParameterSlot[0]));
+  }
+
+  /**
+   * Encodes the properties of the arguments which change the generated SQL: limit, offset, and the placeholder bucket of every
+   * collection parameter.
+   */
+  private String getArgumentsShape() {
+    return new StringBuilder()
+      .append(maxResults != null ? 'L' : '-')
+      .append(firstResult > 0 ? 'O' : '-')
+      .append(ParameterSlot.parameterShapes(parameters))
+      .toString();
+  }
+
+}
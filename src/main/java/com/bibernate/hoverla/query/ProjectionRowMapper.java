@@ -0,0 +1,99 @@
+package com.bibernate.hoverla.query;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.ClassUtils;
+
+import com.bibernate.hoverla.exceptions.BibernateException;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maps the rows of a projection to the result type.
+ * <p/>
+ * A row is returned as is for {@code Object[]} results, a single column assignable to the result type is returned as the result,
+ * and otherwise the result is created by the constructor of the result type whose parameters accept the projected columns
+ * in order, e.g. the canonical constructor of a record. The mapping is resolved once per result type and column types,
+ * so mapping a row involves no reflective lookups.
+ *
+ * @param <R> The type of the results.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class ProjectionRowMapper<R> {
+
+  /**
+   * The mappers of every result type, keyed by the column types. A class value does not keep the result type and its class loader
+   * reachable, unlike a static map keyed by the class.
+   */
+  private static final ClassValue<Map<List<Class<?>>, ProjectionRowMapper<?>>> MAPPERS = new ClassValue<>() {
+    @Override
+    protected Map<List<Class<?>>, ProjectionRowMapper<?>> computeValue(Class<?> resultType) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  private final Class<R> resultType;
+  private final Function<Object[], Object> rowFunction;
+
+  /**
+   * Returns the mapper of rows with columns of the given types to the given result type.
+   *
+   * @param resultType  The type of the results.
+   * @param columnTypes The types of the projected columns, in the order of the columns.
+   *
+   * @return The row mapper, shared by all queries with the same result type and column types.
+   *
+   * @throws BibernateException If the result type cannot be created from the projected columns.
+   */
+  @SuppressWarnings("unchecked")
+  static <R> ProjectionRowMapper<R> of(Class<R> resultType, List<Class<?>> columnTypes) {
+    return (ProjectionRowMapper<R>) MAPPERS.get(resultType).computeIfAbsent(
+      List.copyOf(columnTypes), types -> new ProjectionRowMapper<>(resultType, createRowFunction(resultType, types)));
+  }
+
+  /**
+   * Maps a row of the projection to a result.
+   *
+   * @param row The row of query results.
+   *
+   * @return The result created from the row.
+   */
+  R mapRow(Object[] row) {
+    return resultType.cast(rowFunction.apply(row));
+  }
+
+  private static Function<Object[], Object> createRowFunction(Class<?> resultType, List<Class<?>> columnTypes) {
+    if (resultType == Object[].class) {
+      return row -> row;
+    }
+    if (columnTypes.size() == 1 && ClassUtils.isAssignable(columnTypes.get(0), resultType, true)) {
+      return row -> row[0];
+    }
+
+    Constructor<?> constructor = Arrays.stream(resultType.getDeclaredConstructors())
+      .filter(candidate -> ClassUtils.isAssignable(columnTypes.toArray(new Class<?>[0]), candidate.getParameterTypes(), true))
+      .findFirst()
+      .orElseThrow(() -> new BibernateException("No constructor of %s accepts the projected types %s"
+                                                  .formatted(resultType.getName(), columnTypes)));
+    constructor.setAccessible(true);
+
+    return row -> {
+      try {
+        return constructor.newInstance(row);
+      } catch (InstantiationException | IllegalAccessException | IllegalArgumentException e) {
+        throw new BibernateException("Failed to create %s from row %s".formatted(resultType.getName(), Arrays.toString(row)), e);
+      } catch (InvocationTargetException e) {
+        throw new BibernateException("Constructor of %s failed for row %s".formatted(resultType.getName(), Arrays.toString(row)),
+                                     e.getCause());
+      }
+    };
+  }
+
+}
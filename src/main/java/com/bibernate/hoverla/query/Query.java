@@ -1,6 +1,8 @@
 package com.bibernate.hoverla.query;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.bibernate.hoverla.session.Session;
 
@@ -22,6 +24,48 @@ public interface Query<T> {
    */
   Query<T> setParameter(String parameter, Object object);
 
+  /**
+   * Limits the number of returned results. The limit is applied by the database with a {@code LIMIT} clause.
+   *
+   * @param maxResults The maximum number of results.
+   *
+   * @return A reference to the same Query instance for method chaining.
+   */
+  Query<T> setMaxResults(int maxResults);
+
+  /**
+   * Skips the given number of results. The offset is applied by the database with an {@code OFFSET} clause, which still reads
+   * the skipped rows, so prefer {@link #seekAfter(Object...)} for deep pages of large results.
+   *
+   * @param firstResult The position of the first returned result, starting from 0.
+   *
+   * @return A reference to the same Query instance for method chaining.
+   */
+  Query<T> setFirstResult(int firstResult);
+
+  /**
+   * Returns only the results following the row with the given values of the {@code ORDER BY} fields (keyset pagination).
+   * The values are given in the order of the {@code ORDER BY} clause, which must make the ordering unique, e.g. by ending with the id.
+   * Unlike an offset, the seek condition lets the database start reading right after the last row of the previous page.
+   *
+   * @param keyValues The values of the ordering fields of the last read row.
+   *
+   * @return A reference to the same Query instance for method chaining.
+   */
+  Query<T> seekAfter(Object... keyValues);
+
+  /**
+   * Returns only the results following the given result in the order of the {@code ORDER BY} clause (keyset pagination).
+   * Typically, this is the last entity of the previous page.
+   *
+   * @param lastResult The last read result.
+   *
+   * @return A reference to the same Query instance for method chaining.
+   *
+   * @see #seekAfter(Object...)
+   */
+  Query<T> seekAfterResult(T lastResult);
+
   /**
    * Executes the query and returns the result as a list.
    *
@@ -29,4 +73,70 @@ public interface Query<T> {
    */
   List<T> getResult();
 
+  /**
+   * Executes the query and returns the result as a stream. Rows are read lazily through a forward-only cursor, fetching
+   * {@link #setFetchSize(int) fetch size} rows per round trip, so large results can be processed without loading them into memory.
+   * <p>
+   * The stream holds an open cursor and must be closed, preferably with a try-with-resources statement.
+   *
+   * @return A stream of results based on the query.
+   */
+  Stream<T> stream();
+
+  /**
+   * Executes the query and performs the given action for each result, reading rows lazily as {@link #stream()} does.
+   * The cursor is closed when all results have been processed or the action throws an exception.
+   *
+   * @param action The action to be performed for each result.
+   */
+  default void forEach(Consumer<? super T> action) {
+    try (Stream<T> results = stream()) {
+      results.forEach(action);
+    }
+  }
+
+  /**
+   * Sets the number of rows fetched from the database per round trip when results are streamed.
+   * Defaults to the {@code bibernate.jdbc.fetch_size} setting.
+   *
+   * @param fetchSize The fetch size, 0 to use the driver default.
+   *
+   * @return A reference to the same Query instance for method chaining.
+   */
+  Query<T> setFetchSize(int fetchSize);
+
+  /**
+   * Sets whether the results are kept out of the persistence context. Detached results are neither cached nor dirty checked,
+   * which keeps the memory footprint of the session constant while a large result is streamed.
+   *
+   * @param detached Whether the results are detached.
+   *
+   * @return A reference to the same Query instance for method chaining.
+   */
+  Query<T> setDetached(boolean detached);
+
+  /**
+   * Sets whether the entities loaded by the query are read-only. No snapshot of a read-only entity is kept and it is not dirty checked
+   * on flush. Entities already managed by the session keep their read-only flag. Defaults to the read-only mode of the session.
+   *
+   * @param readOnly Whether the loaded entities are read-only.
+   *
+   * @return A reference to the same Query instance for method chaining.
+   */
+  Query<T> setReadOnly(boolean readOnly);
+
+  /**
+   * Sets whether the result of the query is cached by the session factory. The ids of the result entities are cached, keyed by the
+   * generated SQL and the parameter values, and subsequent executions with the same values resolve the ids through the session and
+   * the second-level cache instead of running the query, until the queried table is written.
+   * <p>
+   * Only {@link #getResult()} uses the cache, and queries with {@code JOIN FETCH} clauses or detached results are never cached.
+   * Results of a table written by the session are not cached until its transaction ends, as they may contain uncommitted changes.
+   *
+   * @param cacheable Whether the result is cached.
+   *
+   * @return A reference to the same Query instance for method chaining.
+   */
+  Query<T> setCacheable(boolean cacheable);
+
 }
@@ -0,0 +1,29 @@
+package com.bibernate.hoverla.query;
+
+import java.util.Map;
+
+import com.bibernate.hoverla.exceptions.BibernateBqlMissingParameterException;
+
+/**
+ * The values bound to a {@link QueryPlan} on a single execution.
+ *
+ * @param parameters  The named query parameters.
+ * @param keyValues   The resolved keyset values in the order of the {@code ORDER BY} clause, or null without keyset pagination.
+ * @param maxResults  The limit of the results, or null without a limit.
+ * @param firstResult The offset of the results.
+ */
+record QueryArguments(Map<String, Object> parameters, Object[] keyValues, Integer maxResults, int firstResult) {
+
+  /**
+   * Returns the value of the named parameter.
+   *
+   * @throws BibernateBqlMissingParameterException If the parameter is not defined.
+   */
+  Object getParameter(String parameterName) {
+    if (!parameters.containsKey(parameterName)) {
+      throw new BibernateBqlMissingParameterException("Parameter with name: %s is not defined within parameters".formatted(parameterName));
+    }
+    return parameters.get(parameterName);
+  }
+
+}
@@ -1,22 +1,30 @@
 package com.bibernate.hoverla.query;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.bibernate.hoverla.exceptions.BibernateBqlException;
 import com.bibernate.hoverla.jdbc.JdbcResultExtractor;
 import com.bibernate.hoverla.metamodel.EntityMapping;
+import com.bibernate.hoverla.metamodel.EntitySqlStatements;
+import com.bibernate.hoverla.metamodel.FieldMapping;
 import com.bibernate.hoverla.session.Session;
 import com.bibernate.hoverla.session.SessionImplementor;
 import com.bibernate.hoverla.session.cache.EntityEntry;
 import com.bibernate.hoverla.session.cache.EntityKey;
+import com.bibernate.hoverla.session.cache.PersistenceContext;
+import com.bibernate.hoverla.utils.EntityProxyUtils;
 import com.bibernate.hoverla.utils.EntityUtils;
 
 import lombok.extern.slf4j.Slf4j;
 
-import static com.bibernate.hoverla.utils.EntityUtils.getEntityKey;
 import static com.bibernate.hoverla.utils.EntityUtils.parseWhereStatement;
 
 /**
@@ -25,7 +33,10 @@ import static com.bibernate.hoverla.utils.EntityUtils.parseWhereStatement;
  * <p>This class enables the construction and execution of custom queries using a specialized object-oriented query language.
  * The language supports parameterization, allowing to define and use parameters in queries for dynamic values. Additionally,
  * it provides support for logical operators (AND, OR), and comparison operators (<, >, <=, >=, =) for filtering and retrieving data
- * from a database or data source. It also offers grouping with parentheses and membership checks (IN).</p>
+ * from a database or data source. It also offers grouping with parentheses and membership checks (IN).
+ * Results can be ordered with {@code ORDER BY field [ASC|DESC]} and paginated in the database with a limit and an offset
+ * or with a keyset position. Associations are loaded together with the results by {@code JOIN FETCH field} clauses
+ * preceding the condition.</p>
  *
  * <p>The object-oriented query language offers flexibility for creating queries tailored to specific
  * application requirements, making it ideal for scenarios where a domain-specific query syntax is preferred.</p>
@@ -48,17 +59,25 @@ import static com.bibernate.hoverla.utils.EntityUtils.parseWhereStatement;
 @Slf4j
 public class QueryImpl<T> implements Query<T> {
 
-  private final static String SELECT_TEMPLATE = "SELECT %s FROM %s %s;";
+  private final static String SELECT_TEMPLATE = "SELECT %s FROM %s %s%s;";
   private final String queryExpression;
   private final Map<String, Object> parameters;
   private final Class<T> resultType;
   private final SessionImplementor session;
+  private int fetchSize;
+  private boolean detached;
+  private Boolean readOnly;
+  private Integer maxResults;
+  private int firstResult;
+  private KeysetPosition keysetPosition;
+  private boolean cacheable;
 
   public QueryImpl(SessionImplementor session, String criteria, Class<T> entityClass) {
     this.queryExpression = criteria;
     this.parameters = new HashMap<>();
     this.resultType = entityClass;
     this.session = session;
+    this.fetchSize = session.getSessionFactory().getSettings().getJdbcFetchSize();
   }
 
   /**
@@ -74,6 +93,36 @@ public class QueryImpl<T> implements Query<T> {
     return this;
   }
 
+  @Override
+  public QueryImpl<T> setMaxResults(int maxResults) {
+    if (maxResults < 0) {
+      throw new IllegalArgumentException("Max results must not be negative: " + maxResults);
+    }
+    this.maxResults = maxResults;
+    return this;
+  }
+
+  @Override
+  public QueryImpl<T> setFirstResult(int firstResult) {
+    if (firstResult < 0) {
+      throw new IllegalArgumentException("First result must not be negative: " + firstResult);
+    }
+    this.firstResult = firstResult;
+    return this;
+  }
+
+  @Override
+  public QueryImpl<T> seekAfter(Object... keyValues) {
+    this.keysetPosition = KeysetPosition.ofKeyValues(keyValues);
+    return this;
+  }
+
+  @Override
+  public QueryImpl<T> seekAfterResult(T lastResult) {
+    this.keysetPosition = KeysetPosition.ofLastResult(lastResult);
+    return this;
+  }
+
   /**
    * Executes the query and returns the result as a list of entities.
    *
@@ -81,14 +130,28 @@ public class QueryImpl<T> implements Query<T> {
    */
   public List<T> getResult() {
     log.debug("Executing query with expression: {}", queryExpression);
-    SqlJdbcStatement sqlStatement = generateSqlJdbcStatement();
+    QueryPlan queryPlan = getQueryPlan();
+    SqlJdbcStatement sqlStatement = createSqlJdbcStatement(queryPlan);
+
+    if (isResultCacheable(queryPlan)) {
+      return getCachedResult(queryPlan, sqlStatement);
+    }
+    return executeQuery(queryPlan, sqlStatement);
+  }
 
+  private List<T> executeQuery(QueryPlan queryPlan, SqlJdbcStatement sqlStatement) {
     List<Object[]> result = session.getJdbcExecutor()
       .executeSelectQuery(sqlStatement.getSqlTemplate(),
                           sqlStatement.getGetOrderedParameters(),
                           sqlStatement.getJdbcResultExtractors());
 
     log.debug("Query executed successfully. Mapping results to entities.");
+    if (!queryPlan.getFetchedAssociations().isEmpty()) {
+      var rowMapper = new JoinFetchRowMapper<>(session, resultType, queryPlan.getFetchedAssociations(), detached, isReadOnly());
+      result.forEach(rowMapper::mapRow);
+      return rowMapper.getResults();
+    }
+
     List<T> entities = result.stream()
       .map(this::mapRowToEntity)
       .collect(Collectors.toList());
@@ -98,25 +161,253 @@ public class QueryImpl<T> implements Query<T> {
     return entities;
   }
 
+  /**
+   * Executes the query and returns a lazily populated stream of entities backed by a forward-only cursor.
+   * A query fetching a collection with {@code JOIN FETCH} is executed eagerly instead, as the rows of an entity
+   * must all be read before its collection is complete.
+   *
+   * @return The stream of entities resulting from the query, must be closed after use.
+   */
+  @Override
+  public Stream<T> stream() {
+    log.debug("Streaming query with expression: {}", queryExpression);
+    QueryPlan queryPlan = getQueryPlan();
+    if (queryPlan.getFetchedAssociations().stream().anyMatch(FieldMapping::isOneToMany)) {
+      return getResult().stream();
+    }
+    SqlJdbcStatement sqlStatement = createSqlJdbcStatement(queryPlan);
+
+    Stream<Object[]> rows = session.getJdbcExecutor()
+      .streamSelectQuery(sqlStatement.getSqlTemplate(),
+                         sqlStatement.getGetOrderedParameters(),
+                         sqlStatement.getJdbcResultExtractors(),
+                         fetchSize);
+    if (!queryPlan.getFetchedAssociations().isEmpty()) {
+      // every row holds a distinct entity with its fetched references, a mapper per row keeps no state between rows
+      boolean readOnlyResults = isReadOnly();
+      return rows.map(row -> new JoinFetchRowMapper<>(session, resultType, queryPlan.getFetchedAssociations(), detached, readOnlyResults)
+        .mapRow(row));
+    }
+    return rows.map(this::mapRowToEntity);
+  }
+
+  @Override
+  public QueryImpl<T> setFetchSize(int fetchSize) {
+    if (fetchSize < 0) {
+      throw new IllegalArgumentException("Fetch size must not be negative: " + fetchSize);
+    }
+    this.fetchSize = fetchSize;
+    return this;
+  }
+
+  @Override
+  public QueryImpl<T> setDetached(boolean detached) {
+    this.detached = detached;
+    return this;
+  }
+
+  @Override
+  public QueryImpl<T> setReadOnly(boolean readOnly) {
+    this.readOnly = readOnly;
+    return this;
+  }
+
+  @Override
+  public QueryImpl<T> setCacheable(boolean cacheable) {
+    this.cacheable = cacheable;
+    return this;
+  }
+
+  private boolean isResultCacheable(QueryPlan queryPlan) {
+    return cacheable && !detached && queryPlan.getFetchedAssociations().isEmpty()
+           && !session.getEntityDaoService().isWrittenTable(getEntityMapping().getTableName());
+  }
+
+  /**
+   * Returns the result of the query from the query result cache, or executes the query and caches the ids of its result.
+   */
+  private List<T> getCachedResult(QueryPlan queryPlan, SqlJdbcStatement sqlStatement) {
+    QueryResultCache queryResultCache = session.getSessionFactory().getQueryResultCache();
+    var resultKey = QueryResultCache.QueryResultKey.of(sqlStatement);
+
+    List<Object> cachedIds = queryResultCache.get(resultKey);
+    if (cachedIds != null) {
+      log.debug("Resolving {} cached result ids of query: {}", cachedIds.size(), queryExpression);
+      return resolveEntities(cachedIds);
+    }
+
+    long timestamp = queryResultCache.getTimestamp();
+    List<T> entities = executeQuery(queryPlan, sqlStatement);
+    List<Object> ids = new ArrayList<>(entities.size());
+    for (T entity : entities) {
+      ids.add(session.getEntityDetails(entity).entityKey().id());
+    }
+    queryResultCache.put(resultKey, Set.of(getEntityMapping().getTableName()), timestamp, ids);
+    return entities;
+  }
+
+  /**
+   * Resolves the entities of the given ids: entities managed by the session are reused, the others are loaded from
+   * the second-level cache or the database and put into the persistence context. Ids of entities no longer found are skipped.
+   */
+  private List<T> resolveEntities(List<Object> ids) {
+    PersistenceContext persistenceContext = session.getPersistenceContext();
+    Map<Object, T> entitiesById = new HashMap<>();
+    List<Object> idsToLoad = new ArrayList<>();
+    for (Object id : ids) {
+      EntityEntry entityEntry = persistenceContext.getEntityEntry(new EntityKey<>(resultType, id));
+      if (entityEntry != null && !EntityProxyUtils.isUnitializedProxy(entityEntry.getEntity())) {
+        entitiesById.put(id, resultType.cast(entityEntry.getEntity()));
+      } else {
+        idsToLoad.add(id);
+      }
+    }
+
+    if (!idsToLoad.isEmpty()) {
+      boolean readOnlyResults = isReadOnly();
+      session.getEntityDaoService().loadMultiple(resultType, idsToLoad).forEach((id, entity) -> {
+        EntityEntry entityEntry = persistenceContext.manageEntity(new EntityKey<>(resultType, id), () -> entity, entry -> {}, readOnlyResults);
+        entitiesById.put(id, resultType.cast(entityEntry.getEntity()));
+      });
+    }
+
+    List<T> entities = new ArrayList<>(ids.size());
+    for (Object id : ids) {
+      T entity = entitiesById.get(id);
+      if (entity != null) {
+        entities.add(entity);
+      }
+    }
+    return entities;
+  }
+
+  private boolean isReadOnly() {
+    return readOnly != null ? readOnly : session.getPersistenceContext().isDefaultReadOnly();
+  }
+
+  /**
+   * Generates the SQL statement of the query. The statement template is taken from the session factory wide
+   * {@link QueryPlanCache}, so the query is parsed only the first time it is executed with arguments of the same shape;
+   * subsequent executions only bind the parameter values.
+   *
+   * @return The SQL statement with bound parameters.
+   */
   public SqlJdbcStatement generateSqlJdbcStatement() {
+    return createSqlJdbcStatement(getQueryPlan());
+  }
+
+  private QueryPlan getQueryPlan() {
+    var planKey = new QueryPlanCache.QueryPlanKey(resultType, queryExpression, getArgumentsShape());
+    return session.getSessionFactory().getQueryPlanCache().getOrCreate(planKey, key -> createQueryPlan());
+  }
+
+  private SqlJdbcStatement createSqlJdbcStatement(QueryPlan queryPlan) {
+    return new SqlJdbcStatement(queryPlan.getSqlTemplate(),
+                                queryPlan.bindParameters(parameters, keysetPosition, maxResults, firstResult),
+                                queryPlan.getResultExtractors());
+  }
+
+  private QueryPlan createQueryPlan() {
     log.debug("Generating SQL statement for query: {}, entityClass: {}", queryExpression, resultType);
     var entityMapping = session.getEntityMapping(resultType);
-
-    var columnNames = entityMapping.getColumnNames();
-    var jdbcResultExtractors = entityMapping.getJdbcTypes();
-    var tableName = entityMapping.getTableName();
+    var sqlStatements = entityMapping.getSqlStatements();
 
     var abstractSyntaxTree = parseWhereStatement(queryExpression);
-    var visitor = new BibernateWhereStatementVisitor(session.getSessionFactory().getMetamodel(), resultType, parameters);
+    var visitor = new BibernateWhereStatementVisitor(session.getSessionFactory().getMetamodel(), resultType, parameters, keysetPosition);
     var sqlWhereStatement = visitor.visit(abstractSyntaxTree);
 
-    var sqlTemplate = SELECT_TEMPLATE.formatted(columnNames, tableName, sqlWhereStatement);
+    List<ParameterSlot> paginationSlots = new ArrayList<>(2);
+    StringBuilder sqlPagination = new StringBuilder();
+    if (maxResults != null) {
+      sqlPagination.append(" LIMIT ?");
+      paginationSlots.add(ParameterSlot.maxResults());
+    }
+    if (firstResult > 0) {
+      sqlPagination.append(" OFFSET ?");
+      paginationSlots.add(ParameterSlot.firstResult());
+    }
+
+    var fetchedAssociations = visitor.getFetchedAssociations();
+    if (!fetchedAssociations.isEmpty()) {
+      return createJoinFetchQueryPlan(visitor, sqlWhereStatement, sqlPagination, paginationSlots);
+    }
+
+    var sqlTemplate = SELECT_TEMPLATE.formatted(sqlStatements.getColumnNames(), entityMapping.getTableName(), sqlWhereStatement,
+                                                sqlPagination);
 
     log.debug("SQL statement generated: {}", sqlTemplate);
 
-    return new SqlJdbcStatement(sqlTemplate,
-                                visitor.getJdbcParameterBindings(),
-                                jdbcResultExtractors.toArray(new JdbcResultExtractor<?>[0]));
+    return visitor.createQueryPlan(sqlTemplate, sqlStatements.getResultExtractors(), paginationSlots.toArray(new ParameterSlot[0]));
+  }
+
+  /**
+   * Creates the plan of a query joining the fetched associations: the queried table is aliased {@code t0} and the table
+   * of the n-th fetched association {@code tn}, the columns of all tables are selected, and the associations are
+   * left joined so that results without associated rows are kept.
+   *
+   * @throws BibernateBqlException If a collection is fetched together with a limit or an offset, which would apply to
+   *                               the joined rows instead of the results.
+   */
+  private QueryPlan createJoinFetchQueryPlan(BibernateWhereStatementVisitor visitor,
+                                             String sqlWhereStatement,
+                                             CharSequence sqlPagination,
+                                             List<ParameterSlot> paginationSlots) {
+    var fetchedAssociations = visitor.getFetchedAssociations();
+    var sqlStatements = getEntityMapping().getSqlStatements();
+    String rootAlias = BibernateWhereStatementVisitor.ROOT_ALIAS;
+
+    StringBuilder columns = new StringBuilder(qualifyColumnNames(sqlStatements, rootAlias));
+    StringBuilder tables = new StringBuilder(getEntityMapping().getTableName()).append(' ').append(rootAlias);
+    List<JdbcResultExtractor<?>> resultExtractors = new ArrayList<>(Arrays.asList(sqlStatements.getResultExtractors()));
+
+    for (int i = 0; i < fetchedAssociations.size(); i++) {
+      FieldMapping<?> association = fetchedAssociations.get(i);
+      if (association.isOneToMany() && !paginationSlots.isEmpty()) {
+        throw new BibernateBqlException("Limit and offset cannot be applied to a query fetching collection %s"
+                                          .formatted(association.getFieldName()));
+      }
+
+      String alias = "t" + (i + 1);
+      var associatedMapping = session.getEntityMapping(JoinFetchRowMapper.getAssociatedType(association));
+      var associatedStatements = associatedMapping.getSqlStatements();
+
+      String joinCondition = association.isOneToMany()
+        ? "%s.%s = %s.%s".formatted(alias, associatedMapping.getFieldMapping(association.getOneToManyMapping().getMappedBy()).getColumnName(),
+                                    rootAlias, sqlStatements.getPrimaryKeyMapping().getColumnName())
+        : "%s.%s = %s.%s".formatted(alias, associatedStatements.getPrimaryKeyMapping().getColumnName(),
+                                    rootAlias, association.getColumnName());
+
+      columns.append(", ").append(qualifyColumnNames(associatedStatements, alias));
+      tables.append(" LEFT JOIN ").append(associatedMapping.getTableName()).append(' ').append(alias)
+        .append(" ON ").append(joinCondition);
+      resultExtractors.addAll(Arrays.asList(associatedStatements.getResultExtractors()));
+    }
+
+    var sqlTemplate = SELECT_TEMPLATE.formatted(columns, tables, sqlWhereStatement, sqlPagination);
+
+    log.debug("SQL statement generated: {}", sqlTemplate);
+
+    return visitor.createQueryPlan(sqlTemplate, resultExtractors.toArray(new JdbcResultExtractor<?>[0]),
+                                   paginationSlots.toArray(new ParameterSlot[0]));
+  }
+
+  private static String qualifyColumnNames(EntitySqlStatements sqlStatements, String alias) {
+    return sqlStatements.getColumnFieldMappings().stream()
+      .map(fieldMapping -> alias + "." + fieldMapping.getColumnName())
+      .collect(Collectors.joining(", "));
+  }
+
+  /**
+   * Encodes the properties of the arguments which change the generated SQL: keyset pagination, limit, offset,
+   * and the placeholder bucket of every collection parameter, 0 for a null or empty collection.
+   */
+  private String getArgumentsShape() {
+    return new StringBuilder()
+      .append(keysetPosition != null ? 'K' : '-')
+      .append(maxResults != null ? 'L' : '-')
+      .append(firstResult > 0 ? 'O' : '-')
+      .append(ParameterSlot.parameterShapes(parameters))
+      .toString();
   }
 
   /**
@@ -128,10 +419,13 @@ public class QueryImpl<T> implements Query<T> {
    */
   private T mapRowToEntity(Object[] row) {
     EntityMapping entityMapping = getEntityMapping();
-    T entity = session.getEntityRowMapper().createEntityFromRow(row, resultType);
-    EntityKey<T> entityKey = getEntityKey(resultType, entity, entityMapping.getPrimaryKeyMapping().getFieldName());
+    T entity = session.getEntityRowMapper().createEntityFromRow(row, resultType, detached);
+    if (detached) {
+      return entity;
+    }
+    EntityKey<T> entityKey = new EntityKey<>(resultType, entityMapping.getSqlStatements().getPrimaryKeyMapping().getValue(entity));
 
-    return Optional.ofNullable((session.getPersistenceContext().manageEntity(entityKey, () -> entity, entityEntry -> {})))
+    return Optional.ofNullable((session.getPersistenceContext().manageEntity(entityKey, () -> entity, entityEntry -> {}, isReadOnly())))
       .map(EntityEntry::getEntity)
       .map(resultType::cast)
       .orElse(null);
@@ -0,0 +1,75 @@
+package com.bibernate.hoverla.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.bibernate.hoverla.jdbc.JdbcParameterBinding;
+import com.bibernate.hoverla.jdbc.JdbcResultExtractor;
+import com.bibernate.hoverla.metamodel.FieldMapping;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The result of translating a BQL query into SQL: the SQL template together with the ordered parameter slots of its placeholders.
+ * A plan does not hold parameter values, so it is shared between executions and sessions through the {@link QueryPlanCache}.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class QueryPlan {
+
+  private final String sqlTemplate;
+  @Getter(AccessLevel.NONE)
+  private final List<ParameterSlot> parameterSlots;
+  /**
+   * The {@code ORDER BY} fields whose values are bound by keyset pagination, empty if the plan has no keyset predicate.
+   */
+  @Getter(AccessLevel.NONE)
+  private final List<FieldMapping<?>> keysetFields;
+  @Getter(AccessLevel.NONE)
+  private final JdbcResultExtractor<?>[] resultExtractors;
+  /**
+   * The association fields loaded by {@code JOIN FETCH} clauses, in the order their columns follow the columns of the queried entity.
+   */
+  private final List<FieldMapping<?>> fetchedAssociations;
+  /**
+   * The Java types of the columns selected by a projection, in the order of the columns, empty if the plan selects entities.
+   */
+  private final List<Class<?>> projectedTypes;
+
+  /**
+   * Returns the extractors of the selected columns. The returned array is shared and must not be modified.
+   */
+  public JdbcResultExtractor<?>[] getResultExtractors() {
+    return resultExtractors;
+  }
+
+  /**
+   * Binds the given values to the placeholders of the plan.
+   *
+   * @param parameters     The named query parameters.
+   * @param keysetPosition The keyset position, or null without keyset pagination.
+   * @param maxResults     The limit of the results, or null without a limit.
+   * @param firstResult    The offset of the results.
+   *
+   * @return The parameter bindings in the order of the placeholders.
+   *
+   * @throws com.bibernate.hoverla.exceptions.BibernateBqlException If a parameter is missing or has an invalid value.
+   */
+  public JdbcParameterBinding<?>[] bindParameters(Map<String, Object> parameters,
+                                                  KeysetPosition keysetPosition,
+                                                  Integer maxResults,
+                                                  int firstResult) {
+    Object[] keyValues = keysetPosition == null || keysetFields.isEmpty() ? null : keysetPosition.resolveKeyValues(keysetFields);
+    QueryArguments arguments = new QueryArguments(parameters, keyValues, maxResults, firstResult);
+
+    List<JdbcParameterBinding<?>> bindings = new ArrayList<>(parameterSlots.size());
+    for (ParameterSlot parameterSlot : parameterSlots) {
+      parameterSlot.bind(arguments, bindings);
+    }
+    return bindings.toArray(new JdbcParameterBinding<?>[0]);
+  }
+
+}
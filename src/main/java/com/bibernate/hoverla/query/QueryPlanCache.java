@@ -0,0 +1,113 @@
+package com.bibernate.hoverla.query;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A session factory wide, bounded cache of {@link QueryPlan query plans}. When the cache is full, the least recently used plan is evicted.
+ * <p>
+ * Plans are keyed by the queried entity class, the BQL text and the shape of the arguments which changes the generated SQL:
+ * the presence of keyset pagination, limit and offset, and the placeholder bucket of every collection parameter.
+ */
+@Slf4j
+public class QueryPlanCache {
+
+  private final int maxSize;
+  private final Map<QueryPlanKey, QueryPlan> plans;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  /**
+   * Creates a cache holding at most the given number of plans.
+   *
+   * @param maxSize The maximum number of cached plans, 0 disables caching.
+   */
+  public QueryPlanCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<QueryPlanKey, QueryPlan> eldest) {
+        return size() > QueryPlanCache.this.maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached plan of the given key, or builds and caches a new one.
+   *
+   * @param key         The key of the plan.
+   * @param planFactory The function building the plan on a cache miss.
+   *
+   * @return The query plan.
+   */
+  public QueryPlan getOrCreate(QueryPlanKey key, Function<QueryPlanKey, QueryPlan> planFactory) {
+    if (maxSize > 0) {
+      synchronized (plans) {
+        QueryPlan plan = plans.get(key);
+        if (plan != null) {
+          hitCount.increment();
+          return plan;
+        }
+      }
+    }
+
+    missCount.increment();
+    log.debug("Building query plan for: {}", key);
+    QueryPlan plan = planFactory.apply(key);
+
+    if (maxSize > 0) {
+      synchronized (plans) {
+        plans.putIfAbsent(key, plan);
+      }
+    }
+    return plan;
+  }
+
+  /**
+   * Returns the number of lookups which found a cached plan.
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Returns the number of lookups which had to build a plan.
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * Returns the number of cached plans.
+   */
+  public int size() {
+    synchronized (plans) {
+      return plans.size();
+    }
+  }
+
+  /**
+   * Removes all cached plans. The hit and miss counters are not reset.
+   */
+  public void clear() {
+    synchronized (plans) {
+      plans.clear();
+    }
+  }
+
+  /**
+   * The key of a cached query plan.
+   *
+   * @param entityClass     The queried entity class.
+   * @param queryExpression The BQL text of the query.
+   * @param shape           The encoded shape of the query arguments which affects the generated SQL.
+   */
+  public record QueryPlanKey(Class<?> entityClass, String queryExpression, String shape) {
+
+  }
+
+}
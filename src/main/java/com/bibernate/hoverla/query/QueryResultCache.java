@@ -0,0 +1,217 @@
+package com.bibernate.hoverla.query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.bibernate.hoverla.jdbc.JdbcParameterBinding;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A session factory wide cache of the results of {@link Query#setCacheable(boolean) cacheable} queries.
+ *
+ * <p>
+ * Results are stored as the ids of the returned entities, keyed by the generated SQL and the bound parameter values, and are resolved
+ * to entities through the persistence context and the second-level cache when they are read.
+ * </p>
+ *
+ * <p>
+ * A result is valid as long as none of the tables it was read from has been written since the query started: every write advances
+ * the update timestamp of the written table, and results older than the timestamp of one of their tables are discarded. A table is
+ * invalidated right after a write is executed and once more when the writing transaction ends, which discards the results other
+ * sessions read before the transaction was committed.
+ * </p>
+ *
+ * <p>
+ * The cache holds at most the configured number of results, evicting the least recently used one when full.
+ * </p>
+ */
+@Slf4j
+public class QueryResultCache {
+
+  private final int maxSize;
+  private final Map<QueryResultKey, CachedResult> results;
+  private final Map<String, Long> tableTimestamps = new ConcurrentHashMap<>();
+  private final AtomicLong clock = new AtomicLong();
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder putCount = new LongAdder();
+  private final LongAdder staleCount = new LongAdder();
+
+  /**
+   * Creates a cache holding at most the given number of results.
+   *
+   * @param maxSize The maximum number of cached results, 0 disables the cache.
+   */
+  public QueryResultCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.results = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<QueryResultKey, CachedResult> eldest) {
+        return size() > QueryResultCache.this.maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the current timestamp, to be taken before a query is executed and passed to {@link #put(QueryResultKey, Set, long, List)}
+   * with its result.
+   */
+  public long getTimestamp() {
+    return clock.get();
+  }
+
+  /**
+   * Returns the cached ids of the result of a query.
+   *
+   * @param key The key of the query.
+   *
+   * @return The ids of the result entities in the order of the result, or null if the result is not cached or one of its tables
+   *   has been written since it was cached.
+   */
+  public List<Object> get(QueryResultKey key) {
+    if (maxSize <= 0) {
+      return null;
+    }
+
+    synchronized (results) {
+      CachedResult result = results.get(key);
+      if (result != null && !isUpToDate(result.tables(), result.timestamp())) {
+        log.trace("Cached result of {} is stale", key);
+        results.remove(key);
+        staleCount.increment();
+        result = null;
+      }
+
+      if (result == null) {
+        missCount.increment();
+        return null;
+      }
+      hitCount.increment();
+      return result.ids();
+    }
+  }
+
+  /**
+   * Caches the ids of the result of a query, unless one of the tables has been written since the query started.
+   *
+   * @param key       The key of the query.
+   * @param tables    The tables the result was read from.
+   * @param timestamp The {@link #getTimestamp() timestamp} taken before the query was executed.
+   * @param ids       The ids of the result entities in the order of the result.
+   */
+  public void put(QueryResultKey key, Set<String> tables, long timestamp, List<Object> ids) {
+    if (maxSize <= 0 || !isUpToDate(tables, timestamp)) {
+      return;
+    }
+
+    synchronized (results) {
+      results.put(key, new CachedResult(List.copyOf(ids), Set.copyOf(tables), timestamp));
+    }
+    putCount.increment();
+  }
+
+  /**
+   * Advances the update timestamp of the table, so that all results read from the table so far become stale.
+   *
+   * @param table The written table.
+   */
+  public void invalidate(String table) {
+    if (maxSize <= 0) {
+      return;
+    }
+
+    tableTimestamps.put(table, clock.incrementAndGet());
+    log.trace("Invalidated cached results of table {}", table);
+  }
+
+  /**
+   * Removes all cached results. The statistics are not reset.
+   */
+  public void clear() {
+    synchronized (results) {
+      results.clear();
+    }
+  }
+
+  /**
+   * Returns the number of cached results.
+   */
+  public int size() {
+    synchronized (results) {
+      return results.size();
+    }
+  }
+
+  /**
+   * Returns the number of lookups which found a valid cached result.
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Returns the number of lookups which did not find a valid cached result.
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * Returns the number of cached results.
+   */
+  public long getPutCount() {
+    return putCount.sum();
+  }
+
+  /**
+   * Returns the number of cached results discarded because one of their tables was written.
+   */
+  public long getStaleCount() {
+    return staleCount.sum();
+  }
+
+  private boolean isUpToDate(Set<String> tables, long timestamp) {
+    for (String table : tables) {
+      if (tableTimestamps.getOrDefault(table, 0L) > timestamp) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The key of a cached query result.
+   *
+   * @param sqlTemplate     The generated SQL of the query.
+   * @param parameterValues The values bound to the placeholders of the SQL.
+   */
+  public record QueryResultKey(String sqlTemplate, List<Object> parameterValues) {
+
+    /**
+     * Creates the key of the given SQL statement.
+     *
+     * @param sqlStatement The SQL statement with bound parameters.
+     *
+     * @return The key of the statement.
+     */
+    public static QueryResultKey of(SqlJdbcStatement sqlStatement) {
+      Object[] values = Arrays.stream(sqlStatement.getGetOrderedParameters()).map(JdbcParameterBinding::getBindValue).toArray();
+      return new QueryResultKey(sqlStatement.getSqlTemplate(), Collections.unmodifiableList(Arrays.asList(values)));
+    }
+
+  }
+
+  private record CachedResult(List<Object> ids, Set<String> tables, long timestamp) {
+
+  }
+
+}
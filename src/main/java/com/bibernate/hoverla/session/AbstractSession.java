@@ -40,10 +40,10 @@ public abstract class AbstractSession implements Session, SessionImplementor {
     this.persistenceContext = new PersistenceContext(dirtyCheckService);
     this.sessionFactory = sessionFactory;
     this.entityDaoService = new EntityDaoService(this);
-    this.actionQueue = new ActionQueue();
+    this.actionQueue = new ActionQueue(sessionFactory.getSettings().getJdbcBatchSize());
     this.currentConnection = sessionFactory.getDataSource().getConnection();
     this.entityRowMapper = new EntityRowMapper(this);
-    this.jdbcExecutor = new JdbcExecutorImpl(this);
+    this.jdbcExecutor = new JdbcExecutorImpl(this, sessionFactory.getSettings().getJdbcStatementCacheSize());
   }
 
 }
@@ -1,36 +1,41 @@
 package com.bibernate.hoverla.session;
 
-import java.util.Collection;
-import java.util.Collections;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import org.apache.commons.lang3.StringUtils;
-import org.apache.logging.log4j.util.Strings;
 
+import com.bibernate.hoverla.annotations.BatchSize;
+import com.bibernate.hoverla.annotations.CacheConcurrencyStrategy;
+import com.bibernate.hoverla.collection.PersistenceLazyList;
 import com.bibernate.hoverla.exceptions.BibernateException;
 import com.bibernate.hoverla.exceptions.OptimisticLockException;
 import com.bibernate.hoverla.exceptions.PersistOperationException;
 import com.bibernate.hoverla.jdbc.JdbcParameterBinding;
 import com.bibernate.hoverla.jdbc.JdbcResultExtractor;
 import com.bibernate.hoverla.metamodel.EntityMapping;
+import com.bibernate.hoverla.metamodel.EntitySqlStatements;
 import com.bibernate.hoverla.metamodel.FieldMapping;
 import com.bibernate.hoverla.metamodel.OneToManyMapping;
+import com.bibernate.hoverla.query.QueryResultCache;
 import com.bibernate.hoverla.session.cache.CollectionKey;
 import com.bibernate.hoverla.session.cache.EntityKey;
+import com.bibernate.hoverla.session.cache.PersistenceContext;
+import com.bibernate.hoverla.session.cache.SecondLevelCache;
 import com.bibernate.hoverla.session.dirtycheck.DirtyFieldMapping;
+import com.bibernate.hoverla.utils.DirtyTrackingUtils;
 import com.bibernate.hoverla.utils.EntityProxyUtils;
-import com.bibernate.hoverla.utils.EntityUtils;
 
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
-import lombok.With;
 import lombok.extern.slf4j.Slf4j;
 
-import static java.util.stream.Collectors.joining;
-
 import static com.bibernate.hoverla.jdbc.JdbcParameterBinding.bindParameter;
 
 /**
@@ -44,18 +49,30 @@ import static com.bibernate.hoverla.jdbc.JdbcParameterBinding.bindParameter;
 @RequiredArgsConstructor
 public class EntityDaoService {
 
-  private static final String FOR_SHARE = "FOR SHARE";
-  private static final String FOR_UPDATE = "FOR UPDATE";
-  private static final String NONE = "";
-
-  private static final String DELETE_FROM_TABLE_BY_ID = "DELETE FROM %s WHERE %s = ?;";
-  private static final String SELECT_FROM_TABLE_BY_COLUMN = "SELECT %s FROM %s WHERE %s = ? %s;";
-  private static final String INSERT_INTO_TABLE = "INSERT INTO %s (%s) VALUES (%s);";
-  private static final String UPDATE_TABLE_BY_ID = "UPDATE %s SET %s WHERE %s = ?;";
-  private static final String UPDATE_TABLE_WITH_OPTIMISTIC_LOCK = "UPDATE %s SET %s, %s = ? WHERE %s = ? AND %s = ?;";
+  /**
+   * The maximum number of ids per query of {@link #loadMultiple(Class, List)}, unless batch fetching is enabled for the entity.
+   */
+  private static final int DEFAULT_MULTI_LOAD_CHUNK_SIZE = 100;
 
   private final SessionImplementor session;
 
+  /**
+   * Keys of cacheable entities updated or deleted since the last commit or rollback, evicted from the second-level cache
+   * once more when the transaction ends.
+   */
+  private final Set<EntityKey<?>> writtenCacheableEntityKeys = new HashSet<>();
+
+  /**
+   * Entity types written by bulk statements since the last commit or rollback, all of whose entities are evicted from
+   * the second-level cache once more when the transaction ends.
+   */
+  private final Set<Class<?>> bulkWrittenEntityTypes = new HashSet<>();
+
+  /**
+   * Tables written since the last commit or rollback, whose cached query results are invalidated once more when the transaction ends.
+   */
+  private final Set<String> writtenTables = new HashSet<>();
+
   /**
    * Inserts a new entity into the database.
    * <p>
@@ -68,38 +85,77 @@ public class EntityDaoService {
    */
   public <T> void insert(T entity) {
     log.info("Inserting entity...");
-    EntityMapping entityMapping = session.getEntityMapping(entity.getClass());
-
-    entityMapping.getFieldMappingWithOptimisticLock()
-      .ifPresent(optimisticLock -> initOptimisticLock(entity, optimisticLock));
+    EntityMapping entityMapping = session.getEntityMapping(DirtyTrackingUtils.getEntityClass(entity));
+    EntitySqlStatements sqlStatements = entityMapping.getSqlStatements();
+    FieldMapping<?> primaryKeyMapping = sqlStatements.getPrimaryKeyMapping();
 
-    List<FieldMapping<?>> insertableFields = entityMapping.getFieldMappings(FieldMapping::isInsertable);
-    JdbcParameterBinding<?>[] parameterBindings = getInsertParameterBinding(entity, insertableFields);
-    FieldMapping<?> primaryKeyMapping = entityMapping.getPrimaryKeyMapping();
+    if (!isIdentityGenerated(primaryKeyMapping)) {
+      execute(prepareInsert(entity));
+      return;
+    }
 
-    String insertStatement = INSERT_INTO_TABLE.formatted(
-      entityMapping.getTableName(),
-      getColumnNames(insertableFields),
-      generatePlaceholders(insertableFields)
-    );
+    JdbcParameterBinding<?>[] parameterBindings = getInsertParameterBinding(entity, sqlStatements);
+    Object generatedKey = session.getJdbcExecutor()
+      .executeUpdateAndReturnGeneratedKeys(sqlStatements.getInsertStatement(), parameterBindings, primaryKeyMapping.getJdbcType());
+    invalidateQueryResults(entityMapping.getTableName());
 
-    if (isIdentityGenerated(primaryKeyMapping)) {
-      Object generatedKey = session.getJdbcExecutor()
-        .executeUpdateAndReturnGeneratedKeys(insertStatement, parameterBindings, primaryKeyMapping.getJdbcType());
+    primaryKeyMapping.setValue(entity, generatedKey);
+    log.debug("Entity inserted successfully, generated keys populated.");
+  }
 
-      EntityUtils.setFieldValue(primaryKeyMapping.getFieldName(), entity, generatedKey);
-      log.debug("Entity inserted successfully, generated keys populated.");
+  /**
+   * Inserts entities of the same type with identity-generated primary keys by a single multi-row {@code INSERT ... RETURNING}
+   * statement, assigns the generated keys to the entities in the order of the rows and puts the entities into the persistence context.
+   *
+   * @param entities the entities to insert into the database, all of the same type.
+   */
+  public void insertReturningGeneratedKeys(List<?> entities) {
+    log.info("Inserting {} entities...", entities.size());
+    EntityMapping entityMapping = session.getEntityMapping(DirtyTrackingUtils.getEntityClass(entities.get(0)));
+    EntitySqlStatements sqlStatements = entityMapping.getSqlStatements();
+    FieldMapping<?> primaryKeyMapping = sqlStatements.getPrimaryKeyMapping();
+
+    List<JdbcParameterBinding<?>> parameterBindings = new ArrayList<>();
+    for (Object entity : entities) {
+      parameterBindings.addAll(Arrays.asList(getInsertParameterBinding(entity, sqlStatements)));
+    }
+    List<Object[]> generatedKeys = session.getJdbcExecutor()
+      .executeSelectQuery(sqlStatements.getInsertReturningStatement(entities.size()),
+                          parameterBindings.toArray(JdbcParameterBinding<?>[]::new),
+                          new JdbcResultExtractor<?>[] { primaryKeyMapping.getJdbcType() });
+    invalidateQueryResults(entityMapping.getTableName());
+    if (generatedKeys.size() != entities.size()) {
+      throw new PersistOperationException("%d of %d rows were persisted".formatted(generatedKeys.size(), entities.size()));
+    }
 
-      return;
+    for (int i = 0; i < entities.size(); i++) {
+      Object entity = entities.get(i);
+      primaryKeyMapping.setValue(entity, generatedKeys.get(i)[0]);
+      session.getPersistenceContext().manageEntity(session.getEntityDetails(entity).entityKey(), () -> entity, entityEntry -> {}, false);
     }
+    log.debug("{} entities inserted successfully, generated keys populated.", entities.size());
+  }
+
+  /**
+   * Prepares an insert of an entity whose primary key is already assigned, without executing it.
+   *
+   * @param entity the entity to insert into the database.
+   * @param <T>    the type of the entity.
+   *
+   * @return the prepared insert, or null if the entity is detached and should not be inserted.
+   */
+  public <T> EntityWriteOperation prepareInsert(T entity) {
+    EntityMapping entityMapping = session.getEntityMapping(DirtyTrackingUtils.getEntityClass(entity));
+    EntitySqlStatements sqlStatements = entityMapping.getSqlStatements();
 
     if (isDetached(entity)) {
-      log.debug("Entity with class {} is detached. Skipping insert operation.", entityMapping.getClass());
-      return;
+      log.debug("Entity with class {} is detached. Skipping insert operation.", entity.getClass());
+      return null;
     }
 
-    int updatedRows = session.getJdbcExecutor().executeUpdate(insertStatement, parameterBindings);
-    verifyInsertOperation(updatedRows);
+    JdbcParameterBinding<?>[] parameterBindings = getInsertParameterBinding(entity, sqlStatements);
+    return new EntityWriteOperation(entityMapping.getTableName(), sqlStatements.getInsertStatement(), parameterBindings,
+                                    this::verifyInsertOperation);
   }
 
   /**
@@ -108,6 +164,10 @@ public class EntityDaoService {
    * This method loads an entity from the database based on the given entity key, which consists of the entity's type and ID.
    * If multiple entities are found for the given entity key, an exception is thrown.
    * </p>
+   * <p>
+   * {@link EntityMapping#isCacheable() Cacheable} entities loaded without a lock are read from, and put into,
+   * the second-level cache of the session factory.
+   * </p>
    *
    * @param <T>       the type of the entity.
    * @param entityKey the entity key representing the entity to load.
@@ -118,29 +178,98 @@ public class EntityDaoService {
     log.debug("Loading entity with entity key: {} and lock mode: {}", entityKey, lockMode);
 
     EntityMapping entityMapping = session.getEntityMapping(entityKey.entityType());
+    EntitySqlStatements sqlStatements = entityMapping.getSqlStatements();
+
+    boolean cacheable = lockMode == LockMode.NONE && entityMapping.isCacheable();
+    if (cacheable) {
+      Object[] cachedRow = session.getSessionFactory().getSecondLevelCache().get(entityKey);
+      if (cachedRow != null) {
+        log.debug("Entity with entity key: {} found in the second-level cache", entityKey);
+        return getEntityFromRow(entityKey, cachedRow);
+      }
+    }
 
-    FieldMapping<?> primaryKeyMapping = entityMapping.getPrimaryKeyMapping();
-
-    String selectStatement = SELECT_FROM_TABLE_BY_COLUMN.formatted(entityMapping.getColumnNames(),
-                                                                   entityMapping.getTableName(),
-                                                                   primaryKeyMapping.getColumnName(),
-                                                                   StringUtils.prependIfMissing(getLockModeSqlAppend(lockMode), " ")
-    );
-
-    List<T> results = session.getJdbcExecutor()
-      .executeSelectQuery(selectStatement,
-                          getJdbcParameterBindings(entityKey, primaryKeyMapping),
-                          entityMapping.getJdbcTypes().toArray(new JdbcResultExtractor<?>[0]))
-      .stream()
-      .map(row -> getEntityFromRow(entityKey, row))
-      .toList();
+    List<Object[]> rows = session.getJdbcExecutor()
+      .executeSelectQuery(sqlStatements.getSelectByIdStatement(lockMode),
+                          getJdbcParameterBindings(entityKey, sqlStatements.getPrimaryKeyMapping()),
+                          sqlStatements.getResultExtractors());
 
-    if (results.size() > 1) {
+    if (rows.size() > 1) {
       String errorMessage = "Multiple entities found for the given entity key : %s. Expected only one result.".formatted(entityKey);
       throw new BibernateException(errorMessage);
     }
 
-    return results.stream().findFirst().orElse(null);
+    if (rows.isEmpty()) {
+      return null;
+    }
+
+    if (cacheable && !isWrittenCacheableEntity(entityKey)) {
+      session.getSessionFactory().getSecondLevelCache().put(entityKey, rows.get(0));
+    }
+    return getEntityFromRow(entityKey, rows.get(0));
+  }
+
+  /**
+   * Loads the entity of an uninitialized proxy. If batch fetching is enabled for the entity, either by {@link BatchSize}
+   * or by the {@code bibernate.default_batch_fetch_size} setting, other uninitialized proxies of the same entity managed
+   * by the session are loaded with the same query and initialized as well.
+   *
+   * @param <T>       the type of the entity.
+   * @param entityKey the entity key of the proxy.
+   *
+   * @return the loaded entity, or null if no entity is found.
+   */
+  public <T> T loadProxy(EntityKey<T> entityKey) {
+    int batchSize = getBatchFetchSize(session.getEntityMapping(entityKey.entityType()));
+    if (batchSize <= 1) {
+      return load(entityKey, LockMode.NONE);
+    }
+
+    PersistenceContext persistenceContext = session.getPersistenceContext();
+    List<Object> ids = persistenceContext.getBatchFetchIds(entityKey, batchSize);
+    if (ids.size() == 1) {
+      return load(entityKey, LockMode.NONE);
+    }
+
+    log.debug("Batch loading {} proxies of entity {}", ids.size(), entityKey.entityType());
+    Map<Object, Object[]> rowsById = loadRowsByIds(entityKey.entityType(), ids, batchSize);
+
+    for (int i = 1; i < ids.size(); i++) {
+      EntityKey<T> batchEntityKey = new EntityKey<>(entityKey.entityType(), ids.get(i));
+      Object[] row = rowsById.get(batchEntityKey.id());
+      if (row == null) {
+        persistenceContext.removeFromBatchFetch(batchEntityKey);
+      } else {
+        persistenceContext.manageEntity(batchEntityKey, () -> getEntityFromRow(batchEntityKey, row), entry -> {});
+      }
+    }
+
+    Object[] row = rowsById.get(entityKey.id());
+    return row != null ? getEntityFromRow(entityKey, row) : null;
+  }
+
+  /**
+   * Loads the entities of the given ids with {@code IN} queries, or from the second-level cache for cacheable entities.
+   * The ids are split into chunks of the batch fetch size of the entity, or of 100 ids if batch fetching is disabled.
+   * The loaded entities are not put into the persistence context.
+   *
+   * @param <T>        the type of the entities.
+   * @param entityType the class of the entities.
+   * @param ids        the distinct ids of the entities.
+   *
+   * @return the loaded entities by id, without the ids of entities not found.
+   */
+  public <T> Map<Object, T> loadMultiple(Class<T> entityType, List<Object> ids) {
+    int batchSize = getBatchFetchSize(session.getEntityMapping(entityType));
+    int chunkSize = batchSize > 1 ? batchSize : DEFAULT_MULTI_LOAD_CHUNK_SIZE;
+
+    Map<Object, T> entities = new HashMap<>();
+    for (int from = 0; from < ids.size(); from += chunkSize) {
+      List<Object> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+      loadRowsByIds(entityType, chunk, chunkSize)
+        .forEach((id, row) -> entities.put(id, getEntityFromRow(new EntityKey<>(entityType, id), row)));
+    }
+    return entities;
   }
 
   /**
@@ -149,6 +278,11 @@ public class EntityDaoService {
    * This method loads a collection of entities associated with the given collection key from the database.
    * It retrieves the entities based on the collection key's entity type and collection name.
    * </p>
+   * <p>
+   * If batch fetching is enabled for the collection field, either by {@link BatchSize} or by the
+   * {@code bibernate.default_batch_fetch_size} setting, the same collection of other entities managed by the session
+   * is loaded with the same query and the rows are distributed to the uninitialized collections.
+   * </p>
    *
    * @param collectionKey the collection key representing the collection of entities to load.
    * @param <T>           the type of the entities in the collection.
@@ -162,21 +296,25 @@ public class EntityDaoService {
 
     Class<T> entityType = (Class<T>) oneToManyMapping.getCollectionType();
     EntityMapping entityMapping = session.getEntityMapping(entityType);
+    EntitySqlStatements sqlStatements = entityMapping.getSqlStatements();
     FieldMapping<?> joinColumn = entityMapping.getFieldMapping(oneToManyMapping.getMappedBy());
 
-    String selectStatement = SELECT_FROM_TABLE_BY_COLUMN.formatted(entityMapping.getColumnNames(),
-                                                                   entityMapping.getTableName(),
-                                                                   joinColumn.getColumnName(),
-                                                                   Strings.EMPTY);
+    int batchSize = oneToManyMapping.getBatchSize() > 0
+      ? oneToManyMapping.getBatchSize()
+      : session.getSessionFactory().getSettings().getDefaultBatchFetchSize();
+    if (batchSize > 1) {
+      List<CollectionKey<?>> collectionKeys = session.getPersistenceContext().getBatchFetchCollectionKeys(collectionKey, batchSize);
+      if (collectionKeys.size() > 1) {
+        return loadCollectionBatch(collectionKeys, entityType, joinColumn, batchSize);
+      }
+    }
 
     JdbcParameterBinding<?>[] bindValues = { bindParameter(collectionKey.id(),
                                                            joinColumn.getJdbcType()) };
 
-    var jdbcResultExtractors = entityMapping.getJdbcTypes();
-
-    List<Object[]> rows = session.getJdbcExecutor().executeSelectQuery(selectStatement,
+    List<Object[]> rows = session.getJdbcExecutor().executeSelectQuery(sqlStatements.getSelectByColumnStatement(joinColumn.getFieldName()),
                                                                        bindValues,
-                                                                       jdbcResultExtractors.toArray(new JdbcResultExtractor<?>[0]));
+                                                                       sqlStatements.getResultExtractors());
     log.debug("Creating collection {}", entityType);
 
     return rows.stream()
@@ -185,6 +323,39 @@ public class EntityDaoService {
       .collect(Collectors.toList());
   }
 
+  private <T> List<T> loadCollectionBatch(List<CollectionKey<?>> collectionKeys, Class<T> entityType, FieldMapping<?> joinColumn,
+                                          int batchSize) {
+    log.debug("Batch loading {} collections {} of entity {}", collectionKeys.size(), collectionKeys.get(0).collectionName(),
+              collectionKeys.get(0).entityType());
+
+    EntitySqlStatements sqlStatements = session.getEntityMapping(entityType).getSqlStatements();
+    int placeholders = getBatchPlaceholders(collectionKeys.size(), batchSize);
+    JdbcParameterBinding<?>[] bindValues = new JdbcParameterBinding<?>[placeholders];
+    for (int i = 0; i < placeholders; i++) {
+      bindValues[i] = bindParameter(collectionKeys.get(Math.min(i, collectionKeys.size() - 1)).id(), joinColumn.getJdbcType());
+    }
+
+    List<Object[]> rows = session.getJdbcExecutor()
+      .executeSelectQuery(sqlStatements.getSelectByColumnInStatement(joinColumn.getFieldName(), placeholders),
+                          bindValues,
+                          sqlStatements.getResultExtractors());
+
+    int joinColumnIndex = sqlStatements.getColumnFieldMappings().indexOf(joinColumn);
+    // an integral foreign key may be read back in another type than the id of its owner, such as an Integer column of a Long id
+    Map<Object, List<T>> elementsById = new HashMap<>();
+    for (Object[] row : rows) {
+      elementsById.computeIfAbsent(getIdLookupKey(row[joinColumnIndex]), id -> new ArrayList<>())
+        .add(session.getEntityRowMapper().createEntityFromRow(row, entityType));
+    }
+
+    PersistenceContext persistenceContext = session.getPersistenceContext();
+    for (int i = 1; i < collectionKeys.size(); i++) {
+      List<T> elements = elementsById.getOrDefault(getIdLookupKey(collectionKeys.get(i).id()), new ArrayList<>());
+      ((PersistenceLazyList<T>) persistenceContext.getCollection(collectionKeys.get(i))).initialize(elements);
+    }
+    return elementsById.getOrDefault(getIdLookupKey(collectionKeys.get(0).id()), new ArrayList<>());
+  }
+
   /**
    * Updates the provided entity in the database.
    * <p>
@@ -199,39 +370,55 @@ public class EntityDaoService {
    * @param <T>    the type of the entity.
    */
   public <T> void update(T entity) {
+    execute(prepareUpdate(entity));
+  }
+
+  /**
+   * Prepares an update of the modified fields of the entity, without executing it.
+   *
+   * @param entity the entity object to be updated.
+   * @param <T>    the type of the entity.
+   *
+   * @return the prepared update, or null if the entity is detached and should not be updated.
+   *
+   * @see #update(Object)
+   */
+  public <T> EntityWriteOperation prepareUpdate(T entity) {
     var entityDetails = session.getEntityDetails(entity);
     var entityKey = entityDetails.entityKey();
 
     if (isDetached(entityKey)) {
       log.debug("Entity with key {} is detached. Skipping update operation.", entityKey);
-      return;
+      return null;
     }
 
     log.debug("Updating entity: {}", entityKey);
 
-    List<DirtyFieldMapping<Object>> dirtyFields = session.getDirtyCheckService().getUpdatedFields(entity);
+    List<DirtyFieldMapping<Object>> dirtyFields = session.isStateless()
+      ? getAllUpdatableFields(entity, entityDetails.entityMapping())
+      : session.getDirtyCheckService().getUpdatedFields(entity);
 
     var entityMapping = entityDetails.entityMapping();
-    FieldMapping<?> primaryKeyMapping = entityMapping.getPrimaryKeyMapping();
+    EntitySqlStatements sqlStatements = entityMapping.getSqlStatements();
 
-    String tableName = entityMapping.getTableName();
-    String columnsToUpdate = getColumnsToUpdate(dirtyFields);
+    if (entityMapping.getCacheConcurrencyStrategy() == CacheConcurrencyStrategy.READ_ONLY) {
+      throw new BibernateException("Entity %s is cached as read-only and cannot be updated".formatted(entityKey));
+    }
 
     UpdateEntityRequest<T> request = UpdateEntityRequest.<T>builder()
       .entity(entity)
-      .table(tableName)
-      .columnsToUpdate(columnsToUpdate)
+      .table(entityMapping.getTableName())
+      .updateStatement(sqlStatements.getUpdateStatement(getColumnsToUpdate(dirtyFields)))
       .entityKey(entityKey)
-      .primaryKey(primaryKeyMapping)
+      .primaryKey(sqlStatements.getPrimaryKeyMapping())
       .dirtyFields(dirtyFields)
+      .optimisticLock(sqlStatements.getOptimisticLockMapping())
       .build();
 
-    entityMapping.getFieldMappingWithOptimisticLock()
-      .map(request::withOptimisticLock)
-      .ifPresentOrElse(
-        this::updateEntityWithOptimisticLock,
-        () -> updateEntity(request)
-      );
+    EntityWriteOperation operation = request.optimisticLock != null ? prepareUpdateWithOptimisticLock(request) : prepareUpdateById(request);
+    // the tracked changes are kept until the update succeeded, so that a failed flush finds the entity dirty again
+    Object unProxied = EntityProxyUtils.unProxy(entity);
+    return withSecondLevelCacheEviction(operation.andThen(() -> DirtyTrackingUtils.clearDirtyFields(unProxied)), entityMapping, entityKey);
   }
 
   /**
@@ -244,31 +431,150 @@ public class EntityDaoService {
    * @param <T>    the type of the entity.
    */
   public <T> void delete(T entity) {
+    execute(prepareDelete(entity));
+  }
+
+  /**
+   * Prepares a delete of the entity by its primary key, without executing it.
+   *
+   * @param entity the entity to delete from the database.
+   * @param <T>    the type of the entity.
+   *
+   * @return the prepared delete, or null if the entity is detached and should not be deleted.
+   */
+  public <T> EntityWriteOperation prepareDelete(T entity) {
     EntityDetails<T> entityDetails = session.getEntityDetails(entity);
 
     if (isDetached(entityDetails.entityKey())) {
       log.debug("Entity with key {} is detached. Skipping delete operation.", entityDetails.entityKey());
-      return;
+      return null;
     }
 
     log.debug("Deleting entity: {}", entityDetails.entityKey());
 
-    FieldMapping<?> primaryKeyMapping = entityDetails.entityMapping().getPrimaryKeyMapping();
-    String deleteStatement = DELETE_FROM_TABLE_BY_ID.formatted(entityDetails.entityMapping().getTableName(),
-                                                               primaryKeyMapping.getColumnName());
+    EntitySqlStatements sqlStatements = entityDetails.entityMapping().getSqlStatements();
+    FieldMapping<?> primaryKeyMapping = sqlStatements.getPrimaryKeyMapping();
+    String deleteStatement = sqlStatements.getDeleteByIdStatement();
+    String table = entityDetails.entityMapping().getTableName();
 
     JdbcParameterBinding<?>[] bindValues = { bindParameter(entityDetails.entityKey().id(),
                                                            primaryKeyMapping.getJdbcType()) };
 
-    int updatedRows = session.getJdbcExecutor().executeUpdate(deleteStatement, bindValues);
+    EntityWriteOperation operation = new EntityWriteOperation(table, deleteStatement, bindValues, updatedRows -> {
+      log.debug("Entity with id {} deleted from table {}, updated rows {}", entityDetails.entityKey(), table, updatedRows);
 
-    log.debug("Entity with id {} deleted from table {}, updated rows {}", entityDetails.entityKey(), entityDetails.entityMapping().getTableName(),
-              updatedRows);
+      if (updatedRows == 0) {
+        throw new BibernateException("Row was deleted by another transaction " + entityDetails.entityKey());
+      }
+    });
+    return withSecondLevelCacheEviction(operation, entityDetails.entityMapping(), entityDetails.entityKey());
+  }
 
-    if (updatedRows == 0) {
-      throw new BibernateException("Row was deleted by another transaction " + entityDetails.entityKey());
+  /**
+   * Evicts the cacheable entities updated or deleted since the last call from the second-level cache, including all entities of
+   * the types written by bulk statements. Called when the transaction is committed or rolled back, as other sessions may have
+   * cached the previous state of the entities before the transaction ended.
+   */
+  public void evictWrittenEntitiesFromSecondLevelCache() {
+    if (writtenCacheableEntityKeys.isEmpty() && bulkWrittenEntityTypes.isEmpty()) {
+      return;
     }
 
+    SecondLevelCache secondLevelCache = session.getSessionFactory().getSecondLevelCache();
+    writtenCacheableEntityKeys.forEach(secondLevelCache::evict);
+    writtenCacheableEntityKeys.clear();
+    bulkWrittenEntityTypes.forEach(secondLevelCache::evictAll);
+    bulkWrittenEntityTypes.clear();
+  }
+
+  /**
+   * Evicts all entities of the given type from the second-level cache, right away and once more when the transaction ends.
+   * Called after a bulk statement writing an unknown set of rows of the type.
+   *
+   * @param entityType the entity type written by the bulk statement.
+   */
+  public void evictBulkWrittenEntities(Class<?> entityType) {
+    session.getSessionFactory().getSecondLevelCache().evictAll(entityType);
+    bulkWrittenEntityTypes.add(entityType);
+  }
+
+  /**
+   * Invalidates the cached query results read from the given table, right away and once more when the transaction ends.
+   * Called after every write of the table.
+   *
+   * @param table the written table.
+   */
+  public void invalidateQueryResults(String table) {
+    session.getSessionFactory().getQueryResultCache().invalidate(table);
+    writtenTables.add(table);
+  }
+
+  /**
+   * Returns whether the given table has been written by this session since the last commit or rollback. Results of queries reading
+   * such a table may contain uncommitted changes, so they are neither read from nor put into the query result cache.
+   *
+   * @param table the table.
+   *
+   * @return true if the table has been written.
+   */
+  public boolean isWrittenTable(String table) {
+    return writtenTables.contains(table);
+  }
+
+  /**
+   * Invalidates the cached query results of the tables written since the last call. Called when the transaction is committed or
+   * rolled back, as other sessions may have cached results read before the transaction ended.
+   */
+  public void invalidateWrittenTables() {
+    if (writtenTables.isEmpty()) {
+      return;
+    }
+
+    QueryResultCache queryResultCache = session.getSessionFactory().getQueryResultCache();
+    writtenTables.forEach(queryResultCache::invalidate);
+    writtenTables.clear();
+  }
+
+  /**
+   * Executes a single prepared write operation and verifies its result.
+   *
+   * @param operation the prepared operation, or null if there is nothing to execute.
+   */
+  public void execute(EntityWriteOperation operation) {
+    if (operation == null) {
+      return;
+    }
+
+    int updatedRows = session.getJdbcExecutor().executeUpdate(operation.sqlTemplate(), operation.bindValues());
+    invalidateQueryResults(operation.table());
+    operation.complete(updatedRows);
+  }
+
+  /**
+   * Executes prepared write operations sharing the same SQL statement as one JDBC batch and verifies
+   * the number of updated rows of every operation, so that optimistic lock and concurrent delete failures
+   * are detected per row as with unbatched execution. Rows reported as {@link Statement#SUCCESS_NO_INFO} are not verified,
+   * but the new state of their entities is applied all the same.
+   *
+   * @param operations the prepared operations, all with the same SQL statement.
+   */
+  public void executeBatch(List<EntityWriteOperation> operations) {
+    if (operations.size() == 1) {
+      execute(operations.get(0));
+      return;
+    }
+
+    List<JdbcParameterBinding<?>[]> batchBindValues = new ArrayList<>(operations.size());
+    for (EntityWriteOperation operation : operations) {
+      batchBindValues.add(operation.bindValues());
+    }
+
+    int[] updatedRows = session.getJdbcExecutor().executeBatch(operations.get(0).sqlTemplate(), batchBindValues);
+    invalidateQueryResults(operations.get(0).table());
+
+    for (int i = 0; i < updatedRows.length; i++) {
+      operations.get(i).complete(updatedRows[i]);
+    }
   }
 
   private void verifyInsertOperation(int updatedRows) {
@@ -277,10 +583,103 @@ public class EntityDaoService {
     }
   }
 
+  private int getBatchFetchSize(EntityMapping entityMapping) {
+    return entityMapping.getBatchSize() > 0
+      ? entityMapping.getBatchSize()
+      : session.getSessionFactory().getSettings().getDefaultBatchFetchSize();
+  }
+
+  /**
+   * Returns the number of {@code IN} placeholders of a batch of the given number of values: rounded up to a power of two, capped
+   * by the batch size, so that batches of different sizes share a few statements. Extra placeholders are bound to the last value.
+   */
+  private static int getBatchPlaceholders(int valueCount, int batchSize) {
+    return Math.max(Math.min(Integer.highestOneBit(valueCount - 1) << 1, batchSize), valueCount);
+  }
+
+  /**
+   * Returns the key matching an id with the primary or foreign key values read back, widening integral ids to {@code Long}.
+   */
+  private static Object getIdLookupKey(Object id) {
+    return id instanceof Integer || id instanceof Short || id instanceof Byte ? ((Number) id).longValue() : id;
+  }
+
+  /**
+   * Selects the rows of the given ids with a single {@code IN} query, or from the second-level cache for cacheable entities.
+   * The rows are keyed by the given ids, also when the primary key values read back differ from them in integral type, for example
+   * an {@code Integer} id of a proxy created from a foreign key column and the {@code Long} primary key of the entity.
+   */
+  private Map<Object, Object[]> loadRowsByIds(Class<?> entityType, List<Object> ids, int batchSize) {
+    EntityMapping entityMapping = session.getEntityMapping(entityType);
+    EntitySqlStatements sqlStatements = entityMapping.getSqlStatements();
+    SecondLevelCache secondLevelCache = entityMapping.isCacheable() ? session.getSessionFactory().getSecondLevelCache() : null;
+
+    Map<Object, Object[]> rowsById = new HashMap<>();
+    List<Object> idsToSelect = new ArrayList<>(ids.size());
+    for (Object id : ids) {
+      Object[] cachedRow = secondLevelCache != null ? secondLevelCache.get(new EntityKey<>(entityType, id)) : null;
+      if (cachedRow != null) {
+        rowsById.put(id, cachedRow);
+      } else {
+        idsToSelect.add(id);
+      }
+    }
+    if (idsToSelect.isEmpty()) {
+      return rowsById;
+    }
+
+    FieldMapping<?> primaryKeyMapping = sqlStatements.getPrimaryKeyMapping();
+    int placeholders = getBatchPlaceholders(idsToSelect.size(), batchSize);
+    JdbcParameterBinding<?>[] bindValues = new JdbcParameterBinding<?>[placeholders];
+    for (int i = 0; i < placeholders; i++) {
+      bindValues[i] = bindParameter(idsToSelect.get(Math.min(i, idsToSelect.size() - 1)), primaryKeyMapping.getJdbcType());
+    }
+
+    List<Object[]> rows = session.getJdbcExecutor().executeSelectQuery(sqlStatements.getSelectByIdsStatement(placeholders),
+                                                                       bindValues,
+                                                                       sqlStatements.getResultExtractors());
+
+    Map<Object, Object> requestedIds = new HashMap<>();
+    for (Object id : idsToSelect) {
+      requestedIds.put(getIdLookupKey(id), id);
+    }
+
+    int primaryKeyIndex = sqlStatements.getColumnFieldMappings().indexOf(primaryKeyMapping);
+    for (Object[] row : rows) {
+      Object id = row[primaryKeyIndex];
+      rowsById.put(requestedIds.getOrDefault(getIdLookupKey(id), id), row);
+      EntityKey<?> entityKey = new EntityKey<>(entityType, id);
+      if (secondLevelCache != null && !isWrittenCacheableEntity(entityKey)) {
+        secondLevelCache.put(entityKey, row);
+      }
+    }
+    return rowsById;
+  }
+
+  /**
+   * Returns whether the cached row of the entity may be outdated by a write of this session, so that the row just read must not be
+   * put into the second-level cache before the transaction ends.
+   */
+  private boolean isWrittenCacheableEntity(EntityKey<?> entityKey) {
+    return writtenCacheableEntityKeys.contains(entityKey) || bulkWrittenEntityTypes.contains(entityKey.entityType());
+  }
+
   private <T> T getEntityFromRow(EntityKey<T> entityKey, Object[] row) {
     return session.getEntityRowMapper().createEntityFromRow(row, entityKey.entityType());
   }
 
+  private EntityWriteOperation withSecondLevelCacheEviction(EntityWriteOperation operation, EntityMapping entityMapping,
+                                                            EntityKey<?> entityKey) {
+    if (!entityMapping.isCacheable()) {
+      return operation;
+    }
+
+    return operation.andThen(() -> {
+      session.getSessionFactory().getSecondLevelCache().evict(entityKey);
+      writtenCacheableEntityKeys.add(entityKey);
+    });
+  }
+
   private <T> JdbcParameterBinding<?>[] getJdbcParameterBindings(EntityKey<T> entityKey, FieldMapping<?> primaryKeyMapping) {
     return new JdbcParameterBinding<?>[] { bindParameter(entityKey.id(),
                                                          primaryKeyMapping.getJdbcType()) };
@@ -291,52 +690,39 @@ public class EntityDaoService {
 
     private T entity;
     private String table;
-    private String columnsToUpdate;
+    private String updateStatement;
     private EntityKey<?> entityKey;
     private FieldMapping<?> primaryKey;
     private List<DirtyFieldMapping<Object>> dirtyFields;
-    @With
     private FieldMapping<?> optimisticLock;
 
   }
 
-  private <T> void updateEntityWithOptimisticLock(UpdateEntityRequest<T> request) {
+  private <T> EntityWriteOperation prepareUpdateWithOptimisticLock(UpdateEntityRequest<T> request) {
     log.debug("Updating entity with optimistic lock: {}.", request.entityKey);
 
-    String optimisticLockColumn = request.optimisticLock.getColumnName();
-
-    String updateStatement = UPDATE_TABLE_WITH_OPTIMISTIC_LOCK.formatted(
-      request.table,
-      request.columnsToUpdate,
-      optimisticLockColumn,
-      request.primaryKey.getColumnName(),
-      optimisticLockColumn
-    );
-
     T unProxied = EntityProxyUtils.unProxy(request.entity);
-    Number optimisticLockPrevValue = (Number) EntityUtils.getFieldValue(request.optimisticLock.getFieldName(), unProxied);
+    Number optimisticLockPrevValue = (Number) request.optimisticLock.getValue(unProxied);
     Number optimisticLockNextValue = getOptimisticLockNextValue(optimisticLockPrevValue);
 
-    List<JdbcParameterBinding<?>> parameterBindingsList = request.dirtyFields.stream()
-      .map((DirtyFieldMapping<Object> fieldMapping) -> bindFieldParameter(fieldMapping.fieldMapping(), fieldMapping.value()))
-      .collect(Collectors.toList());
-    parameterBindingsList.add(bindParameter(optimisticLockNextValue, request.optimisticLock.getJdbcType()));
-    parameterBindingsList.add(bindParameter(request.entityKey.id(), request.primaryKey.getJdbcType()));
-    parameterBindingsList.add(bindParameter(optimisticLockPrevValue, request.optimisticLock.getJdbcType()));
-
-    JdbcParameterBinding<?>[] parameterBindings = parameterBindingsList.toArray(JdbcParameterBinding[]::new);
-
-    int updatedRows = session.getJdbcExecutor().executeUpdate(updateStatement, parameterBindings);
-
-    if (updatedRows == 0) {
-      throw new BibernateException("Could not update entity %s with optimistic lock value %s. Row was updated by another transaction"
-                                     .formatted(request.entityKey, optimisticLockPrevValue));
-    }
-
-    EntityUtils.setFieldValue(request.optimisticLock.getFieldName(), unProxied, optimisticLockNextValue);
-
-    log.debug("Entity with id {} was updated in table {}, new optimistic lock value: {}, updated rows: {}",
-              request.entityKey, request.table, optimisticLockNextValue, updatedRows);
+    int dirtyFieldsCount = request.dirtyFields.size();
+    JdbcParameterBinding<?>[] parameterBindings = new JdbcParameterBinding<?>[dirtyFieldsCount + 3];
+    bindDirtyFields(request.dirtyFields, parameterBindings);
+    parameterBindings[dirtyFieldsCount] = bindParameter(optimisticLockNextValue, request.optimisticLock.getJdbcType());
+    parameterBindings[dirtyFieldsCount + 1] = bindParameter(request.entityKey.id(), request.primaryKey.getJdbcType());
+    parameterBindings[dirtyFieldsCount + 2] = bindParameter(optimisticLockPrevValue, request.optimisticLock.getJdbcType());
+
+    return new EntityWriteOperation(request.table, request.updateStatement, parameterBindings, updatedRows -> {
+      if (updatedRows == 0) {
+        throw new BibernateException("Could not update entity %s with optimistic lock value %s. Row was updated by another transaction"
+                                       .formatted(request.entityKey, optimisticLockPrevValue));
+      }
+    }, () -> {
+      request.optimisticLock.setValue(unProxied, optimisticLockNextValue);
+
+      log.debug("Entity with id {} was updated in table {}, new optimistic lock value: {}",
+                request.entityKey, request.table, optimisticLockNextValue);
+    });
   }
 
   private JdbcParameterBinding<?> bindFieldParameter(FieldMapping<?> fieldMapping, Object value) {
@@ -350,38 +736,29 @@ public class EntityDaoService {
     return bindParameter(value, fieldMapping.getJdbcType());
   }
 
-  private <T> void updateEntity(UpdateEntityRequest<T> request) {
-    String updateStatement = UPDATE_TABLE_BY_ID.formatted(
-      request.table,
-      request.columnsToUpdate,
-      request.primaryKey.getColumnName()
-    );
-
-    JdbcParameterBinding<?>[] parameterBindings = Stream.concat(
-        request.dirtyFields.stream()
-          .map(field -> bindFieldParameter(field.fieldMapping(), field.value())),
-        Stream.of(request.entityKey)
-          .map(key -> bindParameter(key.id(), request.primaryKey.getJdbcType())))
-      .toArray(JdbcParameterBinding[]::new);
+  private <T> EntityWriteOperation prepareUpdateById(UpdateEntityRequest<T> request) {
+    int dirtyFieldsCount = request.dirtyFields.size();
+    JdbcParameterBinding<?>[] parameterBindings = new JdbcParameterBinding<?>[dirtyFieldsCount + 1];
+    bindDirtyFields(request.dirtyFields, parameterBindings);
+    parameterBindings[dirtyFieldsCount] = bindParameter(request.entityKey.id(), request.primaryKey.getJdbcType());
 
-    int updatedRows = session.getJdbcExecutor().executeUpdate(updateStatement, parameterBindings);
-
-    if (updatedRows == 0) {
-      throw new OptimisticLockException("Row was updated by another transaction " + request.entityKey);
-    }
+    return new EntityWriteOperation(request.table, request.updateStatement, parameterBindings, updatedRows -> {
+      if (updatedRows == 0) {
+        throw new OptimisticLockException("Row was updated by another transaction " + request.entityKey);
+      }
 
-    log.debug("Entity with id {} was updated in table {}, updated rows: {}", request.entityKey, request.table, updatedRows);
+      log.debug("Entity with id {} was updated in table {}, updated rows: {}", request.entityKey, request.table, updatedRows);
+    });
   }
 
   public String getLockModeSqlAppend(LockMode lockModeEnum) {
+    return lockModeEnum.getSqlAppend();
+  }
 
-    switch (lockModeEnum) {
-      case FOR_SHARE:
-        return FOR_SHARE;
-      case FOR_UPDATE:
-        return FOR_UPDATE;
-      default:
-        return NONE;
+  private void bindDirtyFields(List<DirtyFieldMapping<Object>> dirtyFields, JdbcParameterBinding<?>[] parameterBindings) {
+    for (int i = 0; i < dirtyFields.size(); i++) {
+      DirtyFieldMapping<Object> dirtyField = dirtyFields.get(i);
+      parameterBindings[i] = bindFieldParameter(dirtyField.fieldMapping(), dirtyField.value());
     }
   }
 
@@ -391,7 +768,7 @@ public class EntityDaoService {
       version = 1L;
     }
 
-    EntityUtils.setFieldValue(optimisticLock.getFieldName(), entity, version);
+    optimisticLock.setValue(entity, version);
   }
 
   private Number getOptimisticLockNextValue(Number optimisticLockPrevValue) {
@@ -408,49 +785,53 @@ public class EntityDaoService {
     return primaryKeyMapping.getIdGeneratorStrategy().isIdentityGenerated();
   }
 
-  private <T> JdbcParameterBinding<?>[] getInsertParameterBinding(T entity, List<FieldMapping<?>> insertableFields) {
-    return insertableFields.stream().map(fieldMapping -> {
-        Object fieldValue = EntityUtils.getFieldValue(fieldMapping.getFieldName(), entity);
-        return bindFieldParameter(fieldMapping, fieldValue);
-      }).toList()
-      .toArray(new JdbcParameterBinding<?>[0]);
+  private <T> JdbcParameterBinding<?>[] getInsertParameterBinding(T entity, EntitySqlStatements sqlStatements) {
+    if (sqlStatements.getOptimisticLockMapping() != null) {
+      initOptimisticLock(entity, sqlStatements.getOptimisticLockMapping());
+    }
+
+    List<FieldMapping<?>> insertableFields = sqlStatements.getInsertableFieldMappings();
+    JdbcParameterBinding<?>[] parameterBindings = new JdbcParameterBinding<?>[insertableFields.size()];
+    for (int i = 0; i < parameterBindings.length; i++) {
+      FieldMapping<?> fieldMapping = insertableFields.get(i);
+      parameterBindings[i] = bindFieldParameter(fieldMapping, fieldMapping.getValue(entity));
+    }
+    return parameterBindings;
   }
 
   /**
-   * Generates a comma-separated string of column names to be updated based on the dirty fields provided.
-   * This method takes an array of {@link DirtyFieldMapping} objects as input, which represent the dirty fields of an entity.
-   * It streams over the array, maps each {@link DirtyFieldMapping} to its associated {@link FieldMapping}, and then maps each {@link FieldMapping} to a
-   * string representation of the column name to be updated.
-   * The string is formatted as "columnName=?" for each column that needs to be updated.
-   * The resulting strings are then joined together into a single comma-separated string.
-   *
-   * @param dirtyFields An array of {@link DirtyFieldMapping} objects representing the dirty fields of an entity.
-   *
-   * @return A comma-separated string of column names to be updated, each formatted as "columnName=?".
+   * Returns all updatable fields of an entity with their current values, except the primary key and the optimistic lock, the update
+   * of a stateless session having no snapshot to compare the entity with.
    */
-  private String getColumnsToUpdate(List<DirtyFieldMapping<Object>> dirtyFields) {
-    return dirtyFields.stream()
-      .map(DirtyFieldMapping::fieldMapping)
-      .map(fieldMapping -> fieldMapping.getColumnName() + "=?")
-      .collect(joining(","));
-  }
-
-  private String getColumnNames(List<FieldMapping<?>> fields) {
-    return fields.stream()
-      .map(FieldMapping::getColumnName)
-      .collect(Collectors.joining(", "));
+  private <T> List<DirtyFieldMapping<Object>> getAllUpdatableFields(T entity, EntityMapping entityMapping) {
+    T unProxied = EntityProxyUtils.unProxyAndInitialize(entity);
+    List<FieldMapping<?>> updatableFields = entityMapping.getSqlStatements().getUpdatableFieldMappings();
+    List<DirtyFieldMapping<Object>> dirtyFields = new ArrayList<>(updatableFields.size());
+    for (FieldMapping<?> fieldMapping : updatableFields) {
+      if (!fieldMapping.isPrimaryKey() && !fieldMapping.isOptimisticLock()) {
+        dirtyFields.add(DirtyFieldMapping.of(fieldMapping, fieldMapping.getValue(unProxied)));
+      }
+    }
+    return dirtyFields;
   }
 
-  private String generatePlaceholders(Collection<?> collection) {
-    return String.join(", ", Collections.nCopies(collection.size(), "?"));
+  private List<FieldMapping<?>> getColumnsToUpdate(List<DirtyFieldMapping<Object>> dirtyFields) {
+    List<FieldMapping<?>> columnsToUpdate = new ArrayList<>(dirtyFields.size());
+    for (DirtyFieldMapping<Object> dirtyField : dirtyFields) {
+      columnsToUpdate.add(dirtyField.fieldMapping());
+    }
+    return columnsToUpdate;
   }
 
   private <T> boolean isDetached(T entity) {
     return isDetached(session.getEntityDetails(entity).entityKey());
   }
 
+  /**
+   * Entities written by a stateless session are never managed, so they are never considered detached.
+   */
   private <T> boolean isDetached(EntityKey<T> entityKey) {
-    return session.getPersistenceContext().isDetached(entityKey);
+    return !session.isStateless() && session.getPersistenceContext().isDetached(entityKey);
   }
 
 }
@@ -6,14 +6,15 @@ import com.bibernate.hoverla.collection.PersistenceLazyList;
 import com.bibernate.hoverla.metamodel.EntityMapping;
 import com.bibernate.hoverla.metamodel.FieldMapping;
 import com.bibernate.hoverla.session.cache.CollectionKey;
+import com.bibernate.hoverla.session.cache.EntityEntry;
 import com.bibernate.hoverla.session.cache.EntityKey;
+import com.bibernate.hoverla.utils.DirtyTrackingUtils;
+import com.bibernate.hoverla.utils.EntityProxyUtils;
 import com.bibernate.hoverla.utils.EntityUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import static com.bibernate.hoverla.utils.EntityUtils.getEntityKey;
-
 /**
  * Maps database rows to entity objects using the provided session implementor.
  */
@@ -33,34 +34,58 @@ public class EntityRowMapper {
    * @return The entity object created from the row data.
    */
   public <T> T createEntityFromRow(Object[] row, Class<T> entityClass) {
+    return createEntityFromRow(row, entityClass, false);
+  }
+
+  /**
+   * Creates an entity object of the specified type from the given row data. A detached entity is not linked to the persistence
+   * context: its many-to-one references are resolved to entities already managed by the context or to unregistered proxies,
+   * and its lazy collections are not tracked by the context.
+   * <p/>
+   * When dirty tracking is enabled, an entity that is not detached is created as a dirty-tracking instance. Entities created for
+   * a stateless session are always detached.
+   *
+   * @param row         The row data retrieved from the database.
+   * @param entityClass The class of the entity to be created.
+   * @param detached    Whether the entity and its associations are kept out of the persistence context.
+   * @param <T>         The type of the entity.
+   *
+   * @return The entity object created from the row data.
+   */
+  public <T> T createEntityFromRow(Object[] row, Class<T> entityClass, boolean detached) {
     log.debug("Creating entity of type {} from row data.", entityClass.getSimpleName());
 
-    var entity = EntityUtils.newInstanceOf(entityClass);
-    populateFields(row, entityClass, entity);
+    detached = detached || sessionImplementor.isStateless();
+    EntityMapping entityMapping = sessionImplementor.getEntityMapping(entityClass);
+    T entity = !detached && isDirtyTrackingEnabled()
+      ? DirtyTrackingUtils.newTrackedInstanceOf(entityMapping)
+      : EntityUtils.newInstanceOf(entityClass);
+    populateFields(row, entityClass, entityMapping, entity, detached);
 
     log.debug("Creating entity of type {} from row data.", entityClass.getSimpleName());
     return entity;
   }
 
-  private <T> void populateFields(Object[] row, Class<T> entityClass, T entity) {
-    log.debug("Populating fields for entity class: {}", entityClass.getSimpleName());
+  private boolean isDirtyTrackingEnabled() {
+    return sessionImplementor.getSessionFactory().getSettings().isDirtyTrackingEnabled();
+  }
 
-    EntityMapping entityMapping = sessionImplementor.getEntityMapping(entityClass);
+  private <T> void populateFields(Object[] row, Class<T> entityClass, EntityMapping entityMapping, T entity, boolean detached) {
+    log.debug("Populating fields for entity class: {}", entityClass.getSimpleName());
 
-    var fieldMappings = entityMapping.getFieldMappings(mapping -> !mapping.isOneToMany());
+    List<FieldMapping<?>> fieldMappings = entityMapping.getSqlStatements().getColumnFieldMappings();
 
-    int i = 0;
-    for (var fieldMapping : fieldMappings) {
-      Object field = getFieldValue(fieldMapping, row[i++]);
-      EntityUtils.setFieldValue(fieldMapping.getFieldName(), entity, field);
+    for (int i = 0; i < fieldMappings.size(); i++) {
+      FieldMapping<?> fieldMapping = fieldMappings.get(i);
+      fieldMapping.setValue(entity, getFieldValue(fieldMapping, row[i], detached));
     }
 
-    populateLazyCollections(entityClass, entityMapping, entity);
+    populateLazyCollections(entityClass, entityMapping, entity, detached);
 
     log.debug("Fields populated successfully for entity class: {}", entityClass.getSimpleName());
   }
 
-  private <T> Object getFieldValue(FieldMapping<?> fieldMapping, Object columnValue) {
+  private <T> Object getFieldValue(FieldMapping<?> fieldMapping, Object columnValue, boolean detached) {
     if (columnValue == null) {
       log.trace("Column value is null for field: {}", fieldMapping.getFieldName());
       return null;
@@ -68,36 +93,49 @@ public class EntityRowMapper {
 
     if (fieldMapping.isManyToOne()) {
       log.trace("Resolving many-to-one reference for field: {}", fieldMapping.getFieldName());
-      return sessionImplementor.getReference(fieldMapping.getFieldType(), columnValue);
+      return detached
+        ? getDetachedReference(fieldMapping.getFieldType(), columnValue)
+        : sessionImplementor.getReference(fieldMapping.getFieldType(), columnValue);
     }
 
     return columnValue;
   }
 
-  private <T> void populateLazyCollections(Class<T> entityClass, EntityMapping entityMapping, T entity) {
-    List<FieldMapping<?>> oneToManyMappings = entityMapping.getFieldMappings(FieldMapping::isOneToMany);
+  private <T> Object getDetachedReference(Class<T> entityClass, Object id) {
+    EntityKey<T> entityKey = new EntityKey<>(entityClass, id);
+    EntityEntry entityEntry = sessionImplementor.getPersistenceContext().getEntityEntry(entityKey);
+
+    return entityEntry != null
+      ? entityEntry.getEntity()
+      : EntityProxyUtils.createProxy(sessionImplementor, entityKey);
+  }
+
+  private <T> void populateLazyCollections(Class<T> entityClass, EntityMapping entityMapping, T entity, boolean detached) {
+    List<FieldMapping<?>> oneToManyMappings = entityMapping.getSqlStatements().getOneToManyFieldMappings();
 
     if (oneToManyMappings.isEmpty()) {
       return;
     }
 
-    EntityKey<T> entityKey = getEntityKey(entityClass, entity, entityMapping.getPrimaryKeyMapping().getFieldName());
+    EntityKey<T> entityKey = new EntityKey<>(entityClass, entityMapping.getSqlStatements().getPrimaryKeyMapping().getValue(entity));
 
     log.trace("Populating lazy collections for entity: {}", entityKey);
 
-    oneToManyMappings.forEach(oneToManyMapping -> populateOneToManyAssociation(entity, oneToManyMapping, entityKey));
+    oneToManyMappings.forEach(oneToManyMapping -> populateOneToManyAssociation(entity, oneToManyMapping, entityKey, detached));
   }
 
-  private <T> void populateOneToManyAssociation(T entity, FieldMapping<?> oneToManyMapping, EntityKey<T> entityKey) {
+  private <T> void populateOneToManyAssociation(T entity, FieldMapping<?> oneToManyMapping, EntityKey<T> entityKey, boolean detached) {
     CollectionKey<T> collectionKey = new CollectionKey<>(entityKey.entityType(), entityKey.id(), oneToManyMapping.getFieldName());
 
     log.debug("Populating lazy collection: {}", collectionKey);
 
     PersistenceLazyList<?> persistenceLazyList = new PersistenceLazyList<>(collectionKey, sessionImplementor);
 
-    sessionImplementor.getPersistenceContext().manageCollection(collectionKey, persistenceLazyList);
+    if (!detached) {
+      sessionImplementor.getPersistenceContext().manageCollection(collectionKey, persistenceLazyList);
+    }
 
-    EntityUtils.setFieldValue(oneToManyMapping.getFieldName(), entity, persistenceLazyList);
+    oneToManyMapping.setValue(entity, persistenceLazyList);
   }
 
 }
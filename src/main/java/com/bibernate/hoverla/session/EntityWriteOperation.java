@@ -0,0 +1,61 @@
+package com.bibernate.hoverla.session;
+
+import java.sql.Statement;
+import java.util.function.IntConsumer;
+
+import com.bibernate.hoverla.jdbc.JdbcParameterBinding;
+
+/**
+ * A prepared insert, update or delete statement of a single entity, ready to be executed alone or as a part of a JDBC batch.
+ * <p/>
+ * The outcome of the statement is handled in two steps: the number of updated rows is verified first, then the new state is applied
+ * to the entity. A batch whose driver does not report the updated rows of a statement skips the verification, but still applies
+ * the new state.
+ *
+ * @param table               The written table.
+ * @param sqlTemplate         The SQL statement. Operations with equal statements may be grouped into one batch.
+ * @param bindValues          The parameter bindings of the statement.
+ * @param updatedRowsVerifier Verifies the number of updated rows, throwing if the statement did not affect the expected row.
+ * @param successHandler      Applies the outcome to the entity once the statement succeeded, such as its new version.
+ */
+public record EntityWriteOperation(String table,
+                                   String sqlTemplate,
+                                   JdbcParameterBinding<?>[] bindValues,
+                                   IntConsumer updatedRowsVerifier,
+                                   Runnable successHandler) {
+
+  /**
+   * Creates an operation with nothing to apply to the entity besides the verification of the updated rows.
+   */
+  public EntityWriteOperation(String table, String sqlTemplate, JdbcParameterBinding<?>[] bindValues, IntConsumer updatedRowsVerifier) {
+    this(table, sqlTemplate, bindValues, updatedRowsVerifier, () -> {});
+  }
+
+  /**
+   * Returns this operation with the given handler run after its success handler.
+   *
+   * @param handler The handler to run once the statement succeeded.
+   *
+   * @return The operation running both handlers.
+   */
+  EntityWriteOperation andThen(Runnable handler) {
+    return new EntityWriteOperation(table, sqlTemplate, bindValues, updatedRowsVerifier, () -> {
+      successHandler.run();
+      handler.run();
+    });
+  }
+
+  /**
+   * Applies the outcome of the executed statement: verifies the number of updated rows unless the driver did not report it, then
+   * runs the success handler.
+   *
+   * @param updatedRows The number of updated rows, or {@link Statement#SUCCESS_NO_INFO}.
+   */
+  void complete(int updatedRows) {
+    if (updatedRows != Statement.SUCCESS_NO_INFO) {
+      updatedRowsVerifier.accept(updatedRows);
+    }
+    successHandler.run();
+  }
+
+}
@@ -1,7 +1,17 @@
 package com.bibernate.hoverla.session;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
 public enum LockMode {
-  NONE,
-  FOR_SHARE,
-  FOR_UPDATE
+  NONE(""),
+  FOR_SHARE("FOR SHARE"),
+  FOR_UPDATE("FOR UPDATE");
+
+  /**
+   * The SQL clause appended to a select statement to acquire the lock.
+   */
+  private final String sqlAppend;
 }
@@ -1,6 +1,12 @@
 package com.bibernate.hoverla.session;
 
+import java.util.Collection;
+import java.util.List;
+
 import com.bibernate.hoverla.exceptions.BibernateBqlException;
+import com.bibernate.hoverla.exceptions.BibernateException;
+import com.bibernate.hoverla.query.MutationQuery;
+import com.bibernate.hoverla.query.ProjectionQuery;
 import com.bibernate.hoverla.query.Query;
 import com.bibernate.hoverla.session.transaction.Transaction;
 
@@ -39,6 +45,31 @@ public interface Session extends AutoCloseable {
    */
   <T> T find(Class<T> entityClass, Object id, LockMode lockMode);
 
+  /**
+   * Finds entities by their class type and primary keys. Entities already managed by the session are returned without a database call,
+   * the remaining ones are loaded with as few {@code IN} queries as possible.
+   *
+   * @param entityClass The class of the entities to find.
+   * @param ids         The primary keys of the entities, of the type of the primary key field.
+   * @param <T>         The type of the entities.
+   *
+   * @return The found entities in the order of the given ids, with {@code null} in place of the entities that do not exist.
+   */
+  <T> List<T> findMultiple(Class<T> entityClass, Collection<?> ids);
+
+  /**
+   * Finds entities by their class type and primary keys. Entities already managed by the session are returned without a database call,
+   * the remaining ones are loaded with as few {@code IN} queries as possible.
+   *
+   * @param entityClass           The class of the entities to find.
+   * @param ids                   The primary keys of the entities, of the type of the primary key field.
+   * @param returnNullsForMissing Whether the entities that do not exist are returned as {@code null} or left out.
+   * @param <T>                   The type of the entities.
+   *
+   * @return The found entities in the order of the given ids.
+   */
+  <T> List<T> findMultiple(Class<T> entityClass, Collection<?> ids, boolean returnNullsForMissing);
+
   /**
    * Creates a query for executing custom queries using an object-oriented query language.
    * <p/>
@@ -86,8 +117,83 @@ public interface Session extends AutoCloseable {
    */
   <T> Query<T> createQuery(String criteria, Class<T> entityClass);
 
+  /**
+   * Creates a bulk update of all rows of the entity table matching the condition, executed as a single SQL statement.
+   * <p/>
+   * Fields are set to named parameters and the condition is written as in {@link #createQuery(String, Class)}:
+   * <pre>{@code
+   * int updated = session.createUpdate("SET price = :price WHERE genre = :genre", StoreItem.class)
+   *      .setParameter("price", 10)
+   *      .setParameter("genre", "Fantasy")
+   *      .executeUpdate();
+   * }</pre>
+   * The version of an entity declaring an optimistic lock is incremented for every updated row.
+   *
+   * @param statement   The update statement, {@code SET field = :param, ... [WHERE condition]}.
+   * @param entityClass The class of the updated entities.
+   * @param <T>         The type of the updated entities.
+   *
+   * @return A MutationQuery instance for executing the update.
+   *
+   * @throws BibernateBqlException If there is an issue with the provided statement.
+   */
+  <T> MutationQuery<T> createUpdate(String statement, Class<T> entityClass);
+
+  /**
+   * Creates a projection selecting individual fields of the entity, or aggregates computed by the database, instead of whole entities.
+   * <p/>
+   * The condition and ordering are written as in {@link #createQuery(String, Class)}. Rows are mapped to {@code Object[]},
+   * to the value itself when a single field is selected, or to a record or DTO through its constructor accepting the selected
+   * values in order:
+   * <pre>{@code
+   * List<ItemPrice> prices = session.createProjection("SELECT name, price WHERE genre = :genre", StoreItem.class, ItemPrice.class)
+   *      .setParameter("genre", "Fantasy")
+   *      .getResult();
+   * }</pre>
+   * Aggregates of all matching rows, or of the groups of a {@code GROUP BY} clause, are computed by the database:
+   * <pre>{@code
+   * Long count = session.createProjection("SELECT COUNT(*) WHERE genre = :genre", StoreItem.class, Long.class)
+   *      .setParameter("genre", "Fantasy")
+   *      .getSingleResult();
+   * }</pre>
+   * Results are plain values, they are not managed by the session and associations cannot be selected.
+   *
+   * @param statement   The projection statement, {@code SELECT item, ... [WHERE condition] [GROUP BY field, ...] [ORDER BY ...]}.
+   * @param entityClass The class of the queried entity.
+   * @param resultType  The type of the results.
+   * @param <R>         The type of the results.
+   *
+   * @return A ProjectionQuery instance for executing the projection.
+   *
+   * @throws BibernateBqlException If there is an issue with the provided statement.
+   */
+  <R> ProjectionQuery<R> createProjection(String statement, Class<?> entityClass, Class<R> resultType);
+
+  /**
+   * Creates a bulk delete of all rows of the entity table matching the condition, executed as a single SQL statement.
+   * <p/>
+   * The condition is written as in {@link #createQuery(String, Class)}, an empty statement deletes all rows:
+   * <pre>{@code
+   * int deleted = session.createDelete("WHERE genre = :genre", StoreItem.class)
+   *      .setParameter("genre", "Fantasy")
+   *      .executeUpdate();
+   * }</pre>
+   *
+   * @param statement   The delete statement, {@code [WHERE condition]}.
+   * @param entityClass The class of the deleted entities.
+   * @param <T>         The type of the deleted entities.
+   *
+   * @return A MutationQuery instance for executing the delete.
+   *
+   * @throws BibernateBqlException If there is an issue with the provided statement.
+   */
+  <T> MutationQuery<T> createDelete(String statement, Class<T> entityClass);
+
   /**
    * Persists a new entity into the database.
+   * <p/>
+   * When {@code bibernate.jdbc.batch_identity_inserts} is enabled, an entity with an identity-generated primary key is inserted on
+   * flush: its primary key is assigned and it is put into the persistence context only then.
    *
    * @param entity The entity to be persisted.
    * @param <T>    The type of the entity.
@@ -123,6 +229,28 @@ public interface Session extends AutoCloseable {
    */
   void detach(Object entity);
 
+  /**
+   * Marks a managed entity read-only or modifiable. Changes to a read-only entity are not flushed, and no snapshot of its state is
+   * kept. When an entity is made modifiable, changes made while it was read-only are discarded from dirty checking.
+   *
+   * @param entity   The managed entity or proxy.
+   * @param readOnly Whether the entity is read-only.
+   *
+   * @throws BibernateException if the entity is not managed by this session.
+   */
+  void setReadOnly(Object entity, boolean readOnly);
+
+  /**
+   * Determines whether a managed entity is read-only.
+   *
+   * @param entity The managed entity or proxy.
+   *
+   * @return true if the entity is read-only, false otherwise.
+   *
+   * @throws BibernateException if the entity is not managed by this session.
+   */
+  boolean isReadOnly(Object entity);
+
   /**
    * Removes an entity from the database.
    *
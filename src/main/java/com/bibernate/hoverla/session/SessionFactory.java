@@ -10,7 +10,7 @@ import static com.bibernate.hoverla.utils.TransactionManagementUtils.manageTrans
 /**
  * Interface representing a factory for creating sessions in Bibernate.
  */
-public interface SessionFactory {
+public interface SessionFactory extends AutoCloseable {
 
   /**
    * Opens a new session.
@@ -19,6 +19,22 @@ public interface SessionFactory {
    */
   Session openSession();
 
+  /**
+   * Opens a new read-only session. Entities loaded by the session are read-only unless made modifiable with
+   * {@link Session#setReadOnly(Object, boolean)}: no snapshot of their state is kept and they are not dirty checked on flush.
+   * Entities persisted by the session are modifiable.
+   *
+   * @return a new read-only session.
+   */
+  Session openReadOnlySession();
+
+  /**
+   * Opens a new stateless session, which keeps no persistence context and executes writes immediately or in JDBC batches.
+   *
+   * @return a new stateless session.
+   */
+  StatelessSession openStatelessSession();
+
   /**
    * Retrieves the data source associated with this session factory.
    *
@@ -26,6 +42,13 @@ public interface SessionFactory {
    */
   DataSource getDataSource();
 
+  /**
+   * Closes the session factory, stopping the background threads it owns, such as the ones prefetching sequence values.
+   * Sessions opened afterwards read sequence values on demand.
+   */
+  @Override
+  void close();
+
   /**
    * Executes the specified action within a session.
    *
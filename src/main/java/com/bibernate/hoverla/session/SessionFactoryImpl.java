@@ -1,9 +1,23 @@
 package com.bibernate.hoverla.session;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import javax.sql.DataSource;
 
+import com.bibernate.hoverla.configuration.BibernateSettings;
+import com.bibernate.hoverla.generator.SequenceGeneratorImpl;
+import com.bibernate.hoverla.metamodel.EntityMapping;
+import com.bibernate.hoverla.metamodel.IdGeneratorStrategy;
 import com.bibernate.hoverla.metamodel.Metamodel;
+import com.bibernate.hoverla.query.QueryPlanCache;
+import com.bibernate.hoverla.query.QueryResultCache;
+import com.bibernate.hoverla.session.cache.SecondLevelCache;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
 /**
@@ -14,10 +28,30 @@ public class SessionFactoryImpl implements SessionFactory, SessionFactoryImpleme
 
   private final DataSource dataSource;
   private final Metamodel metamodel;
+  private final BibernateSettings settings;
+  private final QueryPlanCache queryPlanCache;
+  private final SecondLevelCache secondLevelCache;
+  private final QueryResultCache queryResultCache;
+  /**
+   * The threads reading sequence ranges in the background, null if sequence prefetch is disabled.
+   */
+  @Getter(AccessLevel.NONE)
+  private final ExecutorService sequencePrefetchExecutor;
 
   public SessionFactoryImpl(DataSource dataSource, Metamodel metamodel) {
+    this(dataSource, metamodel, BibernateSettings.defaults());
+  }
+
+  public SessionFactoryImpl(DataSource dataSource, Metamodel metamodel, BibernateSettings settings) {
     this.dataSource = dataSource;
     this.metamodel = metamodel;
+    this.settings = settings;
+    this.queryPlanCache = new QueryPlanCache(settings.getQueryPlanCacheMaxSize());
+    this.secondLevelCache = new SecondLevelCache(settings.getSecondLevelCacheMaxSize(),
+                                                 Duration.ofSeconds(settings.getSecondLevelCacheTtlSeconds()));
+    this.queryResultCache = new QueryResultCache(settings.getQueryResultCacheMaxSize());
+    metamodel.getEntityMappingMap().values().forEach(EntityMapping::compileSqlStatements);
+    this.sequencePrefetchExecutor = settings.getSequencePrefetchThresholdPercent() > 0 ? enableSequencePrefetch() : null;
   }
 
   @Override
@@ -25,6 +59,48 @@ public class SessionFactoryImpl implements SessionFactory, SessionFactoryImpleme
     return new SessionImpl(this);
   }
 
+  @Override
+  public Session openReadOnlySession() {
+    SessionImpl session = new SessionImpl(this);
+    session.getPersistenceContext().setDefaultReadOnly(true);
+    return session;
+  }
+
+  @Override
+  public StatelessSession openStatelessSession() {
+    return new StatelessSessionImpl(this);
+  }
+
+  @Override
+  public void close() {
+    if (sequencePrefetchExecutor != null) {
+      getSequenceGenerators().forEach(SequenceGeneratorImpl::disablePrefetch);
+      sequencePrefetchExecutor.shutdown();
+    }
+  }
+
+  private ExecutorService enableSequencePrefetch() {
+    ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "bibernate-sequence-prefetch");
+      thread.setDaemon(true);
+      return thread;
+    });
+    getSequenceGenerators()
+      .forEach(generator -> generator.enablePrefetch(dataSource, settings.getSequencePrefetchThresholdPercent(), executor));
+    return executor;
+  }
+
+  private List<SequenceGeneratorImpl> getSequenceGenerators() {
+    List<SequenceGeneratorImpl> generators = new ArrayList<>();
+    for (EntityMapping entityMapping : metamodel.getEntityMappingMap().values()) {
+      IdGeneratorStrategy idGeneratorStrategy = entityMapping.getPrimaryKeyMapping().getIdGeneratorStrategy();
+      if (idGeneratorStrategy != null && idGeneratorStrategy.getGenerator() instanceof SequenceGeneratorImpl generator) {
+        generators.add(generator);
+      }
+    }
+    return generators;
+  }
+
   @Override
   public Metamodel getMetamodel() {
     return metamodel;
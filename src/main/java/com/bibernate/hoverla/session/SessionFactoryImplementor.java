@@ -2,7 +2,11 @@ package com.bibernate.hoverla.session;
 
 import javax.sql.DataSource;
 
+import com.bibernate.hoverla.configuration.BibernateSettings;
 import com.bibernate.hoverla.metamodel.Metamodel;
+import com.bibernate.hoverla.query.QueryPlanCache;
+import com.bibernate.hoverla.query.QueryResultCache;
+import com.bibernate.hoverla.session.cache.SecondLevelCache;
 
 /**
  * An internal contract that extends the SessionFactory interface for internal framework usage.
@@ -27,4 +31,32 @@ public interface SessionFactoryImplementor extends SessionFactory {
    */
   DataSource getDataSource();
 
+  /**
+   * Retrieves the runtime settings of this session factory.
+   *
+   * @return The settings resolved from the configuration properties.
+   */
+  BibernateSettings getSettings();
+
+  /**
+   * Retrieves the cache of query plans shared by all sessions of this factory.
+   *
+   * @return The query plan cache.
+   */
+  QueryPlanCache getQueryPlanCache();
+
+  /**
+   * Retrieves the second-level cache of entity state shared by all sessions of this factory.
+   *
+   * @return The second-level cache.
+   */
+  SecondLevelCache getSecondLevelCache();
+
+  /**
+   * Retrieves the cache of the results of cacheable queries shared by all sessions of this factory.
+   *
+   * @return The query result cache.
+   */
+  QueryResultCache getQueryResultCache();
+
 }
@@ -2,7 +2,12 @@ package com.bibernate.hoverla.session;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.bibernate.hoverla.action.DeleteAction;
@@ -16,6 +21,10 @@ import com.bibernate.hoverla.generator.Generator;
 import com.bibernate.hoverla.metamodel.FieldMapping;
 import com.bibernate.hoverla.metamodel.IdGeneratorStrategy;
 import com.bibernate.hoverla.metamodel.UnsavedValueStrategy;
+import com.bibernate.hoverla.query.MutationQuery;
+import com.bibernate.hoverla.query.MutationQueryImpl;
+import com.bibernate.hoverla.query.ProjectionQuery;
+import com.bibernate.hoverla.query.ProjectionQueryImpl;
 import com.bibernate.hoverla.query.Query;
 import com.bibernate.hoverla.query.QueryImpl;
 import com.bibernate.hoverla.session.cache.EntityEntry;
@@ -23,8 +32,8 @@ import com.bibernate.hoverla.session.cache.EntityKey;
 import com.bibernate.hoverla.session.cache.EntityState;
 import com.bibernate.hoverla.session.transaction.Transaction;
 import com.bibernate.hoverla.session.transaction.TransactionImpl;
+import com.bibernate.hoverla.utils.DirtyTrackingUtils;
 import com.bibernate.hoverla.utils.EntityProxyUtils;
-import com.bibernate.hoverla.utils.EntityUtils;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,8 +47,26 @@ public class SessionImpl extends AbstractSession implements Session, SessionImpl
 
   private boolean isClosed = false;
 
+  private final boolean stateless;
+
   public SessionImpl(SessionFactoryImplementor sessionFactoryImplementor) {
+    this(sessionFactoryImplementor, false);
+  }
+
+  /**
+   * Creates a session, or the internal session of a {@link StatelessSession}.
+   *
+   * @param sessionFactoryImplementor The session factory.
+   * @param stateless                 Whether the session backs a stateless session.
+   */
+  SessionImpl(SessionFactoryImplementor sessionFactoryImplementor, boolean stateless) {
     super(sessionFactoryImplementor);
+    this.stateless = stateless;
+  }
+
+  @Override
+  public boolean isStateless() {
+    return stateless;
   }
 
   /**
@@ -77,6 +104,57 @@ public class SessionImpl extends AbstractSession implements Session, SessionImpl
     return find(entityKey, lockMode);
   }
 
+  @Override
+  public <T> List<T> findMultiple(Class<T> entityClass, Collection<?> ids) {
+    return findMultiple(entityClass, ids, true);
+  }
+
+  /**
+   * Finds entities by their class type and primary keys. Ids of entities managed by the persistence context are resolved first,
+   * the remaining entities are loaded by {@link EntityDaoService#loadMultiple(Class, List)} and put into the persistence context,
+   * initializing their proxies.
+   *
+   * @see Session#findMultiple(Class, Collection, boolean)
+   */
+  @Override
+  public <T> List<T> findMultiple(Class<T> entityClass, Collection<?> ids, boolean returnNullsForMissing) {
+    log.debug("Finding {} entities of class {}", ids.size(), entityClass.getSimpleName());
+
+    checkIfOpenSession();
+    ensureEntityClassIsRegistered(entityClass);
+
+    Map<Object, T> entitiesById = new HashMap<>();
+    List<Object> idsToLoad = new ArrayList<>();
+    for (Object id : new LinkedHashSet<>(ids)) {
+      EntityEntry entityEntry = id == null ? null : persistenceContext.getEntityEntry(new EntityKey<>(entityClass, id));
+      if (entityEntry != null && !EntityProxyUtils.isUnitializedProxy(entityEntry.getEntity())) {
+        entitiesById.put(id, entityClass.cast(entityEntry.getEntity()));
+      } else if (id != null) {
+        idsToLoad.add(id);
+      }
+    }
+
+    if (!idsToLoad.isEmpty()) {
+      Map<Object, T> loadedEntities = entityDaoService.loadMultiple(entityClass, idsToLoad);
+      for (Object id : idsToLoad) {
+        T loaded = loadedEntities.get(id);
+        if (loaded != null) {
+          entitiesById.put(id, entityClass.cast(persistenceContext.manageEntity(new EntityKey<>(entityClass, id), () -> loaded, entry -> {})
+                                                  .getEntity()));
+        }
+      }
+    }
+
+    List<T> entities = new ArrayList<>(ids.size());
+    for (Object id : ids) {
+      T entity = id == null ? null : entitiesById.get(id);
+      if (entity != null || returnNullsForMissing) {
+        entities.add(entity);
+      }
+    }
+    return entities;
+  }
+
   /**
    * Creates a new query instance for the given criteria and entity class.
    *
@@ -94,6 +172,58 @@ public class SessionImpl extends AbstractSession implements Session, SessionImpl
     return new QueryImpl<>(this, criteria, entityClass);
   }
 
+  /**
+   * Creates a new bulk update of the given entity class.
+   *
+   * @param statement   The update statement.
+   * @param entityClass The class of the entity.
+   *
+   * @return A new MutationQuery instance.
+   *
+   * @see Session#createUpdate(String, Class)
+   */
+  @Override
+  public <T> MutationQuery<T> createUpdate(String statement, Class<T> entityClass) {
+    checkIfOpenSession();
+    ensureEntityClassIsRegistered(entityClass);
+    return MutationQueryImpl.update(this, statement, entityClass);
+  }
+
+  /**
+   * Creates a new bulk delete of the given entity class.
+   *
+   * @param statement   The delete statement.
+   * @param entityClass The class of the entity.
+   *
+   * @return A new MutationQuery instance.
+   *
+   * @see Session#createDelete(String, Class)
+   */
+  @Override
+  public <T> MutationQuery<T> createDelete(String statement, Class<T> entityClass) {
+    checkIfOpenSession();
+    ensureEntityClassIsRegistered(entityClass);
+    return MutationQueryImpl.delete(this, statement, entityClass);
+  }
+
+  /**
+   * Creates a new projection of the given entity class.
+   *
+   * @param statement   The projection statement.
+   * @param entityClass The class of the entity.
+   * @param resultType  The type of the results.
+   *
+   * @return A new ProjectionQuery instance.
+   *
+   * @see Session#createProjection(String, Class, Class)
+   */
+  @Override
+  public <R> ProjectionQuery<R> createProjection(String statement, Class<?> entityClass, Class<R> resultType) {
+    checkIfOpenSession();
+    ensureEntityClassIsRegistered(entityClass);
+    return new ProjectionQueryImpl<>(this, statement, entityClass, resultType);
+  }
+
   /**
    * Persists a new entity into the database.
    *
@@ -108,12 +238,23 @@ public class SessionImpl extends AbstractSession implements Session, SessionImpl
 
     checkIfOpenSession();
     verifyIsNotProxy(entity);
+    if (actionQueue.isIdentityInsertDeferred(entity)) {
+      log.debug("Entity is already persisted, its insert is deferred until flush.");
+      return;
+    }
 
-    var entityMapping = getEntityMapping(entity.getClass());
+    var entityMapping = getEntityMapping(DirtyTrackingUtils.getEntityClass(entity));
     var primaryKeyMapping = entityMapping.getPrimaryKeyMapping();
 
     verifyUnsavedValueStrategy(entity, primaryKeyMapping);
 
+    if (isIdentityGenerated(primaryKeyMapping) && sessionFactory.getSettings().isJdbcBatchIdentityInserts()) {
+      log.debug("Identity generation strategy detected. Deferring IdentityInsertAction for entity until flush.");
+      // the entity is put into the persistence context once its primary key is generated
+      actionQueue.addAction(new IdentityInsertAction(entity, entityDaoService, true));
+      return;
+    }
+
     if (isIdentityGenerated(primaryKeyMapping)) {
       log.debug("Identity generation strategy detected. Adding IdentityInsertAction for entity.");
       actionQueue.addAction(new IdentityInsertAction(entity, entityDaoService));
@@ -125,7 +266,7 @@ public class SessionImpl extends AbstractSession implements Session, SessionImpl
 
     EntityDetails<?> entityDetails = getEntityDetails(entity);
     persistenceContext.manageEntity(entityDetails.entityKey(), () -> entity,
-                                    entityEntry -> {});
+                                    entityEntry -> {}, false);
 
     log.debug("Entity persisted successfully.");
 
@@ -182,6 +323,9 @@ public class SessionImpl extends AbstractSession implements Session, SessionImpl
     if (managedEntity == null) {
       throw new BibernateException("Failed to merge entity %s, use persist instead: ".formatted(entityDetails.entityKey()));
     }
+    if (persistenceContext.getEntityEntry(entityDetails.entityKey()).isReadOnly()) {
+      throw new BibernateException("Failed to merge entity %s, the managed entity is read-only".formatted(entityDetails.entityKey()));
+    }
 
     updateFields(managedEntity, entityDetails, detachedEntity);
 
@@ -207,6 +351,45 @@ public class SessionImpl extends AbstractSession implements Session, SessionImpl
     log.debug("Entity detached: {}", entityDetails.entityKey());
   }
 
+  /**
+   * Marks a managed entity read-only or modifiable.
+   *
+   * @param entity   The managed entity or proxy.
+   * @param readOnly Whether the entity is read-only.
+   *
+   * @see Session#setReadOnly(Object, boolean)
+   */
+  @Override
+  public void setReadOnly(Object entity, boolean readOnly) {
+    checkIfOpenSession();
+    EntityDetails<?> entityDetails = getEntityDetails(entity);
+
+    if (!persistenceContext.setReadOnly(entityDetails.entityKey(), readOnly)) {
+      throw new BibernateException("Entity %s is not managed by the session".formatted(entityDetails.entityKey()));
+    }
+  }
+
+  /**
+   * Determines whether a managed entity is read-only.
+   *
+   * @param entity The managed entity or proxy.
+   *
+   * @return true if the entity is read-only, false otherwise.
+   *
+   * @see Session#isReadOnly(Object)
+   */
+  @Override
+  public boolean isReadOnly(Object entity) {
+    checkIfOpenSession();
+    EntityDetails<?> entityDetails = getEntityDetails(entity);
+
+    EntityEntry entityEntry = persistenceContext.getEntityEntry(entityDetails.entityKey());
+    if (entityEntry == null) {
+      throw new BibernateException("Entity %s is not managed by the session".formatted(entityDetails.entityKey()));
+    }
+    return entityEntry.isReadOnly();
+  }
+
   /**
    * Removes an entity from the database.
    *
@@ -215,6 +398,10 @@ public class SessionImpl extends AbstractSession implements Session, SessionImpl
   @Override
   public void remove(Object entity) {
     checkIfOpenSession();
+    if (actionQueue.cancelDeferredIdentityInsert(entity)) {
+      log.debug("Removing entity whose insert is deferred, the insert is cancelled.");
+      return;
+    }
     EntityDetails<?> entityDetails = getEntityDetails(entity);
 
     log.debug("Removing entity: {}", entityDetails.entityKey());
@@ -255,6 +442,7 @@ public class SessionImpl extends AbstractSession implements Session, SessionImpl
   public void close() {
     checkIfOpenSession();
     invalidateCaches();
+    afterTransactionCompletion();
     closeConnection();
     this.isClosed = true;
   }
@@ -269,6 +457,16 @@ public class SessionImpl extends AbstractSession implements Session, SessionImpl
     this.persistenceContext.invalidateCache();
   }
 
+  /**
+   * Evicts the entities written by this session from the second-level cache and invalidates the cached query results of the written
+   * tables once the transaction has ended.
+   */
+  @Override
+  public void afterTransactionCompletion() {
+    entityDaoService.evictWrittenEntitiesFromSecondLevelCache();
+    entityDaoService.invalidateWrittenTables();
+  }
+
   /**
    * Retrieves the connection associated with this session.
    *
@@ -319,9 +517,17 @@ public class SessionImpl extends AbstractSession implements Session, SessionImpl
   private <T> void updateFields(T managedEntity, EntityDetails entityDetails, T detachedEntity) {
     T managedEntityUnProxied = EntityProxyUtils.unProxyAndInitialize(managedEntity);
 
-    for (FieldMapping<?> fieldMapping : entityDetails.entityMapping().getFieldMappings(a -> !a.isOneToMany())) {
-      Object fieldValue = EntityUtils.getFieldValue(fieldMapping.getFieldName(), detachedEntity);
-      EntityUtils.setFieldValue(fieldMapping.getFieldName(), managedEntityUnProxied, fieldValue);
+    List<FieldMapping<?>> updatableFields = entityDetails.entityMapping().getSqlStatements().getUpdatableFieldMappings();
+    for (int i = 0; i < updatableFields.size(); i++) {
+      FieldMapping<?> fieldMapping = updatableFields.get(i);
+      Object managedValue = fieldMapping.getValue(managedEntityUnProxied);
+      if (DirtyTrackingUtils.isChanged(fieldMapping, managedValue, fieldMapping.getValue(detachedEntity))) {
+        DirtyTrackingUtils.markDirty(managedEntityUnProxied, i);
+      }
+    }
+
+    for (FieldMapping<?> fieldMapping : entityDetails.entityMapping().getSqlStatements().getColumnFieldMappings()) {
+      fieldMapping.setValue(managedEntityUnProxied, fieldMapping.getValue(detachedEntity));
     }
   }
 
@@ -335,22 +541,22 @@ public class SessionImpl extends AbstractSession implements Session, SessionImpl
     }
   }
 
-  private <T> void verifyUnsavedValueStrategy(T entity, FieldMapping<?> primaryKeyMapping) {
+  <T> void verifyUnsavedValueStrategy(T entity, FieldMapping<?> primaryKeyMapping) {
     IdGeneratorStrategy idGeneratorStrategy = primaryKeyMapping.getIdGeneratorStrategy();
     if (idGeneratorStrategy.getUnsavedValueStrategy() == UnsavedValueStrategy.NULL) {
-      Object fieldValue = EntityUtils.getFieldValue(primaryKeyMapping.getFieldName(), entity);
+      Object fieldValue = primaryKeyMapping.getValue(entity);
       if (fieldValue != null) {
         throw new PersistOperationException("Detached entity passed to persist: " + entity.getClass().getName());
       }
     }
   }
 
-  private <T> void populateGeneratedIdIfRequired(T entity, FieldMapping<?> primaryKeyMapping) {
+  <T> void populateGeneratedIdIfRequired(T entity, FieldMapping<?> primaryKeyMapping) {
     IdGeneratorStrategy idGeneratorStrategy = primaryKeyMapping.getIdGeneratorStrategy();
     Generator generator = idGeneratorStrategy.getGenerator();
     if (generator != null) {
       Object generatedValue = generator.generateNext(this.getConnection());
-      EntityUtils.setFieldValue(primaryKeyMapping.getFieldName(), entity, generatedValue);
+      primaryKeyMapping.setValue(entity, generatedValue);
     }
   }
 
@@ -370,8 +576,8 @@ public class SessionImpl extends AbstractSession implements Session, SessionImpl
 
   private void closeConnection() {
     if (currentConnection != null) {
-      try {
-        currentConnection.close();
+      try (Connection connection = currentConnection) {
+        jdbcExecutor.close();
       } catch (SQLException exc) {
         throw new BibernateSqlException("Failed to close connections", exc);
       }
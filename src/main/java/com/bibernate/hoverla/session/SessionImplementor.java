@@ -11,7 +11,7 @@ import com.bibernate.hoverla.session.cache.EntityEntry;
 import com.bibernate.hoverla.session.cache.EntityKey;
 import com.bibernate.hoverla.session.cache.PersistenceContext;
 import com.bibernate.hoverla.session.dirtycheck.DirtyCheckService;
-import com.bibernate.hoverla.utils.EntityUtils;
+import com.bibernate.hoverla.utils.DirtyTrackingUtils;
 import com.bibernate.hoverla.utils.proxy.BibernateByteBuddyProxyInterceptor;
 
 import static com.bibernate.hoverla.utils.EntityProxyUtils.getProxyInterceptor;
@@ -67,6 +67,16 @@ public interface SessionImplementor extends Session {
 
   DirtyCheckService getDirtyCheckService();
 
+  /**
+   * Determines whether this session backs a {@link StatelessSession}. Entities loaded by a stateless session are always detached,
+   * and its writes are executed for entities that are not managed by the persistence context.
+   *
+   * @return true if the session is stateless, false otherwise.
+   */
+  default boolean isStateless() {
+    return false;
+  }
+
   default <T> EntityMapping getEntityMapping(Class<T> entityClass) {
     EntityMapping entityMapping = getSessionFactory()
       .getMetamodel()
@@ -87,11 +97,11 @@ public interface SessionImplementor extends Session {
   default <T> EntityDetails<T> getEntityDetails(T entity) {
     BibernateByteBuddyProxyInterceptor<T> proxyInterceptor = getProxyInterceptor(entity);
     boolean isProxy = proxyInterceptor != null;
-    Class<?> entityClass = isProxy ? proxyInterceptor.getEntityClass() : entity.getClass();
+    Class<?> entityClass = isProxy ? proxyInterceptor.getEntityClass() : DirtyTrackingUtils.getEntityClass(entity);
     EntityMapping entityMapping = getEntityMapping(entityClass);
-    FieldMapping<?> primaryKeyMapping = entityMapping.getPrimaryKeyMapping();
+    FieldMapping<?> primaryKeyMapping = entityMapping.getSqlStatements().getPrimaryKeyMapping();
     EntityKey<T> entityKey = isProxy ? new EntityKey<>(proxyInterceptor.getEntityClass(), proxyInterceptor.getEntityId())
-                                     : EntityUtils.getEntityKey((Class<T>) entity.getClass(), entity, primaryKeyMapping.getFieldName());
+                                     : new EntityKey<>((Class<T>) entityClass, primaryKeyMapping.getValue(entity));
 
     return new EntityDetails<>(entityMapping, entityKey, isProxy);
   }
@@ -101,6 +111,11 @@ public interface SessionImplementor extends Session {
    */
   void invalidateCaches();
 
+  /**
+   * Called after the current transaction has been committed or rolled back, or the session is closed.
+   */
+  void afterTransactionCompletion();
+
   Connection getConnection();
 
   default EntityEntry getEntityEntry(EntityKey<?> entityKey) {
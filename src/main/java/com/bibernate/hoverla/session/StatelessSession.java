@@ -0,0 +1,95 @@
+package com.bibernate.hoverla.session;
+
+import com.bibernate.hoverla.exceptions.BibernateException;
+import com.bibernate.hoverla.query.Query;
+import com.bibernate.hoverla.session.transaction.Transaction;
+
+/**
+ * A session without a persistence context, meant for bulk workloads such as imports.
+ * <p/>
+ * - Writes are executed immediately, or sent in JDBC batches when {@code bibernate.jdbc.batch_size} is greater than one.
+ * - No first-level cache, snapshots or action queue: every entity passed to or returned by the session is detached, so the memory held
+ * by the session does not grow with the number of processed rows.
+ * - Updates write all updatable columns, as there is no snapshot to find the changed ones.
+ * - Many-to-one references of loaded entities are lazy proxies and their collections are lazy lists, loaded as detached entities on
+ * access while the session is open.
+ * - Sessions are not thread-safe; each thread should have its own StatelessSession.
+ */
+public interface StatelessSession extends AutoCloseable {
+
+  /**
+   * Inserts a new entity, generating its primary key if required.
+   *
+   * @param entity The entity to insert.
+   */
+  void insert(Object entity);
+
+  /**
+   * Updates all updatable columns of an entity. The version of an entity with an optimistic lock is checked and incremented.
+   *
+   * @param entity The entity to update.
+   */
+  void update(Object entity);
+
+  /**
+   * Deletes an entity by its primary key.
+   *
+   * @param entity The entity to delete.
+   */
+  void delete(Object entity);
+
+  /**
+   * Loads a detached entity by its class type and primary key.
+   *
+   * @param entityClass The class of the entity.
+   * @param id          The primary key of the entity.
+   * @param <T>         The type of the entity.
+   *
+   * @return The loaded entity or {@code null} if the entity does not exist.
+   */
+  <T> T get(Class<T> entityClass, Object id);
+
+  /**
+   * Loads a detached entity by its class type and primary key with the specified lock mode.
+   *
+   * @param entityClass The class of the entity.
+   * @param id          The primary key of the entity.
+   * @param lockMode    The lock mode to use.
+   * @param <T>         The type of the entity.
+   *
+   * @return The loaded entity or {@code null} if the entity does not exist.
+   */
+  <T> T get(Class<T> entityClass, Object id, LockMode lockMode);
+
+  /**
+   * Creates a query whose results are detached. Pending batched writes are executed first.
+   *
+   * @param criteria    The query criteria, as in {@link Session#createQuery(String, Class)}.
+   * @param entityClass The class of the entities returned by the query.
+   * @param <T>         The type of the entities.
+   *
+   * @return The query.
+   */
+  <T> Query<T> createQuery(String criteria, Class<T> entityClass);
+
+  /**
+   * Executes the pending batched writes. Called when the transaction is committed and the session is closed.
+   */
+  void flush();
+
+  /**
+   * Returns the transaction of the session.
+   *
+   * @return The transaction.
+   */
+  Transaction getTransaction();
+
+  /**
+   * Executes the pending batched writes and closes the session.
+   *
+   * @throws BibernateException if the session is already closed.
+   */
+  @Override
+  void close();
+
+}
@@ -0,0 +1,161 @@
+package com.bibernate.hoverla.session;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.bibernate.hoverla.exceptions.PersistOperationException;
+import com.bibernate.hoverla.query.Query;
+import com.bibernate.hoverla.session.cache.EntityKey;
+import com.bibernate.hoverla.session.transaction.Transaction;
+import com.bibernate.hoverla.utils.DirtyTrackingUtils;
+import com.bibernate.hoverla.utils.EntityProxyUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of the StatelessSession interface.
+ * <p/>
+ * The session delegates to an internal {@link SessionImpl} marked {@link SessionImplementor#isStateless() stateless}, whose
+ * {@link EntityDaoService} and {@link com.bibernate.hoverla.jdbc.JdbcExecutor} execute the writes and loads while its persistence
+ * context stays empty. Consecutive writes with the same SQL statement are grouped into JDBC batches of up to
+ * {@code bibernate.jdbc.batch_size} statements; a write with another statement, a read, commit and close execute the pending batch.
+ */
+@Slf4j
+public class StatelessSessionImpl implements StatelessSession {
+
+  private final SessionImpl session;
+  private final int batchSize;
+  private final List<EntityWriteOperation> pendingBatch = new ArrayList<>();
+
+  public StatelessSessionImpl(SessionFactoryImplementor sessionFactory) {
+    this.session = new SessionImpl(sessionFactory, true);
+    this.batchSize = sessionFactory.getSettings().getJdbcBatchSize();
+  }
+
+  @Override
+  public void insert(Object entity) {
+    if (EntityProxyUtils.isProxy(entity)) {
+      throw new PersistOperationException("Proxy object passed to insert");
+    }
+    var primaryKeyMapping = session.getEntityMapping(DirtyTrackingUtils.getEntityClass(entity)).getPrimaryKeyMapping();
+    session.verifyUnsavedValueStrategy(entity, primaryKeyMapping);
+
+    if (primaryKeyMapping.getIdGeneratorStrategy().isIdentityGenerated()) {
+      log.debug("Identity generation strategy detected. Inserting entity immediately.");
+      flush();
+      session.getEntityDaoService().insert(entity);
+      return;
+    }
+
+    session.populateGeneratedIdIfRequired(entity, primaryKeyMapping);
+    addToBatch(session.getEntityDaoService().prepareInsert(entity));
+  }
+
+  @Override
+  public void update(Object entity) {
+    addToBatch(session.getEntityDaoService().prepareUpdate(entity));
+  }
+
+  @Override
+  public void delete(Object entity) {
+    addToBatch(session.getEntityDaoService().prepareDelete(entity));
+  }
+
+  @Override
+  public <T> T get(Class<T> entityClass, Object id) {
+    return get(entityClass, id, LockMode.NONE);
+  }
+
+  @Override
+  public <T> T get(Class<T> entityClass, Object id, LockMode lockMode) {
+    flush();
+    return session.getEntityDaoService().load(new EntityKey<>(entityClass, id), lockMode);
+  }
+
+  @Override
+  public <T> Query<T> createQuery(String criteria, Class<T> entityClass) {
+    flush();
+    return session.createQuery(criteria, entityClass).setDetached(true);
+  }
+
+  @Override
+  public void flush() {
+    if (pendingBatch.isEmpty()) {
+      return;
+    }
+
+    log.debug("Executing a batch of {} statements: {}", pendingBatch.size(), pendingBatch.get(0).sqlTemplate());
+    List<EntityWriteOperation> operations = new ArrayList<>(pendingBatch);
+    pendingBatch.clear();
+    session.getEntityDaoService().executeBatch(operations);
+  }
+
+  @Override
+  public Transaction getTransaction() {
+    return new StatelessTransaction(session.getTransaction());
+  }
+
+  @Override
+  public void close() {
+    try {
+      flush();
+    } finally {
+      session.close();
+    }
+  }
+
+  private void addToBatch(EntityWriteOperation operation) {
+    if (operation == null) {
+      return;
+    }
+    if (batchSize <= 1) {
+      session.getEntityDaoService().execute(operation);
+      return;
+    }
+
+    if (!pendingBatch.isEmpty() && !pendingBatch.get(0).sqlTemplate().equals(operation.sqlTemplate())) {
+      flush();
+    }
+    pendingBatch.add(operation);
+    if (pendingBatch.size() >= batchSize) {
+      flush();
+    }
+  }
+
+  /**
+   * Transaction of the internal session executing the pending batched writes before commit and discarding them on rollback.
+   */
+  @RequiredArgsConstructor
+  private class StatelessTransaction implements Transaction {
+
+    private final Transaction transaction;
+
+    @Override
+    public Transaction beginTransaction() {
+      transaction.beginTransaction();
+      return this;
+    }
+
+    @Override
+    public Transaction commit() {
+      flush();
+      transaction.commit();
+      return this;
+    }
+
+    @Override
+    public Transaction rollback() {
+      pendingBatch.clear();
+      transaction.rollback();
+      return this;
+    }
+
+    @Override
+    public boolean isActive() {
+      return transaction.isActive();
+    }
+
+  }
+
+}
@@ -1,18 +1,27 @@
 package com.bibernate.hoverla.session.cache;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import com.bibernate.hoverla.collection.PersistenceLazyList;
 import com.bibernate.hoverla.session.dirtycheck.DirtyCheckService;
+import com.bibernate.hoverla.utils.DirtyTrackingUtils;
 import com.bibernate.hoverla.utils.EntityProxyUtils;
 import com.bibernate.hoverla.utils.proxy.BibernateByteBuddyProxyInterceptor;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -26,7 +35,17 @@ public class PersistenceContext {
 
   @Getter
   private final Map<EntityKey<?>, EntityEntry> entityKeyEntityEntryMap = new HashMap<>();
-  private final Map<CollectionKey<?>, PersistenceLazyList<?>> collectionsMap = new HashMap<>();
+  private final Map<CollectionKey<?>, PersistenceLazyList<?>> collectionsMap = new LinkedHashMap<>();
+  /**
+   * Ids of the managed uninitialized proxies per entity type, in the order the proxies were created, candidates for batch fetching.
+   */
+  private final Map<Class<?>, LinkedHashSet<Object>> uninitializedProxyIds = new HashMap<>();
+  /**
+   * Whether entities managed without an explicit read-only flag are read-only, as in a read-only session.
+   */
+  @Getter
+  @Setter
+  private boolean defaultReadOnly;
 
   /**
    * Retrieves the entity entry for the specified entity key.
@@ -41,7 +60,8 @@ public class PersistenceContext {
 
   /**
    * Manages the entity associated with the specified entity key, executing the provided processing function.
-   * If the entity is not already managed, it creates a new entry for it.
+   * If the entity is not already managed, it creates a new entry for it, read-only if the context is {@link #isDefaultReadOnly()
+   * read-only by default}.
    *
    * @param entityKey                The key associated with the entity.
    * @param getEntityOrProxyFunction A supplier function to retrieve the entity or its proxy.
@@ -50,13 +70,30 @@ public class PersistenceContext {
    * @return The managed entity entry.
    */
   public EntityEntry manageEntity(EntityKey<?> entityKey, Supplier<Object> getEntityOrProxyFunction, Consumer<EntityEntry> processFunction) {
+    return manageEntity(entityKey, getEntityOrProxyFunction, processFunction, defaultReadOnly);
+  }
+
+  /**
+   * Manages the entity associated with the specified entity key, executing the provided processing function.
+   * If the entity is not already managed, it creates a new entry for it. No snapshot is taken of a read-only entity, and it is
+   * excluded from dirty checking. An entity already managed keeps its read-only flag.
+   *
+   * @param entityKey                The key associated with the entity.
+   * @param getEntityOrProxyFunction A supplier function to retrieve the entity or its proxy.
+   * @param processFunction          A consumer function to process the entity entry.
+   * @param readOnly                 Whether a new entry is read-only.
+   *
+   * @return The managed entity entry.
+   */
+  public EntityEntry manageEntity(EntityKey<?> entityKey, Supplier<Object> getEntityOrProxyFunction, Consumer<EntityEntry> processFunction,
+                                  boolean readOnly) {
     log.debug("Managing entity with key: {}", entityKey);
 
     EntityEntry entityEntry = entityKeyEntityEntryMap.get(entityKey);
     if (entityEntry == null) {
       log.debug("Entity entry not found for key: {}, putting new entity", entityKey);
 
-      entityEntry = putNewEntityEntry(entityKey, getEntityOrProxyFunction);
+      entityEntry = putNewEntityEntry(entityKey, getEntityOrProxyFunction, readOnly);
     } else {
 
       log.debug("Entity entry found for key: {}, initializing if needed", entityKey);
@@ -72,6 +109,35 @@ public class PersistenceContext {
     return entityEntry;
   }
 
+  /**
+   * Marks a managed entity read-only or modifiable. The snapshot of an entity made read-only is discarded. An entity made modifiable
+   * is snapshotted in its current state, so that changes made while it was read-only are not flushed.
+   *
+   * @param entityKey The key of the managed entity.
+   * @param readOnly  Whether the entity is read-only.
+   *
+   * @return false if the entity is not managed, true otherwise.
+   */
+  public boolean setReadOnly(EntityKey<?> entityKey, boolean readOnly) {
+    EntityEntry entityEntry = entityKeyEntityEntryMap.get(entityKey);
+    if (entityEntry == null) {
+      return false;
+    }
+    if (entityEntry.isReadOnly() == readOnly) {
+      return true;
+    }
+
+    log.debug("Marking entity with key: {} {}", entityKey, readOnly ? "read-only" : "modifiable");
+    entityEntry.setReadOnly(readOnly);
+    if (readOnly) {
+      entityEntry.setSnapshot(null);
+    } else {
+      DirtyTrackingUtils.clearDirtyFields(EntityProxyUtils.unProxy(entityEntry.getEntity()));
+      entityEntry.setSnapshot(dirtyCheckService.getSnapshot(entityKey.entityType(), entityEntry.getEntity()));
+    }
+    return true;
+  }
+
   /**
    * Manages a collection by storing it in the collections map.
    *
@@ -84,6 +150,91 @@ public class PersistenceContext {
     collectionsMap.put(collectionKey, collection);
   }
 
+  /**
+   * Retrieves the managed collection for the specified collection key.
+   *
+   * @param collectionKey the collection key
+   *
+   * @return the collection, or null if not found
+   */
+  public PersistenceLazyList<?> getCollection(CollectionKey<?> collectionKey) {
+    return collectionsMap.get(collectionKey);
+  }
+
+  /**
+   * Returns the keys of the uninitialized collections to load together with the collection of the given key: the key itself,
+   * followed by the keys of other managed uninitialized collections of the same field of the same entity type, in the order
+   * the collections were registered.
+   *
+   * @param collectionKey The key of the collection being loaded.
+   * @param batchSize     The maximum number of keys to return.
+   *
+   * @return The keys to load, starting with the given key.
+   */
+  public List<CollectionKey<?>> getBatchFetchCollectionKeys(CollectionKey<?> collectionKey, int batchSize) {
+    List<CollectionKey<?>> collectionKeys = new ArrayList<>(Math.min(batchSize, 16));
+    collectionKeys.add(collectionKey);
+
+    Iterator<Map.Entry<CollectionKey<?>, PersistenceLazyList<?>>> iterator = collectionsMap.entrySet().iterator();
+    while (collectionKeys.size() < batchSize && iterator.hasNext()) {
+      Map.Entry<CollectionKey<?>, PersistenceLazyList<?>> entry = iterator.next();
+      CollectionKey<?> key = entry.getKey();
+      if (!entry.getValue().isInitialized()
+          && key.entityType() == collectionKey.entityType()
+          && key.collectionName().equals(collectionKey.collectionName())
+          && !key.equals(collectionKey)) {
+        collectionKeys.add(key);
+      }
+    }
+    return collectionKeys;
+  }
+
+  /**
+   * Returns the ids of the uninitialized proxies to load together with the entity of the given key: the id of the key itself,
+   * followed by the ids of other managed uninitialized proxies of the same entity type, in the order the proxies were created.
+   *
+   * @param entityKey The key of the entity being loaded.
+   * @param batchSize The maximum number of ids to return.
+   *
+   * @return The ids to load, starting with the id of the given key.
+   */
+  public List<Object> getBatchFetchIds(EntityKey<?> entityKey, int batchSize) {
+    List<Object> ids = new ArrayList<>(Math.min(batchSize, 16));
+    ids.add(entityKey.id());
+
+    LinkedHashSet<Object> queuedIds = uninitializedProxyIds.get(entityKey.entityType());
+    if (queuedIds == null) {
+      return ids;
+    }
+
+    Iterator<Object> iterator = queuedIds.iterator();
+    while (ids.size() < batchSize && iterator.hasNext()) {
+      Object id = iterator.next();
+      if (id.equals(entityKey.id())) {
+        continue;
+      }
+      EntityEntry entityEntry = entityKeyEntityEntryMap.get(new EntityKey<>(entityKey.entityType(), id));
+      if (entityEntry == null || !EntityProxyUtils.isUnitializedProxy(entityEntry.getEntity())) {
+        iterator.remove();
+        continue;
+      }
+      ids.add(id);
+    }
+    return ids;
+  }
+
+  /**
+   * Excludes the proxy of the given entity key from batch fetching, e.g. because its entity does not exist.
+   *
+   * @param entityKey The entity key of the proxy.
+   */
+  public void removeFromBatchFetch(EntityKey<?> entityKey) {
+    LinkedHashSet<Object> queuedIds = uninitializedProxyIds.get(entityKey.entityType());
+    if (queuedIds != null) {
+      queuedIds.remove(entityKey.id());
+    }
+  }
+
   /**
    * Invalidates the cache by unlinking session-related entities and clearing the entity and collection maps.
    */
@@ -93,6 +244,7 @@ public class PersistenceContext {
 
     this.collectionsMap.clear();
     this.entityKeyEntityEntryMap.clear();
+    this.uninitializedProxyIds.clear();
 
   }
 
@@ -103,6 +255,29 @@ public class PersistenceContext {
    */
   public void removeEntity(EntityKey<?> entityKey) {
     entityKeyEntityEntryMap.remove(entityKey);
+    removeFromBatchFetch(entityKey);
+  }
+
+  /**
+   * Removes the entries of all loaded entities of the given type from the context, e.g. because their rows were changed by a bulk
+   * statement, together with the lazy collections of these entities. Uninitialized proxies are kept, as they are loaded with
+   * the current state of their rows on first access.
+   *
+   * @param entityType The type of the entities.
+   *
+   * @return The number of removed entries.
+   */
+  public int removeEntities(Class<?> entityType) {
+    Set<Object> removedIds = new HashSet<>();
+    entityKeyEntityEntryMap.entrySet().removeIf(entry -> {
+      boolean removed = entry.getKey().entityType() == entityType && !EntityProxyUtils.isUnitializedProxy(entry.getValue().getEntity());
+      if (removed) {
+        removedIds.add(entry.getKey().id());
+      }
+      return removed;
+    });
+    collectionsMap.keySet().removeIf(collectionKey -> collectionKey.entityType() == entityType && removedIds.contains(collectionKey.id()));
+    return removedIds.size();
   }
 
   /**
@@ -132,10 +307,10 @@ public class PersistenceContext {
       .forEach(PersistenceLazyList::unlinkSession);
   }
 
-  private EntityEntry putNewEntityEntry(EntityKey<?> entityKey, Supplier<Object> getEntityOrProxyFunction) {
+  private EntityEntry putNewEntityEntry(EntityKey<?> entityKey, Supplier<Object> getEntityOrProxyFunction, boolean readOnly) {
     EntityEntry entityEntry = EntityEntry.builder()
       .entityState(EntityState.MANAGED)
-      .isReadOnly(false)
+      .isReadOnly(readOnly)
       .build();
     entityKeyEntityEntryMap.put(entityKey, entityEntry);
     Object entity = getEntityOrProxyFunction.get();
@@ -146,7 +321,12 @@ public class PersistenceContext {
     }
 
     entityEntry.setEntity(entity);
-    entityEntry.setSnapshot(dirtyCheckService.getSnapshot(entityKey.entityType(), entity));
+    if (!readOnly) {
+      entityEntry.setSnapshot(dirtyCheckService.getSnapshot(entityKey.entityType(), entity));
+    }
+    if (EntityProxyUtils.isUnitializedProxy(entity)) {
+      uninitializedProxyIds.computeIfAbsent(entityKey.entityType(), type -> new LinkedHashSet<>()).add(entityKey.id());
+    }
     return entityEntry;
   }
 
@@ -155,7 +335,10 @@ public class PersistenceContext {
       Object entity = getEntityOrProxyFunction.get();
       if (!EntityProxyUtils.isProxy(entity)) {
         EntityProxyUtils.initializeProxy(entityEntry.getEntity(), entity);
-        entityEntry.setSnapshot(dirtyCheckService.getSnapshot(entityKey.entityType(), entityEntry.getEntity()));
+        if (!entityEntry.isReadOnly()) {
+          entityEntry.setSnapshot(dirtyCheckService.getSnapshot(entityKey.entityType(), entityEntry.getEntity()));
+        }
+        removeFromBatchFetch(entityKey);
       }
     }
   }
@@ -0,0 +1,202 @@
+package com.bibernate.hoverla.session.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A session factory wide cache of the state of {@link com.bibernate.hoverla.annotations.Cacheable cacheable} entities.
+ *
+ * <p>
+ * Entities are stored disassembled, as the rows of column values read from the database, in the order of
+ * {@link com.bibernate.hoverla.metamodel.EntitySqlStatements#getColumnFieldMappings()}. Every session assembles its own entity
+ * instance from a cached row, the same way it does from a row read by a query, so no live object is shared between sessions.
+ * </p>
+ *
+ * <p>
+ * The cache holds at most the configured number of rows, evicting the least recently used one when full, and optionally drops
+ * rows older than the configured time to live.
+ * </p>
+ */
+@Slf4j
+public class SecondLevelCache {
+
+  private final int maxSize;
+  private final long timeToLiveNanos;
+  private final LongSupplier nanoClock;
+
+  private final Map<EntityKey<?>, CacheEntry> entries;
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder putCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
+  /**
+   * Creates a cache of the given size.
+   *
+   * @param maxSize    The maximum number of cached rows, 0 disables the cache.
+   * @param timeToLive The time after which a cached row expires, zero for rows which never expire.
+   */
+  public SecondLevelCache(int maxSize, Duration timeToLive) {
+    this(maxSize, timeToLive, System::nanoTime);
+  }
+
+  SecondLevelCache(int maxSize, Duration timeToLive, LongSupplier nanoClock) {
+    this.maxSize = maxSize;
+    this.timeToLiveNanos = timeToLive.toNanos();
+    this.nanoClock = nanoClock;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<EntityKey<?>, CacheEntry> eldest) {
+        if (size() > SecondLevelCache.this.maxSize) {
+          evictionCount.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached row of the entity. The returned array is shared and must not be modified.
+   *
+   * @param entityKey The key of the entity.
+   *
+   * @return The cached row, or null if the entity is not cached or its row has expired.
+   */
+  public Object[] get(EntityKey<?> entityKey) {
+    if (maxSize <= 0) {
+      return null;
+    }
+
+    synchronized (entries) {
+      CacheEntry entry = entries.get(entityKey);
+      if (entry != null && isExpired(entry)) {
+        log.trace("Cached row of {} has expired", entityKey);
+        entries.remove(entityKey);
+        evictionCount.increment();
+        entry = null;
+      }
+
+      if (entry == null) {
+        missCount.increment();
+        return null;
+      }
+      hitCount.increment();
+      return entry.row();
+    }
+  }
+
+  /**
+   * Caches the row of the entity.
+   *
+   * @param entityKey The key of the entity.
+   * @param row       The column values of the entity read from the database.
+   */
+  public void put(EntityKey<?> entityKey, Object[] row) {
+    if (maxSize <= 0) {
+      return;
+    }
+
+    long expiresAt = timeToLiveNanos > 0 ? nanoClock.getAsLong() + timeToLiveNanos : 0;
+    synchronized (entries) {
+      entries.put(entityKey, new CacheEntry(row, expiresAt));
+    }
+    putCount.increment();
+  }
+
+  /**
+   * Removes the cached row of the entity, if any.
+   *
+   * @param entityKey The key of the entity.
+   */
+  public void evict(EntityKey<?> entityKey) {
+    if (maxSize <= 0) {
+      return;
+    }
+
+    synchronized (entries) {
+      if (entries.remove(entityKey) != null) {
+        log.trace("Evicted cached row of {}", entityKey);
+        evictionCount.increment();
+      }
+    }
+  }
+
+  /**
+   * Removes the cached rows of all entities of the given type.
+   *
+   * @param entityType The type of the entities.
+   */
+  public void evictAll(Class<?> entityType) {
+    if (maxSize <= 0) {
+      return;
+    }
+
+    synchronized (entries) {
+      int sizeBefore = entries.size();
+      entries.keySet().removeIf(entityKey -> entityKey.entityType() == entityType);
+      evictionCount.add(sizeBefore - entries.size());
+    }
+  }
+
+  /**
+   * Removes all cached rows. The statistics are not reset.
+   */
+  public void evictAll() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  /**
+   * Returns the number of cached rows.
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Returns the number of lookups which found a cached row.
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Returns the number of lookups which did not find a cached row.
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * Returns the number of rows put into the cache.
+   */
+  public long getPutCount() {
+    return putCount.sum();
+  }
+
+  /**
+   * Returns the number of rows removed because they were written, expired, or the cache was full.
+   */
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  private boolean isExpired(CacheEntry entry) {
+    return entry.expiresAt() != 0 && nanoClock.getAsLong() - entry.expiresAt() >= 0;
+  }
+
+  private record CacheEntry(Object[] row, long expiresAt) {
+
+  }
+
+}
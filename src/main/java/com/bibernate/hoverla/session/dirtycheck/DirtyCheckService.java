@@ -8,6 +8,8 @@ import com.bibernate.hoverla.session.cache.EntityEntry;
 /**
  * Performs dirty check and verifies if an {@link EntityEntry entity entry} is dirty. The entity entry is dirty if any of its field has been updated.
  * The comparison is done by comparing the current entity {@link EntityEntry#getEntity() snapshot} with the previous {@link EntityEntry#getSnapshot() snapshot}.
+ * Dirty-tracking entities, created when {@code bibernate.dirty_tracking.enabled} is set, are not compared: they record the fields
+ * written through their setters themselves.
  */
 public interface DirtyCheckService {
 
@@ -1,21 +1,18 @@
 package com.bibernate.hoverla.session.dirtycheck;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
-import org.apache.commons.lang3.reflect.FieldUtils;
-
-import com.bibernate.hoverla.exceptions.IllegalFieldAccessException;
 import com.bibernate.hoverla.metamodel.EntityMapping;
 import com.bibernate.hoverla.metamodel.FieldMapping;
 import com.bibernate.hoverla.session.SessionImplementor;
 import com.bibernate.hoverla.session.cache.EntityEntry;
 import com.bibernate.hoverla.session.cache.EntityKey;
 import com.bibernate.hoverla.session.cache.EntityState;
+import com.bibernate.hoverla.utils.DirtyTrackingUtils;
 import com.bibernate.hoverla.utils.EntityProxyUtils;
-import com.bibernate.hoverla.utils.EntityUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -53,16 +50,20 @@ public class DirtyCheckServiceImpl implements DirtyCheckService {
       return new ArrayList<>();
     }
 
+    EntityMapping entityMapping = entityDetails.entityMapping();
+    if (DirtyTrackingUtils.isTracked(unProxied)) {
+      return getTrackedUpdatedFields(entityMapping, unProxied, entityEntry.getSnapshot());
+    }
+
     Object[] oldSnapshot = entityEntry.getSnapshot();
 
     int i = 0;
 
     List<DirtyFieldMapping<Object>> dirtyFieldMappings = new ArrayList<>();
 
-    EntityMapping entityMapping = entityDetails.entityMapping();
-    for (var field : entityMapping.getFieldMappings(FieldMapping::isUpdatable)) {
+    for (var field : entityMapping.getSqlStatements().getUpdatableFieldMappings()) {
       Object object = oldSnapshot[i++];
-      Object fieldValue = getFieldValue(entityMapping.getEntityClass(), unProxied, field.getFieldName());
+      Object fieldValue = field.getValue(unProxied);
       if (object != fieldValue) {
         dirtyFieldMappings.add(DirtyFieldMapping.of(field, fieldValue));
       }
@@ -72,6 +73,48 @@ public class DirtyCheckServiceImpl implements DirtyCheckService {
     return dirtyFieldMappings;
   }
 
+  /**
+   * Returns the fields recorded as dirty by a dirty-tracking entity, and its untracked fields changed since the snapshot.
+   */
+  private List<DirtyFieldMapping<Object>> getTrackedUpdatedFields(EntityMapping entityMapping, Object entity, Object[] snapshot) {
+    List<FieldMapping<?>> updatableFields = entityMapping.getSqlStatements().getUpdatableFieldMappings();
+    BitSet dirtyFields = (BitSet) DirtyTrackingUtils.getDirtyFields(entity).clone();
+    dirtyFields.or(getChangedUntrackedFields(entityMapping, entity, snapshot));
+
+    List<DirtyFieldMapping<Object>> dirtyFieldMappings = new ArrayList<>(dirtyFields.cardinality());
+    for (int i = dirtyFields.nextSetBit(0); i >= 0; i = dirtyFields.nextSetBit(i + 1)) {
+      FieldMapping<?> field = updatableFields.get(i);
+      dirtyFieldMappings.add(DirtyFieldMapping.of(field, field.getValue(entity)));
+    }
+    log.debug("Found {} tracked dirty fields for entity: {}.", dirtyFieldMappings.size(), entityMapping.getEntityClass().getSimpleName());
+
+    return dirtyFieldMappings;
+  }
+
+  /**
+   * Returns the untracked fields of a dirty-tracking entity, i.e. fields without a setter, whose values differ from the snapshot.
+   */
+  private BitSet getChangedUntrackedFields(EntityMapping entityMapping, Object entity, Object[] snapshot) {
+    BitSet changedFields = new BitSet();
+    if (snapshot == null || snapshot.length == 0) {
+      return changedFields;
+    }
+
+    List<FieldMapping<?>> updatableFields = entityMapping.getSqlStatements().getUpdatableFieldMappings();
+    BitSet untrackedFields = DirtyTrackingUtils.getUntrackedFields(entityMapping);
+    for (int i = untrackedFields.nextSetBit(0); i >= 0; i = untrackedFields.nextSetBit(i + 1)) {
+      FieldMapping<?> field = updatableFields.get(i);
+      if (DirtyTrackingUtils.isChanged(field, snapshot[i], field.getValue(entity))) {
+        changedFields.set(i);
+      }
+    }
+    return changedFields;
+  }
+
+  /**
+   * Takes a snapshot of the updatable fields of an entity. A dirty-tracking entity records the changes of its fields itself, so only
+   * the fields without a setter are taken into its snapshot, and none if all fields have one.
+   */
   @Override
   public Object[] getSnapshot(Class<?> entityClass, Object entity) {
     return getSnapshot(sessionImplementor.getEntityMapping(entityClass), entity);
@@ -83,12 +126,27 @@ public class DirtyCheckServiceImpl implements DirtyCheckService {
       return new Object[0];
     }
 
+    List<FieldMapping<?>> updatableFields = entityMapping.getSqlStatements().getUpdatableFieldMappings();
+    if (DirtyTrackingUtils.isTracked(unProxied)) {
+      BitSet untrackedFields = DirtyTrackingUtils.getUntrackedFields(entityMapping);
+      if (untrackedFields.isEmpty()) {
+        return new Object[0];
+      }
+
+      Object[] snapshot = new Object[updatableFields.size()];
+      for (int i = untrackedFields.nextSetBit(0); i >= 0; i = untrackedFields.nextSetBit(i + 1)) {
+        snapshot[i] = updatableFields.get(i).getValue(unProxied);
+      }
+      return snapshot;
+    }
+
     log.trace("Snapshot generated for entity: {}", entityMapping.getEntityClass().getSimpleName());
 
-    return entityMapping.getFieldMappings(FieldMapping::isUpdatable)
-      .stream()
-      .map(fieldMapping -> EntityUtils.getFieldValue(fieldMapping.getFieldName(), unProxied))
-      .toArray();
+    Object[] snapshot = new Object[updatableFields.size()];
+    for (int i = 0; i < snapshot.length; i++) {
+      snapshot[i] = updatableFields.get(i).getValue(unProxied);
+    }
+    return snapshot;
   }
 
   private boolean isManaged(Map.Entry<EntityKey<?>, EntityEntry> entry) {
@@ -100,7 +158,8 @@ public class DirtyCheckServiceImpl implements DirtyCheckService {
   }
 
   /**
-   * Determines if an entity is considered "dirty" based on its snapshots.
+   * Determines if an entity is considered "dirty" based on its snapshots. A dirty-tracking entity is dirty if it recorded a dirty
+   * field, or if one of its fields without a setter differs from the snapshot.
    *
    * @param entityType  The class of the entity to check.
    * @param entityEntry The entity entry containing the snapshots to compare.
@@ -108,22 +167,21 @@ public class DirtyCheckServiceImpl implements DirtyCheckService {
    * @return {@code true} if the entity is considered dirty, {@code false} otherwise.
    */
   private boolean isDirtyEntity(Class<?> entityType, EntityEntry entityEntry) {
+    Object unProxied = EntityProxyUtils.unProxy(entityEntry.getEntity());
     var entityMapping = sessionImplementor.getEntityMapping(entityType);
+    if (DirtyTrackingUtils.isTracked(unProxied)) {
+      return DirtyTrackingUtils.hasDirtyFields(unProxied)
+        || !getChangedUntrackedFields(entityMapping, unProxied, entityEntry.getSnapshot()).isEmpty();
+    }
 
     Object[] oldSnapshot = entityEntry.getSnapshot();
 
-    Object unProxied = EntityProxyUtils.unProxy(entityEntry.getEntity());
-
     int i = 0;
 
-    for (var field : entityMapping.getFieldMappings(FieldMapping::isUpdatable)) {
+    for (var field : entityMapping.getSqlStatements().getUpdatableFieldMappings()) {
       Object object = oldSnapshot[i++];
-      Object fieldValue = getFieldValue(entityMapping.getEntityClass(), unProxied, field.getFieldName());
-      if (object != fieldValue && field.isManyToOne()) {
-        log.trace("Detected dirty entity: {} due to change in ManyToOne relationship.", entityType.getSimpleName());
-
-        return true;
-      } else if (!Objects.equals(object, fieldValue)) {
+      Object fieldValue = field.getValue(unProxied);
+      if (DirtyTrackingUtils.isChanged(field, object, fieldValue)) {
         log.trace("Detected dirty entity: {} due to change in field: {}.", entityType.getSimpleName(), field.getFieldName());
 
         return true;
@@ -132,12 +190,4 @@ public class DirtyCheckServiceImpl implements DirtyCheckService {
     return false;
   }
 
-  private Object getFieldValue(Class<?> entityType, Object entity, String fieldName) {
-    try {
-      return FieldUtils.readDeclaredField(entity, fieldName, true);
-    } catch (IllegalAccessException exception) {
-      throw new IllegalFieldAccessException("Failed to access field: %s for entity: %s".formatted(fieldName, entityType), exception);
-    }
-  }
-
 }
@@ -46,6 +46,7 @@ public class TransactionImpl implements Transaction {
       }
       this.sessionImplementor.flush();
       this.sessionImplementor.getConnection().commit();
+      this.sessionImplementor.afterTransactionCompletion();
       this.isActive = false;
 
       log.debug("Transaction committed successfully.");
@@ -66,6 +67,7 @@ public class TransactionImpl implements Transaction {
       }
       this.sessionImplementor.invalidateCaches();
       this.sessionImplementor.getConnection().rollback();
+      this.sessionImplementor.afterTransactionCompletion();
       this.isActive = false;
 
       log.debug("Transaction has been rolled back.");
@@ -0,0 +1,252 @@
+package com.bibernate.hoverla.utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+import com.bibernate.hoverla.exceptions.BibernateException;
+import com.bibernate.hoverla.metamodel.EntityMapping;
+import com.bibernate.hoverla.metamodel.FieldMapping;
+import com.bibernate.hoverla.utils.dirtytracking.DirtyTracker;
+import com.bibernate.hoverla.utils.dirtytracking.DirtyTrackingInterceptor;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.matcher.ElementMatchers;
+
+/**
+ * Utility class for creating and working with dirty-tracking entities.
+ * <p>
+ * A dirty-tracking entity is an instance of a subclass of the entity class generated at runtime, whose setters of updatable fields
+ * record the written fields in a bitset. Updatable fields without an overridable setter cannot be tracked this way; they are compared
+ * against a snapshot instead, as with plain entities. Writes of fields with a setter that bypass it, such as direct field assignments
+ * within entity methods, are not tracked.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class DirtyTrackingUtils {
+
+  private static final String DIRTY_FIELDS_FIELD_NAME = "$$bibernate_dirtyFields";
+
+  /**
+   * Dirty-tracking classes generated once per entity type. Unlike a static map, a class value does not keep the entity class and its
+   * class loader reachable.
+   */
+  private static final ClassValue<TrackingClass> TRACKING_CLASSES = new ClassValue<>() {
+    @Override
+    protected TrackingClass computeValue(Class<?> entityType) {
+      return new TrackingClass();
+    }
+  };
+
+  /**
+   * Creates a new dirty-tracking instance of the given entity. The dirty-tracking class is generated on first use of the entity type
+   * and reused afterwards.
+   *
+   * @param entityMapping The mapping of the entity.
+   * @param <T>           The type of the entity.
+   *
+   * @return The new dirty-tracking instance with no dirty fields.
+   *
+   * @throws BibernateException if the dirty-tracking class cannot be generated or instantiated.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T newTrackedInstanceOf(EntityMapping entityMapping) {
+    Class<T> entityClass = (Class<T>) entityMapping.getEntityClass();
+    try {
+      Constructor<?> constructor = TRACKING_CLASSES.get(entityClass).getOrGenerate(entityMapping).constructor();
+      return entityClass.cast(constructor.newInstance());
+    } catch (BibernateException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new BibernateException("Failed to create dirty-tracking instance of %s".formatted(entityClass), e);
+    }
+  }
+
+  /**
+   * Returns the indexes of the updatable fields of the entity that have no setter to intercept. Changes of these fields are found by
+   * comparing a dirty-tracking entity against a snapshot of these fields only.
+   *
+   * @param entityMapping The mapping of the entity.
+   *
+   * @return The untracked field indexes within the updatable field mappings, empty if all fields are tracked. Must not be modified.
+   */
+  public static BitSet getUntrackedFields(EntityMapping entityMapping) {
+    return TRACKING_CLASSES.get(entityMapping.getEntityClass()).getOrGenerate(entityMapping).untrackedFields();
+  }
+
+  /**
+   * Determines whether the value of a field changed. Many-to-one references are compared by identity, all other values by equality.
+   * The same comparison is used by the intercepted setters, the snapshot comparison and merge.
+   *
+   * @param fieldMapping The field.
+   * @param oldValue     The previous value.
+   * @param newValue     The current value.
+   *
+   * @return true if the field changed.
+   */
+  public static boolean isChanged(FieldMapping<?> fieldMapping, Object oldValue, Object newValue) {
+    return fieldMapping.isManyToOne() ? oldValue != newValue : !Objects.equals(oldValue, newValue);
+  }
+
+  private static GeneratedTrackingClass generateTrackingClass(EntityMapping entityMapping) {
+    Class<?> entityClass = entityMapping.getEntityClass();
+    DynamicType.Builder<?> builder = new ByteBuddy()
+      .subclass(entityClass)
+      .implement(DirtyTracker.class)
+      .defineField(DIRTY_FIELDS_FIELD_NAME, BitSet.class, Visibility.PRIVATE)
+      .method(ElementMatchers.isDeclaredBy(DirtyTracker.class))
+      .intercept(FieldAccessor.ofField(DIRTY_FIELDS_FIELD_NAME));
+
+    BitSet untrackedFields = new BitSet();
+    List<FieldMapping<?>> updatableFields = entityMapping.getSqlStatements().getUpdatableFieldMappings();
+    for (int i = 0; i < updatableFields.size(); i++) {
+      FieldMapping<?> fieldMapping = updatableFields.get(i);
+      String setterName = getSetterName(fieldMapping);
+      if (!hasOverridableSetter(entityClass, setterName)) {
+        untrackedFields.set(i);
+        continue;
+      }
+      builder = builder
+        .method(ElementMatchers.named(setterName).and(ElementMatchers.takesArguments(1)))
+        .intercept(MethodDelegation.to(new DirtyTrackingInterceptor(i, fieldMapping)));
+    }
+
+    try (DynamicType.Unloaded<?> dynamicType = builder.make()) {
+      Constructor<?> constructor = dynamicType
+        .load(entityClass.getClassLoader())
+        .getLoaded()
+        .getDeclaredConstructor();
+      return new GeneratedTrackingClass(constructor, untrackedFields);
+    } catch (Exception e) {
+      throw new BibernateException("Failed to create dirty-tracking class for %s".formatted(entityClass), e);
+    }
+  }
+
+  private static String getSetterName(FieldMapping<?> fieldMapping) {
+    String fieldName = fieldMapping.getFieldName();
+    return "set" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+  }
+
+  private static boolean hasOverridableSetter(Class<?> entityClass, String setterName) {
+    for (Class<?> type = entityClass; type != null && type != Object.class; type = type.getSuperclass()) {
+      for (Method method : type.getDeclaredMethods()) {
+        int modifiers = method.getModifiers();
+        if (method.getName().equals(setterName) && method.getParameterCount() == 1
+            && !Modifier.isPrivate(modifiers) && !Modifier.isFinal(modifiers) && !Modifier.isStatic(modifiers)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Determines whether an object is a dirty-tracking entity.
+   *
+   * @param entity The object to check.
+   *
+   * @return true if the object tracks its dirty fields, false otherwise.
+   */
+  public static boolean isTracked(Object entity) {
+    return entity instanceof DirtyTracker;
+  }
+
+  /**
+   * Returns the entity class of an entity instance, that is the class the dirty-tracking subclass was generated for, if any.
+   *
+   * @param entity The entity instance, must not be a proxy.
+   *
+   * @return The entity class.
+   */
+  public static Class<?> getEntityClass(Object entity) {
+    Class<?> entityClass = entity.getClass();
+    return entity instanceof DirtyTracker ? entityClass.getSuperclass() : entityClass;
+  }
+
+  /**
+   * Returns the indexes of the dirty updatable fields of a dirty-tracking entity.
+   *
+   * @param entity The dirty-tracking entity.
+   *
+   * @return The dirty field indexes, empty if the entity is clean or does not track its fields.
+   */
+  public static BitSet getDirtyFields(Object entity) {
+    BitSet dirtyFields = entity instanceof DirtyTracker tracker ? tracker.$$bibernate_getDirtyFields() : null;
+    return dirtyFields == null ? new BitSet() : dirtyFields;
+  }
+
+  /**
+   * Determines whether a dirty-tracking entity has dirty fields.
+   *
+   * @param entity The dirty-tracking entity.
+   *
+   * @return true if a field of the entity was changed since it was loaded or last flushed.
+   */
+  public static boolean hasDirtyFields(Object entity) {
+    return entity instanceof DirtyTracker tracker && tracker.$$bibernate_getDirtyFields() != null
+      && !tracker.$$bibernate_getDirtyFields().isEmpty();
+  }
+
+  /**
+   * Marks an updatable field of a dirty-tracking entity as dirty. Does nothing if the entity does not track its fields.
+   *
+   * @param entity     The entity.
+   * @param fieldIndex The index of the field within the updatable field mappings of the entity.
+   */
+  public static void markDirty(Object entity, int fieldIndex) {
+    if (entity instanceof DirtyTracker tracker) {
+      BitSet dirtyFields = tracker.$$bibernate_getDirtyFields();
+      if (dirtyFields == null) {
+        dirtyFields = new BitSet();
+        tracker.$$bibernate_setDirtyFields(dirtyFields);
+      }
+      dirtyFields.set(fieldIndex);
+    }
+  }
+
+  /**
+   * Marks all fields of a dirty-tracking entity clean. Does nothing if the entity does not track its fields.
+   *
+   * @param entity The entity.
+   */
+  public static void clearDirtyFields(Object entity) {
+    if (entity instanceof DirtyTracker tracker) {
+      tracker.$$bibernate_setDirtyFields(null);
+    }
+  }
+
+  /**
+   * The dirty-tracking class of an entity type, generated on first use.
+   */
+  private static final class TrackingClass {
+
+    private volatile GeneratedTrackingClass generated;
+
+    GeneratedTrackingClass getOrGenerate(EntityMapping entityMapping) {
+      GeneratedTrackingClass result = generated;
+      if (result == null) {
+        synchronized (this) {
+          result = generated;
+          if (result == null) {
+            result = generateTrackingClass(entityMapping);
+            generated = result;
+          }
+        }
+      }
+      return result;
+    }
+
+  }
+
+  private record GeneratedTrackingClass(Constructor<?> constructor, BitSet untrackedFields) {}
+
+}
@@ -1,14 +1,16 @@
 package com.bibernate.hoverla.utils;
 
-import java.lang.reflect.Field;
+import java.lang.reflect.Constructor;
 
 import com.bibernate.hoverla.exceptions.BibernateException;
 import com.bibernate.hoverla.session.SessionImplementor;
 import com.bibernate.hoverla.session.cache.EntityKey;
 import com.bibernate.hoverla.utils.proxy.BibernateByteBuddyProxyInterceptor;
+import com.bibernate.hoverla.utils.proxy.BibernateProxy;
 
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.FieldAccessor;
 import net.bytebuddy.implementation.MethodDelegation;
 import net.bytebuddy.jar.asm.Opcodes;
 import net.bytebuddy.matcher.ElementMatchers;
@@ -20,8 +22,20 @@ import static com.bibernate.hoverla.utils.proxy.BibernateByteBuddyProxyIntercept
  */
 public class EntityProxyUtils {
 
+  /**
+   * Proxy classes generated once per entity type. Every proxy instance of the type delegates to the interceptor stored in its own
+   * {@link BibernateByteBuddyProxyInterceptor#INTERCEPTOR_FIELD_NAME} field.
+   */
+  private static final ClassValue<ProxyClass> PROXY_CLASSES = new ClassValue<>() {
+    @Override
+    protected ProxyClass computeValue(Class<?> entityType) {
+      return generateProxyClass(entityType);
+    }
+  };
+
   /**
    * Creates a proxy object of the given entity type with the provided session and entity ID.
+   * The proxy class is generated on first use of the entity type and reused afterwards.
    *
    * @param session   The session object to use for lazy loading.
    * @param entityKey The entity key of request proxy object.
@@ -36,32 +50,42 @@ public class EntityProxyUtils {
     Object entityId = entityKey.id();
     var interceptor = new BibernateByteBuddyProxyInterceptor<>(session, entityType, entityId);
 
-    try (DynamicType.Unloaded<T> dynamicType = new ByteBuddy()
+    try {
+      ProxyClass proxyClass = PROXY_CLASSES.get(entityType);
+      T entity = entityType.cast(proxyClass.constructor().newInstance());
+      ((BibernateProxy) entity).$$bibernate_setInterceptor(interceptor);
+
+      return entity;
+    } catch (Exception e) {
+      throw new BibernateException("Failed to create proxy for %s, entityId: %s".formatted(entityType, entityId), e);
+    }
+
+  }
+
+  private static ProxyClass generateProxyClass(Class<?> entityType) {
+    try (DynamicType.Unloaded<?> dynamicType = new ByteBuddy()
       .subclass(entityType)
+      .implement(BibernateProxy.class)
       .defineField(INTERCEPTOR_FIELD_NAME, BibernateByteBuddyProxyInterceptor.class, Opcodes.ACC_PRIVATE)
       .method(ElementMatchers.any())
-      .intercept(MethodDelegation.to(interceptor))
+      .intercept(MethodDelegation.toField(INTERCEPTOR_FIELD_NAME))
+      .method(ElementMatchers.isDeclaredBy(BibernateProxy.class))
+      .intercept(FieldAccessor.ofField(INTERCEPTOR_FIELD_NAME))
       .make()) {
-      T entity = dynamicType
+      Class<?> loaded = dynamicType
         .load(entityType.getClassLoader())
-        .getLoaded()
-        .getDeclaredConstructor()
-        .newInstance();
-
-      setInterceptorField(entity, interceptor);
+        .getLoaded();
 
-      return entity;
+      return new ProxyClass(loaded.getDeclaredConstructor());
     } catch (Exception e) {
-      throw new BibernateException("Failed to create proxy for %s, entityId: %s".formatted(entityType, entityId));
+      throw new BibernateException("Failed to create proxy class for %s".formatted(entityType), e);
     }
-
   }
 
-  private static <T> void setInterceptorField(T entity, BibernateByteBuddyProxyInterceptor interceptor) throws NoSuchFieldException, IllegalAccessException {
-    Field field = entity.getClass().getDeclaredField(INTERCEPTOR_FIELD_NAME);
-    field.setAccessible(true);
-    field.set(entity, interceptor);
-  }
+  /**
+   * Generated proxy class of an entity type with its constructor resolved once.
+   */
+  private record ProxyClass(Constructor<?> constructor) {}
 
   /**
    * Determines whether an object is a proxy.
@@ -71,7 +95,7 @@ public class EntityProxyUtils {
    * @return true if the object is a proxy, false otherwise.
    */
   public static boolean isProxy(Object object) {
-    return getProxyInterceptor(object) != null;
+    return object instanceof BibernateProxy;
   }
 
   /**
@@ -90,17 +114,14 @@ public class EntityProxyUtils {
    *
    * @param proxy The proxy object.
    *
-   * @return The BibernateByteBuddyProxyInterceptor object associated with the proxy object, or null if not found.
+   * @return The BibernateByteBuddyProxyInterceptor object associated with the proxy object, or null if the object is not a proxy.
    */
-
+  @SuppressWarnings("unchecked")
   public static <T> BibernateByteBuddyProxyInterceptor<T> getProxyInterceptor(Object proxy) {
-    try {
-      Field field = proxy.getClass().getDeclaredField(INTERCEPTOR_FIELD_NAME);
-      field.setAccessible(true);
-      return (BibernateByteBuddyProxyInterceptor<T>) field.get(proxy);
-    } catch (NoSuchFieldException | IllegalAccessException e) {
-      return null;
+    if (proxy instanceof BibernateProxy bibernateProxy) {
+      return (BibernateByteBuddyProxyInterceptor<T>) bibernateProxy.$$bibernate_getInterceptor();
     }
+    return null;
   }
 
   /**
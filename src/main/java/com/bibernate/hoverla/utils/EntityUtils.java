@@ -4,6 +4,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 import org.antlr.v4.runtime.BaseErrorListener;
 import org.antlr.v4.runtime.CharStreams;
@@ -55,12 +56,56 @@ public class EntityUtils {
    *                               syntax errors, an exception is thrown with error details.
    */
   public static ParseTree parseWhereStatement(String whereStatement) {
-    WhereStatementLexer lexer = new WhereStatementLexer(CharStreams.fromString(whereStatement));
+    return parse(whereStatement, WhereStatementParser::start);
+  }
+
+  /**
+   * Parses a projection statement, {@code SELECT item, ... [WHERE condition] [GROUP BY field, ...] [ORDER BY ...]}, and returns
+   * the parse tree.
+   *
+   * @param projectionStatement The input string containing the projection statement.
+   *
+   * @return The parse tree representing the parsed projection statement.
+   *
+   * @throws BibernateBqlException If there is a syntax error in the input.
+   */
+  public static ParseTree parseProjectionStatement(String projectionStatement) {
+    return parse(projectionStatement, WhereStatementParser::projection);
+  }
+
+  /**
+   * Parses a bulk update statement, {@code SET field = :param, ... [WHERE condition]}, and returns the parse tree.
+   *
+   * @param updateStatement The input string containing the update statement.
+   *
+   * @return The parse tree representing the parsed update statement.
+   *
+   * @throws BibernateBqlException If there is a syntax error in the input.
+   */
+  public static ParseTree parseUpdateStatement(String updateStatement) {
+    return parse(updateStatement, WhereStatementParser::update);
+  }
+
+  /**
+   * Parses a bulk delete statement, {@code [WHERE condition]}, and returns the parse tree.
+   *
+   * @param deleteStatement The input string containing the delete statement.
+   *
+   * @return The parse tree representing the parsed delete statement.
+   *
+   * @throws BibernateBqlException If there is a syntax error in the input.
+   */
+  public static ParseTree parseDeleteStatement(String deleteStatement) {
+    return parse(deleteStatement, WhereStatementParser::delete);
+  }
+
+  private static ParseTree parse(String statement, Function<WhereStatementParser, ParseTree> entryRule) {
+    WhereStatementLexer lexer = new WhereStatementLexer(CharStreams.fromString(statement));
     WhereStatementParser parser = new WhereStatementParser(new CommonTokenStream(lexer));
 
     final List<String> errorMessages = listenErrorMessages(parser);
 
-    ParseTree tree = parser.start();
+    ParseTree tree = entryRule.apply(parser);
     validateSyntaxErrors(parser, errorMessages);
 
     return tree;
@@ -137,7 +182,7 @@ public class EntityUtils {
    */
   public static void setFieldValue(String fieldName, Object entity, Object value) {
     try {
-      Field field = entity.getClass().getDeclaredField(fieldName);
+      Field field = DirtyTrackingUtils.getEntityClass(entity).getDeclaredField(fieldName);
       field.setAccessible(true);
       field.set(entity, value);
     } catch (NoSuchFieldException | IllegalAccessException e) {
@@ -161,7 +206,7 @@ public class EntityUtils {
    */
   public static Object getFieldValue(String fieldName, Object entity) {
     try {
-      Field field = entity.getClass().getDeclaredField(fieldName);
+      Field field = DirtyTrackingUtils.getEntityClass(entity).getDeclaredField(fieldName);
       field.setAccessible(true);
       return field.get(entity);
     } catch (NoSuchFieldException | IllegalAccessException e) {
@@ -0,0 +1,28 @@
+package com.bibernate.hoverla.utils.dirtytracking;
+
+import java.util.BitSet;
+
+/**
+ * Interface implemented by every generated dirty-tracking entity class.
+ * <p>
+ * A dirty-tracking entity records the fields written through its setters in a bitset, indexed like the updatable field mappings of
+ * the entity, so that dirty entities and their changed columns are found without comparing the entity against a snapshot.
+ * The method names are prefixed to avoid clashes with methods declared by entities.
+ */
+public interface DirtyTracker {
+
+  /**
+   * Returns the indexes of the updatable fields written since the entity was loaded or last flushed.
+   *
+   * @return The dirty field indexes, or null if no field was written yet.
+   */
+  BitSet $$bibernate_getDirtyFields();
+
+  /**
+   * Sets the indexes of the dirty fields of this entity.
+   *
+   * @param dirtyFields The dirty field indexes, or null to mark the entity clean.
+   */
+  void $$bibernate_setDirtyFields(BitSet dirtyFields);
+
+}
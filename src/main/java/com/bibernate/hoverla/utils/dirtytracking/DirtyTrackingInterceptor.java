@@ -0,0 +1,47 @@
+package com.bibernate.hoverla.utils.dirtytracking;
+
+import java.util.concurrent.Callable;
+
+import com.bibernate.hoverla.metamodel.FieldMapping;
+import com.bibernate.hoverla.utils.DirtyTrackingUtils;
+
+import lombok.RequiredArgsConstructor;
+
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import net.bytebuddy.implementation.bind.annotation.This;
+
+/**
+ * Intercepts the setter of an updatable field of a dirty-tracking entity.
+ * <p>
+ * The original setter is invoked first, then the field is marked dirty if its value {@link DirtyTrackingUtils#isChanged changed}.
+ */
+@RequiredArgsConstructor
+public class DirtyTrackingInterceptor {
+
+  private final int fieldIndex;
+  private final FieldMapping<?> fieldMapping;
+
+  /**
+   * Invokes the intercepted setter and records the field as dirty if the setter changed its value.
+   *
+   * @param entity The dirty-tracking entity.
+   * @param setter The original setter.
+   *
+   * @return The result of the original setter.
+   *
+   * @throws Exception If the original setter fails.
+   */
+  @RuntimeType
+  public Object intercept(@This DirtyTracker entity, @SuperCall Callable<?> setter) throws Exception {
+    Object oldValue = fieldMapping.getValue(entity);
+    Object result = setter.call();
+    Object newValue = fieldMapping.getValue(entity);
+
+    if (DirtyTrackingUtils.isChanged(fieldMapping, oldValue, newValue)) {
+      DirtyTrackingUtils.markDirty(entity, fieldIndex);
+    }
+    return result;
+  }
+
+}
@@ -5,7 +5,6 @@ import java.lang.reflect.Method;
 import org.apache.commons.lang3.StringUtils;
 
 import com.bibernate.hoverla.exceptions.LazyLoadingException;
-import com.bibernate.hoverla.session.LockMode;
 import com.bibernate.hoverla.session.SessionImplementor;
 import com.bibernate.hoverla.session.cache.EntityKey;
 
@@ -91,7 +90,8 @@ public class BibernateByteBuddyProxyInterceptor<T> {
   }
 
   /**
-   * Lazily loads the entity if not already loaded.
+   * Lazily loads the entity if not already loaded, together with other uninitialized proxies of the same entity
+   * when batch fetching is enabled.
    */
   public void loadProxy() {
     if (this.loadedEntity == null) {
@@ -100,7 +100,7 @@ public class BibernateByteBuddyProxyInterceptor<T> {
         throw new LazyLoadingException("Failed to load entity: session is null.");
       }
       EntityKey<T> entityKey = new EntityKey<>(entityClass, entityId);
-      Object loaded = session.getEntityDaoService().load(entityKey, LockMode.NONE);
+      Object loaded = session.getEntityDaoService().loadProxy(entityKey);
       session.getPersistenceContext().manageEntity(entityKey, () -> loaded, entry -> {});
       if (loaded == null) {
         throw new LazyLoadingException("Failed to load entity %s: entity was not found.".formatted(entityKey));
@@ -0,0 +1,25 @@
+package com.bibernate.hoverla.utils.proxy;
+
+/**
+ * Marker interface implemented by every generated entity proxy class.
+ * <p>
+ * It exposes the interceptor of the proxy, so that a proxy can be recognized with a plain {@code instanceof} check and its interceptor
+ * accessed without reflection. The method names are prefixed to avoid clashes with methods declared by entities.
+ */
+public interface BibernateProxy {
+
+  /**
+   * Returns the interceptor of this proxy.
+   *
+   * @return The interceptor handling lazy loading of this proxy.
+   */
+  BibernateByteBuddyProxyInterceptor<?> $$bibernate_getInterceptor();
+
+  /**
+   * Sets the interceptor of this proxy. Called once, right after the proxy is instantiated.
+   *
+   * @param interceptor The interceptor handling lazy loading of this proxy.
+   */
+  void $$bibernate_setInterceptor(BibernateByteBuddyProxyInterceptor<?> interceptor);
+
+}
@@ -1,12 +1,21 @@
 package com.bibernate.hoverla.action;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
+import com.bibernate.hoverla.session.EntityDaoService;
+import com.bibernate.hoverla.session.EntityWriteOperation;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -59,6 +68,88 @@ class ActionQueueTest {
     verify(action1, times(1)).execute();
   }
 
-}
+  @Test
+  void whenBatchingEnabled_thenConsecutiveActionsWithSameStatementExecutedInBatches() {
+    EntityDaoService entityDaoService = mock(EntityDaoService.class);
+    actionQueue = new ActionQueue(2);
+
+    EntityWriteOperation insert1 = new EntityWriteOperation("table", "INSERT", null, rows -> {});
+    EntityWriteOperation insert2 = new EntityWriteOperation("table", "INSERT", null, rows -> {});
+    EntityWriteOperation insert3 = new EntityWriteOperation("table", "INSERT", null, rows -> {});
+    EntityWriteOperation delete = new EntityWriteOperation("table", "DELETE", null, rows -> {});
+
+    Object entity1 = new Object();
+    Object entity2 = new Object();
+    Object entity3 = new Object();
+    Object entity4 = new Object();
+    doReturn(insert1).when(entityDaoService).prepareInsert(entity1);
+    doReturn(insert2).when(entityDaoService).prepareInsert(entity2);
+    doReturn(insert3).when(entityDaoService).prepareInsert(entity3);
+    doReturn(delete).when(entityDaoService).prepareDelete(entity4);
+    doReturn(null).when(entityDaoService).prepareDelete(entity1);
+
+    actionQueue.addAction(new DeleteAction(entity4, entityDaoService));
+    actionQueue.addAction(new DeleteAction(entity1, entityDaoService));
+    actionQueue.addAction(new InsertAction(entity1, entityDaoService));
+    actionQueue.addAction(new InsertAction(entity2, entityDaoService));
+    actionQueue.addAction(new InsertAction(entity3, entityDaoService));
+
+    actionQueue.executeActions();
 
+    // Inserts go first and are split by the batch size, detached entities (null operation) are skipped
+    InOrder inOrder = inOrder(entityDaoService);
+    inOrder.verify(entityDaoService).executeBatch(List.of(insert1, insert2));
+    inOrder.verify(entityDaoService).executeBatch(List.of(insert3));
+    inOrder.verify(entityDaoService).executeBatch(List.of(delete));
+    verify(entityDaoService, never()).insert(any());
+    verify(entityDaoService, never()).delete(any());
+  }
+
+  @Test
+  void whenDeferredIdentityInsertsQueued_thenConsecutiveInsertsOfSameTypeExecutedTogether() {
+    EntityDaoService entityDaoService = mock(EntityDaoService.class);
+    actionQueue = new ActionQueue(2);
+
+    Object entity1 = new Object();
+    Object entity2 = new Object();
+    Object entity3 = new Object();
+    String entity4 = "other type";
+    EntityWriteOperation insert = new EntityWriteOperation("table", "INSERT", null, rows -> {});
+    doReturn(insert).when(entityDaoService).prepareInsert(entity4);
+
+    actionQueue.addAction(new IdentityInsertAction(entity1, entityDaoService, true));
+    actionQueue.addAction(new IdentityInsertAction(entity2, entityDaoService, true));
+    actionQueue.addAction(new IdentityInsertAction(entity3, entityDaoService, true));
+    actionQueue.addAction(new InsertAction(entity4, entityDaoService));
+    assertTrue(actionQueue.isIdentityInsertDeferred(entity2));
+    verify(entityDaoService, never()).insertReturningGeneratedKeys(any());
+
+    actionQueue.executeActions();
 
+    // Identity inserts are split by the batch size and executed before the following statements are prepared
+    InOrder inOrder = inOrder(entityDaoService);
+    inOrder.verify(entityDaoService).insertReturningGeneratedKeys(List.of(entity1, entity2));
+    inOrder.verify(entityDaoService).insertReturningGeneratedKeys(List.of(entity3));
+    inOrder.verify(entityDaoService).prepareInsert(entity4);
+    inOrder.verify(entityDaoService).executeBatch(List.of(insert));
+    assertFalse(actionQueue.isIdentityInsertDeferred(entity2));
+  }
+
+  @Test
+  void whenDeferredIdentityInsertCancelled_thenEntityNotInserted() {
+    EntityDaoService entityDaoService = mock(EntityDaoService.class);
+    Object entity1 = new Object();
+    Object entity2 = new Object();
+
+    actionQueue.addAction(new IdentityInsertAction(entity1, entityDaoService, true));
+    actionQueue.addAction(new IdentityInsertAction(entity2, entityDaoService, true));
+
+    assertTrue(actionQueue.cancelDeferredIdentityInsert(entity1));
+    assertFalse(actionQueue.cancelDeferredIdentityInsert(entity1));
+    actionQueue.executeActions();
+
+    verify(entityDaoService).insertReturningGeneratedKeys(List.of(entity2));
+    verify(entityDaoService, never()).insertReturningGeneratedKeys(List.of(entity1));
+  }
+
+}
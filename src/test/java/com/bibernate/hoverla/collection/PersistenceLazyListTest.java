@@ -24,7 +24,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,8 +48,8 @@ class PersistenceLazyListTest {
 
   @BeforeEach
   public void setUp() {
-    doReturn(entityDaoService).when(session).getEntityDaoService();
-    doReturn(loadedList).when(entityDaoService).loadCollection(any());
+    lenient().doReturn(entityDaoService).when(session).getEntityDaoService();
+    lenient().doReturn(loadedList).when(entityDaoService).loadCollection(any());
     collectionKey = new CollectionKey<>(String.class, "testId", "testCollection");
 
     lazyList = new PersistenceLazyList<>(collectionKey, session);
@@ -59,6 +61,15 @@ class PersistenceLazyListTest {
     verify(entityDaoService).loadCollection(collectionKey);
   }
 
+  @Test
+  public void testInitialize() {
+    lazyList.initialize(List.of("Loaded"));
+
+    assertTrue(lazyList.isInitialized());
+    assertEquals("Loaded", lazyList.get(0));
+    verify(entityDaoService, never()).loadCollection(any());
+  }
+
   @Test
   public void testAdd() {
     lazyList.add("Test");
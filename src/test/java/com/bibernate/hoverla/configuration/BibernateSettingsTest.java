@@ -0,0 +1,114 @@
+package com.bibernate.hoverla.configuration;
+
+import org.junit.jupiter.api.Test;
+
+import com.bibernate.hoverla.configuration.config.CommonConfig;
+import com.bibernate.hoverla.exceptions.ConfigurationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BibernateSettingsTest {
+
+  @Test
+  void from_noBibernateProperties_defaultsUsed() {
+    CommonConfig config = CommonConfig.of("config/test-config.properties");
+
+    BibernateSettings settings = BibernateSettings.from(config);
+
+    assertEquals(1, settings.getJdbcBatchSize());
+    assertEquals(100, settings.getJdbcFetchSize());
+    assertEquals(64, settings.getJdbcStatementCacheSize());
+    assertEquals(2048, settings.getQueryPlanCacheMaxSize());
+    assertEquals(10_000, settings.getSecondLevelCacheMaxSize());
+    assertEquals(0, settings.getSecondLevelCacheTtlSeconds());
+    assertEquals(1000, settings.getQueryResultCacheMaxSize());
+    assertEquals(1, settings.getDefaultBatchFetchSize());
+    assertFalse(settings.isDirtyTrackingEnabled());
+    assertEquals(0, settings.getSequencePrefetchThresholdPercent());
+    assertFalse(settings.isJdbcBatchIdentityInserts());
+  }
+
+  @Test
+  void from_batchIdentityInsertsEnabled() {
+    CommonConfig config = CommonConfig.of("config/test-config.properties");
+    config.setProperty(BibernateSettings.JDBC_BATCH_IDENTITY_INSERTS, "true");
+
+    BibernateSettings settings = BibernateSettings.from(config);
+
+    assertTrue(settings.isJdbcBatchIdentityInserts());
+  }
+
+  @Test
+  void from_sequencePrefetchThresholdSpecified() {
+    CommonConfig config = CommonConfig.of("config/test-config.properties");
+    config.setProperty(BibernateSettings.SEQUENCE_PREFETCH_THRESHOLD_PERCENT, "75");
+
+    BibernateSettings settings = BibernateSettings.from(config);
+
+    assertEquals(75, settings.getSequencePrefetchThresholdPercent());
+  }
+
+  @Test
+  void from_queryResultCacheMaxSizeSpecified() {
+    CommonConfig config = CommonConfig.of("config/test-config.properties");
+    config.setProperty(BibernateSettings.QUERY_RESULT_CACHE_MAX_SIZE, "0");
+
+    BibernateSettings settings = BibernateSettings.from(config);
+
+    assertEquals(0, settings.getQueryResultCacheMaxSize());
+  }
+
+  @Test
+  void from_dirtyTrackingEnabled() {
+    CommonConfig config = CommonConfig.of("config/test-config.properties");
+    config.setProperty(BibernateSettings.DIRTY_TRACKING_ENABLED, "true");
+
+    BibernateSettings settings = BibernateSettings.from(config);
+
+    assertTrue(settings.isDirtyTrackingEnabled());
+  }
+
+  @Test
+  void from_invalidDirtyTrackingFlag_throwConfigurationException() {
+    CommonConfig config = CommonConfig.of("config/test-config.properties");
+    config.setProperty(BibernateSettings.DIRTY_TRACKING_ENABLED, "yes");
+
+    ConfigurationException result = assertThrows(ConfigurationException.class, () -> BibernateSettings.from(config));
+
+    assertEquals("Invalid boolean value 'yes' of property bibernate.dirty_tracking.enabled", result.getMessage());
+  }
+
+  @Test
+  void from_batchSizeSpecified() {
+    CommonConfig config = CommonConfig.of("config/test-config.properties");
+    config.setProperty(BibernateSettings.JDBC_BATCH_SIZE, "50");
+
+    BibernateSettings settings = BibernateSettings.from(config);
+
+    assertEquals(50, settings.getJdbcBatchSize());
+  }
+
+  @Test
+  void from_fetchSizeSpecified() {
+    CommonConfig config = CommonConfig.of("config/test-config.properties");
+    config.setProperty(BibernateSettings.JDBC_FETCH_SIZE, "500");
+
+    BibernateSettings settings = BibernateSettings.from(config);
+
+    assertEquals(500, settings.getJdbcFetchSize());
+  }
+
+  @Test
+  void from_invalidBatchSize_throwConfigurationException() {
+    CommonConfig config = CommonConfig.of("config/test-config.properties");
+    config.setProperty(BibernateSettings.JDBC_BATCH_SIZE, "many");
+
+    ConfigurationException result = assertThrows(ConfigurationException.class, () -> BibernateSettings.from(config));
+
+    assertEquals("Invalid integer value 'many' of property bibernate.jdbc.batch_size", result.getMessage());
+  }
+
+}
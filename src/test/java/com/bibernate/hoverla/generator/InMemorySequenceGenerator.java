@@ -0,0 +1,42 @@
+package com.bibernate.hoverla.generator;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.bibernate.hoverla.annotations.SequenceOptimizer;
+
+/**
+ * A sequence generator reading values from an in-memory sequence with the given start and increment instead of the database.
+ */
+class InMemorySequenceGenerator extends SequenceGeneratorImpl {
+
+  private final AtomicLong sequence;
+  private final long increment;
+  private final List<Connection> sequenceConnections = new CopyOnWriteArrayList<>();
+
+  InMemorySequenceGenerator(SequenceOptimizer optimizer, int allocationSize, long start, long increment) {
+    super("test_seq", allocationSize, optimizer);
+    this.sequence = new AtomicLong(start - increment);
+    this.increment = increment;
+  }
+
+  @Override
+  protected long generateNextFromSequence(Connection connection) {
+    sequenceConnections.add(connection);
+    return sequence.addAndGet(increment);
+  }
+
+  int getSequenceCalls() {
+    return sequenceConnections.size();
+  }
+
+  /**
+   * Returns the connections used by the calls of the sequence, in call order.
+   */
+  List<Connection> getSequenceConnections() {
+    return sequenceConnections;
+  }
+
+}
@@ -0,0 +1,116 @@
+package com.bibernate.hoverla.generator;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.bibernate.hoverla.annotations.SequenceOptimizer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@Slf4j
+class SequenceOptimizerTest {
+
+  private static final int ALLOCATION_SIZE = 50;
+  private static final int THREAD_COUNT = 64;
+  private static final int VALUES_PER_THREAD = 10_000;
+
+  private final Connection connection = mock(Connection.class);
+
+  @Test
+  void generateNext_pooledLo_sequenceValueIsLowestOfRange() {
+    InMemorySequenceGenerator generator = new InMemorySequenceGenerator(SequenceOptimizer.POOLED_LO, 5, 1, 5);
+
+    assertEquals(LongStream.rangeClosed(1, 12).boxed().toList(), generate(generator, 12));
+    assertEquals(3, generator.getSequenceCalls());
+  }
+
+  @Test
+  void generateNext_pooled_sequenceValueIsHighestOfRange() {
+    InMemorySequenceGenerator generator = new InMemorySequenceGenerator(SequenceOptimizer.POOLED, 5, 5, 5);
+
+    assertEquals(LongStream.rangeClosed(1, 12).boxed().toList(), generate(generator, 12));
+    assertEquals(3, generator.getSequenceCalls());
+  }
+
+  @Test
+  void generateNext_pooledWithSequenceStartingBelowAllocationSize_firstRangeStartsAtSequenceValue() {
+    InMemorySequenceGenerator generator = new InMemorySequenceGenerator(SequenceOptimizer.POOLED, 5, 1, 5);
+
+    assertEquals(LongStream.rangeClosed(1, 12).boxed().toList(), generate(generator, 12));
+    // the first range [1, 6] is read with two calls
+    assertEquals(4, generator.getSequenceCalls());
+  }
+
+  @Test
+  void generateNext_hilo_sequenceValueIsRangeNumber() {
+    InMemorySequenceGenerator generator = new InMemorySequenceGenerator(SequenceOptimizer.HILO, 5, 1, 1);
+
+    assertEquals(LongStream.rangeClosed(1, 12).boxed().toList(), generate(generator, 12));
+    assertEquals(3, generator.getSequenceCalls());
+  }
+
+  @ParameterizedTest
+  @EnumSource(SequenceOptimizer.class)
+  void generateNext_concurrentThreads_valuesAreUniqueWithoutRedundantCalls(SequenceOptimizer optimizer) throws InterruptedException {
+    long increment = optimizer == SequenceOptimizer.HILO ? 1 : ALLOCATION_SIZE;
+    long start = optimizer == SequenceOptimizer.POOLED ? ALLOCATION_SIZE : 1;
+    InMemorySequenceGenerator generator = new InMemorySequenceGenerator(optimizer, ALLOCATION_SIZE, start, increment);
+    Set<Long> generated = ConcurrentHashMap.newKeySet();
+    CountDownLatch startLatch = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      executor.execute(() -> {
+        awaitOnLatch(startLatch);
+        for (int j = 0; j < VALUES_PER_THREAD; j++) {
+          generated.add((Long) generator.generateNext(connection));
+        }
+      });
+    }
+    long startTime = System.nanoTime();
+    startLatch.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+    long elapsedNanos = System.nanoTime() - startTime;
+
+    int total = THREAD_COUNT * VALUES_PER_THREAD;
+    log.info("{} generated {} values in {} ms on {} threads, {} values/ms", optimizer, total, elapsedNanos / 1_000_000,
+             THREAD_COUNT, total * 1_000_000L / Math.max(elapsedNanos, 1));
+
+    // verify number of unique generated values
+    assertEquals(total, generated.size());
+    // verify that we don't have redundant sequence calls that lead to skipping values
+    assertEquals(total / ALLOCATION_SIZE, generator.getSequenceCalls());
+    assertEquals(total, generated.stream().mapToLong(Long::longValue).max().orElseThrow());
+  }
+
+  private List<Long> generate(InMemorySequenceGenerator generator, int count) {
+    return LongStream.range(0, count)
+      .mapToObj(i -> (Long) generator.generateNext(connection))
+      .toList();
+  }
+
+  private void awaitOnLatch(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+package com.bibernate.hoverla.generator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.bibernate.hoverla.annotations.SequenceOptimizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SequencePrefetchTest {
+
+  private final Connection sessionConnection = mock(Connection.class);
+  private final Connection prefetchConnection = mock(Connection.class);
+  private final DataSource dataSource = mock(DataSource.class);
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void generateNext_thresholdReached_nextRangeReadOnDedicatedConnection() throws Exception {
+    when(dataSource.getConnection()).thenReturn(prefetchConnection);
+    InMemorySequenceGenerator generator = new InMemorySequenceGenerator(SequenceOptimizer.POOLED_LO, 4, 1, 4);
+    generator.enablePrefetch(dataSource, 75, executor);
+
+    assertEquals(1L, generator.generateNext(sessionConnection));
+    assertEquals(2L, generator.generateNext(sessionConnection));
+    assertEquals(1, generator.getSequenceCalls());
+
+    assertEquals(3L, generator.generateNext(sessionConnection));
+    awaitSequenceCalls(generator, 2);
+    assertEquals(4L, generator.generateNext(sessionConnection));
+    assertEquals(5L, generator.generateNext(sessionConnection));
+
+    assertEquals(List.of(sessionConnection, prefetchConnection), generator.getSequenceConnections());
+    verify(prefetchConnection, timeout(1_000)).close();
+  }
+
+  @Test
+  void generateNext_rangeExhaustedBeforePrefetchCompleted_prefetchedRangeUsed() throws Exception {
+    when(dataSource.getConnection()).thenReturn(prefetchConnection);
+    InMemorySequenceGenerator generator = new InMemorySequenceGenerator(SequenceOptimizer.HILO, 2, 1, 1);
+    generator.enablePrefetch(dataSource, 100, executor);
+
+    assertEquals(1L, generator.generateNext(sessionConnection));
+    assertEquals(2L, generator.generateNext(sessionConnection));
+    assertEquals(3L, generator.generateNext(sessionConnection));
+
+    assertEquals(2, generator.getSequenceCalls());
+    assertSame(prefetchConnection, generator.getSequenceConnections().get(1));
+  }
+
+  @Test
+  void generateNext_prefetchFailed_nextRangeReadOnDemand() throws Exception {
+    when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+    InMemorySequenceGenerator generator = new InMemorySequenceGenerator(SequenceOptimizer.POOLED_LO, 2, 1, 2);
+    generator.enablePrefetch(dataSource, 50, executor);
+
+    assertEquals(1L, generator.generateNext(sessionConnection));
+    assertEquals(2L, generator.generateNext(sessionConnection));
+    assertEquals(3L, generator.generateNext(sessionConnection));
+
+    assertEquals(List.of(sessionConnection, sessionConnection), generator.getSequenceConnections());
+  }
+
+  @Test
+  void generateNext_executorShutDown_nextRangesReadOnDemand() throws Exception {
+    executor.shutdown();
+    InMemorySequenceGenerator generator = new InMemorySequenceGenerator(SequenceOptimizer.POOLED_LO, 2, 1, 2);
+    generator.enablePrefetch(dataSource, 50, executor);
+
+    assertEquals(1L, generator.generateNext(sessionConnection));
+    assertEquals(2L, generator.generateNext(sessionConnection));
+    assertEquals(3L, generator.generateNext(sessionConnection));
+    assertEquals(4L, generator.generateNext(sessionConnection));
+    assertEquals(5L, generator.generateNext(sessionConnection));
+
+    assertEquals(List.of(sessionConnection, sessionConnection, sessionConnection), generator.getSequenceConnections());
+    verify(dataSource, never()).getConnection();
+  }
+
+  private void awaitSequenceCalls(InMemorySequenceGenerator generator, int calls) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (generator.getSequenceCalls() < calls && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(generator.getSequenceCalls() >= calls, "Range was not prefetched");
+  }
+
+}
@@ -0,0 +1,118 @@
+package com.bibernate.hoverla.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PreparedStatementCacheTest {
+
+  private Connection connection;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    connection = mockConnection();
+  }
+
+  @Test
+  void prepare_sameSql_statementReused() throws SQLException {
+    PreparedStatementCache cache = new PreparedStatementCache(2);
+
+    PreparedStatement first = lease(cache, "SELECT 1", false);
+    PreparedStatement second = lease(cache, "SELECT 1", false);
+
+    assertSame(first, second);
+    verify(first, never()).close();
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  void prepare_generatedKeysFlagIsPartOfKey() throws SQLException {
+    PreparedStatementCache cache = new PreparedStatementCache(2);
+
+    PreparedStatement plain = lease(cache, "INSERT INTO notes VALUES (?)", false);
+    PreparedStatement returningKeys = lease(cache, "INSERT INTO notes VALUES (?)", true);
+
+    assertNotSame(plain, returningKeys);
+    verify(connection).prepareStatement("INSERT INTO notes VALUES (?)", PreparedStatement.RETURN_GENERATED_KEYS);
+  }
+
+  @Test
+  void prepare_cacheFull_leastRecentlyUsedStatementClosed() throws SQLException {
+    PreparedStatementCache cache = new PreparedStatementCache(2);
+    PreparedStatement first = lease(cache, "SELECT 1", false);
+    PreparedStatement second = lease(cache, "SELECT 2", false);
+    lease(cache, "SELECT 1", false);
+
+    lease(cache, "SELECT 3", false);
+
+    verify(second).close();
+    verify(first, never()).close();
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  @Test
+  void prepare_otherConnection_cachedStatementsClosed() throws SQLException {
+    PreparedStatementCache cache = new PreparedStatementCache(2);
+    PreparedStatement statement = lease(cache, "SELECT 1", false);
+
+    PreparedStatement otherStatement;
+    try (var statementLease = cache.prepare(mockConnection(), "SELECT 1", false)) {
+      otherStatement = statementLease.statement();
+    }
+
+    assertNotSame(statement, otherStatement);
+    verify(statement).close();
+  }
+
+  @Test
+  void prepare_cacheDisabled_statementClosedAfterLease() throws SQLException {
+    PreparedStatementCache cache = new PreparedStatementCache(0);
+
+    PreparedStatement statement = lease(cache, "SELECT 1", false);
+
+    verify(statement).close();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void close_allStatementsClosed() throws SQLException {
+    PreparedStatementCache cache = new PreparedStatementCache(2);
+    PreparedStatement first = lease(cache, "SELECT 1", false);
+    PreparedStatement second = lease(cache, "SELECT 2", false);
+
+    cache.close();
+
+    verify(first).close();
+    verify(second).close();
+    assertEquals(0, cache.size());
+  }
+
+  private PreparedStatement lease(PreparedStatementCache cache, String sql, boolean returnGeneratedKeys) throws SQLException {
+    try (var statementLease = cache.prepare(connection, sql, returnGeneratedKeys)) {
+      return statementLease.statement();
+    }
+  }
+
+  private static Connection mockConnection() throws SQLException {
+    Connection connection = mock(Connection.class);
+    when(connection.prepareStatement(anyString())).thenAnswer(invocation -> mock(PreparedStatement.class));
+    when(connection.prepareStatement(anyString(), anyInt())).thenAnswer(invocation -> mock(PreparedStatement.class));
+    return connection;
+  }
+
+}
@@ -0,0 +1,114 @@
+package com.bibernate.hoverla.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bibernate.hoverla.exceptions.BibernateSqlException;
+import com.bibernate.hoverla.session.SessionImplementor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResultSetSpliteratorTest {
+
+  private static final String SQL = "SELECT id, name FROM notes WHERE id > ?;";
+  private static final JdbcResultExtractor<?>[] EXTRACTORS = { ResultSet::getObject, ResultSet::getObject };
+
+  private Connection connection;
+  private PreparedStatement preparedStatement;
+  private ResultSet resultSet;
+  private JdbcExecutorImpl jdbcExecutor;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    connection = mock(Connection.class);
+    preparedStatement = mock(PreparedStatement.class);
+    resultSet = mock(ResultSet.class);
+
+    SessionImplementor sessionImplementor = mock(SessionImplementor.class);
+    doReturn(connection).when(sessionImplementor).getConnection();
+    when(connection.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(preparedStatement);
+    when(preparedStatement.executeQuery()).thenReturn(resultSet);
+
+    jdbcExecutor = new JdbcExecutorImpl(sessionImplementor);
+  }
+
+  @Test
+  void streamSelectQuery_rowsReadLazilyWithFetchSize() throws SQLException {
+    when(connection.getAutoCommit()).thenReturn(false);
+    when(resultSet.next()).thenReturn(true, true, false);
+    when(resultSet.getObject(1)).thenReturn(1L, 2L);
+    when(resultSet.getObject(2)).thenReturn("first", "second");
+
+    try (Stream<Object[]> rows = jdbcExecutor.streamSelectQuery(SQL, bindings(), EXTRACTORS, 50)) {
+      verify(resultSet, never()).next();
+
+      List<String> result = rows.map(Arrays::toString).toList();
+
+      assertEquals(List.of("[1, first]", "[2, second]"), result);
+    }
+
+    verify(preparedStatement).setFetchSize(50);
+    verify(preparedStatement).setObject(1, 0L);
+    verify(resultSet).close();
+    verify(preparedStatement).close();
+    verify(connection, never()).setAutoCommit(anyBoolean());
+  }
+
+  @Test
+  void streamSelectQuery_autoCommitSwitchedOffWhileStreaming() throws SQLException {
+    when(connection.getAutoCommit()).thenReturn(true);
+    when(resultSet.next()).thenReturn(false);
+
+    try (Stream<Object[]> rows = jdbcExecutor.streamSelectQuery(SQL, bindings(), EXTRACTORS, 50)) {
+      verify(connection).setAutoCommit(false);
+      assertEquals(0, rows.count());
+    }
+
+    verify(connection).setAutoCommit(true);
+  }
+
+  @Test
+  void streamSelectQuery_executionFails_resourcesReleased() throws SQLException {
+    when(connection.getAutoCommit()).thenReturn(true);
+    when(preparedStatement.executeQuery()).thenThrow(new SQLException("relation \"notes\" does not exist"));
+
+    BibernateSqlException result = assertThrows(BibernateSqlException.class,
+                                                () -> jdbcExecutor.streamSelectQuery(SQL, bindings(), EXTRACTORS, 50));
+
+    assertEquals("relation \"notes\" does not exist", result.getMessage());
+    verify(preparedStatement).close();
+    verify(connection).setAutoCommit(true);
+  }
+
+  @Test
+  void tryAdvance_readFails_throwBibernateSqlException() throws SQLException {
+    when(connection.getAutoCommit()).thenReturn(false);
+    when(resultSet.next()).thenThrow(new SQLException("connection reset"));
+
+    try (Stream<Object[]> rows = jdbcExecutor.streamSelectQuery(SQL, bindings(), EXTRACTORS, 50)) {
+      assertThrows(BibernateSqlException.class, rows::toList);
+    }
+
+    verify(resultSet).close();
+  }
+
+  private static JdbcParameterBinding<?>[] bindings() {
+    return new JdbcParameterBinding<?>[] { new JdbcParameterBinding<>(0L, PreparedStatement::setObject) };
+  }
+
+}
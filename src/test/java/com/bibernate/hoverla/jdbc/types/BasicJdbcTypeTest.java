@@ -0,0 +1,64 @@
+package com.bibernate.hoverla.jdbc.types;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class BasicJdbcTypeTest {
+
+  @Test
+  void extractData_primitiveColumn_readWithTypedGetterAndNullChecked() throws SQLException {
+    ResultSet resultSet = mock(ResultSet.class);
+    doReturn(42L).when(resultSet).getLong(1);
+    LongJdbcType jdbcType = new LongJdbcType();
+
+    doReturn(false).when(resultSet).wasNull();
+    assertEquals(42L, jdbcType.extractData(resultSet, 1));
+
+    doReturn(true).when(resultSet).wasNull();
+    assertNull(jdbcType.extractData(resultSet, 2));
+  }
+
+  @Test
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  void bindParameter_valueOfJavaType_boundWithTypedSetterOtherwiseAsObject() throws SQLException {
+    PreparedStatement preparedStatement = mock(PreparedStatement.class);
+    BibernateJdbcType jdbcType = new LongJdbcType();
+
+    jdbcType.bindParameter(preparedStatement, 1, 42L);
+    jdbcType.bindParameter(preparedStatement, 2, 7);
+    jdbcType.bindParameter(preparedStatement, 3, null);
+
+    verify(preparedStatement).setLong(1, 42L);
+    verify(preparedStatement).setObject(2, 7);
+    verify(preparedStatement).setNull(3, Types.BIGINT);
+  }
+
+  @Test
+  void enumType_constantStoredByName() throws SQLException {
+    PreparedStatement preparedStatement = mock(PreparedStatement.class);
+    ResultSet resultSet = mock(ResultSet.class);
+    doReturn("GREEN").when(resultSet).getString(1);
+    EnumJdbcType<Color> jdbcType = new EnumJdbcType<>(Color.class);
+
+    jdbcType.bindParameter(preparedStatement, 1, Color.RED);
+
+    verify(preparedStatement).setString(1, "RED");
+    assertEquals(Color.GREEN, jdbcType.extractData(resultSet, 1));
+    assertNull(jdbcType.extractData(resultSet, 2));
+  }
+
+  enum Color {
+    RED, GREEN
+  }
+
+}
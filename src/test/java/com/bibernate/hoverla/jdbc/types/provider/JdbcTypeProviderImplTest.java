@@ -3,13 +3,21 @@ package com.bibernate.hoverla.jdbc.types.provider;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 
 import com.bibernate.hoverla.exceptions.BibernateException;
 import com.bibernate.hoverla.jdbc.types.BibernateJdbcType;
+import com.bibernate.hoverla.jdbc.types.DefaultBibernateJdbcTypeImpl;
+import com.bibernate.hoverla.jdbc.types.EnumJdbcType;
+import com.bibernate.hoverla.jdbc.types.IntegerJdbcType;
+import com.bibernate.hoverla.jdbc.types.LongJdbcType;
 import com.bibernate.hoverla.jdbc.types.PostgreSqlJdbcEnumType;
+import com.bibernate.hoverla.jdbc.types.StringJdbcType;
+import com.bibernate.hoverla.jdbc.types.UuidJdbcType;
 
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -27,6 +35,19 @@ class JdbcTypeProviderImplTest {
     assertNotNull(jdbcType);
   }
 
+  @Test
+  void getInstance_noJdbcTypeClass_typeResolvedFromFieldType() {
+    JdbcTypeProvider provider = new JdbcTypeProviderImpl();
+
+    assertInstanceOf(LongJdbcType.class, provider.getInstance(null, long.class));
+    assertInstanceOf(LongJdbcType.class, provider.getInstance(null, Long.class));
+    assertInstanceOf(IntegerJdbcType.class, provider.getInstance(null, int.class));
+    assertInstanceOf(StringJdbcType.class, provider.getInstance(null, String.class));
+    assertInstanceOf(UuidJdbcType.class, provider.getInstance(null, UUID.class));
+    assertInstanceOf(EnumJdbcType.class, provider.getInstance(null, TestEnum.class));
+    assertInstanceOf(DefaultBibernateJdbcTypeImpl.class, provider.getInstance(null, JdbcTypeProviderImplTest.class));
+  }
+
   @Test
   <T extends Enum<T>> void testGetInstanceReturnsJdbcTypeForPostgreSqlJdbcEnumTypeAndTestEnum() {
     JdbcTypeProvider provider = new JdbcTypeProviderImpl();
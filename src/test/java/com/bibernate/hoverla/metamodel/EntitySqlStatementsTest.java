@@ -0,0 +1,125 @@
+package com.bibernate.hoverla.metamodel;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bibernate.hoverla.exceptions.BibernateException;
+import com.bibernate.hoverla.jdbc.types.DefaultBibernateJdbcTypeImpl;
+import com.bibernate.hoverla.session.LockMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EntitySqlStatementsTest {
+
+  private EntityMapping entityMapping;
+  private FieldMapping<?> nameMapping;
+  private FieldMapping<?> authorMapping;
+  private FieldMapping<?> versionMapping;
+
+  @BeforeEach
+  void setUp() {
+    entityMapping = new EntityMapping(Object.class, "notes");
+    nameMapping = column("name", "name").isInsertable(true).isUpdatable(true).build();
+    authorMapping = column("author", "author_id").isInsertable(true).isUpdatable(true).isManyToOne(true).build();
+    versionMapping = column("version", "version").isInsertable(true).isUpdatable(true).isOptimisticLock(true).build();
+
+    entityMapping.addFieldMapping("id", column("id", "id").isPrimaryKey(true).isInsertable(true).build());
+    entityMapping.addFieldMapping("name", nameMapping);
+    entityMapping.addFieldMapping("author", authorMapping);
+    entityMapping.addFieldMapping("comments", FieldMapping.builder().fieldName("comments").isOneToMany(true).build());
+  }
+
+  @Test
+  void compileSqlStatements() {
+    EntitySqlStatements statements = entityMapping.compileSqlStatements();
+
+    assertEquals("id, name, author_id", statements.getColumnNames());
+    assertEquals(3, statements.getResultExtractors().length);
+    assertEquals("INSERT INTO notes (id, name, author_id) VALUES (?, ?, ?);", statements.getInsertStatement());
+    assertEquals("DELETE FROM notes WHERE id = ?;", statements.getDeleteByIdStatement());
+    assertEquals("SELECT id, name, author_id FROM notes WHERE id = ?;", statements.getSelectByIdStatement(LockMode.NONE));
+    assertEquals("SELECT id, name, author_id FROM notes WHERE id = ? FOR SHARE;", statements.getSelectByIdStatement(LockMode.FOR_SHARE));
+    assertEquals("SELECT id, name, author_id FROM notes WHERE id = ? FOR UPDATE;", statements.getSelectByIdStatement(LockMode.FOR_UPDATE));
+    assertEquals("SELECT id, name, author_id FROM notes WHERE author_id = ?;", statements.getSelectByColumnStatement("author"));
+    assertEquals("UPDATE notes SET name=?,author_id=? WHERE id = ?;", statements.getUpdateStatement(List.of(nameMapping, authorMapping)));
+    assertEquals(1, statements.getOneToManyFieldMappings().size());
+  }
+
+  @Test
+  void getUpdateStatement_withOptimisticLock() {
+    entityMapping.addFieldMapping("version", versionMapping);
+
+    EntitySqlStatements statements = entityMapping.compileSqlStatements();
+
+    assertEquals("UPDATE notes SET name=?, version = ? WHERE id = ? AND version = ?;",
+                 statements.getUpdateStatement(List.of(nameMapping)));
+  }
+
+  @Test
+  void getUpdateStatement_sameColumns_returnsCachedStatement() {
+    EntitySqlStatements statements = entityMapping.compileSqlStatements();
+
+    String first = statements.getUpdateStatement(List.of(nameMapping));
+    String second = statements.getUpdateStatement(List.of(nameMapping));
+    String other = statements.getUpdateStatement(List.of(authorMapping));
+
+    assertSame(first, second);
+    assertNotSame(first, other);
+  }
+
+  @Test
+  void getSqlStatements_compiledOnce() {
+    EntitySqlStatements compiled = entityMapping.compileSqlStatements();
+
+    assertSame(compiled, entityMapping.getSqlStatements());
+    assertSame(compiled.getSelectByIdStatement(LockMode.NONE), entityMapping.getSqlStatements().getSelectByIdStatement(LockMode.NONE));
+  }
+
+  @Test
+  void addFieldMapping_recompilesStatements() {
+    EntitySqlStatements compiled = entityMapping.compileSqlStatements();
+
+    entityMapping.addFieldMapping("version", versionMapping);
+
+    assertNotSame(compiled, entityMapping.getSqlStatements());
+    assertEquals("id, name, author_id, version", entityMapping.getColumnNames());
+  }
+
+  @Test
+  void getSelectByIdsStatement_cachedPerIdCount() {
+    EntitySqlStatements statements = entityMapping.compileSqlStatements();
+
+    assertEquals("SELECT id, name, author_id FROM notes WHERE id IN (?, ?, ?);", statements.getSelectByIdsStatement(3));
+    assertSame(statements.getSelectByIdsStatement(3), statements.getSelectByIdsStatement(3));
+  }
+
+  @Test
+  void getSelectByColumnInStatement() {
+    EntitySqlStatements statements = entityMapping.compileSqlStatements();
+
+    assertEquals("SELECT id, name, author_id FROM notes WHERE author_id IN (?, ?);", statements.getSelectByColumnInStatement("author", 2));
+    assertThrows(BibernateException.class, () -> statements.getSelectByColumnInStatement("name", 2));
+  }
+
+  @Test
+  void getSelectByColumnStatement_notJoinColumn_throwBibernateException() {
+    EntitySqlStatements statements = entityMapping.compileSqlStatements();
+
+    BibernateException result = assertThrows(BibernateException.class, () -> statements.getSelectByColumnStatement("name"));
+
+    assertEquals("No join column mapped by field name", result.getMessage());
+  }
+
+  private static FieldMapping.FieldMappingBuilder<Object> column(String fieldName, String columnName) {
+    return FieldMapping.builder()
+      .fieldName(fieldName)
+      .columnName(columnName)
+      .jdbcType(new DefaultBibernateJdbcTypeImpl());
+  }
+
+}
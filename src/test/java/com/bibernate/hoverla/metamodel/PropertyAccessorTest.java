@@ -0,0 +1,65 @@
+package com.bibernate.hoverla.metamodel;
+
+import org.junit.jupiter.api.Test;
+
+import com.bibernate.hoverla.exceptions.IllegalFieldAccessException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PropertyAccessorTest {
+
+  @Test
+  void getAndSet_privateReferenceField() throws NoSuchFieldException {
+    PropertyAccessor accessor = PropertyAccessor.of(Person.class.getDeclaredField("name"));
+    Person person = new Person();
+
+    accessor.set(person, "John");
+
+    assertEquals("John", person.name);
+    assertEquals("John", accessor.get(person));
+
+    accessor.set(person, null);
+
+    assertNull(accessor.get(person));
+  }
+
+  @Test
+  void getAndSet_primitiveField_boxedValues() throws NoSuchFieldException {
+    PropertyAccessor accessor = PropertyAccessor.of(Person.class.getDeclaredField("age"));
+    Person person = new Person();
+
+    accessor.set(person, 42);
+
+    assertEquals(42, person.age);
+    assertEquals(42, accessor.get(person));
+  }
+
+  @Test
+  void get_subclassInstance() throws NoSuchFieldException {
+    PropertyAccessor accessor = PropertyAccessor.of(Person.class.getDeclaredField("name"));
+    Person person = new Person() {};
+    person.name = "Jane";
+
+    assertEquals("Jane", accessor.get(person));
+  }
+
+  @Test
+  void set_incompatibleValue_throwIllegalFieldAccessException() throws NoSuchFieldException {
+    PropertyAccessor accessor = PropertyAccessor.of(Person.class.getDeclaredField("age"));
+    Person person = new Person();
+
+    IllegalFieldAccessException result = assertThrows(IllegalFieldAccessException.class, () -> accessor.set(person, "42"));
+
+    assertEquals("Error setting value to field age of entity " + Person.class.getName(), result.getMessage());
+  }
+
+  static class Person {
+
+    private String name;
+    private int age;
+
+  }
+
+}
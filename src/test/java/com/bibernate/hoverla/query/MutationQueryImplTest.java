@@ -0,0 +1,238 @@
+package com.bibernate.hoverla.query;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import com.bibernate.hoverla.annotations.Column;
+import com.bibernate.hoverla.annotations.Entity;
+import com.bibernate.hoverla.annotations.Id;
+import com.bibernate.hoverla.annotations.OptimisticLock;
+import com.bibernate.hoverla.collection.PersistenceLazyList;
+import com.bibernate.hoverla.configuration.BibernateSettings;
+import com.bibernate.hoverla.exceptions.BibernateBqlException;
+import com.bibernate.hoverla.exceptions.BibernateBqlMissingParameterException;
+import com.bibernate.hoverla.jdbc.JdbcExecutor;
+import com.bibernate.hoverla.jdbc.types.provider.JdbcTypeProviderImpl;
+import com.bibernate.hoverla.metamodel.Metamodel;
+import com.bibernate.hoverla.metamodel.scan.MetamodelScanner;
+import com.bibernate.hoverla.session.EntityDaoService;
+import com.bibernate.hoverla.session.SessionFactoryImplementor;
+import com.bibernate.hoverla.session.SessionImplementor;
+import com.bibernate.hoverla.session.cache.CollectionKey;
+import com.bibernate.hoverla.session.cache.EntityKey;
+import com.bibernate.hoverla.session.cache.PersistenceContext;
+import com.bibernate.hoverla.session.cache.SecondLevelCache;
+import com.bibernate.hoverla.session.dirtycheck.DirtyCheckService;
+
+import lombok.NoArgsConstructor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class MutationQueryImplTest {
+
+  private SessionImplementor session;
+  private QueryPlanCache queryPlanCache;
+  private SecondLevelCache secondLevelCache;
+
+  @BeforeEach
+  void setUp() {
+    Metamodel metamodel = new MetamodelScanner(new JdbcTypeProviderImpl()).scanEntities(StoreItem.class, Review.class);
+    SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+    doReturn(metamodel).when(sessionFactory).getMetamodel();
+    doReturn(BibernateSettings.defaults()).when(sessionFactory).getSettings();
+    queryPlanCache = new QueryPlanCache(16);
+    doReturn(queryPlanCache).when(sessionFactory).getQueryPlanCache();
+    secondLevelCache = new SecondLevelCache(16, Duration.ZERO);
+    doReturn(secondLevelCache).when(sessionFactory).getSecondLevelCache();
+    doReturn(new QueryResultCache(16)).when(sessionFactory).getQueryResultCache();
+
+    session = mock(SessionImplementor.class);
+    doReturn(sessionFactory).when(session).getSessionFactory();
+    doReturn(metamodel.getEntityMappingMap().get(StoreItem.class)).when(session).getEntityMapping(StoreItem.class);
+    doReturn(metamodel.getEntityMappingMap().get(Review.class)).when(session).getEntityMapping(Review.class);
+  }
+
+  @Test
+  void generateSqlJdbcStatement_update_optimisticLockIncremented() {
+    SqlJdbcStatement result = MutationQueryImpl.update(session, "SET price = :price, genre = :newGenre WHERE genre = :genre", StoreItem.class)
+      .setParameter("price", 10)
+      .setParameter("newGenre", "Sci-Fi")
+      .setParameter("genre", "Fantasy")
+      .generateSqlJdbcStatement();
+
+    assertEquals("UPDATE store_item SET price = ?, genre = ?, version = version + 1 WHERE genre = ?;", result.getSqlTemplate());
+    assertEquals(List.of("10", "Sci-Fi", "Fantasy"), boundValues(result));
+  }
+
+  @Test
+  void generateSqlJdbcStatement_updateWithoutCondition() {
+    SqlJdbcStatement result = MutationQueryImpl.update(session, "SET text = :text", Review.class)
+      .setParameter("text", "hidden")
+      .generateSqlJdbcStatement();
+
+    assertEquals("UPDATE review SET text = ?;", result.getSqlTemplate());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_deleteWithInPredicate() {
+    SqlJdbcStatement result = MutationQueryImpl.delete(session, "WHERE genre IN :genres OR price < :price", StoreItem.class)
+      .setParameter("genres", List.of("Fantasy", "Horror", "Drama"))
+      .setParameter("price", 1)
+      .generateSqlJdbcStatement();
+
+    assertEquals("DELETE FROM store_item WHERE genre IN (?, ?, ?, ?) OR price < ?;", result.getSqlTemplate());
+    assertEquals(List.of("Fantasy", "Horror", "Drama", "Drama", "1"), boundValues(result));
+  }
+
+  @Test
+  void generateSqlJdbcStatement_deleteWithNullInParameterThenScalar_scalarRejected() {
+    SqlJdbcStatement nullGenres = MutationQueryImpl.delete(session, "WHERE genre IN :genres", StoreItem.class)
+      .setParameter("genres", null)
+      .generateSqlJdbcStatement();
+    MutationQueryImpl<StoreItem> scalarGenre = MutationQueryImpl.delete(session, "WHERE genre IN :genres", StoreItem.class)
+      .setParameter("genres", "Fantasy");
+
+    assertEquals("DELETE FROM store_item WHERE TRUE;", nullGenres.getSqlTemplate());
+    assertThrows(BibernateBqlException.class, scalarGenre::generateSqlJdbcStatement);
+  }
+
+  @Test
+  void generateSqlJdbcStatement_deleteAndQueryWithSameText_separatePlans() {
+    new QueryImpl<>(session, "WHERE genre = :genre", StoreItem.class).setParameter("genre", "Fantasy").generateSqlJdbcStatement();
+    SqlJdbcStatement result = MutationQueryImpl.delete(session, "WHERE genre = :genre", StoreItem.class)
+      .setParameter("genre", "Fantasy")
+      .generateSqlJdbcStatement();
+
+    assertEquals("DELETE FROM store_item WHERE genre = ?;", result.getSqlTemplate());
+    assertEquals(2, queryPlanCache.size());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_setPrimaryKey_throwBibernateBqlException() {
+    var update = MutationQueryImpl.update(session, "SET id = :id", StoreItem.class).setParameter("id", 1L);
+
+    BibernateBqlException result = assertThrows(BibernateBqlException.class, update::generateSqlJdbcStatement);
+
+    assertEquals("Field id cannot be set by a bulk update", result.getMessage());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_setOptimisticLock_throwBibernateBqlException() {
+    var update = MutationQueryImpl.update(session, "SET version = :version", StoreItem.class).setParameter("version", 1);
+
+    BibernateBqlException result = assertThrows(BibernateBqlException.class, update::generateSqlJdbcStatement);
+
+    assertEquals("Field version cannot be set by a bulk update", result.getMessage());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_fieldSetTwice_throwBibernateBqlException() {
+    var update = MutationQueryImpl.update(session, "SET price = :price, price = :price", StoreItem.class).setParameter("price", 1);
+
+    BibernateBqlException result = assertThrows(BibernateBqlException.class, update::generateSqlJdbcStatement);
+
+    assertEquals("Field price is set more than once", result.getMessage());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_updateWithoutAssignment_throwBibernateBqlException() {
+    var update = MutationQueryImpl.update(session, "WHERE price = :price", StoreItem.class).setParameter("price", 1);
+
+    assertThrows(BibernateBqlException.class, update::generateSqlJdbcStatement);
+  }
+
+  @Test
+  void generateSqlJdbcStatement_missingParameter_throwBibernateBqlMissingParameterException() {
+    var delete = MutationQueryImpl.delete(session, "WHERE price = :price", StoreItem.class);
+
+    assertThrows(BibernateBqlMissingParameterException.class, delete::generateSqlJdbcStatement);
+  }
+
+  @Test
+  void executeUpdate_sessionFlushedAndManagedEntitiesOfTypeDetached() {
+    JdbcExecutor jdbcExecutor = mock(JdbcExecutor.class);
+    EntityDaoService entityDaoService = spy(new EntityDaoService(session));
+    PersistenceContext persistenceContext = new PersistenceContext(mock(DirtyCheckService.class));
+    doReturn(jdbcExecutor).when(session).getJdbcExecutor();
+    doReturn(entityDaoService).when(session).getEntityDaoService();
+    doReturn(persistenceContext).when(session).getPersistenceContext();
+    doReturn(2).when(jdbcExecutor).executeUpdate(anyString(), any());
+
+    persistenceContext.manageEntity(new EntityKey<>(StoreItem.class, 1L), StoreItem::new, entityEntry -> {});
+    persistenceContext.manageEntity(new EntityKey<>(Review.class, 1L), Review::new, entityEntry -> {});
+    CollectionKey<StoreItem> collectionKey = new CollectionKey<>(StoreItem.class, 1L, "reviews");
+    persistenceContext.manageCollection(collectionKey, new PersistenceLazyList<>(collectionKey, session));
+    secondLevelCache.put(new EntityKey<>(StoreItem.class, 1L), new Object[] { 1L });
+    secondLevelCache.put(new EntityKey<>(Review.class, 1L), new Object[] { 1L });
+
+    int result = MutationQueryImpl.update(session, "SET price = :price", StoreItem.class)
+      .setParameter("price", 10)
+      .executeUpdate();
+
+    assertEquals(2, result);
+    InOrder inOrder = inOrder(session, jdbcExecutor);
+    inOrder.verify(session).flush();
+    inOrder.verify(jdbcExecutor).executeUpdate(eq("UPDATE store_item SET price = ?, version = version + 1;"), any());
+    verify(entityDaoService).invalidateQueryResults("store_item");
+    assertNull(persistenceContext.getEntityEntry(new EntityKey<>(StoreItem.class, 1L)));
+    assertNotNull(persistenceContext.getEntityEntry(new EntityKey<>(Review.class, 1L)));
+    assertNull(secondLevelCache.get(new EntityKey<>(StoreItem.class, 1L)));
+    assertNotNull(secondLevelCache.get(new EntityKey<>(Review.class, 1L)));
+    assertNull(persistenceContext.getCollection(collectionKey));
+
+    secondLevelCache.put(new EntityKey<>(StoreItem.class, 1L), new Object[] { 1L });
+    entityDaoService.evictWrittenEntitiesFromSecondLevelCache();
+
+    assertNull(secondLevelCache.get(new EntityKey<>(StoreItem.class, 1L)));
+  }
+
+  private static List<String> boundValues(SqlJdbcStatement statement) {
+    return Arrays.stream(statement.getGetOrderedParameters())
+      .map(binding -> binding.toString().replaceAll(".*bindValue=(.*), binder=.*", "$1"))
+      .toList();
+  }
+
+  @Entity
+  @NoArgsConstructor
+  public static class StoreItem {
+
+    @Id
+    private Long id;
+    @Column
+    private String genre;
+    @Column
+    private int price;
+    @OptimisticLock
+    @Column
+    private int version;
+
+  }
+
+  @Entity
+  @NoArgsConstructor
+  public static class Review {
+
+    @Id
+    private Long id;
+    @Column
+    private String text;
+
+  }
+
+}
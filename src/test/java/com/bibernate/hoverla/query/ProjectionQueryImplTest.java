@@ -0,0 +1,306 @@
+package com.bibernate.hoverla.query;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bibernate.hoverla.annotations.Column;
+import com.bibernate.hoverla.annotations.Entity;
+import com.bibernate.hoverla.annotations.Id;
+import com.bibernate.hoverla.annotations.ManyToOne;
+import com.bibernate.hoverla.configuration.BibernateSettings;
+import com.bibernate.hoverla.exceptions.BibernateBqlException;
+import com.bibernate.hoverla.exceptions.BibernateException;
+import com.bibernate.hoverla.jdbc.JdbcExecutor;
+import com.bibernate.hoverla.jdbc.JdbcResultExtractor;
+import com.bibernate.hoverla.jdbc.types.provider.JdbcTypeProviderImpl;
+import com.bibernate.hoverla.metamodel.Metamodel;
+import com.bibernate.hoverla.metamodel.scan.MetamodelScanner;
+import com.bibernate.hoverla.session.EntityRowMapper;
+import com.bibernate.hoverla.session.SessionFactoryImplementor;
+import com.bibernate.hoverla.session.SessionImplementor;
+import com.bibernate.hoverla.session.cache.PersistenceContext;
+import com.bibernate.hoverla.session.dirtycheck.DirtyCheckServiceImpl;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@Slf4j
+class ProjectionQueryImplTest {
+
+  private SessionImplementor session;
+  private JdbcExecutor jdbcExecutor;
+
+  @BeforeEach
+  void setUp() {
+    Metamodel metamodel = new MetamodelScanner(new JdbcTypeProviderImpl()).scanEntities(Product.class, Vendor.class);
+    SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+    doReturn(metamodel).when(sessionFactory).getMetamodel();
+    doReturn(BibernateSettings.defaults()).when(sessionFactory).getSettings();
+    doReturn(new QueryPlanCache(16)).when(sessionFactory).getQueryPlanCache();
+
+    session = mock(SessionImplementor.class);
+    jdbcExecutor = mock(JdbcExecutor.class);
+    doReturn(sessionFactory).when(session).getSessionFactory();
+    doReturn(jdbcExecutor).when(session).getJdbcExecutor();
+    doReturn(metamodel.getEntityMappingMap().get(Product.class)).when(session).getEntityMapping(Product.class);
+    doReturn(metamodel.getEntityMappingMap().get(Vendor.class)).when(session).getEntityMapping(Vendor.class);
+  }
+
+  @Test
+  void generateSqlJdbcStatement_onlyProjectedColumnsSelected() {
+    SqlJdbcStatement result = new ProjectionQueryImpl<>(session, "SELECT name, price WHERE price > :price ORDER BY price DESC",
+                                                        Product.class, Object[].class)
+      .setParameter("price", 10)
+      .setMaxResults(5)
+      .generateSqlJdbcStatement();
+
+    assertEquals("SELECT name, price FROM product WHERE price > ? ORDER BY price DESC LIMIT ?;", result.getSqlTemplate());
+    assertEquals(2, result.getJdbcResultExtractors().length);
+  }
+
+  @Test
+  void generateSqlJdbcStatement_withoutCondition() {
+    SqlJdbcStatement result = new ProjectionQueryImpl<>(session, "SELECT name", Product.class, String.class).generateSqlJdbcStatement();
+
+    assertEquals("SELECT name FROM product ;", result.getSqlTemplate());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_association_throwBibernateBqlException() {
+    var projection = new ProjectionQueryImpl<>(session, "SELECT name, vendor", Product.class, Object[].class);
+
+    BibernateBqlException result = assertThrows(BibernateBqlException.class, projection::generateSqlJdbcStatement);
+
+    assertEquals("Association vendor cannot be projected", result.getMessage());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_aggregatesGroupedAndOrdered() {
+    SqlJdbcStatement result = new ProjectionQueryImpl<>(session, "SELECT name, COUNT(*), SUM(price), AVG(price) WHERE price > :price "
+                                                                 + "GROUP BY name ORDER BY name", Product.class, Object[].class)
+      .setParameter("price", 10)
+      .generateSqlJdbcStatement();
+
+    assertEquals("SELECT name, COUNT(*), SUM(price), AVG(price) FROM product WHERE price > ? GROUP BY name ORDER BY name ASC;",
+                 result.getSqlTemplate());
+    assertEquals(4, result.getJdbcResultExtractors().length);
+  }
+
+  @Test
+  void generateSqlJdbcStatement_aggregatesWithoutGrouping() {
+    SqlJdbcStatement result = new ProjectionQueryImpl<>(session, "SELECT COUNT(vendor), MIN(name), MAX(price)", Product.class,
+                                                        Object[].class)
+      .generateSqlJdbcStatement();
+
+    assertEquals("SELECT COUNT(vendor), MIN(name), MAX(price) FROM product ;", result.getSqlTemplate());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_ungroupedField_throwBibernateBqlException() {
+    var projection = new ProjectionQueryImpl<>(session, "SELECT name, description, COUNT(*) GROUP BY name", Product.class, Object[].class);
+
+    BibernateBqlException result = assertThrows(BibernateBqlException.class, projection::generateSqlJdbcStatement);
+
+    assertEquals("Field description must be grouped or aggregated", result.getMessage());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_ungroupedOrdering_throwBibernateBqlException() {
+    var projection = new ProjectionQueryImpl<>(session, "SELECT COUNT(*) ORDER BY name", Product.class, Long.class);
+
+    BibernateBqlException result = assertThrows(BibernateBqlException.class, projection::generateSqlJdbcStatement);
+
+    assertEquals("Field name must be grouped or aggregated", result.getMessage());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_sumOfText_throwBibernateBqlException() {
+    var projection = new ProjectionQueryImpl<>(session, "SELECT SUM(name)", Product.class, Long.class);
+
+    BibernateBqlException result = assertThrows(BibernateBqlException.class, projection::generateSqlJdbcStatement);
+
+    assertEquals("Function SUM requires a numeric field, but name is not one", result.getMessage());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_maxOfAssociation_throwBibernateBqlException() {
+    var projection = new ProjectionQueryImpl<>(session, "SELECT MAX(vendor)", Product.class, Object.class);
+
+    BibernateBqlException result = assertThrows(BibernateBqlException.class, projection::generateSqlJdbcStatement);
+
+    assertEquals("Function MAX cannot be applied to association vendor", result.getMessage());
+  }
+
+  @Test
+  void getSingleResult_count_scalarReturned() {
+    doReturn(List.<Object[]>of(new Object[] { 3L }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    Long result = new ProjectionQueryImpl<>(session, "SELECT COUNT(*) WHERE price > :price", Product.class, Long.class)
+      .setParameter("price", 10)
+      .getSingleResult();
+
+    assertEquals(3L, result);
+  }
+
+  @Test
+  void getSingleResult_severalRows_throwBibernateException() {
+    doReturn(List.<Object[]>of(new Object[] { "Dune" }, new Object[] { "Solaris" }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+    var projection = new ProjectionQueryImpl<>(session, "SELECT name", Product.class, String.class);
+
+    assertThrows(BibernateException.class, projection::getSingleResult);
+  }
+
+  @Test
+  void getResult_groupedAggregates_mappedToRecord() throws SQLException {
+    ResultSet resultSet = mock(ResultSet.class);
+    doReturn(new BigDecimal("42")).when(resultSet).getObject(3);
+    doReturn(new BigDecimal("10.5")).when(resultSet).getObject(4);
+    doAnswer(invocation -> {
+      JdbcResultExtractor<?>[] extractors = invocation.getArgument(2);
+      return List.<Object[]>of(new Object[] { "Dune", 4L, extractors[2].extractData(resultSet, 3), extractors[3].extractData(resultSet, 4) });
+    }).when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    List<NameStatistics> result = new ProjectionQueryImpl<>(session, "SELECT name, COUNT(*), SUM(price), AVG(price) GROUP BY name",
+                                                            Product.class, NameStatistics.class)
+      .getResult();
+
+    assertEquals(List.of(new NameStatistics("Dune", 4L, 42L, 10.5)), result);
+  }
+
+  @Test
+  void getResult_record_createdByCanonicalConstructorWithoutPersistenceContext() {
+    doReturn(List.of(new Object[] { "Dune", 12 }, new Object[] { "Solaris", 9 }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    List<NamePrice> result = new ProjectionQueryImpl<>(session, "SELECT name, price", Product.class, NamePrice.class).getResult();
+
+    assertEquals(List.of(new NamePrice("Dune", 12), new NamePrice("Solaris", 9)), result);
+    verify(session, never()).getPersistenceContext();
+    verify(session, never()).getEntityRowMapper();
+  }
+
+  @Test
+  void getResult_objectArray_rowReturned() {
+    doReturn(List.<Object[]>of(new Object[] { "Dune", 12 }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    List<Object[]> result = new ProjectionQueryImpl<>(session, "SELECT name, price", Product.class, Object[].class).getResult();
+
+    assertArrayEquals(new Object[] { "Dune", 12 }, result.get(0));
+  }
+
+  @Test
+  void getResult_singleField_valueReturned() {
+    doReturn(List.<Object[]>of(new Object[] { 12 }, new Object[] { 9 }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    List<Integer> result = new ProjectionQueryImpl<>(session, "SELECT price", Product.class, Integer.class).getResult();
+
+    assertEquals(List.of(12, 9), result);
+  }
+
+  @Test
+  void getResult_noMatchingConstructor_throwBibernateException() {
+    doReturn(List.<Object[]>of(new Object[] { 12, "Dune" }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+    var projection = new ProjectionQueryImpl<>(session, "SELECT price, name", Product.class, NamePrice.class);
+
+    BibernateException result = assertThrows(BibernateException.class, projection::getResult);
+
+    assertTrue(result.getMessage().startsWith("No constructor of " + NamePrice.class.getName()));
+  }
+
+  @Test
+  void getResult_projectionAllocatesLessThanEntityLoad() {
+    doReturn(new PersistenceContext(new DirtyCheckServiceImpl(session))).when(session).getPersistenceContext();
+    doReturn(new EntityRowMapper(session)).when(session).getEntityRowMapper();
+    int rowCount = 1_000;
+    List<Object[]> entityRows = new ArrayList<>(rowCount);
+    List<Object[]> projectionRows = new ArrayList<>(rowCount);
+    for (long id = 0; id < rowCount; id++) {
+      entityRows.add(new Object[] { id, "Product " + id, "A product description", (int) id, null });
+      projectionRows.add(new Object[] { "Product " + id, (int) id });
+    }
+    doReturn(entityRows).when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+    var entityQuery = new QueryImpl<>(session, "WHERE price > :price", Product.class).setParameter("price", -1);
+    entityQuery.getResult();
+    // a fresh persistence context, so that the measured run hydrates every entity instead of finding it in the context
+    doReturn(new PersistenceContext(new DirtyCheckServiceImpl(session))).when(session).getPersistenceContext();
+    long entityBytes = allocatedBytes(entityQuery::getResult);
+
+    doReturn(projectionRows).when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+    var projection = new ProjectionQueryImpl<>(session, "SELECT name, price WHERE price > :price", Product.class, NamePrice.class)
+      .setParameter("price", -1);
+    projection.getResult();
+    doReturn(new PersistenceContext(new DirtyCheckServiceImpl(session))).when(session).getPersistenceContext();
+    long projectionBytes = allocatedBytes(projection::getResult);
+
+    log.info("Loading {} rows allocated {} bytes as entities and {} bytes as projections", rowCount, entityBytes, projectionBytes);
+    assertTrue(projectionBytes < entityBytes);
+  }
+
+  private static long allocatedBytes(Supplier<List<?>> query) {
+    var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().threadId();
+    long before = threadMXBean.getThreadAllocatedBytes(threadId);
+    query.get();
+    return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+  }
+
+  public record NamePrice(String name, int price) {
+  }
+
+  public record NameStatistics(String name, long count, Long totalPrice, Double averagePrice) {
+  }
+
+  @Entity
+  @NoArgsConstructor
+  public static class Product {
+
+    @Id
+    private Long id;
+    @Column
+    private String name;
+    @Column
+    private String description;
+    @Column
+    private int price;
+    @ManyToOne
+    private Vendor vendor;
+
+  }
+
+  @Entity
+  @NoArgsConstructor
+  public static class Vendor {
+
+    @Id
+    private Long id;
+    @Column
+    private String name;
+
+  }
+
+}
@@ -0,0 +1,399 @@
+package com.bibernate.hoverla.query;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bibernate.hoverla.annotations.Column;
+import com.bibernate.hoverla.annotations.Entity;
+import com.bibernate.hoverla.annotations.Id;
+import com.bibernate.hoverla.annotations.ManyToOne;
+import com.bibernate.hoverla.annotations.OneToMany;
+import com.bibernate.hoverla.collection.PersistenceLazyList;
+import com.bibernate.hoverla.configuration.BibernateSettings;
+import com.bibernate.hoverla.exceptions.BibernateBqlException;
+import com.bibernate.hoverla.exceptions.BibernateBqlMissingParameterException;
+import com.bibernate.hoverla.jdbc.JdbcExecutor;
+import com.bibernate.hoverla.jdbc.types.provider.JdbcTypeProviderImpl;
+import com.bibernate.hoverla.metamodel.Metamodel;
+import com.bibernate.hoverla.metamodel.scan.MetamodelScanner;
+import com.bibernate.hoverla.session.EntityDaoService;
+import com.bibernate.hoverla.session.EntityRowMapper;
+import com.bibernate.hoverla.session.SessionFactoryImplementor;
+import com.bibernate.hoverla.session.SessionImplementor;
+import com.bibernate.hoverla.session.cache.EntityEntry;
+import com.bibernate.hoverla.session.cache.EntityKey;
+import com.bibernate.hoverla.session.cache.PersistenceContext;
+import com.bibernate.hoverla.session.dirtycheck.DirtyCheckService;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class QueryImplTest {
+
+  private static final String SELECT = "SELECT id, title, rating FROM book ";
+
+  private SessionImplementor session;
+  private QueryPlanCache queryPlanCache;
+  private QueryResultCache queryResultCache;
+
+  @BeforeEach
+  void setUp() {
+    Metamodel metamodel = new MetamodelScanner(new JdbcTypeProviderImpl()).scanEntities(Book.class, Shelf.class, Volume.class);
+    SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+    doReturn(metamodel).when(sessionFactory).getMetamodel();
+    doReturn(BibernateSettings.defaults()).when(sessionFactory).getSettings();
+    queryPlanCache = new QueryPlanCache(16);
+    doReturn(queryPlanCache).when(sessionFactory).getQueryPlanCache();
+    queryResultCache = new QueryResultCache(16);
+    doReturn(queryResultCache).when(sessionFactory).getQueryResultCache();
+
+    session = mock(SessionImplementor.class);
+    doReturn(sessionFactory).when(session).getSessionFactory();
+    doReturn(metamodel.getEntityMappingMap().get(Book.class)).when(session).getEntityMapping(Book.class);
+    doReturn(metamodel.getEntityMappingMap().get(Shelf.class)).when(session).getEntityMapping(Shelf.class);
+    doReturn(metamodel.getEntityMappingMap().get(Volume.class)).when(session).getEntityMapping(Volume.class);
+  }
+
+  @Test
+  void generateSqlJdbcStatement_orderBy() {
+    SqlJdbcStatement result = new QueryImpl<>(session, "WHERE rating > :rating ORDER BY rating DESC, id", Book.class)
+      .setParameter("rating", 3)
+      .generateSqlJdbcStatement();
+
+    assertEquals(SELECT + "WHERE rating > ? ORDER BY rating DESC, id ASC;", result.getSqlTemplate());
+    assertEquals(1, result.getGetOrderedParameters().length);
+  }
+
+  @Test
+  void generateSqlJdbcStatement_orderByWithoutCondition() {
+    SqlJdbcStatement result = new QueryImpl<>(session, "ORDER BY title ASC", Book.class)
+      .generateSqlJdbcStatement();
+
+    assertEquals(SELECT + "ORDER BY title ASC;", result.getSqlTemplate());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_limitAndOffsetBound() {
+    SqlJdbcStatement result = new QueryImpl<>(session, "ORDER BY id", Book.class)
+      .setMaxResults(20)
+      .setFirstResult(40)
+      .generateSqlJdbcStatement();
+
+    assertEquals(SELECT + "ORDER BY id ASC LIMIT ? OFFSET ?;", result.getSqlTemplate());
+    assertEquals(List.of("20", "40"), boundValues(result));
+  }
+
+  @Test
+  void generateSqlJdbcStatement_seekAfterWithSameDirections_rowValueComparison() {
+    SqlJdbcStatement result = new QueryImpl<>(session, "WHERE rating > :rating OR title = :title ORDER BY rating DESC, id DESC", Book.class)
+      .setParameter("rating", 3)
+      .setParameter("title", "Dune")
+      .seekAfter(5, 42L)
+      .setMaxResults(10)
+      .generateSqlJdbcStatement();
+
+    assertEquals(SELECT + "WHERE (rating > ? OR title = ?) AND (rating, id) < (?, ?) ORDER BY rating DESC, id DESC LIMIT ?;",
+                 result.getSqlTemplate());
+    assertEquals(List.of("3", "Dune", "5", "42", "10"), boundValues(result));
+  }
+
+  @Test
+  void generateSqlJdbcStatement_seekAfterResultWithMixedDirections_expandedPredicate() {
+    SqlJdbcStatement result = new QueryImpl<>(session, "ORDER BY rating DESC, id", Book.class)
+      .seekAfterResult(new Book(42L, "Dune", 5))
+      .generateSqlJdbcStatement();
+
+    assertEquals(SELECT + "WHERE ((rating < ?) OR (rating = ? AND id > ?)) ORDER BY rating DESC, id ASC;", result.getSqlTemplate());
+    assertEquals(List.of("5", "5", "42"), boundValues(result));
+  }
+
+  @Test
+  void generateSqlJdbcStatement_seekAfterWithoutOrderBy_throwBibernateBqlException() {
+    QueryImpl<Book> query = new QueryImpl<>(session, "WHERE rating > :rating", Book.class)
+      .setParameter("rating", 3)
+      .seekAfter(5);
+
+    BibernateBqlException result = assertThrows(BibernateBqlException.class, query::generateSqlJdbcStatement);
+
+    assertEquals("Keyset pagination requires an ORDER BY clause", result.getMessage());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_seekAfterWithWrongNumberOfValues_throwBibernateBqlException() {
+    QueryImpl<Book> query = new QueryImpl<>(session, "ORDER BY rating, id", Book.class)
+      .seekAfter(5);
+
+    BibernateBqlException result = assertThrows(BibernateBqlException.class, query::generateSqlJdbcStatement);
+
+    assertEquals("Expected 2 keyset values matching the ORDER BY clause, but got 1", result.getMessage());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_sameQueryExecutedTwice_planReused() {
+    SqlJdbcStatement first = new QueryImpl<>(session, "WHERE rating > :rating", Book.class)
+      .setParameter("rating", 3)
+      .generateSqlJdbcStatement();
+    SqlJdbcStatement second = new QueryImpl<>(session, "WHERE rating > :rating", Book.class)
+      .setParameter("rating", 4)
+      .generateSqlJdbcStatement();
+
+    assertSame(first.getSqlTemplate(), second.getSqlTemplate());
+    assertEquals(List.of("4"), boundValues(second));
+    assertEquals(1, queryPlanCache.getMissCount());
+    assertEquals(1, queryPlanCache.getHitCount());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_inListsOfSameBucket_planReusedAndLastValueRepeated() {
+    SqlJdbcStatement first = new QueryImpl<>(session, "WHERE id IN :ids", Book.class)
+      .setParameter("ids", List.of(1L, 2L, 3L))
+      .generateSqlJdbcStatement();
+    SqlJdbcStatement second = new QueryImpl<>(session, "WHERE id IN :ids", Book.class)
+      .setParameter("ids", List.of(7L, 8L, 9L, 10L))
+      .generateSqlJdbcStatement();
+
+    assertEquals(SELECT + "WHERE id IN (?, ?, ?, ?);", first.getSqlTemplate());
+    assertEquals(List.of("1", "2", "3", "3"), boundValues(first));
+    assertEquals(List.of("7", "8", "9", "10"), boundValues(second));
+    assertEquals(1, queryPlanCache.getHitCount());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_inListsOfDifferentBuckets_separatePlans() {
+    SqlJdbcStatement small = new QueryImpl<>(session, "WHERE id IN :ids", Book.class)
+      .setParameter("ids", List.of(1L))
+      .generateSqlJdbcStatement();
+    SqlJdbcStatement empty = new QueryImpl<>(session, "WHERE id IN :ids", Book.class)
+      .setParameter("ids", List.of())
+      .generateSqlJdbcStatement();
+    SqlJdbcStatement large = new QueryImpl<>(session, "WHERE id IN :ids", Book.class)
+      .setParameter("ids", List.of(1L, 2L, 3L, 4L, 5L))
+      .generateSqlJdbcStatement();
+
+    assertEquals(SELECT + "WHERE id IN (?);", small.getSqlTemplate());
+    assertEquals(SELECT + "WHERE TRUE;", empty.getSqlTemplate());
+    assertEquals(SELECT + "WHERE id IN (?, ?, ?, ?, ?, ?, ?, ?);", large.getSqlTemplate());
+    assertEquals(3, queryPlanCache.getMissCount());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_nullInParameterThenScalar_scalarRejected() {
+    SqlJdbcStatement nullIds = new QueryImpl<>(session, "WHERE id IN :ids", Book.class)
+      .setParameter("ids", null)
+      .generateSqlJdbcStatement();
+    QueryImpl<Book> scalarIds = new QueryImpl<>(session, "WHERE id IN :ids", Book.class).setParameter("ids", 5L);
+
+    assertEquals(SELECT + "WHERE TRUE;", nullIds.getSqlTemplate());
+    BibernateBqlException result = assertThrows(BibernateBqlException.class, scalarIds::generateSqlJdbcStatement);
+    assertEquals("Parameter with name: ids is not collection", result.getMessage());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_cachedPlanWithMissingParameter_throwBibernateBqlMissingParameterException() {
+    new QueryImpl<>(session, "WHERE rating > :rating", Book.class)
+      .setParameter("rating", 3)
+      .generateSqlJdbcStatement();
+    QueryImpl<Book> query = new QueryImpl<>(session, "WHERE rating > :rating", Book.class);
+
+    assertThrows(BibernateBqlMissingParameterException.class, query::generateSqlJdbcStatement);
+  }
+
+  @Test
+  void generateSqlJdbcStatement_joinFetchManyToOne_columnsQualified() {
+    SqlJdbcStatement result = new QueryImpl<>(session, "JOIN FETCH shelf WHERE title = :title ORDER BY id", Volume.class)
+      .setParameter("title", "Dune")
+      .setMaxResults(10)
+      .generateSqlJdbcStatement();
+
+    assertEquals("SELECT t0.id, t0.title, t0.shelf_id, t1.id, t1.name FROM volume t0 LEFT JOIN shelf t1 ON t1.id = t0.shelf_id "
+                 + "WHERE t0.title = ? ORDER BY t0.id ASC LIMIT ?;", result.getSqlTemplate());
+    assertEquals(5, result.getJdbcResultExtractors().length);
+  }
+
+  @Test
+  void generateSqlJdbcStatement_joinFetchOneToMany() {
+    SqlJdbcStatement result = new QueryImpl<>(session, "JOIN FETCH volumes", Shelf.class)
+      .generateSqlJdbcStatement();
+
+    assertEquals("SELECT t0.id, t0.name, t1.id, t1.title, t1.shelf_id FROM shelf t0 LEFT JOIN volume t1 ON t1.shelf_id = t0.id ;",
+                 result.getSqlTemplate());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_joinFetchCollectionWithLimit_throwBibernateBqlException() {
+    QueryImpl<Shelf> query = new QueryImpl<>(session, "JOIN FETCH volumes", Shelf.class)
+      .setMaxResults(10);
+
+    BibernateBqlException result = assertThrows(BibernateBqlException.class, query::generateSqlJdbcStatement);
+
+    assertEquals("Limit and offset cannot be applied to a query fetching collection volumes", result.getMessage());
+  }
+
+  @Test
+  void generateSqlJdbcStatement_joinFetchNotAssociation_throwBibernateBqlException() {
+    QueryImpl<Shelf> query = new QueryImpl<>(session, "JOIN FETCH name", Shelf.class);
+
+    BibernateBqlException result = assertThrows(BibernateBqlException.class, query::generateSqlJdbcStatement);
+
+    assertEquals("JOIN FETCH requires an association field, but name is not one", result.getMessage());
+  }
+
+  @Test
+  void getResult_joinFetchOneToMany_parentsDeduplicatedAndCollectionsInitialized() {
+    JdbcExecutor jdbcExecutor = mock(JdbcExecutor.class);
+    PersistenceContext persistenceContext = new PersistenceContext(mock(DirtyCheckService.class));
+    doReturn(jdbcExecutor).when(session).getJdbcExecutor();
+    doReturn(persistenceContext).when(session).getPersistenceContext();
+    doReturn(new EntityRowMapper(session)).when(session).getEntityRowMapper();
+    doReturn(List.of(new Object[] { 1L, "Fiction", 10L, "Dune", 1L },
+                     new Object[] { 1L, "Fiction", 11L, "Solaris", 1L },
+                     new Object[] { 2L, "Poetry", null, null, null }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    List<Shelf> result = new QueryImpl<>(session, "JOIN FETCH volumes", Shelf.class).getResult();
+
+    assertEquals(2, result.size());
+    PersistenceLazyList<Volume> fiction = (PersistenceLazyList<Volume>) result.get(0).volumes;
+    assertTrue(fiction.isInitialized());
+    assertEquals(List.of("Dune", "Solaris"), fiction.stream().map(volume -> volume.title).toList());
+    assertTrue(((PersistenceLazyList<Volume>) result.get(1).volumes).isInitialized());
+    assertTrue(result.get(1).volumes.isEmpty());
+    assertSame(fiction.get(0), persistenceContext.getEntityEntry(new EntityKey<>(Volume.class, 10L)).getEntity());
+    assertSame(result.get(0), persistenceContext.getEntityEntry(new EntityKey<>(Shelf.class, 1L)).getEntity());
+  }
+
+  @Test
+  void getResult_readOnly_entitiesReadOnlyWithoutSnapshot() {
+    JdbcExecutor jdbcExecutor = mock(JdbcExecutor.class);
+    DirtyCheckService dirtyCheckService = mock(DirtyCheckService.class);
+    PersistenceContext persistenceContext = new PersistenceContext(dirtyCheckService);
+    doReturn(jdbcExecutor).when(session).getJdbcExecutor();
+    doReturn(persistenceContext).when(session).getPersistenceContext();
+    doReturn(new EntityRowMapper(session)).when(session).getEntityRowMapper();
+    doReturn(List.<Object[]>of(new Object[] { 1L, "Dune", 5 }, new Object[] { 2L, "Solaris", 4 }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    List<Book> result = new QueryImpl<>(session, "WHERE rating > :rating", Book.class)
+      .setParameter("rating", 3)
+      .setReadOnly(true)
+      .getResult();
+
+    assertEquals(2, result.size());
+    EntityEntry entityEntry = persistenceContext.getEntityEntry(new EntityKey<>(Book.class, 1L));
+    assertTrue(entityEntry.isReadOnly());
+    assertNull(entityEntry.getSnapshot());
+    verify(dirtyCheckService, never()).getSnapshot(any(), any());
+  }
+
+  @Test
+  void getResult_cacheable_cachedIdsResolvedWithoutQuery() {
+    JdbcExecutor jdbcExecutor = mock(JdbcExecutor.class);
+    EntityDaoService entityDaoService = mock(EntityDaoService.class);
+    doReturn(jdbcExecutor).when(session).getJdbcExecutor();
+    doReturn(entityDaoService).when(session).getEntityDaoService();
+    doReturn(new PersistenceContext(mock(DirtyCheckService.class))).when(session).getPersistenceContext();
+    doReturn(new EntityRowMapper(session)).when(session).getEntityRowMapper();
+    doCallRealMethod().when(session).getEntityDetails(any());
+    doReturn(List.<Object[]>of(new Object[] { 2L, "Solaris", 4 }, new Object[] { 1L, "Dune", 5 }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+    new QueryImpl<>(session, "WHERE rating > :rating", Book.class).setParameter("rating", 3).setCacheable(true).getResult();
+
+    PersistenceContext otherPersistenceContext = new PersistenceContext(mock(DirtyCheckService.class));
+    doReturn(otherPersistenceContext).when(session).getPersistenceContext();
+    doReturn(Map.of(1L, new Book(1L, "Dune", 5), 2L, new Book(2L, "Solaris", 4)))
+      .when(entityDaoService).loadMultiple(Book.class, List.of(2L, 1L));
+    List<Book> result = new QueryImpl<>(session, "WHERE rating > :rating", Book.class)
+      .setParameter("rating", 3)
+      .setCacheable(true)
+      .getResult();
+
+    verify(jdbcExecutor, times(1)).executeSelectQuery(anyString(), any(), any());
+    assertEquals(List.of(2L, 1L), result.stream().map(book -> book.id).toList());
+    assertSame(result.get(0), otherPersistenceContext.getEntityEntry(new EntityKey<>(Book.class, 2L)).getEntity());
+    assertEquals(1, queryResultCache.getHitCount());
+  }
+
+  @Test
+  void getResult_cacheableTableWrittenBySession_cacheBypassed() {
+    JdbcExecutor jdbcExecutor = mock(JdbcExecutor.class);
+    EntityDaoService entityDaoService = mock(EntityDaoService.class);
+    doReturn(jdbcExecutor).when(session).getJdbcExecutor();
+    doReturn(entityDaoService).when(session).getEntityDaoService();
+    doReturn(new PersistenceContext(mock(DirtyCheckService.class))).when(session).getPersistenceContext();
+    doReturn(new EntityRowMapper(session)).when(session).getEntityRowMapper();
+    doReturn(true).when(entityDaoService).isWrittenTable("book");
+    doReturn(List.<Object[]>of(new Object[] { 1L, "Dune", 5 })).when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    new QueryImpl<>(session, "WHERE rating > :rating", Book.class).setParameter("rating", 3).setCacheable(true).getResult();
+    new QueryImpl<>(session, "WHERE rating > :rating", Book.class).setParameter("rating", 3).setCacheable(true).getResult();
+
+    verify(jdbcExecutor, times(2)).executeSelectQuery(anyString(), any(), any());
+    assertEquals(0, queryResultCache.size());
+  }
+
+  private static List<String> boundValues(SqlJdbcStatement statement) {
+    return Arrays.stream(statement.getGetOrderedParameters())
+      .map(binding -> binding.toString().replaceAll(".*bindValue=(.*), binder=.*", "$1"))
+      .toList();
+  }
+
+  @Entity
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Book {
+
+    @Id
+    private Long id;
+    @Column
+    private String title;
+    @Column
+    private int rating;
+
+  }
+
+  @Entity
+  @NoArgsConstructor
+  public static class Shelf {
+
+    @Id
+    private Long id;
+    @Column
+    private String name;
+    @OneToMany(mappedBy = "shelf")
+    private List<Volume> volumes;
+
+  }
+
+  @Entity
+  @NoArgsConstructor
+  public static class Volume {
+
+    @Id
+    private Long id;
+    @Column
+    private String title;
+    @ManyToOne
+    @Column(name = "shelf_id")
+    private Shelf shelf;
+
+  }
+
+}
@@ -21,8 +21,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -233,4 +236,56 @@ class QueryLanguageITest {
     }
   }
 
-}
\ No newline at end of file
+  @Test
+  void testBulkUpdateAndDeleteDetachManagedEntities() {
+    MetamodelScanner metamodelScanner = new MetamodelScanner(new JdbcTypeProviderImpl());
+    Metamodel metamodel = metamodelScanner.scanEntities(TestEntity.class);
+    SessionFactoryImpl sessionFactory = new SessionFactoryImpl(DB.getDataSource(), metamodel);
+
+    try (Session session = sessionFactory.openSession()) {
+      session.getTransaction().beginTransaction();
+      TestEntity loaded = session.find(TestEntity.class, 1L);
+
+      int updated = session.createUpdate("SET email = :email WHERE firstName = :firstName", TestEntity.class)
+        .setParameter("email", "updated@email.com")
+        .setParameter("firstName", "FirsName1")
+        .executeUpdate();
+
+      assertEquals(1, updated);
+      TestEntity reloaded = session.find(TestEntity.class, 1L);
+      assertNotSame(loaded, reloaded);
+      assertEquals("updated@email.com", reloaded.getEmail());
+
+      int deleted = session.createDelete("WHERE email = :email", TestEntity.class)
+        .setParameter("email", "updated@email.com")
+        .executeUpdate();
+
+      assertEquals(1, deleted);
+      assertNull(session.find(TestEntity.class, 1L));
+      session.getTransaction().rollback();
+    }
+  }
+
+  @Test
+  void testAggregateProjectionComputedByDatabase() {
+    MetamodelScanner metamodelScanner = new MetamodelScanner(new JdbcTypeProviderImpl());
+    Metamodel metamodel = metamodelScanner.scanEntities(TestEntity.class);
+    SessionFactoryImpl sessionFactory = new SessionFactoryImpl(DB.getDataSource(), metamodel);
+
+    try (Session session = sessionFactory.openSession()) {
+      Object[] result = session.createProjection("SELECT COUNT(*), MAX(id), MIN(email) WHERE id IN :ids", TestEntity.class, Object[].class)
+        .setParameter("ids", List.of(1L, 2L))
+        .getSingleResult();
+
+      assertArrayEquals(new Object[] { 2L, 2L, "test2@email.com" }, result);
+
+      List<Object[]> groups = session.createProjection("SELECT lastName, COUNT(id) GROUP BY lastName ORDER BY lastName",
+                                                       TestEntity.class, Object[].class)
+        .getResult();
+
+      assertEquals(2, groups.size());
+      assertArrayEquals(new Object[] { "LastName1", 1L }, groups.get(0));
+    }
+  }
+
+}
@@ -0,0 +1,61 @@
+package com.bibernate.hoverla.query;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.bibernate.hoverla.jdbc.JdbcResultExtractor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class QueryPlanCacheTest {
+
+  @Test
+  void getOrCreate_cachedPlanReturned() {
+    QueryPlanCache cache = new QueryPlanCache(2);
+
+    QueryPlan first = cache.getOrCreate(key("WHERE id = :id"), QueryPlanCacheTest::plan);
+    QueryPlan second = cache.getOrCreate(key("WHERE id = :id"), QueryPlanCacheTest::plan);
+
+    assertSame(first, second);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  void getOrCreate_cacheFull_leastRecentlyUsedPlanEvicted() {
+    QueryPlanCache cache = new QueryPlanCache(2);
+    QueryPlan first = cache.getOrCreate(key("first"), QueryPlanCacheTest::plan);
+    QueryPlan second = cache.getOrCreate(key("second"), QueryPlanCacheTest::plan);
+    cache.getOrCreate(key("first"), QueryPlanCacheTest::plan);
+
+    cache.getOrCreate(key("third"), QueryPlanCacheTest::plan);
+
+    assertEquals(2, cache.size());
+    assertSame(first, cache.getOrCreate(key("first"), QueryPlanCacheTest::plan));
+    assertNotSame(second, cache.getOrCreate(key("second"), QueryPlanCacheTest::plan));
+  }
+
+  @Test
+  void getOrCreate_cacheDisabled_planAlwaysCreated() {
+    QueryPlanCache cache = new QueryPlanCache(0);
+
+    cache.getOrCreate(key("WHERE id = :id"), QueryPlanCacheTest::plan);
+    cache.getOrCreate(key("WHERE id = :id"), QueryPlanCacheTest::plan);
+
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+  }
+
+  private static QueryPlanCache.QueryPlanKey key(String queryExpression) {
+    return new QueryPlanCache.QueryPlanKey(Object.class, queryExpression, "---");
+  }
+
+  private static QueryPlan plan(QueryPlanCache.QueryPlanKey key) {
+    return new QueryPlan(key.queryExpression(), List.of(), List.of(), new JdbcResultExtractor<?>[0], List.of(), List.of());
+  }
+
+}
@@ -0,0 +1,98 @@
+package com.bibernate.hoverla.query;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QueryResultCacheTest {
+
+  @Test
+  void get_cachedIdsReturned() {
+    QueryResultCache cache = new QueryResultCache(2);
+    cache.put(key(1), Set.of("book"), cache.getTimestamp(), List.of(3L, 1L));
+
+    List<Object> result = cache.get(key(1));
+
+    assertEquals(List.of(3L, 1L), result);
+    assertNull(cache.get(key(2)));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  void get_tableWrittenAfterPut_staleResultDiscarded() {
+    QueryResultCache cache = new QueryResultCache(2);
+    cache.put(key(1), Set.of("book"), cache.getTimestamp(), List.of(1L));
+
+    cache.invalidate("book");
+
+    assertNull(cache.get(key(1)));
+    assertEquals(0, cache.size());
+    assertEquals(1, cache.getStaleCount());
+  }
+
+  @Test
+  void get_otherTableWritten_resultKept() {
+    QueryResultCache cache = new QueryResultCache(2);
+    cache.put(key(1), Set.of("book"), cache.getTimestamp(), List.of(1L));
+
+    cache.invalidate("shelf");
+
+    assertEquals(List.of(1L), cache.get(key(1)));
+  }
+
+  @Test
+  void put_tableWrittenWhileQueryExecuted_resultNotCached() {
+    QueryResultCache cache = new QueryResultCache(2);
+    long timestamp = cache.getTimestamp();
+
+    cache.invalidate("book");
+    cache.put(key(1), Set.of("book"), timestamp, List.of(1L));
+
+    assertNull(cache.get(key(1)));
+    assertEquals(0, cache.getPutCount());
+  }
+
+  @Test
+  void put_queryStartedAfterWrite_resultCached() {
+    QueryResultCache cache = new QueryResultCache(2);
+    cache.invalidate("book");
+
+    cache.put(key(1), Set.of("book"), cache.getTimestamp(), List.of(1L));
+
+    assertEquals(List.of(1L), cache.get(key(1)));
+  }
+
+  @Test
+  void put_cacheFull_leastRecentlyUsedResultEvicted() {
+    QueryResultCache cache = new QueryResultCache(2);
+    cache.put(key(1), Set.of("book"), cache.getTimestamp(), List.of(1L));
+    cache.put(key(2), Set.of("book"), cache.getTimestamp(), List.of(2L));
+    cache.get(key(1));
+
+    cache.put(key(3), Set.of("book"), cache.getTimestamp(), List.of(3L));
+
+    assertEquals(2, cache.size());
+    assertEquals(List.of(1L), cache.get(key(1)));
+    assertNull(cache.get(key(2)));
+  }
+
+  @Test
+  void put_cacheDisabled_nothingCached() {
+    QueryResultCache cache = new QueryResultCache(0);
+
+    cache.put(key(1), Set.of("book"), cache.getTimestamp(), List.of(1L));
+
+    assertNull(cache.get(key(1)));
+    assertEquals(0, cache.size());
+  }
+
+  private static QueryResultCache.QueryResultKey key(Object parameterValue) {
+    return new QueryResultCache.QueryResultKey("SELECT id FROM book WHERE rating > ?;", List.of(parameterValue));
+  }
+
+}
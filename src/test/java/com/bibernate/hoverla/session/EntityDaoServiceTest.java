@@ -0,0 +1,612 @@
+package com.bibernate.hoverla.session;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.bibernate.hoverla.annotations.CacheConcurrencyStrategy;
+import com.bibernate.hoverla.collection.PersistenceLazyList;
+import com.bibernate.hoverla.configuration.BibernateSettings;
+import com.bibernate.hoverla.exceptions.BibernateException;
+import com.bibernate.hoverla.exceptions.OptimisticLockException;
+import com.bibernate.hoverla.exceptions.PersistOperationException;
+import com.bibernate.hoverla.jdbc.JdbcExecutor;
+import com.bibernate.hoverla.jdbc.JdbcParameterBinding;
+import com.bibernate.hoverla.jdbc.types.DefaultBibernateJdbcTypeImpl;
+import com.bibernate.hoverla.metamodel.EntityMapping;
+import com.bibernate.hoverla.metamodel.FieldMapping;
+import com.bibernate.hoverla.metamodel.IdGeneratorStrategy;
+import com.bibernate.hoverla.metamodel.OneToManyMapping;
+import com.bibernate.hoverla.metamodel.PropertyAccessor;
+import com.bibernate.hoverla.query.QueryResultCache;
+import com.bibernate.hoverla.session.cache.CollectionKey;
+import com.bibernate.hoverla.session.cache.EntityKey;
+import com.bibernate.hoverla.session.cache.PersistenceContext;
+import com.bibernate.hoverla.session.cache.SecondLevelCache;
+import com.bibernate.hoverla.session.dirtycheck.DirtyCheckService;
+import com.bibernate.hoverla.session.dirtycheck.DirtyFieldMapping;
+import com.bibernate.hoverla.utils.DirtyTrackingUtils;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class EntityDaoServiceTest {
+
+  private SessionImplementor session;
+  private JdbcExecutor jdbcExecutor;
+  private EntityMapping entityMapping;
+  private SecondLevelCache secondLevelCache;
+  private QueryResultCache queryResultCache;
+  private PersistenceContext persistenceContext;
+  private EntityDaoService entityDaoService;
+
+  @BeforeEach
+  void setUp() throws NoSuchFieldException {
+    entityMapping = new EntityMapping(Note.class, "notes");
+    entityMapping.addFieldMapping("id", FieldMapping.builder()
+      .fieldName("id")
+      .columnName("id")
+      .isPrimaryKey(true)
+      .isInsertable(true)
+      .idGeneratorStrategy(IdGeneratorStrategy.builder().build())
+      .propertyAccessor(PropertyAccessor.of(Note.class.getDeclaredField("id")))
+      .jdbcType(new DefaultBibernateJdbcTypeImpl())
+      .build());
+    entityMapping.addFieldMapping("text", FieldMapping.builder()
+      .fieldName("text")
+      .columnName("text")
+      .isInsertable(true)
+      .isUpdatable(true)
+      .propertyAccessor(PropertyAccessor.of(Note.class.getDeclaredField("text")))
+      .jdbcType(new DefaultBibernateJdbcTypeImpl())
+      .build());
+    entityMapping.compileSqlStatements();
+
+    session = mock(SessionImplementor.class);
+    jdbcExecutor = mock(JdbcExecutor.class);
+    persistenceContext = mock(PersistenceContext.class);
+
+    doReturn(entityMapping).when(session).getEntityMapping(Note.class);
+    doReturn(jdbcExecutor).when(session).getJdbcExecutor();
+    doReturn(persistenceContext).when(session).getPersistenceContext();
+    doReturn(new EntityDetails<>(entityMapping, new EntityKey<>(Note.class, 1L), false)).when(session).getEntityDetails(any());
+    doReturn(List.of()).when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+    doReturn(1).when(jdbcExecutor).executeUpdate(anyString(), any());
+
+    SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+    secondLevelCache = new SecondLevelCache(16, Duration.ZERO);
+    doReturn(secondLevelCache).when(sessionFactory).getSecondLevelCache();
+    queryResultCache = new QueryResultCache(16);
+    doReturn(queryResultCache).when(sessionFactory).getQueryResultCache();
+    doReturn(BibernateSettings.defaults()).when(sessionFactory).getSettings();
+    doReturn(sessionFactory).when(session).getSessionFactory();
+    doReturn(new EntityRowMapper(session)).when(session).getEntityRowMapper();
+
+    entityDaoService = new EntityDaoService(session);
+  }
+
+  @Test
+  void load_repeatedCalls_reusePrecompiledStatement() {
+    entityDaoService.load(new EntityKey<>(Note.class, 1L), LockMode.NONE);
+    entityDaoService.load(new EntityKey<>(Note.class, 2L), LockMode.NONE);
+
+    ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+    verify(jdbcExecutor, times(2)).executeSelectQuery(statements.capture(), any(), any());
+
+    assertEquals("SELECT id, text FROM notes WHERE id = ?;", statements.getAllValues().get(0));
+    assertSame(statements.getAllValues().get(0), statements.getAllValues().get(1));
+  }
+
+  @Test
+  void insertAndDelete_repeatedCalls_reusePrecompiledStatements() {
+    Note note = new Note();
+    note.id = 1L;
+
+    entityDaoService.insert(note);
+    entityDaoService.delete(note);
+    entityDaoService.insert(note);
+    entityDaoService.delete(note);
+
+    ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+    verify(jdbcExecutor, times(4)).executeUpdate(statements.capture(), any());
+
+    List<String> executed = statements.getAllValues();
+    assertEquals("INSERT INTO notes (id, text) VALUES (?, ?);", executed.get(0));
+    assertEquals("DELETE FROM notes WHERE id = ?;", executed.get(1));
+    assertSame(executed.get(0), executed.get(2));
+    assertSame(executed.get(1), executed.get(3));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void insertReturningGeneratedKeys_multiRowInsert_keysAssignedInRowOrderAndEntitiesManaged() {
+    Note first = new Note();
+    first.text = "first";
+    Note second = new Note();
+    second.text = "second";
+    doReturn(List.of(new Object[] { 7L }, new Object[] { 8L })).when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+    doReturn(new EntityDetails<>(entityMapping, new EntityKey<>(Note.class, 7L), false)).when(session).getEntityDetails(first);
+    doReturn(new EntityDetails<>(entityMapping, new EntityKey<>(Note.class, 8L), false)).when(session).getEntityDetails(second);
+
+    entityDaoService.insertReturningGeneratedKeys(List.of(first, second));
+
+    ArgumentCaptor<JdbcParameterBinding<?>[]> bindings = ArgumentCaptor.forClass(JdbcParameterBinding[].class);
+    verify(jdbcExecutor).executeSelectQuery(eq("INSERT INTO notes (id, text) VALUES (?, ?), (?, ?) RETURNING id;"), bindings.capture(),
+                                            any());
+    assertEquals(List.of("null", "first", "null", "second"),
+                 Arrays.stream(bindings.getValue()).map(EntityDaoServiceTest::bindValueOf).toList());
+    assertEquals(7L, first.id);
+    assertEquals(8L, second.id);
+    verify(persistenceContext).manageEntity(eq(new EntityKey<>(Note.class, 7L)), any(), any(), eq(false));
+    verify(persistenceContext).manageEntity(eq(new EntityKey<>(Note.class, 8L)), any(), any(), eq(false));
+  }
+
+  @Test
+  void insertReturningGeneratedKeys_missingRows_throwPersistOperationException() {
+    doReturn(List.<Object[]>of(new Object[] { 7L })).when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    PersistOperationException result = assertThrows(PersistOperationException.class,
+                                                    () -> entityDaoService.insertReturningGeneratedKeys(List.of(new Note(), new Note())));
+
+    assertEquals("1 of 2 rows were persisted", result.getMessage());
+  }
+
+  @Test
+  void executeBatch_rowsVerifiedPerOperation() {
+    Note first = new Note();
+    first.id = 1L;
+    Note second = new Note();
+    second.id = 2L;
+    doReturn(new int[] { 1, 0 }).when(jdbcExecutor).executeBatch(anyString(), any());
+
+    List<EntityWriteOperation> batch = List.of(entityDaoService.prepareDelete(first), entityDaoService.prepareDelete(second));
+
+    BibernateException result = assertThrows(BibernateException.class, () -> entityDaoService.executeBatch(batch));
+
+    assertEquals("Row was deleted by another transaction " + new EntityKey<>(Note.class, 1L), result.getMessage());
+    verify(jdbcExecutor).executeBatch(eq("DELETE FROM notes WHERE id = ?;"), argThat(bindings -> bindings.size() == 2));
+    verify(jdbcExecutor, never()).executeUpdate(anyString(), any());
+  }
+
+  @Test
+  void executeBatch_successNoInfo_notVerified() {
+    Note note = new Note();
+    note.id = 1L;
+    doReturn(new int[] { Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO }).when(jdbcExecutor).executeBatch(anyString(), any());
+
+    List<EntityWriteOperation> batch = List.of(entityDaoService.prepareInsert(note), entityDaoService.prepareInsert(note));
+
+    assertDoesNotThrow(() -> entityDaoService.executeBatch(batch));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void executeBatch_successNoInfoVersionedUpdate_newVersionAppliedForNextUpdate() throws NoSuchFieldException {
+    EntityMapping versionedMapping = versionedNoteMapping();
+    VersionedNote first = new VersionedNote();
+    VersionedNote second = new VersionedNote();
+    doReturn(new EntityDetails<>(versionedMapping, new EntityKey<>(VersionedNote.class, 1L), false)).when(session).getEntityDetails(first);
+    doReturn(new EntityDetails<>(versionedMapping, new EntityKey<>(VersionedNote.class, 2L), false)).when(session).getEntityDetails(second);
+    DirtyCheckService dirtyCheckService = mock(DirtyCheckService.class);
+    FieldMapping<Object> textMapping = (FieldMapping<Object>) versionedMapping.getFieldMapping("text");
+    doReturn(List.of(new DirtyFieldMapping<>(textMapping, "updated"))).when(dirtyCheckService).getUpdatedFields(any());
+    doReturn(dirtyCheckService).when(session).getDirtyCheckService();
+    doReturn(new int[] { Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO }).when(jdbcExecutor).executeBatch(anyString(), any());
+
+    entityDaoService.executeBatch(List.of(entityDaoService.prepareUpdate(first), entityDaoService.prepareUpdate(second)));
+
+    assertEquals(1, first.version);
+    assertEquals(1, second.version);
+
+    entityDaoService.update(first);
+
+    ArgumentCaptor<JdbcParameterBinding<?>[]> bindValues = ArgumentCaptor.forClass(JdbcParameterBinding[].class);
+    verify(jdbcExecutor).executeUpdate(eq("UPDATE versioned_notes SET text=?, version = ? WHERE id = ? AND version = ?;"),
+                                       bindValues.capture());
+    assertEquals(List.of("updated", 2, 1L, 1), Arrays.stream(bindValues.getValue()).map(JdbcParameterBinding::getBindValue).toList());
+    assertEquals(2, first.version);
+  }
+
+  @Test
+  void prepareInsert_detachedVersionedEntity_versionNotInitialized() throws NoSuchFieldException {
+    EntityMapping versionedMapping = versionedNoteMapping();
+    VersionedNote note = new VersionedNote();
+    EntityKey<VersionedNote> entityKey = new EntityKey<>(VersionedNote.class, 1L);
+    doReturn(new EntityDetails<>(versionedMapping, entityKey, false)).when(session).getEntityDetails(note);
+    doReturn(true).when(persistenceContext).isDetached(entityKey);
+
+    assertNull(entityDaoService.prepareInsert(note));
+    assertEquals(0, note.version);
+  }
+
+  @Test
+  void load_cacheableEntity_secondLoadServedFromCache() {
+    entityMapping.setCacheConcurrencyStrategy(CacheConcurrencyStrategy.READ_WRITE);
+    EntityKey<Note> entityKey = new EntityKey<>(Note.class, 1L);
+    doReturn(List.<Object[]>of(new Object[] { 1L, "cached" })).when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    Note loaded = entityDaoService.load(entityKey, LockMode.NONE);
+    Note cached = entityDaoService.load(entityKey, LockMode.NONE);
+
+    verify(jdbcExecutor, times(1)).executeSelectQuery(anyString(), any(), any());
+    assertNotSame(loaded, cached);
+    assertEquals("cached", cached.text);
+    assertEquals(1, secondLevelCache.getHitCount());
+    assertEquals(1, secondLevelCache.getMissCount());
+  }
+
+  @Test
+  void load_cacheableEntityWithLock_cacheBypassed() {
+    entityMapping.setCacheConcurrencyStrategy(CacheConcurrencyStrategy.READ_WRITE);
+    EntityKey<Note> entityKey = new EntityKey<>(Note.class, 1L);
+    secondLevelCache.put(entityKey, new Object[] { 1L, "cached" });
+
+    entityDaoService.load(entityKey, LockMode.FOR_UPDATE);
+
+    verify(jdbcExecutor).executeSelectQuery(eq("SELECT id, text FROM notes WHERE id = ? FOR UPDATE;"), any(), any());
+    assertEquals(0, secondLevelCache.getHitCount());
+  }
+
+  @Test
+  void update_cacheableEntity_evictedOnFlushAndAfterTransaction() {
+    entityMapping.setCacheConcurrencyStrategy(CacheConcurrencyStrategy.READ_WRITE);
+    EntityKey<Note> entityKey = new EntityKey<>(Note.class, 1L);
+    secondLevelCache.put(entityKey, new Object[] { 1L, "cached" });
+    mockDirtyText("updated");
+
+    entityDaoService.update(new Note());
+
+    assertNull(secondLevelCache.get(entityKey));
+
+    secondLevelCache.put(entityKey, new Object[] { 1L, "read by another session" });
+    entityDaoService.evictWrittenEntitiesFromSecondLevelCache();
+
+    assertNull(secondLevelCache.get(entityKey));
+  }
+
+  @Test
+  void insert_cachedQueryResultsOfTableInvalidatedUntilTransactionEnds() {
+    QueryResultCache.QueryResultKey key = new QueryResultCache.QueryResultKey("SELECT * FROM notes;", List.of());
+    queryResultCache.put(key, Set.of("notes"), queryResultCache.getTimestamp(), List.of(1L));
+    long timestamp = queryResultCache.getTimestamp();
+    Note note = new Note();
+    note.id = 2L;
+
+    entityDaoService.insert(note);
+
+    assertNull(queryResultCache.get(key));
+    assertTrue(entityDaoService.isWrittenTable("notes"));
+    assertTrue(queryResultCache.getTimestamp() > timestamp);
+
+    entityDaoService.invalidateWrittenTables();
+
+    assertFalse(entityDaoService.isWrittenTable("notes"));
+  }
+
+  @Test
+  void executeBatch_successNoInfoCacheableDelete_evictedOnFlushAndAfterTransaction() {
+    entityMapping.setCacheConcurrencyStrategy(CacheConcurrencyStrategy.READ_WRITE);
+    EntityKey<Note> entityKey = new EntityKey<>(Note.class, 1L);
+    secondLevelCache.put(entityKey, new Object[] { 1L, "cached" });
+    doReturn(new int[] { Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO }).when(jdbcExecutor).executeBatch(anyString(), any());
+
+    entityDaoService.executeBatch(List.of(entityDaoService.prepareDelete(new Note()), entityDaoService.prepareDelete(new Note())));
+
+    assertNull(secondLevelCache.get(entityKey));
+
+    secondLevelCache.put(entityKey, new Object[] { 1L, "read by another session" });
+    entityDaoService.evictWrittenEntitiesFromSecondLevelCache();
+
+    assertNull(secondLevelCache.get(entityKey));
+  }
+
+  @Test
+  void delete_cacheableEntity_evicted() {
+    entityMapping.setCacheConcurrencyStrategy(CacheConcurrencyStrategy.READ_ONLY);
+    EntityKey<Note> entityKey = new EntityKey<>(Note.class, 1L);
+    secondLevelCache.put(entityKey, new Object[] { 1L, "cached" });
+
+    entityDaoService.delete(new Note());
+
+    assertNull(secondLevelCache.get(entityKey));
+  }
+
+  @Test
+  void update_readOnlyCacheableEntity_throwBibernateException() {
+    entityMapping.setCacheConcurrencyStrategy(CacheConcurrencyStrategy.READ_ONLY);
+    mockDirtyText("updated");
+    Note note = new Note();
+
+    BibernateException result = assertThrows(BibernateException.class, () -> entityDaoService.update(note));
+
+    assertEquals("Entity %s is cached as read-only and cannot be updated".formatted(new EntityKey<>(Note.class, 1L)), result.getMessage());
+    verify(jdbcExecutor, never()).executeUpdate(anyString(), any());
+  }
+
+  @Test
+  void update_readOnlyCacheableTrackedEntity_trackedChangesKept() {
+    entityMapping.setCacheConcurrencyStrategy(CacheConcurrencyStrategy.READ_ONLY);
+    mockDirtyText("updated");
+    Note note = DirtyTrackingUtils.newTrackedInstanceOf(entityMapping);
+    DirtyTrackingUtils.markDirty(note, 1);
+
+    assertThrows(BibernateException.class, () -> entityDaoService.update(note));
+
+    assertTrue(DirtyTrackingUtils.hasDirtyFields(note));
+  }
+
+  @Test
+  void update_rowUpdatedByAnotherTransaction_trackedChangesKept() {
+    mockDirtyText("updated");
+    Note note = DirtyTrackingUtils.newTrackedInstanceOf(entityMapping);
+    DirtyTrackingUtils.markDirty(note, 1);
+    doReturn(0).when(jdbcExecutor).executeUpdate(anyString(), any());
+
+    assertThrows(OptimisticLockException.class, () -> entityDaoService.update(note));
+
+    assertTrue(DirtyTrackingUtils.hasDirtyFields(note));
+  }
+
+  @Test
+  void update_trackedEntity_trackedChangesClearedOnceUpdated() {
+    mockDirtyText("updated");
+    Note note = DirtyTrackingUtils.newTrackedInstanceOf(entityMapping);
+    DirtyTrackingUtils.markDirty(note, 1);
+
+    EntityWriteOperation operation = entityDaoService.prepareUpdate(note);
+
+    assertTrue(DirtyTrackingUtils.hasDirtyFields(note));
+
+    entityDaoService.execute(operation);
+
+    assertFalse(DirtyTrackingUtils.hasDirtyFields(note));
+  }
+
+  @Test
+  void update_statelessSession_allUpdatableColumnsWrittenWithoutDirtyCheck() {
+    doReturn(true).when(session).isStateless();
+    Note note = new Note();
+    note.id = 1L;
+    note.text = "imported";
+
+    entityDaoService.update(note);
+
+    ArgumentCaptor<JdbcParameterBinding<?>[]> bindings = ArgumentCaptor.forClass(JdbcParameterBinding[].class);
+    verify(jdbcExecutor).executeUpdate(eq("UPDATE notes SET text=? WHERE id = ?;"), bindings.capture());
+    assertEquals(List.of("imported", "1"), Arrays.stream(bindings.getValue()).map(EntityDaoServiceTest::bindValueOf).toList());
+    verify(session, never()).getDirtyCheckService();
+    verify(persistenceContext, never()).isDetached(any());
+  }
+
+  @Test
+  void loadProxy_batchSizeNotSpecified_loadedById() {
+    entityDaoService.loadProxy(new EntityKey<>(Note.class, 1L));
+
+    verify(jdbcExecutor).executeSelectQuery(eq("SELECT id, text FROM notes WHERE id = ?;"), any(), any());
+    verify(persistenceContext, never()).getBatchFetchIds(any(), anyInt());
+  }
+
+  @Test
+  void loadProxy_withBatchSize_otherProxiesLoadedInOneQuery() {
+    entityMapping.setBatchSize(8);
+    EntityKey<Note> entityKey = new EntityKey<>(Note.class, 1L);
+    doReturn(List.of(1L, 2L, 3L)).when(persistenceContext).getBatchFetchIds(entityKey, 8);
+    doReturn(List.of(new Object[] { 2L, "second" }, new Object[] { 1L, "first" }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    Note loaded = entityDaoService.loadProxy(entityKey);
+
+    assertEquals("first", loaded.text);
+    ArgumentCaptor<JdbcParameterBinding<?>[]> bindings = ArgumentCaptor.forClass(JdbcParameterBinding[].class);
+    verify(jdbcExecutor).executeSelectQuery(eq("SELECT id, text FROM notes WHERE id IN (?, ?, ?, ?);"), bindings.capture(), any());
+    assertEquals(List.of("1", "2", "3", "3"), Arrays.stream(bindings.getValue()).map(EntityDaoServiceTest::bindValueOf).toList());
+    verify(persistenceContext).manageEntity(eq(new EntityKey<>(Note.class, 2L)), any(), any());
+    verify(persistenceContext).removeFromBatchFetch(new EntityKey<>(Note.class, 3L));
+  }
+
+  @Test
+  void loadProxy_integerIdsOfLongPrimaryKey_otherProxiesLoadedInOneQuery() {
+    entityMapping.setBatchSize(8);
+    EntityKey<Note> entityKey = new EntityKey<>(Note.class, 1);
+    doReturn(List.of(1, 2, 3)).when(persistenceContext).getBatchFetchIds(entityKey, 8);
+    doReturn(List.of(new Object[] { 2L, "second" }, new Object[] { 1L, "first" }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    Note loaded = entityDaoService.loadProxy(entityKey);
+
+    assertEquals("first", loaded.text);
+    verify(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+    verify(persistenceContext).manageEntity(eq(new EntityKey<>(Note.class, 2)), any(), any());
+    verify(persistenceContext).removeFromBatchFetch(new EntityKey<>(Note.class, 3));
+    verify(persistenceContext, never()).removeFromBatchFetch(new EntityKey<>(Note.class, 2));
+  }
+
+  @Test
+  void loadProxy_cacheableEntity_cachedRowsNotSelected() {
+    entityMapping.setBatchSize(8);
+    entityMapping.setCacheConcurrencyStrategy(CacheConcurrencyStrategy.READ_WRITE);
+    EntityKey<Note> entityKey = new EntityKey<>(Note.class, 1L);
+    secondLevelCache.put(new EntityKey<>(Note.class, 2L), new Object[] { 2L, "cached" });
+    doReturn(List.of(1L, 2L)).when(persistenceContext).getBatchFetchIds(entityKey, 8);
+    doReturn(List.<Object[]>of(new Object[] { 1L, "first" })).when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    entityDaoService.loadProxy(entityKey);
+
+    verify(jdbcExecutor).executeSelectQuery(eq("SELECT id, text FROM notes WHERE id IN (?);"), any(), any());
+    assertEquals("first", secondLevelCache.get(entityKey)[1]);
+  }
+
+  @Test
+  void loadMultiple_idsLoadedInChunksOfBatchSize() {
+    entityMapping.setBatchSize(4);
+    doReturn(List.of(new Object[] { 1L, "first" }, new Object[] { 3L, "third" }),
+             List.<Object[]>of(new Object[] { 5L, "fifth" }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    Map<Object, Note> result = entityDaoService.loadMultiple(Note.class, List.of(1L, 2L, 3L, 4L, 5L, 6L));
+
+    verify(jdbcExecutor).executeSelectQuery(eq("SELECT id, text FROM notes WHERE id IN (?, ?, ?, ?);"), any(), any());
+    verify(jdbcExecutor).executeSelectQuery(eq("SELECT id, text FROM notes WHERE id IN (?, ?);"), any(), any());
+    assertEquals(Set.of(1L, 3L, 5L), result.keySet());
+    assertEquals("fifth", result.get(5L).text);
+  }
+
+  @Test
+  void loadCollection_withBatchSize_otherCollectionsInitializedFromOneQuery() throws NoSuchFieldException {
+    mapCommentsOfNotes();
+
+    CollectionKey<Note> first = new CollectionKey<>(Note.class, 1L, "comments");
+    CollectionKey<Note> second = new CollectionKey<>(Note.class, 2L, "comments");
+    CollectionKey<Note> third = new CollectionKey<>(Note.class, 3L, "comments");
+    PersistenceLazyList<Comment> secondList = new PersistenceLazyList<>(second, session);
+    PersistenceLazyList<Comment> thirdList = new PersistenceLazyList<>(third, session);
+    doReturn(List.of(first, second, third)).when(persistenceContext).getBatchFetchCollectionKeys(first, 4);
+    doReturn(secondList).when(persistenceContext).getCollection(second);
+    doReturn(thirdList).when(persistenceContext).getCollection(third);
+    doReturn(List.of(new Object[] { 10L, 1L }, new Object[] { 20L, 2L }, new Object[] { 21L, 2L }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    List<Comment> loaded = entityDaoService.loadCollection(first);
+
+    verify(jdbcExecutor).executeSelectQuery(eq("SELECT id, note_id FROM comments WHERE note_id IN (?, ?, ?, ?);"), any(), any());
+    assertEquals(List.of(10L), loaded.stream().map(comment -> comment.id).toList());
+    assertTrue(secondList.isInitialized());
+    assertEquals(List.of(20L, 21L), secondList.stream().map(comment -> comment.id).toList());
+    assertTrue(thirdList.isInitialized());
+    assertTrue(thirdList.isEmpty());
+  }
+
+  @Test
+  void loadCollection_integerForeignKeysOfLongIds_rowsDistributedToCollections() throws NoSuchFieldException {
+    mapCommentsOfNotes();
+
+    CollectionKey<Note> first = new CollectionKey<>(Note.class, 1L, "comments");
+    CollectionKey<Note> second = new CollectionKey<>(Note.class, 2L, "comments");
+    PersistenceLazyList<Comment> secondList = new PersistenceLazyList<>(second, session);
+    doReturn(List.of(first, second)).when(persistenceContext).getBatchFetchCollectionKeys(first, 4);
+    doReturn(secondList).when(persistenceContext).getCollection(second);
+    doReturn(List.of(new Object[] { 10L, 1 }, new Object[] { 20L, 2 }, new Object[] { 21L, 2 }))
+      .when(jdbcExecutor).executeSelectQuery(anyString(), any(), any());
+
+    List<Comment> loaded = entityDaoService.loadCollection(first);
+
+    assertEquals(List.of(10L), loaded.stream().map(comment -> comment.id).toList());
+    assertTrue(secondList.isInitialized());
+    assertEquals(List.of(20L, 21L), secondList.stream().map(comment -> comment.id).toList());
+  }
+
+  private void mapCommentsOfNotes() throws NoSuchFieldException {
+    EntityMapping commentMapping = new EntityMapping(Comment.class, "comments");
+    commentMapping.addFieldMapping("id", FieldMapping.builder()
+      .fieldName("id")
+      .columnName("id")
+      .isPrimaryKey(true)
+      .propertyAccessor(PropertyAccessor.of(Comment.class.getDeclaredField("id")))
+      .jdbcType(new DefaultBibernateJdbcTypeImpl())
+      .build());
+    commentMapping.addFieldMapping("note", FieldMapping.<Note>builder()
+      .fieldName("note")
+      .columnName("note_id")
+      .isManyToOne(true)
+      .fieldType(Note.class)
+      .propertyAccessor(PropertyAccessor.of(Comment.class.getDeclaredField("note")))
+      .jdbcType(new DefaultBibernateJdbcTypeImpl())
+      .build());
+    commentMapping.compileSqlStatements();
+    doReturn(commentMapping).when(session).getEntityMapping(Comment.class);
+    entityMapping.addFieldMapping("comments", FieldMapping.builder()
+      .fieldName("comments")
+      .isOneToMany(true)
+      .oneToManyMapping(OneToManyMapping.builder().mappedBy("note").collectionType(Comment.class).batchSize(4).build())
+      .build());
+  }
+
+  private static String bindValueOf(JdbcParameterBinding<?> binding) {
+    return binding.toString().replaceFirst("^JdbcParameterBinding\\(bindValue=([^,]*),.*$", "$1");
+  }
+
+  @SuppressWarnings("unchecked")
+  private EntityMapping versionedNoteMapping() throws NoSuchFieldException {
+    EntityMapping versionedMapping = new EntityMapping(VersionedNote.class, "versioned_notes");
+    versionedMapping.addFieldMapping("id", FieldMapping.builder()
+      .fieldName("id")
+      .columnName("id")
+      .isPrimaryKey(true)
+      .isInsertable(true)
+      .propertyAccessor(PropertyAccessor.of(VersionedNote.class.getDeclaredField("id")))
+      .jdbcType(new DefaultBibernateJdbcTypeImpl())
+      .build());
+    versionedMapping.addFieldMapping("text", FieldMapping.builder()
+      .fieldName("text")
+      .columnName("text")
+      .isInsertable(true)
+      .isUpdatable(true)
+      .propertyAccessor(PropertyAccessor.of(VersionedNote.class.getDeclaredField("text")))
+      .jdbcType(new DefaultBibernateJdbcTypeImpl())
+      .build());
+    versionedMapping.addFieldMapping("version", FieldMapping.builder()
+      .fieldName("version")
+      .columnName("version")
+      .isInsertable(true)
+      .isOptimisticLock(true)
+      .propertyAccessor(PropertyAccessor.of(VersionedNote.class.getDeclaredField("version")))
+      .jdbcType(new DefaultBibernateJdbcTypeImpl())
+      .build());
+    versionedMapping.compileSqlStatements();
+    doReturn(versionedMapping).when(session).getEntityMapping(VersionedNote.class);
+    return versionedMapping;
+  }
+
+  private void mockDirtyText(String text) {
+    DirtyCheckService dirtyCheckService = mock(DirtyCheckService.class);
+    FieldMapping<Object> textMapping = (FieldMapping<Object>) entityMapping.getFieldMapping("text");
+    doReturn(List.of(new DirtyFieldMapping<>(textMapping, text))).when(dirtyCheckService).getUpdatedFields(any());
+    doReturn(dirtyCheckService).when(session).getDirtyCheckService();
+  }
+
+  public static class Note {
+
+    private Long id;
+    private String text;
+
+  }
+
+  public static class VersionedNote {
+
+    private Long id;
+    private String text;
+    private int version;
+
+  }
+
+  public static class Comment {
+
+    private Long id;
+    private Note note;
+
+  }
+
+}
@@ -1,5 +1,6 @@
 package com.bibernate.hoverla.session;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
@@ -17,11 +18,13 @@ import com.bibernate.hoverla.annotations.ManyToOne;
 import com.bibernate.hoverla.annotations.OneToMany;
 import com.bibernate.hoverla.annotations.SequenceGeneratedValue;
 import com.bibernate.hoverla.annotations.Table;
+import com.bibernate.hoverla.configuration.BibernateSettings;
 import com.bibernate.hoverla.exceptions.LazyLoadingException;
 import com.bibernate.hoverla.jdbc.PostgresSqlTestExtension;
 import com.bibernate.hoverla.jdbc.types.provider.JdbcTypeProviderImpl;
 import com.bibernate.hoverla.metamodel.Metamodel;
 import com.bibernate.hoverla.metamodel.scan.MetamodelScanner;
+import com.bibernate.hoverla.session.transaction.Transaction;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -32,7 +35,11 @@ import lombok.Setter;
 import lombok.ToString;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class SessionITest {
@@ -56,6 +63,77 @@ class SessionITest {
 
   }
 
+  @Order(11)
+  @Test
+  void whenFindMultiple_thenEntitiesReturnedInOrderOfIds() {
+    MetamodelScanner metamodelScanner = new MetamodelScanner(new JdbcTypeProviderImpl());
+    Metamodel metamodel = metamodelScanner.scanEntities(TestEntity.class, TestComment.class);
+    this.sessionFactory = new SessionFactoryImpl(DB.getDataSource(), metamodel);
+
+    sessionFactory.inTransaction(session -> {
+      TestEntity managed = session.find(TestEntity.class, 1L);
+
+      List<TestEntity> entities = session.findMultiple(TestEntity.class, List.of(2L, 99L, 1L));
+
+      assertEquals(3, entities.size());
+      assertEquals("FirsName2", entities.get(0).getFirstName());
+      assertNull(entities.get(1));
+      assertSame(managed, entities.get(2));
+      assertEquals(2, session.findMultiple(TestEntity.class, List.of(2L, 99L, 1L), false).size());
+    });
+  }
+
+  @Order(12)
+  @Test
+  void whenReadOnlySession_thenChangesNotFlushed() {
+    MetamodelScanner metamodelScanner = new MetamodelScanner(new JdbcTypeProviderImpl());
+    Metamodel metamodel = metamodelScanner.scanEntities(TestEntity.class, TestComment.class);
+    this.sessionFactory = new SessionFactoryImpl(DB.getDataSource(), metamodel);
+
+    try (Session session = sessionFactory.openReadOnlySession()) {
+      TestEntity entity = session.find(TestEntity.class, 2L);
+      assertTrue(session.isReadOnly(entity));
+
+      entity.setFirstName("ReadOnlyName");
+      session.flush();
+    }
+
+    sessionFactory.inSession(session -> assertEquals("FirsName2", session.find(TestEntity.class, 2L).getFirstName()));
+  }
+
+  @Order(13)
+  @Test
+  void whenStatelessSession_thenEntitiesWrittenAndLoadedDetached() {
+    MetamodelScanner metamodelScanner = new MetamodelScanner(new JdbcTypeProviderImpl());
+    Metamodel metamodel = metamodelScanner.scanEntities(TestEntity.class, TestComment.class);
+    BibernateSettings settings = BibernateSettings.builder().jdbcBatchSize(2).build();
+    this.sessionFactory = new SessionFactoryImpl(DB.getDataSource(), metamodel, settings);
+
+    List<TestEntity> imported = new ArrayList<>();
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      Transaction transaction = session.getTransaction().beginTransaction();
+      TestComment comment = session.get(TestComment.class, 1L);
+      for (int i = 0; i < 3; i++) {
+        TestEntity entity = TestEntity.builder().firstName("Imported" + i).comment(comment).build();
+        session.insert(entity);
+        imported.add(entity);
+      }
+      imported.get(0).setLastName("Updated");
+      session.update(imported.get(0));
+      transaction.commit();
+
+      TestEntity loaded = session.get(TestEntity.class, imported.get(0).getId());
+      assertEquals("Updated", loaded.getLastName());
+      assertNotSame(imported.get(0), loaded);
+
+      transaction = session.getTransaction().beginTransaction();
+      imported.forEach(session::delete);
+      transaction.commit();
+    }
+
+    sessionFactory.inSession(session -> assertNull(session.find(TestEntity.class, imported.get(2).getId())));
+  }
+
   @Order(6)
   @Test
   void testPessimisticForShareLock() {
@@ -0,0 +1,87 @@
+package com.bibernate.hoverla.session.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bibernate.hoverla.session.dirtycheck.DirtyCheckService;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PersistenceContextTest {
+
+  private static final EntityKey<String> ENTITY_KEY = new EntityKey<>(String.class, 1L);
+
+  @Mock
+  private DirtyCheckService dirtyCheckService;
+
+  private PersistenceContext persistenceContext;
+
+  @BeforeEach
+  void setUp() {
+    persistenceContext = new PersistenceContext(dirtyCheckService);
+  }
+
+  @Test
+  void manageEntity_snapshotTaken() {
+    Object[] snapshot = { "entity" };
+    doReturn(snapshot).when(dirtyCheckService).getSnapshot(String.class, "entity");
+
+    EntityEntry result = persistenceContext.manageEntity(ENTITY_KEY, () -> "entity", entry -> {});
+
+    assertFalse(result.isReadOnly());
+    assertArrayEquals(snapshot, result.getSnapshot());
+  }
+
+  @Test
+  void manageEntity_defaultReadOnly_noSnapshotTaken() {
+    persistenceContext.setDefaultReadOnly(true);
+
+    EntityEntry result = persistenceContext.manageEntity(ENTITY_KEY, () -> "entity", entry -> {});
+
+    assertTrue(result.isReadOnly());
+    assertNull(result.getSnapshot());
+    verify(dirtyCheckService, never()).getSnapshot(any(), any());
+  }
+
+  @Test
+  void manageEntity_modifiableInReadOnlyContext_snapshotTaken() {
+    persistenceContext.setDefaultReadOnly(true);
+    doReturn(new Object[0]).when(dirtyCheckService).getSnapshot(String.class, "entity");
+
+    EntityEntry result = persistenceContext.manageEntity(ENTITY_KEY, () -> "entity", entry -> {}, false);
+
+    assertFalse(result.isReadOnly());
+  }
+
+  @Test
+  void setReadOnly_snapshotDiscardedAndRetakenWhenModifiable() {
+    Object[] snapshot = { "entity" };
+    doReturn(snapshot).when(dirtyCheckService).getSnapshot(String.class, "entity");
+    EntityEntry entityEntry = persistenceContext.manageEntity(ENTITY_KEY, () -> "entity", entry -> {});
+
+    assertTrue(persistenceContext.setReadOnly(ENTITY_KEY, true));
+    assertTrue(entityEntry.isReadOnly());
+    assertNull(entityEntry.getSnapshot());
+
+    assertTrue(persistenceContext.setReadOnly(ENTITY_KEY, false));
+    assertFalse(entityEntry.isReadOnly());
+    assertArrayEquals(snapshot, entityEntry.getSnapshot());
+  }
+
+  @Test
+  void setReadOnly_notManaged_returnFalse() {
+    assertFalse(persistenceContext.setReadOnly(ENTITY_KEY, true));
+  }
+
+}
@@ -0,0 +1,81 @@
+package com.bibernate.hoverla.session.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SecondLevelCacheTest {
+
+  private static final EntityKey<Object> FIRST = new EntityKey<>(Object.class, 1L);
+  private static final EntityKey<Object> SECOND = new EntityKey<>(Object.class, 2L);
+  private static final EntityKey<Object> THIRD = new EntityKey<>(Object.class, 3L);
+
+  @Test
+  void get_cachedRowReturned() {
+    SecondLevelCache cache = new SecondLevelCache(2, Duration.ZERO);
+    Object[] row = { 1L, "Fantasy" };
+
+    cache.put(FIRST, row);
+
+    assertSame(row, cache.get(FIRST));
+    assertNull(cache.get(SECOND));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getPutCount());
+  }
+
+  @Test
+  void put_cacheFull_leastRecentlyUsedRowEvicted() {
+    SecondLevelCache cache = new SecondLevelCache(2, Duration.ZERO);
+    cache.put(FIRST, new Object[] { 1L });
+    cache.put(SECOND, new Object[] { 2L });
+    cache.get(FIRST);
+
+    cache.put(THIRD, new Object[] { 3L });
+
+    assertEquals(2, cache.size());
+    assertNull(cache.get(SECOND));
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  @Test
+  void get_rowOlderThanTimeToLive_expired() {
+    AtomicLong clock = new AtomicLong();
+    SecondLevelCache cache = new SecondLevelCache(2, Duration.ofSeconds(10), clock::get);
+    cache.put(FIRST, new Object[] { 1L });
+
+    clock.addAndGet(Duration.ofSeconds(9).toNanos());
+    assertEquals(1L, cache.get(FIRST)[0]);
+
+    clock.addAndGet(Duration.ofSeconds(1).toNanos());
+    assertNull(cache.get(FIRST));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void evict_rowRemoved() {
+    SecondLevelCache cache = new SecondLevelCache(2, Duration.ZERO);
+    cache.put(FIRST, new Object[] { 1L });
+
+    cache.evict(FIRST);
+
+    assertNull(cache.get(FIRST));
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  @Test
+  void put_cacheDisabled_nothingCached() {
+    SecondLevelCache cache = new SecondLevelCache(0, Duration.ZERO);
+
+    cache.put(FIRST, new Object[] { 1L });
+
+    assertNull(cache.get(FIRST));
+    assertEquals(0, cache.size());
+  }
+
+}
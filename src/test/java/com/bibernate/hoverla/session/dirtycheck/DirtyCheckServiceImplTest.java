@@ -0,0 +1,98 @@
+package com.bibernate.hoverla.session.dirtycheck;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bibernate.hoverla.annotations.Column;
+import com.bibernate.hoverla.annotations.Entity;
+import com.bibernate.hoverla.annotations.Id;
+import com.bibernate.hoverla.jdbc.types.provider.JdbcTypeProviderImpl;
+import com.bibernate.hoverla.metamodel.EntityMapping;
+import com.bibernate.hoverla.metamodel.scan.MetamodelScanner;
+import com.bibernate.hoverla.session.EntityDetails;
+import com.bibernate.hoverla.session.SessionImplementor;
+import com.bibernate.hoverla.session.cache.EntityKey;
+import com.bibernate.hoverla.session.cache.PersistenceContext;
+import com.bibernate.hoverla.utils.DirtyTrackingUtils;
+
+import lombok.NoArgsConstructor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class DirtyCheckServiceImplTest {
+
+  private EntityMapping entityMapping;
+  private DirtyCheckServiceImpl dirtyCheckService;
+  private PersistenceContext persistenceContext;
+
+  @BeforeEach
+  void setUp() {
+    entityMapping = new MetamodelScanner(new JdbcTypeProviderImpl()).scanEntities(Ledger.class)
+      .getEntityMappingMap()
+      .get(Ledger.class);
+
+    SessionImplementor session = mock(SessionImplementor.class);
+    dirtyCheckService = new DirtyCheckServiceImpl(session);
+    persistenceContext = new PersistenceContext(dirtyCheckService);
+    doReturn(entityMapping).when(session).getEntityMapping(Ledger.class);
+    doReturn(persistenceContext).when(session).getPersistenceContext();
+    doReturn(new EntityDetails<>(entityMapping, new EntityKey<>(Ledger.class, 1L), false)).when(session).getEntityDetails(any());
+    doCallRealMethod().when(session).getEntityEntry(any());
+  }
+
+  @Test
+  void trackedEntity_fieldWithoutSetterChanged_detectedBySnapshot() {
+    Ledger ledger = DirtyTrackingUtils.newTrackedInstanceOf(entityMapping);
+    persistenceContext.manageEntity(new EntityKey<>(Ledger.class, 1L), () -> ledger, entityEntry -> {});
+
+    ledger.addEntry();
+
+    assertEquals(List.of(ledger), dirtyCheckService.findDirtyEntities());
+    assertEquals(List.of("entries"), dirtyCheckService.getUpdatedFields(ledger).stream()
+      .map(dirtyField -> dirtyField.fieldMapping().getFieldName())
+      .toList());
+
+    ledger.setOwner("Bob");
+
+    assertEquals(List.of("owner", "entries"), dirtyCheckService.getUpdatedFields(ledger).stream()
+      .map(dirtyField -> dirtyField.fieldMapping().getFieldName())
+      .toList());
+  }
+
+  @Test
+  void trackedEntity_noChanges_notDirty() {
+    Ledger ledger = DirtyTrackingUtils.newTrackedInstanceOf(entityMapping);
+    persistenceContext.manageEntity(new EntityKey<>(Ledger.class, 1L), () -> ledger, entityEntry -> {});
+
+    assertTrue(dirtyCheckService.findDirtyEntities().isEmpty());
+  }
+
+  @Entity
+  @NoArgsConstructor
+  public static class Ledger {
+
+    @Id
+    private Long id;
+    @Column
+    private String owner;
+    @Column
+    private int entries;
+
+    public void setOwner(String owner) {
+      this.owner = owner;
+    }
+
+    public void addEntry() {
+      entries++;
+    }
+
+  }
+
+}
@@ -0,0 +1,164 @@
+package com.bibernate.hoverla.utils;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bibernate.hoverla.annotations.Column;
+import com.bibernate.hoverla.annotations.Entity;
+import com.bibernate.hoverla.annotations.Id;
+import com.bibernate.hoverla.jdbc.types.provider.JdbcTypeProviderImpl;
+import com.bibernate.hoverla.metamodel.EntityMapping;
+import com.bibernate.hoverla.metamodel.FieldMapping;
+import com.bibernate.hoverla.metamodel.scan.MetamodelScanner;
+import com.bibernate.hoverla.utils.dirtytracking.DirtyTracker;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DirtyTrackingUtilsTest {
+
+  private EntityMapping entityMapping;
+  private List<FieldMapping<?>> updatableFields;
+
+  @BeforeEach
+  void setUp() {
+    entityMapping = new MetamodelScanner(new JdbcTypeProviderImpl()).scanEntities(Account.class)
+      .getEntityMappingMap()
+      .get(Account.class);
+    updatableFields = entityMapping.getSqlStatements().getUpdatableFieldMappings();
+  }
+
+  @Test
+  void newTrackedInstanceOf_createsCleanSubclassInstance() {
+    Account account = DirtyTrackingUtils.newTrackedInstanceOf(entityMapping);
+
+    assertInstanceOf(DirtyTracker.class, account);
+    assertNotSame(Account.class, account.getClass());
+    assertSame(Account.class, DirtyTrackingUtils.getEntityClass(account));
+    assertSame(account.getClass(), DirtyTrackingUtils.<Account>newTrackedInstanceOf(entityMapping).getClass());
+    assertFalse(DirtyTrackingUtils.hasDirtyFields(account));
+  }
+
+  @Test
+  void setter_changedValue_marksFieldDirty() {
+    Account account = DirtyTrackingUtils.newTrackedInstanceOf(entityMapping);
+
+    account.setOwner("Alice");
+    account.setBalance(0);
+
+    BitSet dirtyFields = DirtyTrackingUtils.getDirtyFields(account);
+    assertEquals(1, dirtyFields.cardinality());
+    assertTrue(dirtyFields.get(indexOf("owner")));
+    assertEquals("Alice", account.getOwner());
+  }
+
+  @Test
+  void setter_sameValue_fieldNotMarkedDirty() {
+    Account account = DirtyTrackingUtils.newTrackedInstanceOf(entityMapping);
+    updatableFields.get(indexOf("owner")).setValue(account, "Alice");
+
+    account.setOwner("Alice");
+
+    assertFalse(DirtyTrackingUtils.hasDirtyFields(account));
+  }
+
+  @Test
+  void clearDirtyFields_entityClean() {
+    Account account = DirtyTrackingUtils.newTrackedInstanceOf(entityMapping);
+    account.setBalance(100);
+
+    DirtyTrackingUtils.clearDirtyFields(account);
+
+    assertFalse(DirtyTrackingUtils.hasDirtyFields(account));
+    assertTrue(DirtyTrackingUtils.getDirtyFields(account).isEmpty());
+  }
+
+  @Test
+  void plainEntity_notTracked() {
+    Account account = new Account();
+
+    DirtyTrackingUtils.markDirty(account, 0);
+    account.setOwner("Bob");
+
+    assertFalse(DirtyTrackingUtils.isTracked(account));
+    assertFalse(DirtyTrackingUtils.hasDirtyFields(account));
+    assertSame(Account.class, DirtyTrackingUtils.getEntityClass(account));
+  }
+
+  @Test
+  void getUntrackedFields_fieldWithoutSetter_untracked() {
+    EntityMapping ledgerMapping = new MetamodelScanner(new JdbcTypeProviderImpl()).scanEntities(Ledger.class)
+      .getEntityMappingMap()
+      .get(Ledger.class);
+    List<FieldMapping<?>> ledgerFields = ledgerMapping.getSqlStatements().getUpdatableFieldMappings();
+    Ledger ledger = DirtyTrackingUtils.newTrackedInstanceOf(ledgerMapping);
+
+    ledger.addEntry();
+
+    BitSet untrackedFields = DirtyTrackingUtils.getUntrackedFields(ledgerMapping);
+    assertEquals(1, untrackedFields.cardinality());
+    assertTrue(untrackedFields.get(ledgerFields.indexOf(ledgerMapping.getFieldMapping("entries"))));
+    assertTrue(DirtyTrackingUtils.getUntrackedFields(entityMapping).isEmpty());
+    assertFalse(DirtyTrackingUtils.hasDirtyFields(ledger));
+  }
+
+  @Test
+  void isChanged_manyToOneComparedByIdentityOtherFieldsByEquality() {
+    FieldMapping<?> manyToOne = FieldMapping.builder().fieldName("owner").isManyToOne(true).build();
+    FieldMapping<?> column = FieldMapping.builder().fieldName("owner").build();
+
+    assertTrue(DirtyTrackingUtils.isChanged(manyToOne, new String("Alice"), new String("Alice")));
+    assertFalse(DirtyTrackingUtils.isChanged(column, new String("Alice"), new String("Alice")));
+    assertTrue(DirtyTrackingUtils.isChanged(column, "Alice", "Bob"));
+  }
+
+  private int indexOf(String fieldName) {
+    return updatableFields.indexOf(entityMapping.getFieldMapping(fieldName));
+  }
+
+  @Entity
+  @NoArgsConstructor
+  public static class Ledger {
+
+    @Id
+    private Long id;
+    @Column
+    private String owner;
+    @Column
+    private int entries;
+
+    public void setOwner(String owner) {
+      this.owner = owner;
+    }
+
+    public void addEntry() {
+      entries++;
+    }
+
+  }
+
+  @Data
+  @Entity
+  @NoArgsConstructor
+  public static class Account {
+
+    @Id
+    private Long id;
+    @Column
+    private String owner;
+    @Column
+    private int balance;
+
+  }
+
+}
@@ -1,5 +1,10 @@
 package com.bibernate.hoverla.utils;
 
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +17,7 @@ import com.bibernate.hoverla.metamodel.EntityMapping;
 import com.bibernate.hoverla.metamodel.FieldMapping;
 import com.bibernate.hoverla.session.SessionImplementor;
 import com.bibernate.hoverla.session.cache.EntityKey;
+import com.bibernate.hoverla.utils.proxy.BibernateProxy;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,8 +26,10 @@ import lombok.NoArgsConstructor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -73,6 +81,25 @@ class EntityProxyUtilsTest {
     assertNotNull(interceptor.getSession());
   }
 
+  @Test
+  public void whenGetInterceptorOfPlainEntity_thenNull() {
+    User user = User.builder().id(5L).name("Test").comment("Comment").build();
+
+    assertNull(EntityProxyUtils.getProxyInterceptor(user));
+    assertEquals(user, EntityProxyUtils.unProxy(user));
+  }
+
+  @Test
+  public void whenCreateProxy_thenProxyImplementsBibernateProxy() {
+    mockEntityMapping();
+
+    User proxy = EntityProxyUtils.createProxy(session, new EntityKey<>(User.class, 7L));
+
+    assertInstanceOf(BibernateProxy.class, proxy);
+    assertSame(EntityProxyUtils.getProxyInterceptor(proxy), ((BibernateProxy) proxy).$$bibernate_getInterceptor());
+    assertNull(EntityProxyUtils.getProxyInterceptor(proxy).getLoadedEntity());
+  }
+
   @Test
   public void whenUnlinkSession_thenLazyLoadingExceptionThrown() {
 
@@ -102,6 +129,24 @@ class EntityProxyUtilsTest {
     assertEquals(newComment, proxy.getComment());
   }
 
+  @Test
+  public void whenCreateManyProxies_thenProxyClassGeneratedOnce() {
+    mockEntityMapping();
+    User first = EntityProxyUtils.createProxy(session, new EntityKey<>(User.class, 0L));
+    ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+    long loadedClassesBefore = classLoading.getTotalLoadedClassCount();
+
+    Set<Class<?>> proxyClasses = new HashSet<>();
+    for (long id = 1; id <= 1_000; id++) {
+      User proxy = EntityProxyUtils.createProxy(session, new EntityKey<>(User.class, id));
+      proxyClasses.add(proxy.getClass());
+      assertEquals(id, EntityProxyUtils.getProxyInterceptor(proxy).getEntityId());
+    }
+
+    assertEquals(Set.of(first.getClass()), proxyClasses);
+    assertTrue(classLoading.getTotalLoadedClassCount() - loadedClassesBefore < 10);
+  }
+
   private void mockEntityMapping() {
     EntityMapping entityMapping = mock(EntityMapping.class);
     doReturn(entityMapping).when(session).getEntityMapping(User.class);